@@ -17,6 +17,7 @@
 package org.mobilitydata.gtfsvalidator.cli;
 
 import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParametersDelegate;
 import com.google.common.flogger.FluentLogger;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -47,6 +48,8 @@ public class Arguments {
       description = "Number of threads to use")
   private int numThreads = 1;
 
+  @ParametersDelegate private final LoadingArguments loadingArguments = new LoadingArguments();
+
   @Parameter(
       names = {"-c", "--country_code"},
       description =
@@ -139,6 +142,7 @@ public class Arguments {
       builder.setSystemErrorsReportFileName(systemErrorsReportName);
     }
     builder.setNumThreads(numThreads);
+    builder.setLoadingOptions(loadingArguments.toOptions());
     builder.setPrettyJson(pretty);
     builder.setSkipValidatorUpdate(skipValidatorUpdate);
     return builder.build();
@@ -184,6 +188,12 @@ public class Arguments {
           "CLI parameter '--storage_directory' must not be provided if '--url' is not provided");
       return false;
     }
+    try {
+      loadingArguments.toOptions();
+    } catch (IllegalArgumentException e) {
+      logger.atSevere().log("Invalid combination of loading options: %s", e.getMessage());
+      return false;
+    }
 
     return true;
   }
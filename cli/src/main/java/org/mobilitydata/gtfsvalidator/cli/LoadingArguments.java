@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.cli;
+
+import com.beust.jcommander.Parameter;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.List;
+import org.mobilitydata.gtfsvalidator.parsing.CsvTokenizerType;
+import org.mobilitydata.gtfsvalidator.table.ExecutionStrategy;
+import org.mobilitydata.gtfsvalidator.table.FeedLoadingOptions;
+
+/** Command-line arguments that select how the feed is loaded, see {@link FeedLoadingOptions}. */
+class LoadingArguments {
+  @Parameter(
+      names = {"--execution_strategy"},
+      description =
+          "Executor for loading files and running validators with --threads threads:"
+              + " FIXED_THREAD_POOL (default), WORK_STEALING, a pool shared by all feeds with a"
+              + " thread per CPU, VIRTUAL_THREADS (Java 21 or later) or SEQUENTIAL, which ignores"
+              + " --threads and cannot be combined with options that need threads of their own")
+  private ExecutionStrategy executionStrategy = ExecutionStrategy.FIXED_THREAD_POOL;
+
+  @Parameter(
+      names = {"--csv_tokenizer"},
+      description =
+          "CSV tokenizer to use: UNIVOCITY (default) or BYTE_BUFFER, which memory-maps local files"
+              + " and avoids decoding cells that are never read")
+  private CsvTokenizerType csvTokenizerType = CsvTokenizerType.UNIVOCITY;
+
+  @Parameter(
+      names = {"--parallel_row_decoding"},
+      description =
+          "Decode and validate chunks of rows of large CSV files on separate threads, see"
+              + " --threads. Records are still split on a single thread per file")
+  private boolean parallelRowDecoding = false;
+
+  @Parameter(
+      names = {"--pipelined_loading"},
+      description =
+          "Load each CSV file with concurrent stages for decompressing, tokenizing, building"
+              + " entities and validating them. Cannot be combined with --parallel_row_decoding")
+  private boolean pipelinedLoading = false;
+
+  @Parameter(
+      names = {"--adaptive_field_caches"},
+      description =
+          "Intern values of CSV columns that repeat often, as measured on samples of rows,"
+              + " instead of only the columns that are marked as cached in the schema")
+  private boolean adaptiveFieldCaches = false;
+
+  @Parameter(
+      names = {"--shared_id_dictionary"},
+      description =
+          "Intern IDs that are primary or foreign keys in a dictionary shared by all CSV files, so"
+              + " that an ID referenced by several files is stored once, and report the savings")
+  private boolean sharedIdDictionary = false;
+
+  @Parameter(
+      names = {"--int_encoded_ids"},
+      description =
+          "Encode IDs that are primary or foreign keys as ints of a dictionary shared by all CSV"
+              + " files, so that indexes and foreign key checks do not hash strings. Implies"
+              + " --shared_id_dictionary")
+  private boolean intEncodedIds = false;
+
+  @Parameter(
+      names = {"--columnar_storage"},
+      description =
+          "Keep CSV files that support it, such as stop_times.txt, in columns of primitive values"
+              + " instead of one object per row, which takes much less memory")
+  private boolean columnarStorage = false;
+
+  @Parameter(
+      names = {"--off_heap_tables"},
+      description =
+          "Comma-separated CSV files, e.g., `stop_times.txt,shapes.txt`, to keep in columns outside"
+              + " the Java heap. Implies --columnar_storage for those files. Their size is limited"
+              + " by -XX:MaxDirectMemorySize")
+  private List<String> offHeapTables = new ArrayList<>();
+
+  @Parameter(
+      names = {"--spill_threshold_rows"},
+      description =
+          "Move columns of CSV files with more rows than this to temporary files in"
+              + " java.io.tmpdir and group their rows, e.g., stop times by trip. Implies"
+              + " --columnar_storage. 0 keeps all files in memory")
+  private int spillThresholdRows = 0;
+
+  @Parameter(
+      names = {"--concurrent_notice_container"},
+      description =
+          "Let validators running in parallel write notices to a single thread-safe container"
+              + " instead of merging a container per validator once they finish")
+  private boolean concurrentNoticeContainer = false;
+
+  @Parameter(
+      names = {"--eager_multi_file_validators"},
+      description =
+          "Start each multi-file validator as soon as the files it needs are loaded instead of"
+              + " waiting for all files")
+  private boolean eagerMultiFileValidators = false;
+
+  @Parameter(
+      names = {"--partitioned_validators"},
+      description =
+          "Validate trips, shapes and other partitions of a validator in parallel, using as many"
+              + " threads as --threads")
+  private boolean partitionedValidators = false;
+
+  /**
+   * Returns the options that the arguments select.
+   *
+   * @throws IllegalArgumentException if the arguments cannot be combined
+   */
+  FeedLoadingOptions toOptions() {
+    return FeedLoadingOptions.builder()
+        .setExecutionStrategy(executionStrategy)
+        .setCsvTokenizerType(csvTokenizerType)
+        .setParallelRowDecoding(parallelRowDecoding)
+        .setPipelinedLoading(pipelinedLoading)
+        .setAdaptiveFieldCaches(adaptiveFieldCaches)
+        .setSharedIdDictionary(sharedIdDictionary)
+        .setIntEncodedIds(intEncodedIds)
+        .setColumnarStorage(columnarStorage)
+        .setOffHeapTables(ImmutableSet.copyOf(offHeapTables))
+        .setSpillThresholdRows(spillThresholdRows)
+        .setConcurrentNoticeContainer(concurrentNoticeContainer)
+        .setEagerMultiFileValidators(eagerMultiFileValidators)
+        .setPartitionedValidators(partitionedValidators)
+        .build();
+  }
+}
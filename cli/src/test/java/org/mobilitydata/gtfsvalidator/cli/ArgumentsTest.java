@@ -29,6 +29,8 @@ import java.nio.file.Path;
 import org.junit.Test;
 import org.mobilitydata.gtfsvalidator.input.CountryCode;
 import org.mobilitydata.gtfsvalidator.runner.ValidationRunnerConfig;
+import org.mobilitydata.gtfsvalidator.table.ExecutionStrategy;
+import org.mobilitydata.gtfsvalidator.table.FeedLoadingOptions;
 
 public class ArgumentsTest {
 
@@ -236,6 +238,67 @@ public class ArgumentsTest {
         .isTrue();
   }
 
+  @Test
+  public void loadingArgumentsShouldInitializeLoadingOptions() throws URISyntaxException {
+    String[] commandLineArgumentAsStringArray = {
+      "--input", "/tmp/gtfs.zip",
+      "--output_base", "/tmp/output",
+      "--execution_strategy", "WORK_STEALING",
+      "--off_heap_tables", "shapes.txt,stop_times.txt",
+      "--eager_multi_file_validators",
+      "--partitioned_validators"
+    };
+
+    Arguments underTest = new Arguments();
+    new JCommander(underTest).parse(commandLineArgumentAsStringArray);
+    FeedLoadingOptions options = underTest.toConfig().loadingOptions();
+    assertThat(options.executionStrategy()).isEqualTo(ExecutionStrategy.WORK_STEALING);
+    assertThat(options.offHeapTables()).containsExactly("shapes.txt", "stop_times.txt");
+    assertThat(options.eagerMultiFileValidators()).isTrue();
+    assertThat(options.partitionedValidators()).isTrue();
+    assertThat(options.pipelinedLoading()).isFalse();
+  }
+
+  @Test
+  public void pipelinedLoadingAndParallelRowDecoding_isNotValid() {
+    assertThat(
+            validateArguments(
+                new String[] {
+                  "--input", "input value",
+                  "--output_base", "output value",
+                  "--pipelined_loading",
+                  "--parallel_row_decoding"
+                }))
+        .isFalse();
+  }
+
+  @Test
+  public void sequentialAndPartitionedValidators_isNotValid() {
+    assertThat(
+            validateArguments(
+                new String[] {
+                  "--input", "input value",
+                  "--output_base", "output value",
+                  "--execution_strategy", "SEQUENTIAL",
+                  "--partitioned_validators"
+                }))
+        .isFalse();
+  }
+
+  @Test
+  public void eagerAndPartitionedValidators_isValid() {
+    assertThat(
+            validateArguments(
+                new String[] {
+                  "--input", "input value",
+                  "--output_base", "output value",
+                  "--threads", "4",
+                  "--eager_multi_file_validators",
+                  "--partitioned_validators"
+                }))
+        .isTrue();
+  }
+
   @Test
   public void exportNoticesSchema_schemaOnly() {
     String[] cliArguments = {"--export_notices_schema", "--output_base", "output value"};
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.type;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the char-scanning {@link GtfsTime} and {@link GtfsDate} parsers with the regex and
+ * substring based implementations that they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GtfsTimeDateParsingBenchmark {
+  private static final int SAMPLE_SIZE = 4096;
+  private static final Pattern HHMMCC_PATTERN = Pattern.compile("(\\d{1,3}):(\\d\\d):(\\d\\d)");
+
+  private String[] times;
+  private String[] dates;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    times = new String[SAMPLE_SIZE];
+    dates = new String[SAMPLE_SIZE];
+    for (int i = 0; i < SAMPLE_SIZE; ++i) {
+      // Typical stop_times values, including times after midnight of the service day.
+      times[i] =
+          String.format(
+              "%02d:%02d:%02d", 4 + random.nextInt(24), random.nextInt(60), random.nextInt(60));
+      dates[i] = GtfsDate.fromEpochDay(19000 + random.nextInt(1000)).toYYYYMMDD();
+    }
+  }
+
+  @Benchmark
+  public void parseTimeLegacy(Blackhole blackhole) {
+    for (String time : times) {
+      blackhole.consume(legacyParseTime(time));
+    }
+  }
+
+  @Benchmark
+  public void parseTime(Blackhole blackhole) {
+    for (String time : times) {
+      blackhole.consume(GtfsTime.parseSecondsSinceMidnight(time));
+    }
+  }
+
+  @Benchmark
+  public void timeFromStringLegacy(Blackhole blackhole) {
+    for (String time : times) {
+      blackhole.consume(new LegacyTime(legacyParseTime(time)));
+    }
+  }
+
+  @Benchmark
+  public void timeFromString(Blackhole blackhole) {
+    for (String time : times) {
+      blackhole.consume(GtfsTime.fromString(time));
+    }
+  }
+
+  @Benchmark
+  public void parseDateLegacy(Blackhole blackhole) {
+    for (String date : dates) {
+      blackhole.consume(legacyParseDate(date).toEpochDay());
+    }
+  }
+
+  @Benchmark
+  public void parseDate(Blackhole blackhole) {
+    for (String date : dates) {
+      blackhole.consume(GtfsDate.parseEpochDay(date));
+    }
+  }
+
+  @Benchmark
+  public void dateFromString(Blackhole blackhole) {
+    for (String date : dates) {
+      blackhole.consume(GtfsDate.fromString(date));
+    }
+  }
+
+  /** Former {@code GtfsTime.fromString} without range checks, which are the same in both. */
+  private static int legacyParseTime(String time) {
+    Matcher matcher = HHMMCC_PATTERN.matcher(time);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(time);
+    }
+    return Integer.parseInt(matcher.group(1)) * 3600
+        + Integer.parseInt(matcher.group(2)) * 60
+        + Integer.parseInt(matcher.group(3));
+  }
+
+  /** Former {@code GtfsDate.fromString}. */
+  private static LocalDate legacyParseDate(String yyyymmdd) {
+    if (yyyymmdd.length() != 8) {
+      throw new IllegalArgumentException(yyyymmdd);
+    }
+    return LocalDate.of(
+        Integer.parseInt(yyyymmdd.substring(0, 4)),
+        Integer.parseInt(yyyymmdd.substring(4, 6)),
+        Integer.parseInt(yyyymmdd.substring(6)));
+  }
+
+  /** Stands for the per-call allocation that {@code GtfsTime.fromString} used to make. */
+  private static final class LegacyTime {
+    final int secondsSinceMidnight;
+
+    LegacyTime(int secondsSinceMidnight) {
+      this.secondsSinceMidnight = secondsSinceMidnight;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.mobilitydata.gtfsvalidator.table.CsrListIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares ordering of stop times by trip and stop_sequence with {@link RadixSort}, with the
+ * comparator based {@code List.sort} that indexes used before and with {@code Arrays.sort} of
+ * primitive keys.
+ *
+ * <p>Rows are shuffled, so that indexes cannot take their path for presorted input. The default of
+ * 50 million rows needs a large heap; pass {@code -p rowCount=...} for smaller runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx16g")
+public class RadixSortBenchmark {
+  private static final int STOPS_PER_TRIP = 30;
+
+  /** Bits of a key that {@link #arraysSort} keeps the row in. */
+  private static final int ROW_BITS = 27;
+
+  @Param("50000000")
+  public int rowCount;
+
+  private List<StopTimeRow> rows;
+
+  @Setup
+  public void setUp() {
+    rows = new ArrayList<>(rowCount);
+    for (int row = 0; row < rowCount; ++row) {
+      rows.add(new StopTimeRow(row / STOPS_PER_TRIP, row % STOPS_PER_TRIP + 1));
+    }
+    Collections.shuffle(rows, new Random(42));
+  }
+
+  @Benchmark
+  public List<StopTimeRow> listSort() {
+    List<StopTimeRow> sorted = new ArrayList<>(rows);
+    sorted.sort(
+        (row1, row2) -> {
+          int byTrip = Integer.compare(row1.tripIndex, row2.tripIndex);
+          return byTrip != 0 ? byTrip : Integer.compare(row1.stopSequence, row2.stopSequence);
+        });
+    return sorted;
+  }
+
+  @Benchmark
+  public int[] radixSort() {
+    long[] keys = new long[rows.size()];
+    for (int row = 0; row < keys.length; ++row) {
+      StopTimeRow stopTime = rows.get(row);
+      keys[row] = RadixSort.packKey(stopTime.tripIndex, stopTime.stopSequence);
+    }
+    return RadixSort.sortedPermutation(keys, keys.length);
+  }
+
+  /**
+   * Sorts keys that carry the trip, the stop_sequence and the row, so that the order of rows can be
+   * read from the sorted keys. This fits rows below 2^27, sequences below 2^13 and trips below
+   * 2^23, which holds for the benchmark but not for feeds in general.
+   */
+  @Benchmark
+  public int[] arraysSort() {
+    long[] keys = new long[rows.size()];
+    for (int row = 0; row < keys.length; ++row) {
+      StopTimeRow stopTime = rows.get(row);
+      keys[row] =
+          ((long) stopTime.tripIndex << (ROW_BITS + 13))
+              | ((long) stopTime.stopSequence << ROW_BITS)
+              | row;
+    }
+    Arrays.sort(keys);
+    int[] order = new int[keys.length];
+    for (int i = 0; i < keys.length; ++i) {
+      order[i] = (int) (keys[i] & ((1L << ROW_BITS) - 1));
+    }
+    return order;
+  }
+
+  @Benchmark
+  public CsrListIndex<Integer, StopTimeRow> csrListIndex() {
+    return CsrListIndex.byKey(rows, (row) -> row.tripIndex, (row) -> row.stopSequence);
+  }
+
+  /** Stands for a stop time with its trip as a dense ordinal. */
+  public static final class StopTimeRow {
+    final int tripIndex;
+    final int stopSequence;
+
+    StopTimeRow(int tripIndex, int stopSequence) {
+      this.tripIndex = tripIndex;
+      this.stopSequence = stopSequence;
+    }
+  }
+}
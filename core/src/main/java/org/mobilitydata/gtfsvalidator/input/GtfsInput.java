@@ -29,6 +29,8 @@ import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
 import org.mobilitydata.gtfsvalidator.notice.InvalidInputFilesInSubfolderNotice;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.parsing.CsvByteSource;
+import org.mobilitydata.gtfsvalidator.parsing.StreamCsvByteSource;
 import org.mobilitydata.gtfsvalidator.util.HttpGetUtil;
 
 /**
@@ -174,4 +176,18 @@ public abstract class GtfsInput implements Closeable {
    * @throws IOException if no file could not be found at the specified location
    */
   public abstract InputStream getFile(String filename) throws IOException;
+
+  /**
+   * Returns raw bytes of a given file for {@code ByteBufferCsvTokenizer}.
+   *
+   * <p>By default, the stream returned by {@link #getFile(String)} is read into direct buffers.
+   * Subclasses may provide a more efficient implementation.
+   *
+   * @param filename relative path to the file, e.g, "stops.txt"
+   * @return a source of file bytes that must be closed by the caller
+   * @throws IOException if no file could not be found at the specified location
+   */
+  public CsvByteSource getFileByteSource(String filename) throws IOException {
+    return new StreamCsvByteSource(getFile(filename));
+  }
 }
@@ -22,6 +22,8 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.stream.Stream;
+import org.mobilitydata.gtfsvalidator.parsing.CsvByteSource;
+import org.mobilitydata.gtfsvalidator.parsing.MappedCsvByteSource;
 
 /** Implements support for unarchived GTFS directories. */
 public class GtfsUnarchivedInput extends GtfsInput {
@@ -49,6 +51,12 @@ public class GtfsUnarchivedInput extends GtfsInput {
     return Files.newInputStream(directory.resolve(filename));
   }
 
+  /** Maps the file into memory instead of copying it through a stream. */
+  @Override
+  public CsvByteSource getFileByteSource(String filename) throws IOException {
+    return new MappedCsvByteSource(directory.resolve(filename));
+  }
+
   @Override
   public void close() throws IOException {
     // Do nothing.
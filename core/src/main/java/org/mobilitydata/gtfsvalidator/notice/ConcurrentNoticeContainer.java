@@ -0,0 +1,324 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.notice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * Container for validation notices that tasks running in parallel may share.
+ *
+ * <p>Each task writes to its own stripe, see {@link #newStripe()}, which appends notices to lists
+ * and counts them in arrays that no other thread writes to. Unlike with a {@link NoticeContainer}
+ * per task, nothing needs to be merged once tasks finish.
+ *
+ * <p>Limits of the container are enforced when a notice is added: a stripe stores a validation
+ * notice only after reserving a slot in counters of stored notices per type and severity and in
+ * total, which all stripes share. Stripes together thus never hold more notices than the limits.
+ * Once a limit is reached, which notices were stored depends on how tasks were scheduled, while
+ * counts of notices still cover all of them.
+ *
+ * <p>Notices are read in the order in which stripes were created. Notices that are added to this
+ * container directly go to a stripe of the container, which follows stripes created before and
+ * which callers share under a lock. Notices should be read once all tasks have finished.
+ */
+public class ConcurrentNoticeContainer extends NoticeContainer {
+  private final int maxTotalValidationNotices;
+  private final int maxValidationNoticesPerTypeAndSeverity;
+  private final int maxExportsPerNoticeTypeAndSeverity;
+
+  private final List<Stripe> stripes = new CopyOnWriteArrayList<>();
+  private int taskStripeCount = 0;
+  @Nullable private Stripe directStripe = null;
+
+  /** Stored validation notices, across stripes. */
+  private final AtomicInteger storedNotices = new AtomicInteger();
+
+  /** Stored validation notices per {@link NoticeType#getCountIndex}, across stripes. */
+  private final ConcurrentMap<Integer, AtomicInteger> storedNoticesByIndex =
+      new ConcurrentHashMap<>();
+
+  private final AtomicInteger storedSystemErrors = new AtomicInteger();
+
+  /** Counts all notices, including notices that were not stored. */
+  private final LongAdder noticesCount = new LongAdder();
+
+  private volatile boolean anyValidationErrors = false;
+  private volatile boolean anyValidationWarnings = false;
+
+  @Nullable private volatile List<ResolvedNotice<ValidationNotice>> mergedNotices = null;
+  @Nullable private volatile List<ResolvedNotice<SystemError>> mergedSystemErrors = null;
+
+  /**
+   * Used to specify limits on amount of notices in this container, see {@link
+   * NoticeContainer#NoticeContainer(int, int, int)}.
+   */
+  public ConcurrentNoticeContainer(
+      int maxTotalValidationNotices,
+      int maxValidationNoticePerTypeAndSeverity,
+      int maxExportPerNoticeTypeAndSeverity) {
+    super(
+        maxTotalValidationNotices,
+        maxValidationNoticePerTypeAndSeverity,
+        maxExportPerNoticeTypeAndSeverity);
+    this.maxTotalValidationNotices = maxTotalValidationNotices;
+    this.maxValidationNoticesPerTypeAndSeverity = maxValidationNoticePerTypeAndSeverity;
+    this.maxExportsPerNoticeTypeAndSeverity = maxExportPerNoticeTypeAndSeverity;
+  }
+
+  /** Used if no constant is provided: uses the limits of {@link NoticeContainer}. */
+  public ConcurrentNoticeContainer() {
+    this(
+        MAX_TOTAL_VALIDATION_NOTICES,
+        MAX_VALIDATION_NOTICES_TYPE_AND_SEVERITY,
+        MAX_EXPORTS_PER_NOTICE_TYPE_AND_SEVERITY);
+  }
+
+  /**
+   * Returns a container for the notices of a task, which a single thread writes to at a time.
+   * Notices and counts of the stripe are part of this container right away.
+   */
+  public synchronized NoticeContainer newStripe() {
+    return addStripe(++taskStripeCount);
+  }
+
+  private Stripe addStripe(int taskStripes) {
+    Stripe stripe = new Stripe(taskStripes);
+    stripes.add(stripe);
+    return stripe;
+  }
+
+  /**
+   * Returns the stripe for notices added directly, unless tasks created stripes since, which
+   * would then precede the next notices added directly. Must be called while holding the lock.
+   */
+  private Stripe directStripe() {
+    if (directStripe == null || directStripe.taskStripes != taskStripeCount) {
+      directStripe = addStripe(taskStripeCount);
+    }
+    return directStripe;
+  }
+
+  @Override
+  public synchronized void addValidationNoticeWithSeverity(
+      ValidationNotice notice, SeverityLevel severityLevel) {
+    directStripe().addValidationNoticeWithSeverity(notice, severityLevel);
+  }
+
+  @Override
+  public synchronized void addSystemError(SystemError error) {
+    directStripe().addSystemError(error);
+  }
+
+  /** Adds notices of another container like {@link #addAllWithinLimits}. */
+  @Override
+  public synchronized void addAll(NoticeContainer otherContainer) {
+    directStripe().addAllWithinLimits(otherContainer);
+  }
+
+  @Override
+  public synchronized void addAllWithinLimits(NoticeContainer otherContainer) {
+    directStripe().addAllWithinLimits(otherContainer);
+  }
+
+  /** Removes all notices and counts. Must not be called while tasks add notices. */
+  @Override
+  public synchronized void clear() {
+    stripes.clear();
+    directStripe = null;
+    storedNotices.set(0);
+    storedNoticesByIndex.clear();
+    storedSystemErrors.set(0);
+    noticesCount.reset();
+    anyValidationErrors = false;
+    anyValidationWarnings = false;
+    mergedNotices = null;
+    mergedSystemErrors = null;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return noticesCount.sum() == 0;
+  }
+
+  @Override
+  public boolean hasValidationErrors() {
+    return anyValidationErrors;
+  }
+
+  @Override
+  public boolean hasValidationWarnings() {
+    return anyValidationWarnings;
+  }
+
+  /**
+   * Returns notices of all stripes in their order. The list is built again only if notices were
+   * stored since the last call.
+   */
+  @Override
+  public List<ResolvedNotice<ValidationNotice>> getResolvedValidationNotices() {
+    List<ResolvedNotice<ValidationNotice>> notices = mergedNotices;
+    int stored = storedNotices.get();
+    if (notices == null || notices.size() != stored) {
+      notices = new ArrayList<>(stored);
+      for (Stripe stripe : stripes) {
+        notices.addAll(stripe.getResolvedValidationNotices());
+      }
+      mergedNotices = notices;
+    }
+    return notices;
+  }
+
+  @Override
+  public List<ResolvedNotice<SystemError>> getResolvedSystemErrors() {
+    List<ResolvedNotice<SystemError>> errors = mergedSystemErrors;
+    int stored = storedSystemErrors.get();
+    if (errors == null || errors.size() != stored) {
+      errors = new ArrayList<>(stored);
+      for (Stripe stripe : stripes) {
+        errors.addAll(stripe.getResolvedSystemErrors());
+      }
+      mergedSystemErrors = errors;
+    }
+    return errors;
+  }
+
+  @Override
+  int[] getNoticeCountsByIndex() {
+    int[] counts = new int[0];
+    for (Stripe stripe : stripes) {
+      int[] stripeCounts = stripe.getNoticeCountsByIndex();
+      if (counts.length < stripeCounts.length) {
+        counts = Arrays.copyOf(counts, stripeCounts.length);
+      }
+      for (int i = 0; i < stripeCounts.length; ++i) {
+        counts[i] += stripeCounts[i];
+      }
+    }
+    return counts;
+  }
+
+  /** Increments the counter unless it reached the limit, and tells if it did. */
+  private static boolean tryIncrement(AtomicInteger counter, int limit) {
+    int count;
+    do {
+      count = counter.get();
+      if (count >= limit) {
+        return false;
+      }
+    } while (!counter.compareAndSet(count, count + 1));
+    return true;
+  }
+
+  /**
+   * Notices of a task. A stripe counts notices on its own and stores a validation notice only if
+   * it can reserve a slot within the limits of the enclosing container.
+   */
+  private final class Stripe extends NoticeContainer {
+    /** Number of stripes of tasks when this stripe was created. */
+    final int taskStripes;
+
+    /** Counters of {@link #storedNoticesByIndex} that this stripe used so far. */
+    private AtomicInteger[] storedCounters = new AtomicInteger[0];
+
+    Stripe(int taskStripes) {
+      super(
+          maxTotalValidationNotices,
+          maxValidationNoticesPerTypeAndSeverity,
+          maxExportsPerNoticeTypeAndSeverity);
+      this.taskStripes = taskStripes;
+    }
+
+    @Override
+    boolean countValidationNotice(ResolvedNotice<ValidationNotice> notice) {
+      noticesCount.increment();
+      if (notice.isError() && !anyValidationErrors) {
+        anyValidationErrors = true;
+      }
+      if (notice.isWarning() && !anyValidationWarnings) {
+        anyValidationWarnings = true;
+      }
+      return super.countValidationNotice(notice) && reserveSlot(notice.getCountIndex());
+    }
+
+    @Override
+    void countSystemError(ResolvedNotice<SystemError> error) {
+      noticesCount.increment();
+      storedSystemErrors.incrementAndGet();
+      super.countSystemError(error);
+    }
+
+    @Override
+    void addNoticeCounts(int[] counts) {
+      super.addNoticeCounts(counts);
+      for (int count : counts) {
+        noticesCount.add(count);
+      }
+    }
+
+    /** Adds notices of another container like {@link #addAllWithinLimits}. */
+    @Override
+    public void addAll(NoticeContainer otherContainer) {
+      addAllWithinLimits(otherContainer);
+    }
+
+    @Override
+    public void addAllWithinLimits(NoticeContainer otherContainer) {
+      super.addAllWithinLimits(otherContainer);
+      // Notices that the other container did not store are only reflected in its flags.
+      if (otherContainer.hasValidationErrors() && !anyValidationErrors) {
+        anyValidationErrors = true;
+      }
+      if (otherContainer.hasValidationWarnings() && !anyValidationWarnings) {
+        anyValidationWarnings = true;
+      }
+    }
+
+    /** Reserves a slot for a validation notice with the given count index, if there is one. */
+    private boolean reserveSlot(int countIndex) {
+      AtomicInteger storedOfType = storedCounter(countIndex);
+      if (!tryIncrement(storedOfType, maxValidationNoticesPerTypeAndSeverity)) {
+        return false;
+      }
+      if (!tryIncrement(storedNotices, maxTotalValidationNotices)) {
+        storedOfType.decrementAndGet();
+        return false;
+      }
+      return true;
+    }
+
+    private AtomicInteger storedCounter(int countIndex) {
+      if (countIndex >= storedCounters.length) {
+        storedCounters =
+            Arrays.copyOf(storedCounters, Math.max(countIndex + 1, NoticeType.countSlots()));
+      }
+      AtomicInteger counter = storedCounters[countIndex];
+      if (counter == null) {
+        counter = storedNoticesByIndex.computeIfAbsent(countIndex, i -> new AtomicInteger());
+        storedCounters[countIndex] = counter;
+      }
+      return counter;
+    }
+  }
+}
@@ -20,6 +20,7 @@ import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.ERROR;
 import com.google.common.base.Strings;
 import com.univocity.parsers.common.TextParsingException;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
+import org.mobilitydata.gtfsvalidator.parsing.CsvTokenizerException;
 
 /**
  * Parsing of a CSV file failed.
@@ -61,4 +62,19 @@ public class CsvParsingFailedNotice extends ValidationNotice {
     this.message = Strings.nullToEmpty(exception.getMessage());
     this.parsedContent = Strings.nullToEmpty(exception.getParsedContent());
   }
+
+  /**
+   * Constructor used when the file is split by a tokenizer that is not backed by univocity.
+   *
+   * @param filename the name of the file
+   * @param exception the exception thrown
+   */
+  public CsvParsingFailedNotice(String filename, CsvTokenizerException exception) {
+    this.filename = filename;
+    this.charIndex = exception.getCharIndex();
+    this.columnIndex = exception.getColumnIndex();
+    this.lineIndex = exception.getLineIndex();
+    this.message = Strings.nullToEmpty(exception.getMessage());
+    this.parsedContent = Strings.nullToEmpty(exception.getParsedContent());
+  }
 }
@@ -64,7 +64,12 @@ public abstract class Notice {
    * @return notice code, e.g., "foreign_key_violation".
    */
   public String getCode() {
-    return getCode(getClass());
+    return getNoticeType().getCode();
+  }
+
+  /** Returns the type of this notice, which resolves its code and default severity once. */
+  public NoticeType getNoticeType() {
+    return NoticeType.of(getClass());
   }
 
   /**
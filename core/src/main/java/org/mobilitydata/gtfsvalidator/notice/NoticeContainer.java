@@ -21,10 +21,10 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.MultimapBuilder;
 import com.google.gson.JsonObject;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import org.mobilitydata.gtfsvalidator.io.ValidationReportDeserializer;
 import org.mobilitydata.gtfsvalidator.model.ValidationReport;
 
@@ -32,11 +32,12 @@ import org.mobilitydata.gtfsvalidator.model.ValidationReport;
  * Container for validation notices (errors and warnings).
  *
  * <p>This class is not intentionally not thread-safe to increase performance. Each thread has it's
- * own NoticeContainer, and after execution is complete the results are merged.
+ * own NoticeContainer, and after execution is complete the results are merged. See {@link
+ * ConcurrentNoticeContainer} for a container that threads may share instead.
  */
 public class NoticeContainer {
   /** Limit on the amount notices of the same type and severity. */
-  private static final int MAX_VALIDATION_NOTICES_TYPE_AND_SEVERITY = 100_000;
+  static final int MAX_VALIDATION_NOTICES_TYPE_AND_SEVERITY = 100_000;
 
   /**
    * Limit on the total amount of stored validation notices.
@@ -47,17 +48,21 @@ public class NoticeContainer {
    *
    * <p>Note that system errors are not limited since we don't expect to have a lot of them.
    */
-  private static final int MAX_TOTAL_VALIDATION_NOTICES = 10_000_000;
+  static final int MAX_TOTAL_VALIDATION_NOTICES = 10_000_000;
 
   /** Limit on the amount of exported notices */
-  private static final int MAX_EXPORTS_PER_NOTICE_TYPE_AND_SEVERITY = 1_000;
+  static final int MAX_EXPORTS_PER_NOTICE_TYPE_AND_SEVERITY = 1_000;
 
   private final int maxTotalValidationNotices;
   private final int maxValidationNoticesPerTypeAndSeverity;
   private final int maxExportsPerNoticeTypeAndSeverity;
   private final List<ResolvedNotice<ValidationNotice>> validationNotices = new ArrayList<>();
   private final List<ResolvedNotice<SystemError>> systemErrors = new ArrayList<>();
-  private final Map<String, Integer> noticesCountPerTypeAndSeverity = new HashMap<>();
+  /** Counts of notices per type and severity, see {@link NoticeType#getCountIndex}. */
+  private int[] noticesCountPerTypeAndSeverity = new int[0];
+
+  /** Total of {@link #noticesCountPerTypeAndSeverity}. */
+  private long noticesCount = 0;
   private boolean hasValidationErrors = false;
   private boolean hasValidationWarnings = false;
 
@@ -91,7 +96,7 @@ public class NoticeContainer {
   /** Adds a new validation notice to the container (if there is capacity). */
   public void addValidationNotice(ValidationNotice notice) {
     // TODO: This would be the spot to add customization of notice severity levels in the future.
-    SeverityLevel severity = ValidationNotice.getDefaultSeverityLevel(notice.getClass());
+    SeverityLevel severity = notice.getNoticeType().getDefaultSeverityLevel();
     addValidationNoticeWithSeverity(notice, severity);
   }
 
@@ -104,14 +109,9 @@ public class NoticeContainer {
     if (resolved.isWarning()) {
       hasValidationWarnings = true;
     }
-
-    updateNoticeCount(resolved);
-    if (validationNotices.size() >= maxTotalValidationNotices
-        || noticesCountPerTypeAndSeverity.get(resolved.getMappingKey())
-            > maxValidationNoticesPerTypeAndSeverity) {
-      return;
+    if (countValidationNotice(resolved)) {
+      validationNotices.add(resolved);
     }
-    validationNotices.add(resolved);
   }
 
   public <T extends ValidationNotice> NoticeContainer addValidationNotices(Iterable<T> notices) {
@@ -124,18 +124,80 @@ public class NoticeContainer {
   /** Adds a new system error to the container. */
   public void addSystemError(SystemError error) {
     ResolvedNotice<SystemError> resolved = new ResolvedNotice<>(error, SeverityLevel.ERROR);
-    updateNoticeCount(resolved);
+    countSystemError(resolved);
     systemErrors.add(resolved);
   }
 
+  /**
+   * Counts a validation notice and tells if it should be stored, i.e., if limits on the amount of
+   * notices are not reached.
+   */
+  boolean countValidationNotice(ResolvedNotice<ValidationNotice> notice) {
+    int count = updateNoticeCount(notice);
+    return validationNotices.size() < maxTotalValidationNotices
+        && count <= maxValidationNoticesPerTypeAndSeverity;
+  }
+
+  /** Counts a system error, which is always stored. */
+  void countSystemError(ResolvedNotice<SystemError> error) {
+    updateNoticeCount(error);
+  }
+
+  /**
+   * Adds counts of notices per type and severity of another container.
+   *
+   * @param counts counts indexed by {@link NoticeType#getCountIndex}
+   */
+  void addNoticeCounts(int[] counts) {
+    ensureCountCapacity(counts.length);
+    for (int i = 0; i < counts.length; ++i) {
+      noticesCountPerTypeAndSeverity[i] += counts[i];
+      noticesCount += counts[i];
+    }
+  }
+
+  /**
+   * Returns counts of notices per type and severity, including notices that were not stored,
+   * indexed by {@link NoticeType#getCountIndex}. Types beyond the end of the array have no notices.
+   */
+  int[] getNoticeCountsByIndex() {
+    return noticesCountPerTypeAndSeverity;
+  }
+
+  /**
+   * Returns counts of notices per type and severity, including notices that were not stored, keyed
+   * by {@link ResolvedNotice#getMappingKey()}.
+   */
+  Map<String, Integer> getNoticeCounts() {
+    int[] counts = getNoticeCountsByIndex();
+    Map<String, Integer> countsByKey = new HashMap<>();
+    for (int i = 0; i < counts.length; ++i) {
+      if (counts[i] != 0) {
+        countsByKey.put(NoticeType.mappingKeyOfCountIndex(i), counts[i]);
+      }
+    }
+    return countsByKey;
+  }
+
   /**
    * Updates the count of notices per type and severity.
    *
    * @param notice the {@code Notice} whose count should be updated
+   * @return the updated count of notices with the same type and severity
    */
-  private void updateNoticeCount(ResolvedNotice notice) {
-    int count = noticesCountPerTypeAndSeverity.getOrDefault(notice.getMappingKey(), 0);
-    noticesCountPerTypeAndSeverity.put(notice.getMappingKey(), count + 1);
+  private int updateNoticeCount(ResolvedNotice<?> notice) {
+    int index = notice.getCountIndex();
+    ensureCountCapacity(index + 1);
+    ++noticesCount;
+    return ++noticesCountPerTypeAndSeverity[index];
+  }
+
+  /** Grows the counts, so that they cover all notice types known so far, and at least slots. */
+  private void ensureCountCapacity(int slots) {
+    if (noticesCountPerTypeAndSeverity.length < slots) {
+      noticesCountPerTypeAndSeverity =
+          Arrays.copyOf(noticesCountPerTypeAndSeverity, Math.max(slots, NoticeType.countSlots()));
+    }
   }
 
   /**
@@ -145,19 +207,66 @@ public class NoticeContainer {
    * is merged into the global container when the thread finishes. Please note that the final {@code
    * NoticeContainer} may contain more than the maximum amount of {@code ValidationNotice} allowed
    * by {@code NoticeContainer#MAX_TOTAL_VALIDATION_NOTICES} and {@code
-   * NoticeContainer#MAX_VALIDATION_NOTICES_TYPE_AND_SEVERITY}.
+   * NoticeContainer#MAX_VALIDATION_NOTICES_TYPE_AND_SEVERITY}. Use {@link #addAllWithinLimits} to
+   * respect them.
    *
    * @param otherContainer a container to take the notices from
    */
   public void addAll(NoticeContainer otherContainer) {
-    validationNotices.addAll(otherContainer.validationNotices);
-    systemErrors.addAll(otherContainer.systemErrors);
-    hasValidationErrors |= otherContainer.hasValidationErrors;
-    hasValidationWarnings |= otherContainer.hasValidationWarnings;
-    for (Entry<String, Integer> entry : otherContainer.noticesCountPerTypeAndSeverity.entrySet()) {
-      int count = noticesCountPerTypeAndSeverity.getOrDefault(entry.getKey(), 0);
-      noticesCountPerTypeAndSeverity.put(entry.getKey(), count + entry.getValue());
+    validationNotices.addAll(otherContainer.getResolvedValidationNotices());
+    systemErrors.addAll(otherContainer.getResolvedSystemErrors());
+    hasValidationErrors |= otherContainer.hasValidationErrors();
+    hasValidationWarnings |= otherContainer.hasValidationWarnings();
+    addNoticeCounts(otherContainer.getNoticeCountsByIndex());
+  }
+
+  /**
+   * Adds all validation notices and system errors from another container, storing validation
+   * notices only while the limits of this container are not reached.
+   *
+   * <p>Notices of the other container are counted in their original order and counts of notices
+   * that the other container did not store are carried over. Hence, merging containers of
+   * consecutive parts of the input in their order stores the same notices as adding all notices to
+   * a single container.
+   *
+   * @param otherContainer a container to take the notices from
+   */
+  public void addAllWithinLimits(NoticeContainer otherContainer) {
+    int[] remainingCounts = otherContainer.getNoticeCountsByIndex().clone();
+    for (ResolvedNotice<ValidationNotice> notice : otherContainer.getResolvedValidationNotices()) {
+      --remainingCounts[notice.getCountIndex()];
+      if (countValidationNotice(notice)) {
+        validationNotices.add(notice);
+      }
     }
+    for (ResolvedNotice<SystemError> error : otherContainer.getResolvedSystemErrors()) {
+      --remainingCounts[error.getCountIndex()];
+      countSystemError(error);
+      systemErrors.add(error);
+    }
+    hasValidationErrors |= otherContainer.hasValidationErrors();
+    hasValidationWarnings |= otherContainer.hasValidationWarnings();
+    addNoticeCounts(remainingCounts);
+  }
+
+  /**
+   * Removes all notices and counts, so that the container can be reused, e.g., for notices of the
+   * next CSV row.
+   */
+  public void clear() {
+    validationNotices.clear();
+    systemErrors.clear();
+    if (noticesCount != 0) {
+      Arrays.fill(noticesCountPerTypeAndSeverity, 0);
+      noticesCount = 0;
+    }
+    hasValidationErrors = false;
+    hasValidationWarnings = false;
+  }
+
+  /** Tells if this container has neither validation notices nor system errors. */
+  public boolean isEmpty() {
+    return noticesCount == 0;
   }
 
   /** Tells if this container has any {@code ValidationNotice} that is an error. */
@@ -174,35 +283,39 @@ public class NoticeContainer {
     return validationNotices;
   }
 
+  public List<ResolvedNotice<SystemError>> getResolvedSystemErrors() {
+    return systemErrors;
+  }
+
   /** Returns a list of all validation notices in the container. */
   public List<ValidationNotice> getValidationNotices() {
-    return Lists.transform(validationNotices, ResolvedNotice::getContext);
+    return Lists.transform(getResolvedValidationNotices(), ResolvedNotice::getContext);
   }
 
   /** Returns a list of all system errors in the container. */
   public List<SystemError> getSystemErrors() {
-    return Lists.transform(systemErrors, ResolvedNotice::getContext);
+    return Lists.transform(getResolvedSystemErrors(), ResolvedNotice::getContext);
   }
 
   /** Exports all validation notices as JSON. */
   public JsonObject exportValidationNotices() {
-    return exportJson(validationNotices);
+    return exportJson(getResolvedValidationNotices());
   }
 
   /** Exports all system errors as JSON. */
   public JsonObject exportSystemErrors() {
-    return exportJson(systemErrors);
+    return exportJson(getResolvedSystemErrors());
   }
 
   public <T extends Notice> JsonObject exportJson(List<ResolvedNotice<T>> notices) {
     return ValidationReportDeserializer.serialize(
-        notices, maxExportsPerNoticeTypeAndSeverity, noticesCountPerTypeAndSeverity);
+        notices, maxExportsPerNoticeTypeAndSeverity, getNoticeCounts());
   }
 
   public <T extends Notice> ValidationReport createValidationReport(
       List<ResolvedNotice<T>> notices) {
     return ValidationReportDeserializer.createValidationReport(
-        notices, maxExportsPerNoticeTypeAndSeverity, noticesCountPerTypeAndSeverity);
+        notices, maxExportsPerNoticeTypeAndSeverity, getNoticeCounts());
   }
 
   public static <T extends Notice>
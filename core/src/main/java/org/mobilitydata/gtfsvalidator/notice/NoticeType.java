@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.notice;
+
+import com.google.common.base.Preconditions;
+import com.google.common.flogger.FluentLogger;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
+
+/**
+ * A type of notice with a dense numeric ID, so that notices can be counted per type and severity
+ * in a plain array.
+ *
+ * <p>Notice classes listed in {@link NoticeTypeIndex} resources, which are written at build time,
+ * get IDs in the order of their names when this class is loaded. Other notice classes, e.g., those
+ * of tests, get the next free ID when they are first used. The code and default severity of a
+ * notice type are resolved once per class.
+ */
+public final class NoticeType {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  private static final SeverityLevel[] SEVERITY_LEVELS = SeverityLevel.values();
+
+  /** All notice types by class. Guarded by itself. */
+  private static final Map<Class<?>, NoticeType> typesByClass = new HashMap<>();
+
+  /** All notice types by ID. A new array is published whenever a type is added. */
+  private static volatile NoticeType[] typesById = new NoticeType[0];
+
+  private static final ClassValue<NoticeType> typeOfClass =
+      new ClassValue<>() {
+        @Override
+        protected NoticeType computeValue(Class<?> noticeClass) {
+          return register(noticeClass);
+        }
+      };
+
+  static {
+    registerIndexedTypes();
+  }
+
+  private final int id;
+  private final Class<?> noticeClass;
+  private final String code;
+  @Nullable private final SeverityLevel defaultSeverityLevel;
+  private final String[] mappingKeys;
+
+  private NoticeType(int id, Class<?> noticeClass) {
+    this.id = id;
+    this.noticeClass = noticeClass;
+    this.code = Notice.getCode(noticeClass);
+    GtfsValidationNotice annotation = noticeClass.getAnnotation(GtfsValidationNotice.class);
+    this.defaultSeverityLevel = annotation != null ? annotation.severity() : null;
+    this.mappingKeys = new String[SEVERITY_LEVELS.length];
+    for (SeverityLevel severityLevel : SEVERITY_LEVELS) {
+      mappingKeys[severityLevel.ordinal()] = code + severityLevel.ordinal();
+    }
+  }
+
+  /** Returns the type of the given notice class. */
+  public static NoticeType of(Class<? extends Notice> noticeClass) {
+    return typeOfClass.get(noticeClass);
+  }
+
+  /** Returns the notice type with the given ID. */
+  public static NoticeType byId(int id) {
+    return typesById[id];
+  }
+
+  /** Returns the number of notice types that have an ID so far. */
+  public static int count() {
+    return typesById.length;
+  }
+
+  /**
+   * Returns the number of slots that counts of notices per type and severity need for all notice
+   * types that have an ID so far, see {@link #getCountIndex(SeverityLevel)}.
+   */
+  public static int countSlots() {
+    return count() * SEVERITY_LEVELS.length;
+  }
+
+  /**
+   * Returns the key of the given slot of counts of notices per type and severity, see {@link
+   * ResolvedNotice#getMappingKey()}.
+   */
+  public static String mappingKeyOfCountIndex(int countIndex) {
+    NoticeType type = byId(countIndex / SEVERITY_LEVELS.length);
+    return type.mappingKeys[countIndex % SEVERITY_LEVELS.length];
+  }
+
+  private static NoticeType register(Class<?> noticeClass) {
+    synchronized (typesByClass) {
+      NoticeType type = typesByClass.get(noticeClass);
+      if (type == null) {
+        NoticeType[] types = typesById;
+        type = new NoticeType(types.length, noticeClass);
+        typesByClass.put(noticeClass, type);
+        types = Arrays.copyOf(types, types.length + 1);
+        types[type.id] = type;
+        typesById = types;
+      }
+      return type;
+    }
+  }
+
+  /** Registers all notice classes of the index resources on the class path. */
+  private static void registerIndexedTypes() {
+    ClassLoader classLoader = NoticeType.class.getClassLoader();
+    Set<String> classNames = new TreeSet<>();
+    try {
+      Enumeration<URL> resources = classLoader.getResources(NoticeTypeIndex.RESOURCE_NAME);
+      while (resources.hasMoreElements()) {
+        try (BufferedReader reader =
+            new BufferedReader(
+                new InputStreamReader(
+                    resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+          reader.lines().filter((line) -> !line.isBlank()).forEach(classNames::add);
+        }
+      }
+    } catch (IOException e) {
+      logger.atWarning().withCause(e).log("Cannot read the index of notice types");
+    }
+    for (String className : classNames) {
+      try {
+        Class<?> noticeClass = Class.forName(className, false, classLoader);
+        if (Notice.class.isAssignableFrom(noticeClass)) {
+          typeOfClass.get(noticeClass);
+        }
+      } catch (ClassNotFoundException | LinkageError e) {
+        logger.atFine().withCause(e).log("Notice type %s is not available", className);
+      }
+    }
+  }
+
+  /** Returns the numeric ID of this notice type, which is below {@link #count()}. */
+  public int getId() {
+    return id;
+  }
+
+  public Class<?> getNoticeClass() {
+    return noticeClass;
+  }
+
+  /** Returns the code of notices of this type, see {@link Notice#getCode()}. */
+  public String getCode() {
+    return code;
+  }
+
+  /**
+   * Returns the default {@link SeverityLevel} of notices of this type from its {@link
+   * GtfsValidationNotice} annotation.
+   */
+  public SeverityLevel getDefaultSeverityLevel() {
+    Preconditions.checkNotNull(
+        defaultSeverityLevel,
+        "Found ValidationNotice without a @GtfsValidationNotice annotation: " + noticeClass);
+    return defaultSeverityLevel;
+  }
+
+  /** Returns the key of notices of this type and the given severity, see {@link ResolvedNotice}. */
+  public String getMappingKey(SeverityLevel severityLevel) {
+    return mappingKeys[severityLevel.ordinal()];
+  }
+
+  /** Returns the slot of counts of notices per type and severity for this type and severity. */
+  public int getCountIndex(SeverityLevel severityLevel) {
+    return id * SEVERITY_LEVELS.length + severityLevel.ordinal();
+  }
+
+  @Override
+  public String toString() {
+    return code;
+  }
+}
@@ -28,9 +28,12 @@ public final class ResolvedNotice<T extends Notice> {
 
   private final SeverityLevel severityLevel;
 
+  private final NoticeType noticeType;
+
   public ResolvedNotice(T context, SeverityLevel severityLevel) {
     this.context = context;
     this.severityLevel = severityLevel;
+    this.noticeType = context.getNoticeType();
   }
 
   public T getContext() {
@@ -45,7 +48,16 @@ public final class ResolvedNotice<T extends Notice> {
    * @return the key used to group notices per type and severity: code + ordinal of severity level.
    */
   public String getMappingKey() {
-    return context.getCode() + getSeverityLevel().ordinal();
+    return noticeType.getMappingKey(severityLevel);
+  }
+
+  /** Returns the slot of this notice in counts of notices per type and severity. */
+  public int getCountIndex() {
+    return noticeType.getCountIndex(severityLevel);
+  }
+
+  public NoticeType getNoticeType() {
+    return noticeType;
   }
 
   @Override
@@ -16,7 +16,6 @@
 
 package org.mobilitydata.gtfsvalidator.notice;
 
-import com.google.common.base.Preconditions;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
 
 /**
@@ -37,14 +36,10 @@ public abstract class ValidationNotice extends Notice {
    */
   public static <T extends ValidationNotice> SeverityLevel getDefaultSeverityLevel(
       Class<T> noticeType) {
-    GtfsValidationNotice annotation = noticeType.getAnnotation(GtfsValidationNotice.class);
-    Preconditions.checkNotNull(
-        annotation,
-        "Found ValidationNotice without a @GtfsValidationNotice annotation: " + noticeType);
-    return annotation.severity();
+    return NoticeType.of(noticeType).getDefaultSeverityLevel();
   }
 
   public ResolvedNotice<ValidationNotice> resolveWithDefaultSeverity() {
-    return new ResolvedNotice<>(this, getDefaultSeverityLevel(getClass()));
+    return new ResolvedNotice<>(this, getNoticeType().getDefaultSeverityLevel());
   }
 }
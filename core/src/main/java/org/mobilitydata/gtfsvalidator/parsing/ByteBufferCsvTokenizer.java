@@ -0,0 +1,406 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import static org.mobilitydata.gtfsvalidator.parsing.ByteSliceCsvRow.CELL_STRIDE;
+import static org.mobilitydata.gtfsvalidator.parsing.ByteSliceCsvRow.KIND_EMPTY;
+import static org.mobilitydata.gtfsvalidator.parsing.ByteSliceCsvRow.KIND_PLAIN;
+import static org.mobilitydata.gtfsvalidator.parsing.ByteSliceCsvRow.KIND_QUOTED;
+import static org.mobilitydata.gtfsvalidator.parsing.ByteSliceCsvRow.KIND_QUOTED_ESCAPED;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * {@link CsvTokenizer} that splits UTF-8 bytes directly, without decoding the whole file to
+ * characters.
+ *
+ * <p>Rows are returned as slices of the underlying {@link ByteBuffer} and cells are decoded lazily,
+ * see {@link ByteSliceCsvRow}. The tokenizer follows the same rules as {@link
+ * CsvFile#createDefaultParserSettings()}:
+ *
+ * <ul>
+ *   <li>cells are separated with {@code ,} and records with {@code \n};
+ *   <li>values may be quoted with {@code "} and quotes are escaped as {@code ""};
+ *   <li>whitespace around unquoted values is removed, whitespace inside quotes is kept;
+ *   <li>empty values and {@code ""} are returned as null;
+ *   <li>empty lines, lines of whitespace only and lines starting with {@code #} are skipped;
+ *   <li>UTF-8 byte order mark is skipped.
+ * </ul>
+ *
+ * <p>Carriage returns are handled differently from univocity:
+ *
+ * <ul>
+ *   <li>{@code \r} is whitespace like any other ASCII control character, so it is trimmed anywhere
+ *       around unquoted values and around closing quotes, not only before {@code \n};
+ *   <li>{@code \r\n} inside quoted values is returned as is and is not normalized to {@code \n}.
+ * </ul>
+ */
+public final class ByteBufferCsvTokenizer implements CsvTokenizer {
+  /** Same as the default of univocity {@code CsvParserSettings}. */
+  public static final int DEFAULT_MAX_CHARS_PER_COLUMN = 4096;
+
+  /** Same as the default of univocity {@code CsvParserSettings}. */
+  public static final int DEFAULT_MAX_COLUMNS = 512;
+
+  private static final int MAX_WINDOW_LENGTH = Integer.MAX_VALUE - 8;
+
+  /** Result of a single scan: a record was found. */
+  private static final int SCAN_RECORD = 0;
+  /** Result of a single scan: end of input was reached. */
+  private static final int SCAN_END = 1;
+  /** Result of a single scan: the current window ends in the middle of a record. */
+  private static final int SCAN_NEED_MORE = 2;
+
+  private final CsvByteSource source;
+  private final int maxCharsPerColumn;
+  private final int maxColumns;
+
+  private ByteBuffer buffer;
+  /** File offset of index 0 in {@link #buffer}. */
+  private long bufferStart = 0;
+  /** Index in {@link #buffer} of the first byte that was not consumed yet. */
+  private int position = 0;
+
+  private boolean bufferReachesEnd;
+  /** Amount of {@code \n} characters consumed so far. */
+  private long lineCount = 0;
+
+  private int[] cells = new int[CELL_STRIDE * 32];
+  private int cellCount = 0;
+  private long rowNumber = 0;
+
+  public ByteBufferCsvTokenizer(CsvByteSource source) {
+    this(source, DEFAULT_MAX_CHARS_PER_COLUMN, DEFAULT_MAX_COLUMNS);
+  }
+
+  public ByteBufferCsvTokenizer(CsvByteSource source, int maxCharsPerColumn, int maxColumns) {
+    this.source = source;
+    this.maxCharsPerColumn = maxCharsPerColumn;
+    this.maxColumns = maxColumns;
+  }
+
+  @Override
+  @Nullable
+  public String[] parseHeader() {
+    buffer = window(0, 0);
+    skipByteOrderMark();
+    if (!readRecord()) {
+      return null;
+    }
+    String[] columnNames = new String[cellCount];
+    for (int i = 0; i < cellCount; ++i) {
+      columnNames[i] = ByteSliceCsvRow.decodeCell(buffer, cells, i);
+    }
+    return columnNames;
+  }
+
+  @Override
+  @Nullable
+  public CsvRow parseNext() {
+    if (!readRecord()) {
+      return null;
+    }
+    return new ByteSliceCsvRow(
+        rowNumber, buffer, Arrays.copyOf(cells, cellCount * CELL_STRIDE), cellCount);
+  }
+
+  private void skipByteOrderMark() {
+    if (buffer.limit() < 3 && !bufferReachesEnd) {
+      buffer = window(0, 3);
+    }
+    if (buffer.limit() >= 3
+        && buffer.get(0) == (byte) 0xEF
+        && buffer.get(1) == (byte) 0xBB
+        && buffer.get(2) == (byte) 0xBF) {
+      position = 3;
+    }
+  }
+
+  /**
+   * Reads the next record into {@link #cells}, growing the window if the record does not fit.
+   *
+   * @return true if a record was read, false if end of input was reached
+   */
+  private boolean readRecord() {
+    while (true) {
+      int result = scanRecord();
+      if (result != SCAN_NEED_MORE) {
+        return result == SCAN_RECORD;
+      }
+      int remaining = buffer.limit() - position;
+      if (remaining >= MAX_WINDOW_LENGTH / 2) {
+        throw new CsvTokenizerException(
+            "Record is too long", bufferStart + position, 0, lineCount, null);
+      }
+      long newStart = bufferStart + position;
+      // The source may return a longer window, e.g., of its default size.
+      buffer = window(newStart, Math.max(1, remaining * 2));
+      bufferStart = newStart;
+      position = 0;
+    }
+  }
+
+  private ByteBuffer window(long start, int minLength) {
+    try {
+      ByteBuffer window = source.window(start, minLength);
+      bufferReachesEnd = source.windowReachesEnd();
+      return window;
+    } catch (IOException e) {
+      throw new CsvTokenizerException("Cannot read input: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Scans a record that starts at {@link #position}.
+   *
+   * <p>The state of the tokenizer is updated only if the whole record fits into the current
+   * window, otherwise {@link #SCAN_NEED_MORE} is returned and the scan must be restarted.
+   */
+  private int scanRecord() {
+    final int limit = buffer.limit();
+    int p = position;
+    long lines = 0;
+
+    // Skip comments and empty lines.
+    while (true) {
+      if (p >= limit) {
+        if (!bufferReachesEnd) {
+          return SCAN_NEED_MORE;
+        }
+        commit(p, lines);
+        return SCAN_END;
+      }
+      if (buffer.get(p) == '#') {
+        int newline = indexOfNewline(p, limit);
+        if (newline < 0) {
+          if (!bufferReachesEnd) {
+            return SCAN_NEED_MORE;
+          }
+          commit(limit, lines);
+          return SCAN_END;
+        }
+        p = newline + 1;
+        ++lines;
+        continue;
+      }
+      int q = skipWhitespace(p, limit);
+      if (q >= limit) {
+        if (!bufferReachesEnd) {
+          return SCAN_NEED_MORE;
+        }
+        // A last line of whitespace without a newline is skipped like an empty line.
+        commit(q, lines);
+        return SCAN_END;
+      }
+      if (buffer.get(q) == '\n') {
+        p = q + 1;
+        ++lines;
+        continue;
+      }
+      break;
+    }
+
+    cellCount = 0;
+    while (true) {
+      if (cellCount >= maxColumns) {
+        throw new CsvTokenizerException(
+            String.format("Number of columns exceeds the maximum of %d", maxColumns),
+            bufferStart + p,
+            cellCount,
+            lineCount + lines,
+            null);
+      }
+      int valueStart = skipWhitespace(p, limit);
+      if (valueStart >= limit) {
+        if (!bufferReachesEnd) {
+          return SCAN_NEED_MORE;
+        }
+        addCell(KIND_EMPTY, valueStart, valueStart, valueStart, valueStart);
+        p = valueStart;
+      } else if (buffer.get(valueStart) == '"') {
+        int i = valueStart + 1;
+        boolean escaped = false;
+        int chars = 0;
+        boolean closed = false;
+        while (i < limit) {
+          byte b = buffer.get(i);
+          if (b == '"') {
+            if (i + 1 >= limit && !bufferReachesEnd) {
+              return SCAN_NEED_MORE;
+            }
+            if (i + 1 < limit && buffer.get(i + 1) == '"') {
+              escaped = true;
+              i += 2;
+              chars = checkLength(chars + 1, i, lineCount + lines);
+              continue;
+            }
+            closed = true;
+            break;
+          }
+          if (b == '\n') {
+            ++lines;
+          }
+          if (isCharacterStart(b)) {
+            chars = checkLength(chars + 1, i, lineCount + lines);
+          }
+          ++i;
+        }
+        if (!closed && !bufferReachesEnd) {
+          return SCAN_NEED_MORE;
+        }
+        int valueEnd = i;
+        int extraStart = closed ? i + 1 : i;
+        int extraEnd = indexOfCellEnd(extraStart, limit);
+        if (extraEnd >= limit && !bufferReachesEnd) {
+          return SCAN_NEED_MORE;
+        }
+        p = extraEnd;
+        extraEnd = trimEnd(extraStart, extraEnd);
+        if (valueEnd == valueStart + 1 && extraEnd == extraStart) {
+          addCell(KIND_EMPTY, valueStart, valueStart, valueStart, valueStart);
+        } else {
+          addCell(
+              escaped ? KIND_QUOTED_ESCAPED : KIND_QUOTED,
+              valueStart + 1,
+              valueEnd,
+              extraStart,
+              extraEnd);
+        }
+      } else {
+        int cellEnd = valueStart;
+        int chars = 0;
+        while (cellEnd < limit) {
+          byte b = buffer.get(cellEnd);
+          if (b == ',' || b == '\n') {
+            break;
+          }
+          if (isCharacterStart(b)) {
+            chars = checkLength(chars + 1, cellEnd, lineCount + lines);
+          }
+          ++cellEnd;
+        }
+        if (cellEnd >= limit && !bufferReachesEnd) {
+          return SCAN_NEED_MORE;
+        }
+        p = cellEnd;
+        int valueEnd = trimEnd(valueStart, cellEnd);
+        addCell(
+            valueEnd == valueStart ? KIND_EMPTY : KIND_PLAIN,
+            valueStart,
+            valueEnd,
+            valueEnd,
+            valueEnd);
+      }
+
+      if (p >= limit) {
+        rowNumber = lineCount + lines + 1;
+        commit(p, lines);
+        return SCAN_RECORD;
+      }
+      if (buffer.get(p) == '\n') {
+        rowNumber = lineCount + lines + 1;
+        commit(p + 1, lines + 1);
+        return SCAN_RECORD;
+      }
+      // Skip the delimiter.
+      ++p;
+    }
+  }
+
+  private void commit(int newPosition, long lines) {
+    position = newPosition;
+    lineCount += lines;
+  }
+
+  private void addCell(int kind, int start, int end, int extraStart, int extraEnd) {
+    int offset = cellCount * CELL_STRIDE;
+    if (offset + CELL_STRIDE > cells.length) {
+      cells = Arrays.copyOf(cells, cells.length * 2);
+    }
+    cells[offset] = kind;
+    cells[offset + 1] = start;
+    cells[offset + 2] = end;
+    cells[offset + 3] = extraStart;
+    cells[offset + 4] = extraEnd;
+    ++cellCount;
+  }
+
+  private int checkLength(int chars, int index, long lineIndex) {
+    if (chars > maxCharsPerColumn) {
+      throw new CsvTokenizerException(
+          String.format(
+              "Length of parsed input (%d) exceeds the maximum number of characters defined in"
+                  + " your parser settings (%d).",
+              chars, maxCharsPerColumn),
+          bufferStart + index,
+          cellCount,
+          lineIndex,
+          null);
+    }
+    return chars;
+  }
+
+  private int indexOfNewline(int from, int limit) {
+    for (int i = from; i < limit; ++i) {
+      if (buffer.get(i) == '\n') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Returns index of the delimiter or newline that ends the cell, or {@code limit}. */
+  private int indexOfCellEnd(int from, int limit) {
+    int i = from;
+    while (i < limit) {
+      byte b = buffer.get(i);
+      if (b == ',' || b == '\n') {
+        break;
+      }
+      ++i;
+    }
+    return i;
+  }
+
+  private int skipWhitespace(int from, int limit) {
+    int i = from;
+    while (i < limit && isWhitespace(buffer.get(i))) {
+      ++i;
+    }
+    return i;
+  }
+
+  private int trimEnd(int start, int end) {
+    while (end > start && isWhitespace(buffer.get(end - 1))) {
+      --end;
+    }
+    return end;
+  }
+
+  /** Tells if the byte is an ASCII whitespace or control character other than a newline. */
+  private static boolean isWhitespace(byte b) {
+    return b > 0 && b <= ' ' && b != '\n';
+  }
+
+  /** Tells if the byte is not a continuation byte of a multi-byte UTF-8 sequence. */
+  private static boolean isCharacterStart(byte b) {
+    return (b & 0xC0) != 0x80;
+  }
+}
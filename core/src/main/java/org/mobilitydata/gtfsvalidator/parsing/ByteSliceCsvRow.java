@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nullable;
+
+/**
+ * {@link CsvRow} produced by {@link ByteBufferCsvTokenizer}.
+ *
+ * <p>The row keeps a reference to the file bytes and the bounds of each cell. Strings are decoded
+ * only when {@link #asString(int)} is called, so columns that are never read cost nothing.
+ */
+final class ByteSliceCsvRow extends CsvRow {
+  /** Number of ints that describe a single cell in the bounds array. */
+  static final int CELL_STRIDE = 5;
+
+  /** The cell has no value. */
+  static final int KIND_EMPTY = 0;
+  /** The cell is an unquoted value that may be decoded as is. */
+  static final int KIND_PLAIN = 1;
+  /** The cell is a quoted value without escaped quotes. */
+  static final int KIND_QUOTED = 2;
+  /** The cell is a quoted value that contains escaped quotes. */
+  static final int KIND_QUOTED_ESCAPED = 3;
+
+  private final ByteBuffer buffer;
+  private final int[] cells;
+  private final int columnCount;
+
+  /**
+   * Creates a row over the given bytes.
+   *
+   * <p>Each cell is described by {@link #CELL_STRIDE} ints: kind, start and end of the value, start
+   * and end of text that follows the closing quote of a quoted value.
+   */
+  ByteSliceCsvRow(long rowNumber, ByteBuffer buffer, int[] cells, int columnCount) {
+    super(rowNumber);
+    this.buffer = buffer;
+    this.cells = cells;
+    this.columnCount = columnCount;
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  @Override
+  @Nullable
+  public String asString(int columnIndex) {
+    if (columnIndex < 0 || columnIndex >= columnCount) {
+      return null;
+    }
+    return decodeCell(buffer, cells, columnIndex);
+  }
+
+  /** Decodes a single cell described in {@code cells} as UTF-8, returning null for empty cells. */
+  @Nullable
+  static String decodeCell(ByteBuffer buffer, int[] cells, int columnIndex) {
+    int offset = columnIndex * CELL_STRIDE;
+    int kind = cells[offset];
+    int start = cells[offset + 1];
+    int end = cells[offset + 2];
+    int extraStart = cells[offset + 3];
+    int extraEnd = cells[offset + 4];
+    if (kind == KIND_EMPTY) {
+      return null;
+    }
+    byte[] bytes = new byte[end - start + extraEnd - extraStart];
+    int length;
+    if (kind == KIND_QUOTED_ESCAPED) {
+      length = 0;
+      for (int i = start; i < end; ++i) {
+        byte b = buffer.get(i);
+        bytes[length++] = b;
+        if (b == '"') {
+          // Skip the second quote of an escaped pair.
+          ++i;
+        }
+      }
+    } else {
+      length = end - start;
+      buffer.get(start, bytes, 0, length);
+    }
+    if (extraEnd > extraStart) {
+      buffer.get(extraStart, bytes, length, extraEnd - extraStart);
+      length += extraEnd - extraStart;
+    }
+    // Malformed input is replaced with U+FFFD, just like in the univocity-based tokenizer.
+    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Raw bytes of a single file, exposed as a sequence of {@link ByteBuffer} windows.
+ *
+ * <p>Windows are requested with non-decreasing positions. A window returned earlier stays valid
+ * after a new window is requested, so that rows may keep referencing the bytes they were parsed
+ * from, unless {@link #allowWindowReuse} was called.
+ */
+public interface CsvByteSource extends Closeable {
+
+  /**
+   * Returns a buffer whose index 0 corresponds to the given file offset.
+   *
+   * <p>The buffer contains at least {@code minLength} bytes unless the end of input is reached
+   * before that, in which case it contains all the remaining bytes.
+   *
+   * @param position file offset of the first byte in the window
+   * @param minLength the minimal number of bytes that the window should contain
+   * @return a read-only view of file bytes
+   */
+  ByteBuffer window(long position, int minLength) throws IOException;
+
+  /**
+   * Lets the source overwrite the bytes of a window once a new window is requested.
+   *
+   * <p>Readers call this when they drop all rows of a window before requesting the next one, so
+   * that a source may keep a single buffer instead of allocating one per window. Sources whose
+   * windows never move may ignore it.
+   */
+  default void allowWindowReuse() {}
+
+  /** Tells if the last window returned by {@link #window} ends at the end of input. */
+  boolean windowReachesEnd();
+}
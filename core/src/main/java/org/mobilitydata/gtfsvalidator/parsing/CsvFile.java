@@ -16,26 +16,21 @@
 
 package org.mobilitydata.gtfsvalidator.parsing;
 
-import com.univocity.parsers.csv.CsvParser;
 import com.univocity.parsers.csv.CsvParserSettings;
-import java.io.BufferedReader;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CodingErrorAction;
-import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import javax.annotation.Nullable;
-import org.apache.commons.io.ByteOrderMark;
-import org.apache.commons.io.input.BOMInputStream;
 
 /**
  * Reading support for a CSV file in GTFS feed. The file normally has headers and 0 or several data
  * rows.
+ *
+ * <p>Splitting the file into records is delegated to a {@link CsvTokenizer}. Univocity is used by
+ * default, see {@link ByteBufferCsvTokenizer} for a zero-copy alternative.
  */
 public class CsvFile implements Iterable<CsvRow> {
   private final boolean isEmpty;
-  private final CsvParser parser;
+  private final CsvTokenizer tokenizer;
 
   private final CsvHeader headers;
   private final String filename;
@@ -56,23 +51,14 @@ public class CsvFile implements Iterable<CsvRow> {
   }
 
   public CsvFile(InputStream inputStream, String filename, CsvParserSettings settings) {
+    this(new UnivocityCsvTokenizer(inputStream, settings), filename);
+  }
+
+  public CsvFile(CsvTokenizer tokenizer, String filename) {
     this.filename = filename;
+    this.tokenizer = tokenizer;
 
-    // Only UTF-8 is supported according to GTFS reference. We may add optional support for other
-    // encodings later.
-    final BOMInputStream bomInputStream = new BOMInputStream(inputStream, ByteOrderMark.UTF_8);
-    final CharsetDecoder decoder =
-        StandardCharsets.UTF_8
-            .newDecoder()
-            .replaceWith("\uFFFD")
-            .onMalformedInput(CodingErrorAction.REPLACE);
-    final BufferedReader reader =
-        new BufferedReader(new InputStreamReader(bomInputStream, decoder));
-
-    parser = new CsvParser(settings);
-    parser.beginParsing(reader);
-
-    String[] columnNames = parser.getContext().headers();
+    String[] columnNames = tokenizer.parseHeader();
     isEmpty = columnNames == null;
     headers = new CsvHeader(columnNames);
   }
@@ -115,11 +101,7 @@ public class CsvFile implements Iterable<CsvRow> {
    */
   @Nullable
   private CsvRow nextResult() {
-    String[] columnValues = parser.parseNext();
-    if (columnValues == null) {
-      return null;
-    }
-    return new CsvRow(parser.getContext().currentLine(), columnValues);
+    return tokenizer.parseNext();
   }
 
   /**
@@ -131,28 +113,30 @@ public class CsvFile implements Iterable<CsvRow> {
     return filename;
   }
 
+  /**
+   * Iterator that parses a row only when it is asked for one, so that the previous row is not used
+   * anymore when the tokenizer moves on to a new window.
+   */
   class CsvFileIterator implements Iterator<CsvRow> {
-    boolean started = false;
+    boolean parsed = false;
     CsvRow nextRow = null;
 
     @Override
     public boolean hasNext() {
-      if (started) {
-        return nextRow != null;
+      if (!parsed) {
+        parsed = true;
+        nextRow = nextResult();
       }
-      started = true;
-      nextRow = nextResult();
       return nextRow != null;
     }
 
     @Override
     @Nullable
     public CsvRow next() {
-      if (!started) {
-        hasNext();
-      }
+      hasNext();
       CsvRow out = nextRow;
-      nextRow = nextResult();
+      parsed = false;
+      nextRow = null;
       return out;
     }
   }
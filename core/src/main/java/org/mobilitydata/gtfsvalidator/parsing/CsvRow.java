@@ -19,7 +19,12 @@ package org.mobilitydata.gtfsvalidator.parsing;
 import com.google.common.base.Strings;
 import javax.annotation.Nullable;
 
-/** Read access to a data row in a CSV file. */
+/**
+ * Read access to a data row in a CSV file.
+ *
+ * <p>Subclasses may keep cells in another form and materialize strings lazily by overriding {@link
+ * #getColumnCount()} and {@link #asString(int)}.
+ */
 public class CsvRow {
   private final long rowNumber;
   private final String[] columnValues;
@@ -29,6 +34,12 @@ public class CsvRow {
     this.columnValues = columnValues;
   }
 
+  /** Constructor for subclasses that do not keep values in a string array. */
+  protected CsvRow(long rowNumber) {
+    this.rowNumber = rowNumber;
+    this.columnValues = null;
+  }
+
   public long getRowNumber() {
     return rowNumber;
   }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import javax.annotation.Nullable;
+
+/**
+ * Splits the content of a CSV file into records for {@link CsvFile}.
+ *
+ * <p>Implementations report malformed input by throwing either univocity's {@code
+ * TextParsingException} or {@link CsvTokenizerException}. Both are converted to {@code
+ * CsvParsingFailedNotice} by the loader.
+ */
+public interface CsvTokenizer {
+
+  /**
+   * Reads the header row.
+   *
+   * <p>This method is called exactly once, before any call to {@link #parseNext()}.
+   *
+   * @return column names or null if the file has no rows at all
+   */
+  @Nullable
+  String[] parseHeader();
+
+  /**
+   * Advances to the next data row.
+   *
+   * @return the next row or null if end of file was reached
+   */
+  @Nullable
+  CsvRow parseNext();
+}
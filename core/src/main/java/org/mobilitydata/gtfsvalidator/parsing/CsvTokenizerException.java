@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import javax.annotation.Nullable;
+
+/**
+ * Thrown by a {@link CsvTokenizer} that is not backed by univocity when the input cannot be split
+ * into records.
+ *
+ * <p>Carries the same location details as univocity's {@code TextParsingException} so that both
+ * are reported identically.
+ */
+public class CsvTokenizerException extends RuntimeException {
+  private final long charIndex;
+  private final int columnIndex;
+  private final long lineIndex;
+  @Nullable private final String parsedContent;
+
+  public CsvTokenizerException(
+      String message,
+      long charIndex,
+      int columnIndex,
+      long lineIndex,
+      @Nullable String parsedContent) {
+    super(message);
+    this.charIndex = charIndex;
+    this.columnIndex = columnIndex;
+    this.lineIndex = lineIndex;
+    this.parsedContent = parsedContent;
+  }
+
+  public CsvTokenizerException(String message, Throwable cause) {
+    super(message, cause);
+    this.charIndex = -1;
+    this.columnIndex = -1;
+    this.lineIndex = -1;
+    this.parsedContent = null;
+  }
+
+  /** Returns the offset of the last byte read before the error occurred. */
+  public long getCharIndex() {
+    return charIndex;
+  }
+
+  /** Returns the index of the column where the error occurred. */
+  public int getColumnIndex() {
+    return columnIndex;
+  }
+
+  /** Returns the 0-based index of the line where the error occurred. */
+  public long getLineIndex() {
+    return lineIndex;
+  }
+
+  /** Returns the content parsed before the error occurred, if any. */
+  @Nullable
+  public String getParsedContent() {
+    return parsedContent;
+  }
+}
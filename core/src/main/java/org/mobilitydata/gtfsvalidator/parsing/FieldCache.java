@@ -16,8 +16,13 @@
 
 package org.mobilitydata.gtfsvalidator.parsing;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nullable;
 
 /**
@@ -32,13 +37,94 @@ import javax.annotation.Nullable;
  * It is tempting to use the same cache for, e.g., trip_id in both trips.txt and stop_times.txt but
  * that would require synchronization that slows down the reading.
  *
+ * <p>A cache may be created as thread-safe when chunks of a single large table are loaded in
+ * parallel. Lookup statistics of a thread-safe cache are exact.
+ *
+ * <p>An {@link #adaptive} cache decides by itself whether interning pays off for a column. It
+ * interns the first {@link #SAMPLE_SIZE} values and keeps interning only if most of them repeat.
+ * The decision is re-evaluated every {@link #REEVALUATION_INTERVAL} values, so a column whose values
+ * stop repeating is no longer looked up, and a column that was turned off is sampled again.
+ *
  * @param <T> the type of the cached objects. It must be suitable as a key for hash maps.
  */
 public class FieldCache<T> {
-  private final Map<T, T> cache = new HashMap<>();
+  /** Number of values that an adaptive cache interns before deciding whether to go on. */
+  static final int SAMPLE_SIZE = 1024;
+
+  /** Number of values after which an adaptive cache re-evaluates its decision. */
+  static final int REEVALUATION_INTERVAL = 64 * 1024;
+
+  /** An adaptive cache interns values only if at most this share of them is new. */
+  static final double MAX_ADAPTIVE_MISS_RATIO = 0.5;
+
+  /** Number of decisions that are kept for reporting. */
+  private static final int MAX_RECORDED_DECISIONS = 8;
+
+  private enum AdaptiveState {
+    /** Values are interned to measure how often they repeat. */
+    SAMPLING,
+    /** Values are interned. */
+    ON,
+    /** Values are returned as is. */
+    OFF
+  }
+
+  private final Map<T, T> cache;
+
+  private final boolean threadSafe;
+
+  private final boolean adaptive;
+
+  private volatile AdaptiveState adaptiveState = AdaptiveState.SAMPLING;
+
+  /** Non-null lookups and misses since the last decision of an adaptive cache. */
+  private final AtomicInteger windowLookups = new AtomicInteger();
+
+  private final AtomicInteger windowMisses = new AtomicInteger();
+
+  /** Misses of an adaptive cache, which may be larger than its size since it may be cleared. */
+  private final LongAdder adaptiveMisses = new LongAdder();
+
+  /** Lookups of an adaptive cache that returned the value without interning. */
+  private final LongAdder bypassedLookups = new LongAdder();
+
+  private final List<String> decisions = new ArrayList<>();
+
+  private int decisionCount = 0;
 
   private int lookupCount = 0;
 
+  /** Counts lookups of a thread-safe cache. */
+  private final LongAdder concurrentLookupCount = new LongAdder();
+
+  public FieldCache() {
+    this(false);
+  }
+
+  /**
+   * Creates a cache.
+   *
+   * @param threadSafe whether {@code addIfAbsent} may be called concurrently from several threads
+   */
+  public FieldCache(boolean threadSafe) {
+    this(threadSafe, false);
+  }
+
+  private FieldCache(boolean threadSafe, boolean adaptive) {
+    this.threadSafe = threadSafe;
+    this.adaptive = adaptive;
+    this.cache = threadSafe ? new ConcurrentHashMap<>() : new HashMap<>();
+  }
+
+  /**
+   * Creates a cache that turns interning on or off depending on how often values repeat.
+   *
+   * @param threadSafe whether {@code addIfAbsent} may be called concurrently from several threads
+   */
+  public static <T> FieldCache<T> adaptive(boolean threadSafe) {
+    return new FieldCache<>(threadSafe, true);
+  }
+
   /**
    * Adds the object to the cache if it is absent. Returns a reference to the given object in cache.
    *
@@ -52,6 +138,12 @@ public class FieldCache<T> {
    * @return reference to the object in cache.
    */
   public @Nullable T addIfAbsent(@Nullable T obj) {
+    if (adaptive) {
+      return addIfAbsentAdaptively(obj);
+    }
+    if (threadSafe) {
+      return addIfAbsentConcurrently(obj);
+    }
     ++lookupCount;
     if (obj == null) {
       // Do not store null in the cache.
@@ -67,6 +159,131 @@ public class FieldCache<T> {
     return inCache;
   }
 
+  private @Nullable T addIfAbsentConcurrently(@Nullable T obj) {
+    concurrentLookupCount.increment();
+    if (obj == null) {
+      return null;
+    }
+    T inCache = cache.get(obj);
+    if (inCache == null) {
+      inCache = cache.putIfAbsent(obj, obj);
+      if (inCache == null) {
+        inCache = obj;
+      }
+    }
+    return inCache;
+  }
+
+  private @Nullable T addIfAbsentAdaptively(@Nullable T obj) {
+    concurrentLookupCount.increment();
+    if (obj == null) {
+      return null;
+    }
+    AdaptiveState state = adaptiveState;
+    T result = obj;
+    if (state == AdaptiveState.OFF) {
+      bypassedLookups.increment();
+    } else {
+      T inCache = cache.get(obj);
+      if (inCache == null) {
+        inCache = threadSafe ? cache.putIfAbsent(obj, obj) : cache.put(obj, obj);
+      }
+      if (inCache == null) {
+        adaptiveMisses.increment();
+        windowMisses.incrementAndGet();
+      } else {
+        result = inCache;
+      }
+    }
+    if (windowLookups.incrementAndGet() >= windowSize(state)) {
+      evaluate();
+    }
+    return result;
+  }
+
+  private static int windowSize(AdaptiveState state) {
+    return state == AdaptiveState.SAMPLING ? SAMPLE_SIZE : REEVALUATION_INTERVAL;
+  }
+
+  /** Decides whether an adaptive cache should intern values after a window is complete. */
+  private synchronized void evaluate() {
+    AdaptiveState state = adaptiveState;
+    int lookups = windowLookups.get();
+    if (lookups < windowSize(state)) {
+      // Another thread has already evaluated this window.
+      return;
+    }
+    int misses = windowMisses.get();
+    windowLookups.set(0);
+    windowMisses.set(0);
+    if (state == AdaptiveState.OFF) {
+      // Sample again since values of the column may have become repetitive.
+      cache.clear();
+      adaptiveState = AdaptiveState.SAMPLING;
+      return;
+    }
+    double missRatio = misses * 1.0 / lookups;
+    AdaptiveState newState =
+        missRatio > MAX_ADAPTIVE_MISS_RATIO ? AdaptiveState.OFF : AdaptiveState.ON;
+    if (newState == AdaptiveState.OFF) {
+      // Stop holding values that are not shared.
+      cache.clear();
+    }
+    adaptiveState = newState;
+    if (newState != state) {
+      recordDecision(newState, missRatio);
+    }
+  }
+
+  private void recordDecision(AdaptiveState newState, double missRatio) {
+    ++decisionCount;
+    if (decisions.size() < MAX_RECORDED_DECISIONS) {
+      decisions.add(
+          String.format(
+              "%s after %d lookups (%.1f%% new values)",
+              newState == AdaptiveState.ON ? "on" : "off",
+              getLookupCount(),
+              missRatio * 100.0));
+    }
+  }
+
+  /** Tells if the cache was created with {@link #adaptive}. */
+  public boolean isAdaptive() {
+    return adaptive;
+  }
+
+  /**
+   * Tells if values are currently interned.
+   *
+   * <p>This is always true for a cache that is not adaptive.
+   */
+  public boolean isInterning() {
+    return adaptiveState != AdaptiveState.OFF;
+  }
+
+  /**
+   * Returns a description of decisions that an adaptive cache has made, e.g., "on after 1024
+   * lookups (3.2% new values)".
+   *
+   * <p>Only the first few decisions are described. A cache that has not completed its first sample
+   * has made no decisions.
+   */
+  public synchronized List<String> getAdaptiveDecisions() {
+    List<String> result = new ArrayList<>(decisions);
+    if (decisionCount > decisions.size()) {
+      result.add(String.format("%d more", decisionCount - decisions.size()));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the amount of lookups that returned the value without interning it because an adaptive
+   * cache was turned off.
+   */
+  public int getBypassedLookups() {
+    return bypassedLookups.intValue();
+  }
+
   /**
    * Returns amount of lookups using {@code addIfAbsent}.
    *
@@ -75,7 +292,7 @@ public class FieldCache<T> {
    * @return amount of cache lookups of {@code addIfAbsent}.
    */
   public int getLookupCount() {
-    return lookupCount;
+    return threadSafe || adaptive ? concurrentLookupCount.intValue() : lookupCount;
   }
 
   /**
@@ -90,21 +307,24 @@ public class FieldCache<T> {
   /**
    * Returns the amount of cache misses.
    *
-   * <p>This is the same as the cache size because objects are not removed from cache.
+   * <p>This is the same as the cache size because objects are not removed from cache, unless the
+   * cache is adaptive.
    *
    * @return amount of cache misses.
    */
   public int getCacheMisses() {
-    return cache.size();
+    return adaptive ? adaptiveMisses.intValue() : cache.size();
   }
 
   /**
    * Returns the amount of cache hits.
    *
+   * <p>Lookups that bypassed an adaptive cache are neither hits nor misses.
+   *
    * @return the amount of cache hits
    */
   public int getCacheHits() {
-    return getLookupCount() - getCacheMisses();
+    return getLookupCount() - getCacheMisses() - getBypassedLookups();
   }
 
   /**
@@ -115,7 +335,8 @@ public class FieldCache<T> {
    * @return hit ratio.
    */
   public double getHitRatio() {
-    return lookupCount == 0 ? 1.0 : getCacheHits() * 1.0 / lookupCount;
+    int lookups = getLookupCount();
+    return lookups == 0 ? 1.0 : getCacheHits() * 1.0 / lookups;
   }
 
   /**
@@ -126,6 +347,7 @@ public class FieldCache<T> {
    * @return miss ratio.
    */
   public double getMissRatio() {
-    return lookupCount == 0 ? 0.0 : getCacheMisses() * 1.0 / lookupCount;
+    int lookups = getLookupCount();
+    return lookups == 0 ? 0.0 : getCacheMisses() * 1.0 / lookups;
   }
 }
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * Feed-wide dictionary that keeps a single instance of every ID value.
+ *
+ * <p>The same IDs appear in many tables, e.g., trip_id in trips.txt, stop_times.txt and
+ * frequencies.txt. {@link FieldCache} deduplicates values within a single table, while this
+ * dictionary is shared by all tables of a feed, so that each ID is stored once however many tables
+ * reference it.
+ *
+ * <p>A dictionary created with {@link #encoding()} also assigns a dense int code to every ID, in
+ * the order in which IDs are first seen. Entities keep their IDs as strings, but store codes next
+ * to them, so that indexes and foreign key checks can use arrays indexed by code instead of hash
+ * maps keyed by strings.
+ *
+ * <p>Tables are loaded in parallel, so the dictionary is thread-safe. Each column gets a {@link
+ * FieldCache} view with {@link #newFieldCache} and statistics are collected for each table.
+ */
+public final class IdDictionary {
+  /** Code of a missing ID or of an ID that was not encoded. */
+  public static final int NO_CODE = -1;
+
+  private final boolean encodesIds;
+
+  /** Canonical instances, used unless IDs are encoded. */
+  private final ConcurrentHashMap<String, String> ids = new ConcurrentHashMap<>();
+
+  /** Codes of IDs, used if IDs are encoded. */
+  private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+
+  /**
+   * Canonical instances indexed by code. The array is replaced when it grows, after all elements
+   * are copied, and a code is published through {@link #codes} only after its element is written.
+   */
+  private volatile String[] idsByCode = new String[0];
+
+  private volatile int codeCount = 0;
+
+  private final ConcurrentSkipListMap<String, TableStats> tableStats =
+      new ConcurrentSkipListMap<>();
+
+  /** Creates a dictionary that interns IDs without encoding them. */
+  public IdDictionary() {
+    this(false);
+  }
+
+  private IdDictionary(boolean encodesIds) {
+    this.encodesIds = encodesIds;
+  }
+
+  /** Creates a dictionary that interns IDs and assigns an int code to each of them. */
+  public static IdDictionary encoding() {
+    return new IdDictionary(true);
+  }
+
+  /** Tells if the dictionary assigns codes to IDs. */
+  public boolean encodesIds() {
+    return encodesIds;
+  }
+
+  /**
+   * Returns a cache for a column of the given file that interns values in this dictionary.
+   *
+   * @param filename the name of the GTFS file, e.g., "stop_times.txt"
+   */
+  public ColumnCache newFieldCache(String filename) {
+    return new ColumnCache(tableStats.computeIfAbsent(filename, TableStats::new));
+  }
+
+  /** Returns the number of distinct IDs in the dictionary. */
+  public int size() {
+    return encodesIds ? codeCount : ids.size();
+  }
+
+  /**
+   * Returns the code of an ID, adding the ID to the dictionary if it is not there yet.
+   *
+   * <p>Codes are dense: they go from 0 to {@link #size()} - 1.
+   *
+   * @throws IllegalStateException if the dictionary does not encode IDs
+   */
+  public int encode(String id) {
+    checkEncodesIds();
+    Integer code = codes.get(id);
+    return code != null ? code : codes.computeIfAbsent(id, this::appendId);
+  }
+
+  /**
+   * Returns the code of an ID, or {@link #NO_CODE} if the ID is not in the dictionary.
+   *
+   * @throws IllegalStateException if the dictionary does not encode IDs
+   */
+  public int codeOf(@Nullable String id) {
+    checkEncodesIds();
+    if (id == null) {
+      return NO_CODE;
+    }
+    Integer code = codes.get(id);
+    return code != null ? code : NO_CODE;
+  }
+
+  /**
+   * Returns the canonical instance of an ID with the given code.
+   *
+   * @throws IndexOutOfBoundsException if there is no ID with that code
+   */
+  public String idOf(int code) {
+    return idsByCode[code];
+  }
+
+  private synchronized int appendId(String id) {
+    int code = codeCount;
+    String[] array = idsByCode;
+    if (code == array.length) {
+      array = Arrays.copyOf(array, Math.max(1024, code + (code >> 1)));
+      array[code] = id;
+      idsByCode = array;
+    } else {
+      array[code] = id;
+    }
+    codeCount = code + 1;
+    return code;
+  }
+
+  private void checkEncodesIds() {
+    if (!encodesIds) {
+      throw new IllegalStateException("ID dictionary does not encode IDs");
+    }
+  }
+
+  /**
+   * Drops the interned IDs of a dictionary that does not encode IDs, once the feed is loaded.
+   *
+   * <p>Entities keep referencing the canonical instances, so only the lookup table is freed.
+   * Statistics are kept. This frees nothing for a dictionary that encodes IDs: its IDs, their codes
+   * and the map from IDs to codes stay for as long as the feed, since tables translate IDs to codes
+   * for lookups.
+   */
+  public void clear() {
+    ids.clear();
+  }
+
+  /** Returns statistics for each table that used the dictionary, sorted by filename. */
+  public ImmutableList<TableStats> getTableStats() {
+    return ImmutableList.copyOf(tableStats.values());
+  }
+
+  /** Returns a human-readable description of memory savings for each table. */
+  public String savingsText() {
+    StringBuilder builder = new StringBuilder("ID dictionary savings:");
+    if (encodesIds) {
+      builder.append(String.format("%n  %d IDs encoded as int codes", codeCount));
+    }
+    long totalSavedBytes = 0;
+    for (TableStats stats : tableStats.values()) {
+      builder.append(
+          String.format(
+              "%n  %s: %d lookups, %d new IDs, %d shared, ~%.1f MiB saved",
+              stats.filename(),
+              stats.lookups(),
+              stats.newIds(),
+              stats.sharedLookups(),
+              stats.savedBytes() / (1024.0 * 1024.0)));
+      totalSavedBytes += stats.savedBytes();
+    }
+    builder.append(
+        String.format("%n  total: ~%.1f MiB saved", totalSavedBytes / (1024.0 * 1024.0)));
+    return builder.toString();
+  }
+
+  /**
+   * Estimates the heap size of a string with its character array, assuming compact Latin-1 strings
+   * and compressed references.
+   */
+  static long estimateStringBytes(String s) {
+    // 24 bytes for the String object, 16 bytes for the array header, padding to 8 bytes.
+    return 24 + ((16 + s.length() + 7) & ~7);
+  }
+
+  /** Usage of the dictionary by columns of a single table. */
+  public static final class TableStats {
+    private final String filename;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder newIds = new LongAdder();
+    private final LongAdder sharedLookups = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    private TableStats(String filename) {
+      this.filename = filename;
+    }
+
+    public String filename() {
+      return filename;
+    }
+
+    /** Number of non-null lookups. */
+    public long lookups() {
+      return lookups.sum();
+    }
+
+    /** Number of IDs that were first seen in this table. */
+    public long newIds() {
+      return newIds.sum();
+    }
+
+    /** Number of lookups that returned an instance that was already in the dictionary. */
+    public long sharedLookups() {
+      return sharedLookups.sum();
+    }
+
+    /** Estimated number of bytes that duplicate strings would have taken. */
+    public long savedBytes() {
+      return savedBytes.sum();
+    }
+  }
+
+  /** Column view of the dictionary. */
+  public final class ColumnCache extends FieldCache<String> {
+    private final TableStats stats;
+    private final LongAdder columnLookups = new LongAdder();
+    private final LongAdder columnMisses = new LongAdder();
+
+    private ColumnCache(TableStats stats) {
+      super(false);
+      this.stats = stats;
+    }
+
+    /** Returns the dictionary that this column belongs to. */
+    public IdDictionary dictionary() {
+      return IdDictionary.this;
+    }
+
+    @Override
+    public @Nullable String addIfAbsent(@Nullable String id) {
+      if (id == null) {
+        columnLookups.increment();
+        return null;
+      }
+      if (encodesIds) {
+        return idOf(encode(id));
+      }
+      String canonical = ids.get(id);
+      boolean absent = canonical == null;
+      if (absent) {
+        canonical = ids.putIfAbsent(id, id);
+        if (canonical == null) {
+          canonical = id;
+        }
+      }
+      recordLookup(id, canonical, absent);
+      return canonical;
+    }
+
+    /**
+     * Returns the code of an ID and counts the lookup in the statistics of this column.
+     *
+     * @throws IllegalStateException if the dictionary does not encode IDs
+     */
+    public int encode(String id) {
+      checkEncodesIds();
+      Integer code = codes.get(id);
+      boolean absent = code == null;
+      if (absent) {
+        code = codes.computeIfAbsent(id, IdDictionary.this::appendId);
+      }
+      recordLookup(id, idOf(code), absent);
+      return code;
+    }
+
+    private void recordLookup(String id, String canonical, boolean absent) {
+      columnLookups.increment();
+      stats.lookups.increment();
+      if (absent && canonical == id) {
+        columnMisses.increment();
+        stats.newIds.increment();
+      } else if (canonical != id) {
+        stats.sharedLookups.increment();
+        stats.savedBytes.add(estimateStringBytes(id));
+      }
+    }
+
+    @Override
+    public int getLookupCount() {
+      return columnLookups.intValue();
+    }
+
+    /** Returns the number of IDs that this column added to the dictionary. */
+    @Override
+    public int getCacheSize() {
+      return columnMisses.intValue();
+    }
+
+    @Override
+    public int getCacheMisses() {
+      return columnMisses.intValue();
+    }
+
+    @Override
+    public int getCacheHits() {
+      return getLookupCount() - getCacheMisses();
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link CsvByteSource} that maps a local file into memory.
+ *
+ * <p>A {@code MappedByteBuffer} cannot exceed 2 GiB, so large files are mapped as consecutive
+ * windows.
+ */
+public class MappedCsvByteSource implements CsvByteSource {
+  /** Size of a single mapped window, unless a longer one is requested. */
+  static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+  private final FileChannel channel;
+  private final long size;
+  private final int windowSize;
+  private boolean windowReachesEnd = false;
+
+  public MappedCsvByteSource(Path path) throws IOException {
+    this(path, DEFAULT_WINDOW_SIZE);
+  }
+
+  MappedCsvByteSource(Path path, int windowSize) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    this.size = channel.size();
+    this.windowSize = windowSize;
+  }
+
+  @Override
+  public ByteBuffer window(long position, int minLength) throws IOException {
+    long length = Math.min(Math.max(windowSize, minLength), size - position);
+    windowReachesEnd = position + length >= size;
+    // Mapping stays valid after the channel is closed.
+    return channel.map(MapMode.READ_ONLY, position, length);
+  }
+
+  @Override
+  public boolean windowReachesEnd() {
+    return windowReachesEnd;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -51,6 +51,12 @@ public class RowParser {
 
   private NoticeContainer noticeContainer;
 
+  /** Buffer for notices of the current row that is reused for all rows, see {@link #setRow}. */
+  private final NoticeContainer rowNotices = new NoticeContainer();
+
+  /** Result of the last primitive {@code as*Value} call, see {@link #hasParsedValue()}. */
+  private boolean hasParsedValue = false;
+
   public RowParser(String fileName, CsvHeader header, GtfsFieldValidator fieldValidator) {
     this.fileName = fileName;
     this.header = header;
@@ -62,6 +68,36 @@ public class RowParser {
     this.noticeContainer = noticeContainer;
   }
 
+  /**
+   * Starts parsing of a row and collects its notices in a row-scoped buffer.
+   *
+   * <p>The buffer is cleared for each row instead of allocating a new {@code NoticeContainer}.
+   * Once the row is processed, its notices should be moved to the file-level container with {@link
+   * #flushRowNotices}.
+   */
+  public void setRow(CsvRow row) {
+    rowNotices.clear();
+    setRow(row, rowNotices);
+  }
+
+  /** Tells if notices of the current row include errors, i.e., if the row is unparsable. */
+  public boolean rowHasErrors() {
+    return noticeContainer.hasValidationErrors();
+  }
+
+  /**
+   * Appends notices of the current row to {@code target} and removes them from this parser.
+   *
+   * <p>Notices are stored in {@code target} only within its limits, see {@link
+   * NoticeContainer#addAllWithinLimits}.
+   */
+  public void flushRowNotices(NoticeContainer target) {
+    if (!noticeContainer.isEmpty()) {
+      target.addAllWithinLimits(noticeContainer);
+      noticeContainer.clear();
+    }
+  }
+
   public NoticeContainer getNoticeContainer() {
     return noticeContainer;
   }
@@ -216,56 +252,133 @@ public class RowParser {
 
   @Nullable
   public Double asFloat(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
-    return parseAsType(columnIndex, columnDescriptor, Double::parseDouble, InvalidFloatNotice::new);
+    double value = asFloatValue(columnIndex, columnDescriptor);
+    return hasParsedValue ? value : null;
   }
 
   @Nullable
   public Double asFloat(
       int columnIndex, GtfsColumnDescriptor columnDescriptor, NumberBounds bounds) {
-    return checkBounds(asFloat(columnIndex, columnDescriptor), 0.0, columnIndex, "float", bounds);
+    double value = asFloatValue(columnIndex, columnDescriptor, bounds);
+    return hasParsedValue ? value : null;
   }
 
   @Nullable
   public Double asLatitude(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
-    Double value = asFloat(columnIndex, columnDescriptor);
-    if (value != null && !(-90 <= value && value <= 90)) {
-      noticeContainer.addValidationNotice(
-          new NumberOutOfRangeNotice(
-              fileName,
-              getRowNumber(),
-              header.getColumnName(columnIndex),
-              "latitude within [-90, 90]",
-              value));
-      return value;
-    }
-    return value;
+    double value = asLatitudeValue(columnIndex, columnDescriptor);
+    return hasParsedValue ? value : null;
   }
 
   @Nullable
   public Double asLongitude(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
-    Double value = asFloat(columnIndex, columnDescriptor);
-    if (value != null && !(-180 <= value && value <= 180)) {
-      noticeContainer.addValidationNotice(
-          new NumberOutOfRangeNotice(
-              fileName,
-              getRowNumber(),
-              header.getColumnName(columnIndex),
-              "longitude within [-180, 180]",
-              value));
-      return value;
-    }
-    return value;
+    double value = asLongitudeValue(columnIndex, columnDescriptor);
+    return hasParsedValue ? value : null;
   }
 
   @Nullable
   public Integer asInteger(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
-    return parseAsType(columnIndex, columnDescriptor, Integer::parseInt, InvalidIntegerNotice::new);
+    int value = asIntegerValue(columnIndex, columnDescriptor);
+    return hasParsedValue ? value : null;
   }
 
   @Nullable
   public Integer asInteger(
       int columnIndex, GtfsColumnDescriptor columnDescriptor, NumberBounds bounds) {
-    return checkBounds(asInteger(columnIndex, columnDescriptor), 0, columnIndex, "integer", bounds);
+    int value = asIntegerValue(columnIndex, columnDescriptor, bounds);
+    return hasParsedValue ? value : null;
+  }
+
+  /**
+   * Tells if the last call to a primitive {@code as*Value} method, such as {@link
+   * #asIntegerValue}, returned a present and valid value.
+   *
+   * <p>Primitive methods return 0 for missing or invalid cells, so the caller must check this flag
+   * instead of comparing the result with null.
+   */
+  public boolean hasParsedValue() {
+    return hasParsedValue;
+  }
+
+  /** Same as {@link #asInteger} but does not box the result, see {@link #hasParsedValue()}. */
+  public int asIntegerValue(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
+    hasParsedValue = false;
+    String s = asString(columnIndex, columnDescriptor);
+    if (s == null) {
+      return 0;
+    }
+    int value;
+    try {
+      value = Integer.parseInt(s);
+    } catch (NumberFormatException e) {
+      addParsingNotice(InvalidIntegerNotice::new, columnIndex, s);
+      return 0;
+    }
+    hasParsedValue = true;
+    return value;
+  }
+
+  /** Same as {@link #asInteger} but does not box the result, see {@link #hasParsedValue()}. */
+  public int asIntegerValue(
+      int columnIndex, GtfsColumnDescriptor columnDescriptor, NumberBounds bounds) {
+    int value = asIntegerValue(columnIndex, columnDescriptor);
+    if (hasParsedValue) {
+      @Nullable String expected = violatedBounds(Integer.compare(value, 0), "integer", bounds);
+      if (expected != null) {
+        addOutOfRangeNotice(columnIndex, expected, value);
+      }
+    }
+    return value;
+  }
+
+  /** Same as {@link #asFloat} but does not box the result, see {@link #hasParsedValue()}. */
+  public double asFloatValue(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
+    hasParsedValue = false;
+    String s = asString(columnIndex, columnDescriptor);
+    if (s == null) {
+      return 0;
+    }
+    double value;
+    try {
+      value = Double.parseDouble(s);
+    } catch (NumberFormatException e) {
+      addParsingNotice(InvalidFloatNotice::new, columnIndex, s);
+      return 0;
+    }
+    hasParsedValue = true;
+    return value;
+  }
+
+  /** Same as {@link #asFloat} but does not box the result, see {@link #hasParsedValue()}. */
+  public double asFloatValue(
+      int columnIndex, GtfsColumnDescriptor columnDescriptor, NumberBounds bounds) {
+    double value = asFloatValue(columnIndex, columnDescriptor);
+    if (hasParsedValue) {
+      // Double.compare orders -0.0 before 0.0 and NaN after all values, just like
+      // Double.compareTo in checkBounds.
+      @Nullable String expected = violatedBounds(Double.compare(value, 0.0), "float", bounds);
+      if (expected != null) {
+        addOutOfRangeNotice(columnIndex, expected, value);
+      }
+    }
+    return value;
+  }
+
+  /** Same as {@link #asLatitude} but does not box the result, see {@link #hasParsedValue()}. */
+  public double asLatitudeValue(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
+    double value = asFloatValue(columnIndex, columnDescriptor);
+    if (hasParsedValue && !(-90 <= value && value <= 90)) {
+      addOutOfRangeNotice(columnIndex, "latitude within [-90, 90]", value);
+    }
+    return value;
+  }
+
+  /** Same as {@link #asLongitude} but does not box the result, see {@link #hasParsedValue()}. */
+  public double asLongitudeValue(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
+    double value = asFloatValue(columnIndex, columnDescriptor);
+    if (hasParsedValue && !(-180 <= value && value <= 180)) {
+      addOutOfRangeNotice(columnIndex, "longitude within [-180, 180]", value);
+    }
+    return value;
   }
 
   @Nullable
@@ -300,43 +413,38 @@ public class RowParser {
     if (value == null) {
       return null;
     }
-    final int compareToZero = value.compareTo(zero);
+    @Nullable String expected = violatedBounds(value.compareTo(zero), typeName, bounds);
+    if (expected != null) {
+      addOutOfRangeNotice(columnIndex, expected, value);
+    }
+    return value;
+  }
+
+  /**
+   * Checks the sign of a value against boundary requirements.
+   *
+   * @param compareToZero result of comparing the value with zero
+   * @param typeName short descriptive type name, such as "integer"
+   * @param bounds boundary requirements
+   * @return description of the expected range if the value violates it, null otherwise
+   */
+  @Nullable
+  private static String violatedBounds(int compareToZero, String typeName, NumberBounds bounds) {
     switch (bounds) {
       case POSITIVE:
-        if (compareToZero <= 0) {
-          noticeContainer.addValidationNotice(
-              new NumberOutOfRangeNotice(
-                  fileName,
-                  getRowNumber(),
-                  header.getColumnName(columnIndex),
-                  "positive " + typeName,
-                  value));
-        }
-        break;
+        return compareToZero <= 0 ? "positive " + typeName : null;
       case NON_NEGATIVE:
-        if (compareToZero < 0) {
-          noticeContainer.addValidationNotice(
-              new NumberOutOfRangeNotice(
-                  fileName,
-                  getRowNumber(),
-                  header.getColumnName(columnIndex),
-                  "non-negative " + typeName,
-                  value));
-        }
-        break;
+        return compareToZero < 0 ? "non-negative " + typeName : null;
       case NON_ZERO:
-        if (compareToZero == 0) {
-          noticeContainer.addValidationNotice(
-              new NumberOutOfRangeNotice(
-                  fileName,
-                  getRowNumber(),
-                  header.getColumnName(columnIndex),
-                  "non-zero " + typeName,
-                  value));
-        }
-        break;
+        return compareToZero == 0 ? "non-zero " + typeName : null;
     }
-    return value;
+    return null;
+  }
+
+  private void addOutOfRangeNotice(int columnIndex, String expected, Object value) {
+    noticeContainer.addValidationNotice(
+        new NumberOutOfRangeNotice(
+            fileName, getRowNumber(), header.getColumnName(columnIndex), expected, value));
   }
 
   @Nullable
@@ -351,27 +459,86 @@ public class RowParser {
       GtfsColumnDescriptor columnDescriptor,
       EnumCreator<E> enumCreator,
       E unrecognized) {
-    Integer i = asInteger(columnIndex, columnDescriptor);
-    if (i == null) {
-      return null;
+    int value = asEnumValue(columnIndex, columnDescriptor, enumCreator, unrecognized);
+    return hasParsedValue ? value : null;
+  }
+
+  /**
+   * Same as {@link #asEnum} but does not box the result, see {@link #hasParsedValue()}.
+   *
+   * @return the number of the enum value or {@code unrecognized.getNumber()} if the number is not
+   *     known
+   */
+  public <E extends GtfsEnum> int asEnumValue(
+      int columnIndex,
+      GtfsColumnDescriptor columnDescriptor,
+      EnumCreator<E> enumCreator,
+      E unrecognized) {
+    int value = asIntegerValue(columnIndex, columnDescriptor);
+    if (!hasParsedValue) {
+      return 0;
     }
-    if (enumCreator.convert(i) == null) {
+    if (enumCreator.convert(value) == null) {
       noticeContainer.addValidationNotice(
           new UnexpectedEnumValueNotice(
-              fileName, getRowNumber(), header.getColumnName(columnIndex), i));
+              fileName, getRowNumber(), header.getColumnName(columnIndex), value));
       return unrecognized.getNumber();
     }
-    return i;
+    return value;
   }
 
   @Nullable
   public GtfsTime asTime(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
-    return parseAsType(columnIndex, columnDescriptor, GtfsTime::fromString, InvalidTimeNotice::new);
+    int value = asTimeSeconds(columnIndex, columnDescriptor);
+    return hasParsedValue ? GtfsTime.fromSecondsSinceMidnight(value) : null;
+  }
+
+  /**
+   * Same as {@link #asTime} but returns seconds since midnight instead of allocating a {@code
+   * GtfsTime}, see {@link #hasParsedValue()}.
+   */
+  public int asTimeSeconds(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
+    hasParsedValue = false;
+    String s = asString(columnIndex, columnDescriptor);
+    if (s == null) {
+      return 0;
+    }
+    int value;
+    try {
+      value = GtfsTime.parseSecondsSinceMidnight(s);
+    } catch (IllegalArgumentException e) {
+      addParsingNotice(InvalidTimeNotice::new, columnIndex, s);
+      return 0;
+    }
+    hasParsedValue = true;
+    return value;
   }
 
   @Nullable
   public GtfsDate asDate(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
-    return parseAsType(columnIndex, columnDescriptor, GtfsDate::fromString, InvalidDateNotice::new);
+    int value = asDateEpochDay(columnIndex, columnDescriptor);
+    return hasParsedValue ? GtfsDate.fromEpochDay(value) : null;
+  }
+
+  /**
+   * Same as {@link #asDate} but returns the epoch day instead of allocating a {@code GtfsDate},
+   * see {@link #hasParsedValue()}.
+   */
+  public int asDateEpochDay(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
+    hasParsedValue = false;
+    String s = asString(columnIndex, columnDescriptor);
+    if (s == null) {
+      return 0;
+    }
+    int value;
+    try {
+      value = GtfsDate.parseEpochDay(s);
+    } catch (IllegalArgumentException e) {
+      addParsingNotice(InvalidDateNotice::new, columnIndex, s);
+      return 0;
+    }
+    hasParsedValue = true;
+    return value;
   }
 
   public enum NumberBounds {
@@ -412,12 +579,16 @@ public class RowParser {
     } catch (RuntimeException e) {
       // Most parsing functions throw an IllegalArgumentException but ZoneId.of() throws
       // a ZoneRulesException or DateTimeException. Be sure to catch all of them.
-      noticeContainer.addValidationNotice(
-          noticingFunction.apply(fileName, getRowNumber(), header.getColumnName(columnIndex), s));
+      addParsingNotice(noticingFunction, columnIndex, s);
       return null;
     }
   }
 
+  private void addParsingNotice(NoticingFunction<?> noticingFunction, int columnIndex, String s) {
+    noticeContainer.addValidationNotice(
+        noticingFunction.apply(fileName, getRowNumber(), header.getColumnName(columnIndex), s));
+  }
+
   /**
    * Validates a string as URL, phone number etc. and adds notices for invalid values.
    *
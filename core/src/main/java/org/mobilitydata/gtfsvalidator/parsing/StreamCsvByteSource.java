@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * {@link CsvByteSource} that reads a stream, e.g., an inflated ZIP entry, into large buffers.
+ *
+ * <p>The unread tail of the previous window is copied to the start of the next window and the rest
+ * is filled from the stream. After {@link #allowWindowReuse}, a single direct buffer is allocated
+ * and compacted in place for every window, and only grows when a longer window is requested.
+ * Otherwise each window is a new heap buffer, so that old windows stay valid for the rows that
+ * point to them and are collected together with those rows.
+ */
+public class StreamCsvByteSource implements CsvByteSource {
+  /** Size of a single window, unless a longer one is requested. */
+  static final int DEFAULT_WINDOW_SIZE = 16 * 1024 * 1024;
+
+  private final ReadableByteChannel channel;
+  private final int windowSize;
+  private ByteBuffer current = ByteBuffer.allocate(0);
+  private long currentStart = 0;
+  private boolean endOfStream = false;
+  private boolean reuseWindows = false;
+
+  public StreamCsvByteSource(InputStream inputStream) {
+    this(inputStream, DEFAULT_WINDOW_SIZE);
+  }
+
+  StreamCsvByteSource(InputStream inputStream, int windowSize) {
+    this.channel = Channels.newChannel(inputStream);
+    this.windowSize = windowSize;
+  }
+
+  @Override
+  public void allowWindowReuse() {
+    reuseWindows = true;
+  }
+
+  @Override
+  public ByteBuffer window(long position, int minLength) throws IOException {
+    long currentEnd = currentStart + current.limit();
+    if (position < currentStart || position > currentEnd) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Window at %d is not adjacent to the current window [%d, %d)",
+              position, currentStart, currentEnd));
+    }
+    int offset = (int) (position - currentStart);
+    int length = Math.max(windowSize, minLength);
+    ByteBuffer next;
+    if (reuseWindows && current.capacity() >= length) {
+      next = current.position(offset).compact();
+    } else {
+      next = reuseWindows ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+      next.put(current.position(offset));
+    }
+    while (!endOfStream && next.hasRemaining()) {
+      if (channel.read(next) < 0) {
+        endOfStream = true;
+      }
+    }
+    next.flip();
+    current = next;
+    currentStart = position;
+    return next.asReadOnlyBuffer();
+  }
+
+  @Override
+  public boolean windowReachesEnd() {
+    return endOfStream;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
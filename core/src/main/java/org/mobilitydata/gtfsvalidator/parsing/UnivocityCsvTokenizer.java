@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import com.univocity.parsers.csv.CsvParser;
+import com.univocity.parsers.csv.CsvParserSettings;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nullable;
+import org.apache.commons.io.ByteOrderMark;
+import org.apache.commons.io.input.BOMInputStream;
+
+/**
+ * Default {@link CsvTokenizer} that decodes the whole stream to characters and splits it with
+ * univocity {@link CsvParser}.
+ */
+public class UnivocityCsvTokenizer implements CsvTokenizer {
+  private final CsvParser parser;
+
+  public UnivocityCsvTokenizer(InputStream inputStream, CsvParserSettings settings) {
+    // Only UTF-8 is supported according to GTFS reference. We may add optional support for other
+    // encodings later.
+    final BOMInputStream bomInputStream = new BOMInputStream(inputStream, ByteOrderMark.UTF_8);
+    final CharsetDecoder decoder =
+        StandardCharsets.UTF_8
+            .newDecoder()
+            .replaceWith("\uFFFD")
+            .onMalformedInput(CodingErrorAction.REPLACE);
+    final BufferedReader reader =
+        new BufferedReader(new InputStreamReader(bomInputStream, decoder));
+
+    parser = new CsvParser(settings);
+    parser.beginParsing(reader);
+  }
+
+  @Override
+  @Nullable
+  public String[] parseHeader() {
+    return parser.getContext().headers();
+  }
+
+  @Override
+  @Nullable
+  public CsvRow parseNext() {
+    String[] columnValues = parser.parseNext();
+    if (columnValues == null) {
+      return null;
+    }
+    return new CsvRow(parser.getContext().currentLine(), columnValues);
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary of distinct values of a text column in a {@link ColumnarEntityList}.
+ *
+ * <p>Rows store int codes instead of references, so a column of repeated IDs or headsigns takes 4
+ * bytes per row plus one entry per distinct value.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class ColumnDictionary {
+  private final Map<String, Integer> codes = new HashMap<>();
+  private String[] values = new String[16];
+  private long valueBytes = 0;
+
+  /** Returns the code of a value, adding the value to the dictionary if it is not there yet. */
+  public int encode(String value) {
+    Integer code = codes.get(value);
+    if (code != null) {
+      return code;
+    }
+    int newCode = codes.size();
+    if (newCode == values.length) {
+      values = Arrays.copyOf(values, newCode + (newCode >> 1));
+    }
+    values[newCode] = value;
+    codes.put(value, newCode);
+    valueBytes += 24 + ((16 + value.length() + 7) & ~7);
+    return newCode;
+  }
+
+  /** Returns the code of a value, or -1 if the value is not in the dictionary. */
+  public int codeOf(String value) {
+    Integer code = codes.get(value);
+    return code != null ? code : -1;
+  }
+
+  /** Returns the value with the given code. */
+  public String decode(int code) {
+    return values[code];
+  }
+
+  /** Returns the number of distinct values. */
+  public int size() {
+    return codes.size();
+  }
+
+  /**
+   * Estimates the heap size of the dictionary, assuming compact Latin-1 strings and about 48 bytes
+   * per hash map entry.
+   */
+  public long estimateMemoryBytes() {
+    return valueBytes + 4L * values.length + 48L * codes.size();
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+/** Where a {@link ColumnarEntityList} keeps its primitive columns. */
+public enum ColumnStorage {
+  /** Columns are byte buffers on the Java heap. */
+  HEAP,
+
+  /**
+   * Columns are direct byte buffers outside the Java heap, so the garbage collector neither copies
+   * nor scans them. Their total size is limited by {@code -XX:MaxDirectMemorySize}, which defaults
+   * to the maximum heap size.
+   */
+  OFF_HEAP,
+
+  /**
+   * Columns are pages of a temporary {@link SpillFile} mapped into memory. The operating system
+   * keeps recently used pages in its cache and writes the others back to disk, so a table may be
+   * larger than the available memory. Lists switch to this storage when they grow past a threshold,
+   * see {@link ColumnarEntityList#setSpillThresholdRows}.
+   */
+  DISK
+}
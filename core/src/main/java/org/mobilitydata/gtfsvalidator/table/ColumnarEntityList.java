@@ -0,0 +1,498 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import javax.annotation.Nullable;
+
+/**
+ * List of entities of a single table that keeps values in columns instead of objects.
+ *
+ * <p>Subclasses are generated for schemas annotated with {@code @GtfsTable(columnar = true)}, e.g.,
+ * {@code GtfsStopTimeColumns} for "stop_times.txt". Each column is a {@link PrimitiveColumn}: times
+ * are stored as seconds since midnight, enums as their numbers and texts as codes of a {@link
+ * ColumnDictionary}. Depending on {@link ColumnStorage}, primitive columns live on the Java heap,
+ * outside of it or in a temporary file, while dictionaries always stay on the heap.
+ *
+ * <p>{@link #add} copies values of an entity to the columns, so the entity itself may be garbage
+ * collected right away. {@link #get} returns a lightweight view over a row that implements the same
+ * entity class. Views are created on demand, so two calls for the same row return different but
+ * equal objects.
+ *
+ * <p>Tables that are indexed by an ID with a sequence, such as stop_times.txt by trip_id and
+ * stop_sequence, may reorder their rows in the columns with {@link #groupRows}, so that rows of
+ * each ID are contiguous. Their indexes then need a few bytes per row instead of a view per row.
+ * The list itself keeps the order of the file: only the index of the grouping ID returns rows in
+ * grouped order.
+ *
+ * <p>The list only supports appending entities, and it is not thread-safe. Once it is filled, it
+ * may be read concurrently.
+ *
+ * @param <T> entity class of the table, e.g., {@code GtfsStopTime}
+ */
+public abstract class ColumnarEntityList<T extends GtfsEntity> extends AbstractList<T>
+    implements RandomAccess {
+  private ColumnStorage storage;
+  @Nullable private SpillFile spillFile;
+  private int spillThresholdRows = 0;
+
+  /** Columns that hold a value for every row. */
+  private final List<PrimitiveColumn> columns = new ArrayList<>();
+
+  /** Columns of indexes built by subclasses. */
+  private final List<PrimitiveColumn> indexColumns = new ArrayList<>();
+
+  /** Start of each group once rows are grouped, followed by the number of rows. */
+  @Nullable private int[] groupStarts;
+
+  /**
+   * Position in the columns of each row of the file once {@link #groupRows} moved rows, or null if
+   * rows are stored in the order of the file.
+   */
+  @Nullable private PrimitiveColumn fileOrder;
+
+  protected int size = 0;
+
+  /** Number of rows that columns can hold without growing. */
+  protected int capacity = 0;
+
+  protected ColumnarEntityList(ColumnStorage storage) {
+    this.storage = storage;
+  }
+
+  /** Tells where primitive columns are kept. */
+  public final ColumnStorage storage() {
+    return storage;
+  }
+
+  /**
+   * Moves columns to a temporary file once the list grows past the given number of rows, rounded
+   * up to whole pages of {@link PrimitiveColumn#PAGE_ROWS}, so that tables larger than the
+   * available memory can be loaded.
+   *
+   * @param spillThresholdRows number of rows, or 0 to keep columns in their initial storage
+   */
+  public final void setSpillThresholdRows(int spillThresholdRows) {
+    this.spillThresholdRows = spillThresholdRows;
+  }
+
+  /** Creates a column that holds a value for every row. */
+  protected final PrimitiveColumn newColumn(int width) {
+    PrimitiveColumn column = createColumn(width);
+    column.resize(capacity);
+    columns.add(column);
+    return column;
+  }
+
+  private PrimitiveColumn createColumn(int width) {
+    if (storage != ColumnStorage.DISK) {
+      return new PrimitiveColumn(width, storage);
+    }
+    if (spillFile == null) {
+      spillFile = SpillFile.create();
+    }
+    return new PrimitiveColumn(width, spillFile);
+  }
+
+  @Override
+  public final int size() {
+    return size;
+  }
+
+  /** Returns a new view over the row with the given index in the order of the file. */
+  @Override
+  public final T get(int index) {
+    Preconditions.checkElementIndex(index, size);
+    return getRow(positionOf(index));
+  }
+
+  /** Returns a new view over the row at the given position of the columns. */
+  protected abstract T getRow(int position);
+
+  /** Returns the position in the columns of the row with the given index in the file. */
+  private int positionOf(int index) {
+    return fileOrder == null ? index : fileOrder.getInt(index);
+  }
+
+  /** Copies values of the entity to a new row. */
+  @Override
+  public abstract boolean add(T entity);
+
+  /**
+   * Grows columns so that they hold at least the given number of rows. Columns are moved to disk
+   * first if the list is past the spill threshold.
+   */
+  protected final void ensureCapacity(int rows) {
+    if (rows <= capacity) {
+      return;
+    }
+    int newCapacity = PrimitiveColumn.roundUpToPage(Math.max(rows, size + (size >> 1)));
+    if (spillThresholdRows > 0 && storage != ColumnStorage.DISK) {
+      if (rows > spillThresholdRows) {
+        spill();
+      } else {
+        // Do not grow far past the threshold in memory, so that the list spills close to it.
+        int spillCapacity = PrimitiveColumn.roundUpToPage(spillThresholdRows);
+        newCapacity = Math.min(newCapacity, Math.max(rows, spillCapacity));
+      }
+    }
+    // Columns grow by whole pages, so existing pages are never copied.
+    resize(newCapacity);
+  }
+
+  private void spill() {
+    storage = ColumnStorage.DISK;
+    spillFile = SpillFile.create();
+    for (PrimitiveColumn column : columns) {
+      column.spillTo(spillFile);
+    }
+  }
+
+  /** Resizes columns to hold exactly the given number of rows. */
+  protected void resize(int capacity) {
+    for (PrimitiveColumn column : columns) {
+      column.resize(capacity);
+    }
+    this.capacity = capacity;
+  }
+
+  /** Shrinks columns to the number of rows once the list is filled. */
+  public void trimToSize() {
+    if (size < capacity) {
+      resize(size);
+    }
+  }
+
+  /**
+   * Stops appending pages to the temporary file, if columns were moved to disk, and deletes the
+   * file. Pages that are already mapped stay readable.
+   *
+   * <p>Rows may not be added or grouped afterwards.
+   */
+  public final void closeSpillFile() {
+    if (spillFile != null) {
+      spillFile.close();
+    }
+  }
+
+  /** Estimates the size of all columns, indexes and dictionaries, on and off the heap. */
+  public long estimateMemoryBytes() {
+    long bytes = 0;
+    for (PrimitiveColumn column : columns) {
+      bytes += column.memoryBytes();
+    }
+    for (PrimitiveColumn column : indexColumns) {
+      bytes += column.memoryBytes();
+    }
+    if (fileOrder != null) {
+      bytes += fileOrder.memoryBytes();
+    }
+    return bytes + (groupStarts != null ? 4L * groupStarts.length : 0);
+  }
+
+  /** Tells if {@link #groupRows} is supported by the table. */
+  public boolean supportsGrouping() {
+    return false;
+  }
+
+  /** Returns the number of groups, i.e., the number of distinct values of the grouping column. */
+  protected int groupCount() {
+    throw new UnsupportedOperationException();
+  }
+
+  /** Returns the group of a row, from 0 to {@link #groupCount()} - 1. */
+  protected int groupOf(int row) {
+    throw new UnsupportedOperationException();
+  }
+
+  /** Returns the sequence that orders rows within a group. */
+  protected int sequenceOf(int row) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reorders columns that are not primitive and builds indexes once rows are grouped.
+   *
+   * @param order column that maps every new position to the previous position of its row, or null
+   *     if rows were already grouped and kept their positions
+   */
+  protected void onRowsGrouped(@Nullable PrimitiveColumn order) {}
+
+  /** Tells if rows were grouped by {@link #groupRows}. */
+  public final boolean isGrouped() {
+    return groupStarts != null;
+  }
+
+  /**
+   * Reorders rows so that rows of each group are contiguous and sorted by sequence, e.g., stop
+   * times by trip_id and stop_sequence. Rows with the same group and sequence keep their order.
+   *
+   * <p>Groups are dense codes of a dictionary, so rows are distributed with a counting sort, which
+   * needs one int per group on the heap and one column of positions in the storage of the table.
+   * Only rows of a single group are sorted in memory at a time. Another column in the storage of
+   * the table keeps the position of each row of the file, so that the list still returns rows in
+   * the order of the file. Views that were returned before the call point to different rows
+   * afterwards.
+   *
+   * <p>Rows that were already grouped and sorted, as in most feeds, are detected while counting
+   * them and are not moved.
+   *
+   * @throws IllegalStateException if the table does not support grouping or rows are already
+   *     grouped
+   */
+  public final void groupRows() {
+    Preconditions.checkState(supportsGrouping(), "Rows of this table cannot be grouped");
+    Preconditions.checkState(!isGrouped(), "Rows are already grouped");
+    int groupCount = groupCount();
+    int[] starts = new int[groupCount + 1];
+    // Codes are assigned in the order in which values first appear, so grouped rows have codes
+    // that never increase by more than one from one row to the next.
+    boolean presorted = true;
+    int lastGroup = -1;
+    int lastSequence = 0;
+    for (int row = 0; row < size; ++row) {
+      int group = groupOf(row);
+      ++starts[group + 1];
+      if (presorted) {
+        int sequence = sequenceOf(row);
+        presorted = group == lastGroup + 1 || (group == lastGroup && sequence >= lastSequence);
+        lastGroup = group;
+        lastSequence = sequence;
+      }
+    }
+    for (int group = 0; group < groupCount; ++group) {
+      starts[group + 1] += starts[group];
+    }
+    if (presorted) {
+      capacity = size;
+      groupStarts = starts;
+      onRowsGrouped(null);
+      ++modCount;
+      return;
+    }
+    PrimitiveColumn order = createColumn(Integer.BYTES);
+    order.resize(size);
+    int[] next = Arrays.copyOf(starts, groupCount);
+    for (int row = 0; row < size; ++row) {
+      order.setInt(next[groupOf(row)]++, row);
+    }
+    sortGroupsBySequence(order, starts);
+
+    for (PrimitiveColumn column : columns) {
+      column.permute(order, size);
+    }
+    PrimitiveColumn positions = createColumn(Integer.BYTES);
+    positions.resize(size);
+    for (int position = 0; position < size; ++position) {
+      positions.setInt(order.getInt(position), position);
+    }
+    capacity = size;
+    groupStarts = starts;
+    fileOrder = positions;
+    onRowsGrouped(order);
+    ++modCount;
+  }
+
+  private void sortGroupsBySequence(PrimitiveColumn order, int[] starts) {
+    long[] keys = new long[0];
+    for (int group = 0; group + 1 < starts.length; ++group) {
+      int start = starts[group];
+      int length = starts[group + 1] - start;
+      if (length < 2) {
+        continue;
+      }
+      if (keys.length < length) {
+        keys = new long[Math.max(length, keys.length * 2)];
+      }
+      // Sequence in the high bits, row in the low bits: rows are never negative, so equal
+      // sequences keep their order.
+      for (int i = 0; i < length; ++i) {
+        int row = order.getInt(start + i);
+        keys[i] = ((long) sequenceOf(row) << 32) | row;
+      }
+      Arrays.sort(keys, 0, length);
+      for (int i = 0; i < length; ++i) {
+        order.setInt(start + i, (int) keys[i]);
+      }
+    }
+  }
+
+  /**
+   * Returns all rows in the order in which {@link #groupRows} stored them, i.e., grouped and sorted
+   * by sequence.
+   */
+  public final List<T> inGroupedOrder() {
+    Preconditions.checkState(groupStarts != null, "Rows are not grouped");
+    return new StoredRows(0, size);
+  }
+
+  /** Returns the groups that {@link #groupRows} formed, keyed by values of a dictionary. */
+  protected final RowGroups groupedRows(ColumnDictionary keys) {
+    Preconditions.checkState(groupStarts != null, "Rows are not grouped");
+    return new RowGroups(keys, groupStarts, true, null);
+  }
+
+  /**
+   * Indexes rows by codes of a dictionary column without reordering them. Rows of each key are
+   * listed in the order of the file.
+   *
+   * <p>Positions of rows are sorted by code with a counting sort into a column in the storage of
+   * the table, so the index takes 4 bytes per row and 4 bytes per key. Rows whose codes already
+   * appear in order of codes need no positions.
+   *
+   * @param codes column that holds codes of {@code keys}
+   * @param keys dictionary of the column
+   */
+  protected final RowGroups indexRows(PrimitiveColumn codes, ColumnDictionary keys) {
+    int[] starts = new int[keys.size() + 1];
+    boolean presorted = true;
+    int lastCode = -1;
+    for (int index = 0; index < size; ++index) {
+      int code = codes.getInt(positionOf(index));
+      ++starts[code + 1];
+      presorted &= code == lastCode || code == lastCode + 1;
+      lastCode = code;
+    }
+    for (int code = 0; code < keys.size(); ++code) {
+      starts[code + 1] += starts[code];
+    }
+    if (presorted) {
+      return new RowGroups(keys, starts, false, null);
+    }
+    PrimitiveColumn positions = createColumn(Integer.BYTES);
+    positions.resize(size);
+    int[] next = Arrays.copyOf(starts, keys.size());
+    for (int index = 0; index < size; ++index) {
+      int position = positionOf(index);
+      positions.setInt(next[codes.getInt(position)]++, position);
+    }
+    indexColumns.add(positions);
+    return new RowGroups(keys, starts, false, positions);
+  }
+
+  /**
+   * Rows grouped by values of a dictionary column: contiguous in the columns after {@link
+   * #groupRows}, contiguous in the file or listed by an index.
+   */
+  protected final class RowGroups implements GroupedListMultimap.Groups<String, T> {
+    private final ColumnDictionary keys;
+    private final int[] starts;
+
+    /** Tells if groups are ranges of positions in the columns rather than of rows of the file. */
+    private final boolean stored;
+
+    /** Positions of rows of all groups, or null if groups are contiguous. */
+    @Nullable private final PrimitiveColumn positions;
+
+    private RowGroups(
+        ColumnDictionary keys, int[] starts, boolean stored, @Nullable PrimitiveColumn positions) {
+      this.keys = keys;
+      this.starts = starts;
+      this.stored = stored;
+      this.positions = positions;
+    }
+
+    /** Returns rows with the given key, or an empty list if there are none. */
+    public List<T> get(@Nullable String key) {
+      int group = groupOf(key);
+      return group >= 0 ? valuesOf(group) : ImmutableList.of();
+    }
+
+    /** Returns a multimap view of the groups that does not copy rows. */
+    public ListMultimap<String, T> asMultimap() {
+      return new GroupedListMultimap<>(this, size);
+    }
+
+    @Override
+    public int groupCount() {
+      return keys.size();
+    }
+
+    @Override
+    public String keyOf(int group) {
+      return keys.decode(group);
+    }
+
+    @Override
+    public int groupOf(@Nullable Object key) {
+      return key instanceof String ? keys.codeOf((String) key) : -1;
+    }
+
+    @Override
+    public List<T> valuesOf(int group) {
+      int start = starts[group];
+      int end = starts[group + 1];
+      if (positions != null) {
+        return new IndexedRows(positions, start, end);
+      }
+      return stored ? new StoredRows(start, end) : subList(start, end);
+    }
+  }
+
+  /** Rows at a range of positions of the columns. */
+  private final class StoredRows extends AbstractList<T> implements RandomAccess {
+    private final int start;
+    private final int end;
+
+    private StoredRows(int start, int end) {
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public T get(int index) {
+      Preconditions.checkElementIndex(index, end - start);
+      return getRow(start + index);
+    }
+
+    @Override
+    public int size() {
+      return end - start;
+    }
+  }
+
+  /** Rows whose positions are listed in a range of an index column. */
+  private final class IndexedRows extends AbstractList<T> implements RandomAccess {
+    private final PrimitiveColumn positions;
+    private final int start;
+    private final int end;
+
+    private IndexedRows(PrimitiveColumn positions, int start, int end) {
+      this.positions = positions;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public T get(int index) {
+      Preconditions.checkElementIndex(index, end - start);
+      return getRow(positions.getInt(start + index));
+    }
+
+    @Override
+    public int size() {
+      return end - start;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import javax.annotation.Nullable;
+
+/**
+ * Index of entities by a primary key of several columns, e.g., transfers by from_stop_id,
+ * to_stop_id and other columns.
+ *
+ * <p>Entities are stored with a 64-bit hash of their key in an open-addressing table of primitive
+ * hashes, so that no key object is allocated per entity. Keys are compared field by field only if
+ * their hashes are equal. Hashes are combined from the values of the key with {@link #hash}. The
+ * index is built by a single thread and may be read concurrently afterwards.
+ *
+ * @param <T> type of entities
+ */
+public final class CompositeKeyIndex<T> {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final ToLongFunction<? super T> keyHash;
+  private final BiPredicate<? super T, ? super T> sameKey;
+  private long[] hashes;
+  private Object[] entities;
+  private int size;
+
+  /**
+   * Creates an empty index.
+   *
+   * @param keyHash hash of the key of an entity, combined with {@link #hash}
+   * @param sameKey tells if two entities have the same key
+   */
+  public CompositeKeyIndex(
+      ToLongFunction<? super T> keyHash, BiPredicate<? super T, ? super T> sameKey) {
+    this.keyHash = keyHash;
+    this.sameKey = sameKey;
+    hashes = new long[INITIAL_CAPACITY];
+    entities = new Object[INITIAL_CAPACITY];
+  }
+
+  /** Combines a hash with a value of a key. */
+  public static long hash(long hash, long value) {
+    // The multiplication moves entropy to the high bits, which select slots.
+    return (Long.rotateLeft(hash, 29) ^ value) * 0x9E3779B97F4A7C15L;
+  }
+
+  /** Combines a hash with a value of a key. */
+  public static long hash(long hash, double value) {
+    return hash(hash, Double.doubleToLongBits(value));
+  }
+
+  /** Combines a hash with a value of a key. */
+  public static long hash(long hash, boolean value) {
+    return hash(hash, value ? 1 : 0);
+  }
+
+  /** Combines a hash with a value of a key, which may be null. */
+  public static long hash(long hash, @Nullable Object value) {
+    return hash(hash, Objects.hashCode(value));
+  }
+
+  /**
+   * Adds an entity unless there is already one with the same key.
+   *
+   * @return the entity that was already in the index, or null if the new entity was added
+   */
+  @SuppressWarnings("unchecked")
+  @Nullable
+  public T putIfAbsent(T entity) {
+    long hash = keyHash.applyAsLong(entity);
+    int mask = entities.length - 1;
+    int slot = slotOf(hash);
+    for (; entities[slot] != null; slot = (slot + 1) & mask) {
+      if (hashes[slot] == hash && sameKey.test((T) entities[slot], entity)) {
+        return (T) entities[slot];
+      }
+    }
+    hashes[slot] = hash;
+    entities[slot] = entity;
+    if (++size > entities.length >> 1) {
+      grow();
+    }
+    return null;
+  }
+
+  /**
+   * Returns the entity whose key has the given hash and matches, or null if there is none.
+   *
+   * @param hash hash of the key, combined with {@link #hash} like the hashes of entities
+   * @param matches tells if the key of an entity is the one looked up
+   */
+  @SuppressWarnings("unchecked")
+  @Nullable
+  public T get(long hash, Predicate<? super T> matches) {
+    int mask = entities.length - 1;
+    for (int slot = slotOf(hash); entities[slot] != null; slot = (slot + 1) & mask) {
+      if (hashes[slot] == hash && matches.test((T) entities[slot])) {
+        return (T) entities[slot];
+      }
+    }
+    return null;
+  }
+
+  /** Returns the number of entities in the index. */
+  public int size() {
+    return size;
+  }
+
+  private int slotOf(long hash) {
+    return (int) (hash >>> (Long.SIZE - Integer.numberOfTrailingZeros(entities.length)));
+  }
+
+  private void grow() {
+    long[] oldHashes = hashes;
+    Object[] oldEntities = entities;
+    hashes = new long[oldEntities.length * 2];
+    entities = new Object[oldEntities.length * 2];
+    int mask = entities.length - 1;
+    for (int oldSlot = 0; oldSlot < oldEntities.length; ++oldSlot) {
+      if (oldEntities[oldSlot] == null) {
+        continue;
+      }
+      int slot = slotOf(oldHashes[oldSlot]);
+      while (entities[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      hashes[slot] = oldHashes[oldSlot];
+      entities[slot] = oldEntities[oldSlot];
+    }
+  }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.util.RadixSort;
+
+/**
+ * Index of entities by a key that may repeat, stored in compressed sparse row (CSR) form.
+ *
+ * <p>Instead of a list per key, the index keeps one array of row numbers ordered by group and one
+ * array of offsets where each group starts. Besides the mapping from keys to groups, it takes 4
+ * bytes per entity and 4 bytes per key. Rows are distributed into groups with a counting sort and
+ * rows of each group may then be sorted by a sequence, e.g., stop times by stop_sequence. Ranges
+ * of groups are sorted with a {@link RadixSort} of keys packed from the group and the sequence.
+ *
+ * <p>Most feeds already list rows grouped by key and sorted by sequence, e.g., stop times by trip
+ * and stop_sequence. The pass that maps keys to groups detects such input, in which case the index
+ * keeps neither row numbers nor sorts them, and groups are ranges of the entities.
+ *
+ * <p>Lists returned by the index are immutable views over the indexed entities, which must not
+ * change afterwards. The index is built at once and may be read concurrently. Groups of large
+ * indexes are sorted in parallel when the index is built by a task of a {@link ForkJoinPool}, e.g.,
+ * with {@link ExecutionStrategy#WORK_STEALING}, and on the calling thread otherwise, so that
+ * sorting uses the threads that the feed is loaded on.
+ *
+ * @param <K> type of keys
+ * @param <T> type of entities
+ */
+public abstract class CsrListIndex<K, T> implements GroupedListMultimap.Groups<K, T> {
+  /** Number of rows below which groups are sorted by a single task. */
+  private static final int SORT_TASK_ROWS = 1 << 15;
+
+  private final List<T> entities;
+  private final int[] offsets;
+
+  /** Row numbers ordered by group, or null if entities are already in that order. */
+  @Nullable private final int[] rows;
+
+  private final int size;
+
+  /**
+   * Groups rows of the entities.
+   *
+   * @param entities indexed entities
+   * @param groupOfRow group of every entity, from 0 to {@code groupCount - 1}, may be reused by
+   *     the constructor
+   * @param groupCount number of groups, each of which has at least one entity
+   * @param sequence sequence that sorts entities within a group, or null to keep their order
+   * @param presorted true if entities are grouped in the order of groups and sorted by sequence
+   *     within each group, see {@link InputOrder}
+   */
+  protected CsrListIndex(
+      List<? extends T> entities,
+      int[] groupOfRow,
+      int groupCount,
+      @Nullable ToIntFunction<? super T> sequence,
+      boolean presorted) {
+    this.entities = randomAccess(entities);
+    size = groupOfRow.length;
+    offsets = new int[groupCount + 1];
+    for (int row = 0; row < size; ++row) {
+      ++offsets[groupOfRow[row] + 1];
+    }
+    for (int group = 0; group < groupCount; ++group) {
+      offsets[group + 1] += offsets[group];
+    }
+    if (presorted) {
+      rows = null;
+      return;
+    }
+    rows = new int[size];
+    int[] next = Arrays.copyOf(offsets, groupCount);
+    for (int row = 0; row < size; ++row) {
+      rows[next[groupOfRow[row]]++] = row;
+    }
+    if (sequence != null) {
+      sortGroups(sequence);
+    }
+  }
+
+  /**
+   * Indexes entities by an arbitrary key. Keys are mapped to groups by a hash map and groups are
+   * numbered in the order in which their keys first appear.
+   *
+   * @param entities entities to index
+   * @param key key of an entity, may be null
+   * @param sequence sequence that sorts entities with the same key, or null to keep their order
+   */
+  public static <K, T> CsrListIndex<K, T> byKey(
+      List<? extends T> entities,
+      Function<? super T, K> key,
+      @Nullable ToIntFunction<? super T> sequence) {
+    Map<K, Integer> groupOfKey = new HashMap<>();
+    List<K> keys = new ArrayList<>();
+    int[] groupOfRow = new int[entities.size()];
+    InputOrder<T> inputOrder = new InputOrder<>(sequence);
+    int row = 0;
+    for (T entity : entities) {
+      K entityKey = key.apply(entity);
+      Integer group = groupOfKey.get(entityKey);
+      if (group == null) {
+        group = keys.size();
+        groupOfKey.put(entityKey, group);
+        keys.add(entityKey);
+      }
+      groupOfRow[row++] = group;
+      inputOrder.add(entity, group);
+    }
+    return new KeyListIndex<>(
+        entities, groupOfRow, groupOfKey, keys, sequence, inputOrder.isPresorted());
+  }
+
+  /** Returns an index without entities. */
+  public static <K, T> CsrListIndex<K, T> empty() {
+    return byKey(ImmutableList.of(), (entity) -> null, null);
+  }
+
+  /**
+   * Tracks whether entities arrive grouped and sorted by sequence within each group.
+   *
+   * <p>Groups are numbered in the order in which they first appear, so entities are grouped if the
+   * group of every entity is either the group of the previous entity or the next group.
+   */
+  static final class InputOrder<T> {
+    @Nullable private final ToIntFunction<? super T> sequence;
+    private boolean presorted = true;
+    private int lastGroup = -1;
+    private int lastSequence;
+
+    InputOrder(@Nullable ToIntFunction<? super T> sequence) {
+      this.sequence = sequence;
+    }
+
+    /** Adds the next entity and its group. */
+    void add(T entity, int group) {
+      if (!presorted) {
+        return;
+      }
+      if (group != lastGroup && group != lastGroup + 1) {
+        presorted = false;
+        return;
+      }
+      if (sequence != null) {
+        int entitySequence = sequence.applyAsInt(entity);
+        if (group == lastGroup && entitySequence < lastSequence) {
+          presorted = false;
+          return;
+        }
+        lastSequence = entitySequence;
+      }
+      lastGroup = group;
+    }
+
+    boolean isPresorted() {
+      return presorted;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<T> randomAccess(List<? extends T> entities) {
+    // Views read entities by row number.
+    return entities instanceof RandomAccess ? (List<T>) entities : new ArrayList<>(entities);
+  }
+
+  /**
+   * Sorts rows of every group by sequence. Rows with the same sequence keep their order, like with
+   * {@link List#sort}.
+   */
+  private void sortGroups(ToIntFunction<? super T> sequence) {
+    if (rows.length <= SORT_TASK_ROWS || !ForkJoinTask.inForkJoinPool()) {
+      sortGroups(sequence, 0, groupCount());
+    } else {
+      // Subtasks are forked into the pool of the calling task.
+      new SortGroupsTask(sequence, 0, groupCount()).invoke();
+    }
+  }
+
+  private void sortGroups(ToIntFunction<? super T> sequence, int fromGroup, int toGroup) {
+    int start = offsets[fromGroup];
+    int length = offsets[toGroup] - start;
+    if (length < 2) {
+      return;
+    }
+    // Groups of the range are contiguous, so rows are sorted at once by their group within the
+    // range and their sequence. Rows of a group are in ascending order and keep it for equal
+    // sequences.
+    long[] keys = new long[length];
+    for (int group = fromGroup; group < toGroup; ++group) {
+      for (int i = offsets[group]; i < offsets[group + 1]; ++i) {
+        keys[i - start] =
+            RadixSort.packKey(group - fromGroup, sequence.applyAsInt(entities.get(rows[i])));
+      }
+    }
+    int[] order = RadixSort.sortedPermutation(keys, length);
+    int[] sortedRows = new int[length];
+    for (int i = 0; i < length; ++i) {
+      sortedRows[i] = rows[start + order[i]];
+    }
+    System.arraycopy(sortedRows, 0, rows, start, length);
+  }
+
+  /** Sorts a range of groups, split in halves of about the same number of rows. */
+  private final class SortGroupsTask extends RecursiveAction {
+    private final ToIntFunction<? super T> sequence;
+    private final int fromGroup;
+    private final int toGroup;
+
+    SortGroupsTask(ToIntFunction<? super T> sequence, int fromGroup, int toGroup) {
+      this.sequence = sequence;
+      this.fromGroup = fromGroup;
+      this.toGroup = toGroup;
+    }
+
+    @Override
+    protected void compute() {
+      if (toGroup - fromGroup < 2 || offsets[toGroup] - offsets[fromGroup] <= SORT_TASK_ROWS) {
+        sortGroups(sequence, fromGroup, toGroup);
+        return;
+      }
+      int middleRow = (offsets[fromGroup] + offsets[toGroup]) >>> 1;
+      int middleGroup = Arrays.binarySearch(offsets, fromGroup, toGroup, middleRow);
+      if (middleGroup < 0) {
+        middleGroup = -middleGroup - 1;
+      }
+      middleGroup = Math.max(fromGroup + 1, Math.min(middleGroup, toGroup - 1));
+      invokeAll(
+          new SortGroupsTask(sequence, fromGroup, middleGroup),
+          new SortGroupsTask(sequence, middleGroup, toGroup));
+    }
+  }
+
+  /** Returns entities with the given key, or an empty list if there are none. */
+  public List<T> get(@Nullable K key) {
+    int group = groupOf(key);
+    return group >= 0 ? valuesOf(group) : ImmutableList.of();
+  }
+
+  /** Estimates the size of the index, without the indexed entities. */
+  public long estimateMemoryBytes() {
+    return 4L * ((rows != null ? rows.length : 0) + offsets.length);
+  }
+
+  /** Tells if entities were already grouped and sorted, so that the index keeps no row numbers. */
+  public boolean isPresorted() {
+    return rows == null;
+  }
+
+  /** Returns the number of indexed entities. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a multimap view of the index, for callers of former {@code ListMultimap} indexes. The
+   * view does not copy entities.
+   */
+  public ListMultimap<K, T> asMultimap() {
+    return new GroupedListMultimap<>(this, size);
+  }
+
+  @Override
+  public int groupCount() {
+    return offsets.length - 1;
+  }
+
+  @Override
+  public List<T> valuesOf(int group) {
+    return new GroupList(offsets[group], offsets[group + 1]);
+  }
+
+  /** Entities of a group, in a range of {@link #rows} or of the entities if they are presorted. */
+  private final class GroupList extends AbstractList<T> implements RandomAccess {
+    private final int start;
+    private final int end;
+
+    GroupList(int start, int end) {
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public T get(int index) {
+      Preconditions.checkElementIndex(index, end - start);
+      return entities.get(rows != null ? rows[start + index] : start + index);
+    }
+
+    @Override
+    public int size() {
+      return end - start;
+    }
+  }
+
+  /** Index whose keys are mapped to groups by a hash map. */
+  private static final class KeyListIndex<K, T> extends CsrListIndex<K, T> {
+    private final Map<K, Integer> groupOfKey;
+    private final List<K> keys;
+
+    KeyListIndex(
+        List<? extends T> entities,
+        int[] groupOfRow,
+        Map<K, Integer> groupOfKey,
+        List<K> keys,
+        @Nullable ToIntFunction<? super T> sequence,
+        boolean presorted) {
+      super(entities, groupOfRow, keys.size(), sequence, presorted);
+      this.groupOfKey = groupOfKey;
+      this.keys = keys;
+    }
+
+    @Override
+    public long estimateMemoryBytes() {
+      // A hash map entry, a boxed group and a reference in the list of keys.
+      return super.estimateMemoryBytes() + 56L * keys.size();
+    }
+
+    @Override
+    public K keyOf(int group) {
+      return keys.get(group);
+    }
+
+    @Override
+    public int groupOf(@Nullable Object key) {
+      return groupOfKey.getOrDefault(key, -1);
+    }
+  }
+}
@@ -1,24 +1,41 @@
 package org.mobilitydata.gtfsvalidator.table;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.flogger.FluentLogger;
 import com.univocity.parsers.common.TextParsingException;
 import com.univocity.parsers.csv.CsvParserSettings;
 import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.mobilitydata.gtfsvalidator.notice.CsvParsingFailedNotice;
 import org.mobilitydata.gtfsvalidator.notice.EmptyFileNotice;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.parsing.ByteBufferCsvTokenizer;
+import org.mobilitydata.gtfsvalidator.parsing.CsvByteSource;
 import org.mobilitydata.gtfsvalidator.parsing.CsvFile;
 import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
 import org.mobilitydata.gtfsvalidator.parsing.CsvRow;
+import org.mobilitydata.gtfsvalidator.parsing.CsvTokenizerException;
 import org.mobilitydata.gtfsvalidator.parsing.FieldCache;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
 import org.mobilitydata.gtfsvalidator.parsing.RowParser;
 import org.mobilitydata.gtfsvalidator.validator.SingleEntityValidator;
 import org.mobilitydata.gtfsvalidator.validator.ValidatorProvider;
@@ -39,26 +56,136 @@ public final class CsvFileLoader extends TableLoader {
 
   private final FluentLogger logger = FluentLogger.forEnclosingClass();
 
+  /** Amount of rows that are loaded by a single task when a file is split into chunks. */
+  private static final int ROWS_PER_CHUNK = 10_000;
+
+  /** Amount of rows that are passed between stages of a pipeline at once. */
+  private static final int ROWS_PER_BATCH = 1000;
+
+  /** Amount of batches that may wait in a queue between two stages of a pipeline. */
+  private static final int PIPELINE_QUEUE_CAPACITY = 16;
+
   @Override
   public GtfsEntityContainer<?, ?> load(
       GtfsFileDescriptor fileDescriptor,
       ValidatorProvider validatorProvider,
       InputStream csvInputStream,
       NoticeContainer noticeContainer) {
+    return load(
+        fileDescriptor,
+        validatorProvider,
+        csvInputStream,
+        noticeContainer,
+        CsvLoadingOptions.sequential());
+  }
+
+  /**
+   * Loads a table, using threads as described by {@code options}.
+   *
+   * <p>If the options are {@link CsvLoadingOptions#pipelined}, the stream is also read on a
+   * separate thread, so that inflating of a ZIP entry overlaps with parsing.
+   */
+  public GtfsEntityContainer<?, ?> load(
+      GtfsFileDescriptor fileDescriptor,
+      ValidatorProvider validatorProvider,
+      InputStream csvInputStream,
+      NoticeContainer noticeContainer,
+      CsvLoadingOptions options) {
     GtfsTableDescriptor tableDescriptor = (GtfsTableDescriptor) fileDescriptor;
+    @Nullable final PrefetchingInputStream prefetchingStream =
+        options.pipelineExecutor() != null
+            ? prefetch(csvInputStream, tableDescriptor.gtfsFilename(), options.pipelineExecutor())
+            : null;
+    try {
+      return loadCsvFile(
+          tableDescriptor,
+          validatorProvider,
+          () -> {
+            CsvParserSettings settings = CsvFile.createDefaultParserSettings();
+            if (tableDescriptor.maxCharsPerColumn().isPresent()) {
+              Optional<Integer> maxCharsPerColumn = tableDescriptor.maxCharsPerColumn();
+              settings.setMaxCharsPerColumn(maxCharsPerColumn.get());
+            }
+            return new CsvFile(
+                prefetchingStream != null ? prefetchingStream : csvInputStream,
+                tableDescriptor.gtfsFilename(),
+                settings);
+          },
+          noticeContainer,
+          options);
+    } finally {
+      if (prefetchingStream != null) {
+        prefetchingStream.close();
+        logger.atInfo().log("Pipeline queue %s", prefetchingStream.formatStats());
+      }
+    }
+  }
+
+  /**
+   * Starts reading {@code csvInputStream} on {@code executor}. Returns null if the executor has no
+   * thread left, so that the stream is read on the current thread.
+   */
+  @Nullable
+  private PrefetchingInputStream prefetch(
+      InputStream csvInputStream, String gtfsFilename, ExecutorService executor) {
+    try {
+      return new PrefetchingInputStream(csvInputStream, gtfsFilename, executor);
+    } catch (RejectedExecutionException e) {
+      logger.atInfo().log("No thread left for prefetching %s", gtfsFilename);
+      return null;
+    }
+  }
+
+  /**
+   * Loads a table from raw bytes with {@link ByteBufferCsvTokenizer}.
+   *
+   * <p>Produces the same entities and notices as {@link #load(GtfsFileDescriptor,
+   * ValidatorProvider, InputStream, NoticeContainer, CsvLoadingOptions)} but avoids decoding the
+   * whole file to characters.
+   */
+  public GtfsEntityContainer<?, ?> load(
+      GtfsFileDescriptor fileDescriptor,
+      ValidatorProvider validatorProvider,
+      CsvByteSource byteSource,
+      NoticeContainer noticeContainer,
+      CsvLoadingOptions options) {
+    GtfsTableDescriptor tableDescriptor = (GtfsTableDescriptor) fileDescriptor;
+    Optional<Integer> maxCharsPerColumn = tableDescriptor.maxCharsPerColumn();
+    if (options.rowExecutor() == null && options.pipelineExecutor() == null) {
+      // Rows are dropped one by one when loading sequentially, so windows need not outlive them.
+      byteSource.allowWindowReuse();
+    }
+    return loadCsvFile(
+        tableDescriptor,
+        validatorProvider,
+        () ->
+            new CsvFile(
+                new ByteBufferCsvTokenizer(
+                    byteSource,
+                    maxCharsPerColumn.orElse(ByteBufferCsvTokenizer.DEFAULT_MAX_CHARS_PER_COLUMN),
+                    ByteBufferCsvTokenizer.DEFAULT_MAX_COLUMNS),
+                tableDescriptor.gtfsFilename()),
+        noticeContainer,
+        options);
+  }
+
+  private GtfsEntityContainer<?, ?> loadCsvFile(
+      GtfsTableDescriptor tableDescriptor,
+      ValidatorProvider validatorProvider,
+      Supplier<CsvFile> csvFileSupplier,
+      NoticeContainer noticeContainer,
+      CsvLoadingOptions options) {
     final String gtfsFilename = tableDescriptor.gtfsFilename();
 
     CsvFile csvFile;
     try {
-      CsvParserSettings settings = CsvFile.createDefaultParserSettings();
-      if (tableDescriptor.maxCharsPerColumn().isPresent()) {
-        Optional<Integer> maxCharsPerColumn = tableDescriptor.maxCharsPerColumn();
-        settings.setMaxCharsPerColumn(maxCharsPerColumn.get());
-      }
-      csvFile = new CsvFile(csvInputStream, gtfsFilename, settings);
+      csvFile = csvFileSupplier.get();
     } catch (TextParsingException e) {
       noticeContainer.addValidationNotice(new CsvParsingFailedNotice(gtfsFilename, e));
       return tableDescriptor.createContainerForInvalidStatus(TableStatus.INVALID_HEADERS);
+    } catch (CsvTokenizerException e) {
+      noticeContainer.addValidationNotice(new CsvParsingFailedNotice(gtfsFilename, e));
+      return tableDescriptor.createContainerForInvalidStatus(TableStatus.INVALID_HEADERS);
     }
     if (csvFile.isEmpty()) {
       noticeContainer.addValidationNotice(new EmptyFileNotice(gtfsFilename));
@@ -82,52 +209,58 @@ public final class CsvFileLoader extends TableLoader {
       String columnName = columnDescriptor.columnName();
       columnIndices[i] = header.getColumnIndex(columnName);
       fieldLoaders[i] = fieldLoadersMap.get(columnName);
-      if (columnDescriptor.isCached()) {
-        // FieldCache is a generic type. However, info about generics is eliminated at runtime.
-        fieldCaches[i] = new FieldCache();
+      // FieldCache is a generic type. However, info about generics is eliminated at runtime.
+      if (options.idDictionary() != null && columnDescriptor.isSharedId()) {
+        fieldCaches[i] = options.idDictionary().newFieldCache(gtfsFilename);
+      } else if (options.adaptiveFieldCaches()) {
+        fieldCaches[i] = FieldCache.adaptive(options.rowExecutor() != null);
+      } else if (columnDescriptor.isCached()) {
+        fieldCaches[i] = new FieldCache(options.rowExecutor() != null);
       }
     }
-    final GtfsEntityBuilder builder = tableDescriptor.createEntityBuilder();
-    final RowParser rowParser =
-        new RowParser(gtfsFilename, header, validatorProvider.getFieldValidator());
-    final List<GtfsEntity> entities = new ArrayList<>();
-    boolean hasUnparsableRows = false;
+    final List<GtfsEntity> entities = createEntityList(tableDescriptor, options);
+    boolean hasUnparsableRows;
     final List<SingleEntityValidator<GtfsEntity>> singleEntityValidators =
         createSingleEntityValidators(tableDescriptor.getEntityClass(), header, validatorProvider);
+    final RowLoader rowLoader =
+        new RowLoader(
+            tableDescriptor,
+            header,
+            validatorProvider,
+            columnIndices,
+            fieldLoaders,
+            fieldCaches,
+            singleEntityValidators);
 
     try {
-      for (CsvRow row : csvFile) {
-        if (row.getRowNumber() % 200000 == 0) {
-          logger.atInfo().log("Reading %s, row %d", gtfsFilename, row.getRowNumber());
-        }
-        NoticeContainer rowNotices = new NoticeContainer();
-        rowParser.setRow(row, rowNotices);
-        if (!rowParser.checkRowNumber()) {
-          hasUnparsableRows = true;
-          break;
-        }
-        final boolean validRowLength = rowParser.checkRowLength();
-        if (validRowLength) {
-          builder.clear();
-          builder.setCsvRowNumber(rowParser.getRowNumber());
-          for (int i = 0; i < nColumns; ++i) {
-            fieldLoaders[i].load(
-                rowParser, columnIndices[i], columnDescriptors.get(i), fieldCaches[i], builder);
-          }
-        }
-        if (rowNotices.hasValidationErrors()) {
-          hasUnparsableRows = true;
-        } else if (validRowLength) {
-          GtfsEntity entity = builder.build();
-          ValidatorUtil.invokeSingleEntityValidators(
-              entity, singleEntityValidators, noticeContainer);
-          entities.add(entity);
-        }
-        noticeContainer.addAll(rowNotices);
+      if (options.rowExecutor() != null) {
+        hasUnparsableRows =
+            loadRowsInChunks(
+                csvFile,
+                rowLoader,
+                () ->
+                    rowLoader.forChunk(
+                        // Validators are instantiated for each chunk since they are not
+                        // guaranteed to be thread-safe. Skipped validators were already recorded
+                        // for rowLoader.
+                        validatorProvider.createSingleEntityValidators(
+                            tableDescriptor.getEntityClass(), header, ArrayListMultimap.create())),
+                options.rowExecutor(),
+                entities,
+                noticeContainer);
+      } else if (options.pipelineExecutor() != null) {
+        hasUnparsableRows =
+            loadRowsPipelined(
+                csvFile, rowLoader, options.pipelineExecutor(), entities, noticeContainer);
+      } else {
+        hasUnparsableRows = loadRows(csvFile, rowLoader, entities, noticeContainer);
       }
     } catch (TextParsingException e) {
       noticeContainer.addValidationNotice(new CsvParsingFailedNotice(gtfsFilename, e));
       return tableDescriptor.createContainerForInvalidStatus(TableStatus.UNPARSABLE_ROWS);
+    } catch (CsvTokenizerException e) {
+      noticeContainer.addValidationNotice(new CsvParsingFailedNotice(gtfsFilename, e));
+      return tableDescriptor.createContainerForInvalidStatus(TableStatus.UNPARSABLE_ROWS);
     } finally {
       logFieldCacheStats(gtfsFilename, fieldCaches, columnDescriptors);
     }
@@ -135,14 +268,390 @@ public final class CsvFileLoader extends TableLoader {
       logger.atSevere().log("Failed to parse some rows in %s", gtfsFilename);
       return tableDescriptor.createContainerForInvalidStatus(TableStatus.UNPARSABLE_ROWS);
     }
+    if (entities instanceof ColumnarEntityList) {
+      ColumnarEntityList<?> columns = (ColumnarEntityList<?>) entities;
+      columns.trimToSize();
+      if (columns.storage() == ColumnStorage.DISK && columns.supportsGrouping()) {
+        columns.groupRows();
+      }
+      // Mapped pages stay readable after the spill file is closed and deleted.
+      columns.closeSpillFile();
+      logger.atInfo().log(
+          "Stored %d rows of %s in columns (%s%s), ~%.1f MiB",
+          columns.size(),
+          gtfsFilename,
+          columns.storage(),
+          columns.isGrouped() ? ", grouped" : "",
+          columns.estimateMemoryBytes() / (1024.0 * 1024.0));
+    }
+    @Nullable IdDictionary idDictionary = options.idDictionary();
     GtfsTableContainer table =
-        tableDescriptor.createContainerForHeaderAndEntities(header, entities, noticeContainer);
+        tableDescriptor.createContainerForHeaderAndEntities(
+            header,
+            entities,
+            idDictionary != null && idDictionary.encodesIds() ? idDictionary : null,
+            noticeContainer);
 
     ValidatorUtil.invokeSingleFileValidators(
-        createSingleFileValidators(table, validatorProvider), noticeContainer);
+        createSingleFileValidators(table, validatorProvider),
+        options.validatorPool(),
+        noticeContainer);
     return table;
   }
 
+  /**
+   * Creates the list that collects entities of a table: a columnar one if the table supports it
+   * and {@link CsvLoadingOptions#columnarStorage()} is on, otherwise an {@link ArrayList}.
+   *
+   * <p>Tables listed in {@link CsvLoadingOptions#offHeapTables()} are stored in columns off the
+   * heap even if columnar storage is off for other tables. With {@link
+   * CsvLoadingOptions#spillThresholdRows()} set, all tables that support columnar storage are
+   * stored in columns that move to disk once the table grows past the threshold.
+   */
+  @SuppressWarnings("unchecked")
+  private static List<GtfsEntity> createEntityList(
+      GtfsTableDescriptor<?> tableDescriptor, CsvLoadingOptions options) {
+    boolean offHeap = options.offHeapTables().contains(tableDescriptor.gtfsFilename());
+    if (options.columnarStorage() || offHeap || options.spillThresholdRows() > 0) {
+      Optional<? extends ColumnarEntityList<?>> columns =
+          tableDescriptor.createColumnarEntityList(
+              offHeap ? ColumnStorage.OFF_HEAP : ColumnStorage.HEAP);
+      if (columns.isPresent()) {
+        columns.get().setSpillThresholdRows(options.spillThresholdRows());
+        return (List<GtfsEntity>) columns.get();
+      }
+    }
+    return new ArrayList<>();
+  }
+
+  /**
+   * Loads all rows of the file on the current thread.
+   *
+   * @return true if some rows could not be parsed
+   */
+  private boolean loadRows(
+      CsvFile csvFile,
+      RowLoader rowLoader,
+      List<GtfsEntity> entities,
+      NoticeContainer noticeContainer) {
+    for (CsvRow row : csvFile) {
+      logProgress(rowLoader.gtfsFilename, row);
+      if (!rowLoader.loadRow(row, entities, noticeContainer)) {
+        break;
+      }
+    }
+    return rowLoader.hasUnparsableRows;
+  }
+
+  /**
+   * Splits the file into chunks of {@link #ROWS_PER_CHUNK} rows and loads them on {@code
+   * executor}.
+   *
+   * <p>Record boundaries are found by the tokenizer on the current thread, so quoted newlines are
+   * handled exactly as in a sequential run. Decoding of cells, building of entities and
+   * single-entity validation happen on worker threads. Chunks are merged in their original order,
+   * so entities, row numbers and notices are the same as in {@link #loadRows}.
+   *
+   * <p>Files that fit into a single chunk are loaded on the current thread.
+   *
+   * @return true if some rows could not be parsed
+   */
+  private boolean loadRowsInChunks(
+      CsvFile csvFile,
+      RowLoader rowLoader,
+      Supplier<RowLoader> chunkLoaderFactory,
+      ExecutorService executor,
+      List<GtfsEntity> entities,
+      NoticeContainer noticeContainer) {
+    Iterator<CsvRow> iterator = csvFile.iterator();
+    List<CsvRow> firstChunk = new ArrayList<>(ROWS_PER_CHUNK);
+    boolean hasMoreRows;
+    try {
+      readChunk(iterator, rowLoader.gtfsFilename, firstChunk);
+      hasMoreRows = iterator.hasNext();
+    } catch (TextParsingException | CsvTokenizerException e) {
+      // Rows that were read before the failure are loaded just like in a sequential run, so that
+      // their notices precede CsvParsingFailedNotice.
+      loadRowsInline(firstChunk, rowLoader, entities, noticeContainer);
+      throw e;
+    }
+    if (!hasMoreRows) {
+      loadRowsInline(firstChunk, rowLoader, entities, noticeContainer);
+      return rowLoader.hasUnparsableRows;
+    }
+
+    logger.atInfo().log("Loading %s in chunks of %d rows", rowLoader.gtfsFilename, ROWS_PER_CHUNK);
+    final int maxPendingChunks = 2 * Runtime.getRuntime().availableProcessors();
+    final Deque<Future<ChunkResult>> pendingChunks = new ArrayDeque<>();
+    final ChunkMerger merger = new ChunkMerger(entities, noticeContainer);
+    List<CsvRow> chunk = firstChunk;
+    try {
+      while (!chunk.isEmpty() && !merger.stopped) {
+        final List<CsvRow> rows = chunk;
+        pendingChunks.addLast(executor.submit(() -> chunkLoaderFactory.get().loadChunk(rows)));
+        chunk = new ArrayList<>(ROWS_PER_CHUNK);
+        while (pendingChunks.size() >= maxPendingChunks
+            || (!pendingChunks.isEmpty() && pendingChunks.peekFirst().isDone())) {
+          merger.merge(pendingChunks.removeFirst());
+        }
+        if (!merger.stopped) {
+          readChunk(iterator, rowLoader.gtfsFilename, chunk);
+        }
+      }
+      mergePendingChunks(pendingChunks, merger);
+    } catch (TextParsingException | CsvTokenizerException e) {
+      // Merge the chunks that were read before the failure, including the incomplete one, so that
+      // their notices precede CsvParsingFailedNotice just like in a sequential run.
+      mergePendingChunks(pendingChunks, merger);
+      if (!merger.stopped && !chunk.isEmpty()) {
+        merger.add(chunkLoaderFactory.get().loadChunk(chunk));
+      }
+      throw e;
+    } finally {
+      for (Future<ChunkResult> future : pendingChunks) {
+        future.cancel(true);
+      }
+    }
+    return merger.hasUnparsableRows;
+  }
+
+  private static void loadRowsInline(
+      List<CsvRow> rows,
+      RowLoader rowLoader,
+      List<GtfsEntity> entities,
+      NoticeContainer noticeContainer) {
+    for (CsvRow row : rows) {
+      if (!rowLoader.loadRow(row, entities, noticeContainer)) {
+        break;
+      }
+    }
+  }
+
+  private static void mergePendingChunks(
+      Deque<Future<ChunkResult>> pendingChunks, ChunkMerger merger) {
+    while (!pendingChunks.isEmpty() && !merger.stopped) {
+      merger.merge(pendingChunks.removeFirst());
+    }
+  }
+
+  /**
+   * Loads the file with a pipeline of stages that run concurrently and are connected by bounded
+   * {@link StageQueue}s:
+   *
+   * <ol>
+   *   <li>tokenizing of records on the current thread;
+   *   <li>decoding of cells and building of entities;
+   *   <li>single-entity validation and collection of entities and notices.
+   * </ol>
+   *
+   * <p>Rows travel through the stages in batches of {@link #ROWS_PER_BATCH} and stay in file
+   * order, so entities and notices are the same as in {@link #loadRows}. A full queue blocks the
+   * previous stage, which bounds memory when validation is slower than parsing.
+   *
+   * <p>If {@code executor} rejects a stage, the file is loaded on the current thread with {@link
+   * #loadRows}.
+   *
+   * @return true if some rows could not be parsed
+   */
+  private boolean loadRowsPipelined(
+      CsvFile csvFile,
+      RowLoader rowLoader,
+      ExecutorService executor,
+      List<GtfsEntity> entities,
+      NoticeContainer noticeContainer) {
+    final String gtfsFilename = rowLoader.gtfsFilename;
+    final StageQueue<List<CsvRow>> rowBatches =
+        new StageQueue<>(gtfsFilename + " rows", PIPELINE_QUEUE_CAPACITY);
+    final StageQueue<ParsedBatch> parsedBatches =
+        new StageQueue<>(gtfsFilename + " entities", PIPELINE_QUEUE_CAPACITY);
+    final AtomicBoolean stopped = new AtomicBoolean(false);
+    final List<Future<?>> stages = new ArrayList<>();
+    try {
+      stages.add(
+          executor.submit(
+              new PipelineStage(
+                  () -> buildEntities(rowLoader, rowBatches, parsedBatches, stopped),
+                  rowBatches,
+                  parsedBatches)));
+      stages.add(
+          executor.submit(
+              new PipelineStage(
+                  () -> validateEntities(rowLoader, parsedBatches, entities, noticeContainer),
+                  rowBatches,
+                  parsedBatches)));
+    } catch (RejectedExecutionException e) {
+      // Stages must not wait for a thread since they wait for each other. No rows were passed to
+      // the stages that were started, so the file can still be loaded sequentially.
+      rowBatches.abort();
+      parsedBatches.abort();
+      for (Future<?> stage : stages) {
+        stage.cancel(true);
+      }
+      logger.atInfo().log("No threads left for a pipeline, loading %s sequentially", gtfsFilename);
+      return loadRows(csvFile, rowLoader, entities, noticeContainer);
+    }
+    boolean completed = false;
+    try {
+      RuntimeException parsingException = null;
+      try {
+        readBatches(csvFile, gtfsFilename, rowBatches, parsedBatches, stopped);
+      } catch (TextParsingException | CsvTokenizerException e) {
+        // Let the stages finish the rows that were read before the failure, so that their notices
+        // precede CsvParsingFailedNotice just like in a sequential run.
+        parsingException = e;
+        rowBatches.close();
+      }
+      awaitStages(stages);
+      completed = true;
+      if (parsingException != null) {
+        throw parsingException;
+      }
+    } catch (CancellationException e) {
+      // Another stage failed and aborted the queues. Its exception is more useful.
+      awaitStages(stages);
+      throw e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading " + gtfsFilename, e);
+    } finally {
+      if (!completed) {
+        rowBatches.abort();
+        parsedBatches.abort();
+        for (Future<?> stage : stages) {
+          stage.cancel(true);
+        }
+      }
+      logger.atInfo().log("Pipeline queue %s", rowBatches.formatStats());
+      logger.atInfo().log("Pipeline queue %s", parsedBatches.formatStats());
+    }
+    return rowLoader.hasUnparsableRows;
+  }
+
+  /** Tokenizing stage: splits the file into batches of records. */
+  private void readBatches(
+      CsvFile csvFile,
+      String gtfsFilename,
+      StageQueue<List<CsvRow>> rowBatches,
+      StageQueue<ParsedBatch> parsedBatches,
+      AtomicBoolean stopped)
+      throws InterruptedException {
+    List<CsvRow> batch = new ArrayList<>(ROWS_PER_BATCH);
+    Iterator<CsvRow> iterator = csvFile.iterator();
+    try {
+      while (!stopped.get() && iterator.hasNext()) {
+        CsvRow row = iterator.next();
+        if (row.getRowNumber() % 200000 == 0) {
+          logger.atInfo().log(
+              "Reading %s, row %d, queued batches of rows: %d, of entities: %d",
+              gtfsFilename, row.getRowNumber(), rowBatches.depth(), parsedBatches.depth());
+        }
+        batch.add(row);
+        if (batch.size() == ROWS_PER_BATCH) {
+          rowBatches.put(batch);
+          batch = new ArrayList<>(ROWS_PER_BATCH);
+        }
+      }
+    } catch (TextParsingException | CsvTokenizerException e) {
+      // Rows that were read before the failure are still loaded.
+      if (!batch.isEmpty()) {
+        rowBatches.put(batch);
+      }
+      throw e;
+    }
+    if (!batch.isEmpty()) {
+      rowBatches.put(batch);
+    }
+    rowBatches.close();
+  }
+
+  /** Building stage: decodes cells and builds entities. */
+  private static void buildEntities(
+      RowLoader rowLoader,
+      StageQueue<List<CsvRow>> rowBatches,
+      StageQueue<ParsedBatch> parsedBatches,
+      AtomicBoolean stopped)
+      throws InterruptedException {
+    List<CsvRow> rows;
+    while ((rows = rowBatches.take()) != null) {
+      if (stopped.get()) {
+        // Drain rows that were read before the tokenizer noticed the stop.
+        continue;
+      }
+      ParsedBatch batch = new ParsedBatch(rows.size());
+      for (CsvRow row : rows) {
+        if (!rowLoader.parseRow(row)) {
+          stopped.set(true);
+          break;
+        }
+        batch.add(rowLoader.buildEntity(), rowLoader.detachRowNotices());
+      }
+      parsedBatches.put(batch);
+    }
+    parsedBatches.close();
+  }
+
+  /** Validation stage: runs single-entity validators and collects entities and notices. */
+  private static void validateEntities(
+      RowLoader rowLoader,
+      StageQueue<ParsedBatch> parsedBatches,
+      List<GtfsEntity> entities,
+      NoticeContainer noticeContainer)
+      throws InterruptedException {
+    ParsedBatch batch;
+    while ((batch = parsedBatches.take()) != null) {
+      for (int i = 0; i < batch.size; ++i) {
+        rowLoader.validateEntity(batch.entities[i], entities, noticeContainer);
+        @Nullable NoticeContainer rowNotices = batch.rowNotices[i];
+        if (rowNotices != null) {
+          noticeContainer.addAllWithinLimits(rowNotices);
+        }
+      }
+    }
+  }
+
+  /**
+   * Waits for all stages of a pipeline. If some of them failed, rethrows the original failure
+   * rather than {@link CancellationException} of the stages that were aborted because of it.
+   */
+  private static void awaitStages(List<Future<?>> stages) {
+    Throwable failure = null;
+    for (Future<?> stage : stages) {
+      try {
+        stage.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for a pipeline stage", e);
+      } catch (ExecutionException e) {
+        if (failure == null || failure instanceof CancellationException) {
+          failure = e.getCause();
+        }
+      } catch (CancellationException e) {
+        if (failure == null) {
+          failure = e;
+        }
+      }
+    }
+    if (failure != null) {
+      Throwables.throwIfUnchecked(failure);
+      throw new IllegalStateException(failure);
+    }
+  }
+
+  /** Appends rows to {@code chunk} until it has {@link #ROWS_PER_CHUNK} rows or input ends. */
+  private void readChunk(Iterator<CsvRow> iterator, String gtfsFilename, List<CsvRow> chunk) {
+    while (chunk.size() < ROWS_PER_CHUNK && iterator.hasNext()) {
+      CsvRow row = iterator.next();
+      logProgress(gtfsFilename, row);
+      chunk.add(row);
+    }
+  }
+
+  private void logProgress(String gtfsFilename, CsvRow row) {
+    if (row.getRowNumber() % 200000 == 0) {
+      logger.atInfo().log("Reading %s, row %d", gtfsFilename, row.getRowNumber());
+    }
+  }
+
   private NoticeContainer validateHeaders(
       ValidatorProvider validatorProvider,
       String gtfsFilename,
@@ -171,7 +680,10 @@ public final class CsvFileLoader extends TableLoader {
       ImmutableList<GtfsColumnDescriptor> columnDescriptors) {
     for (int i = 0; i < fieldCaches.length; ++i) {
       @Nullable FieldCache fieldCache = fieldCaches[i];
-      if (fieldCache != null) {
+      if (fieldCache == null) {
+        continue;
+      }
+      if (!fieldCache.isAdaptive()) {
         logger.atInfo().log(
             "Cache for %s %s: size = %d, lookup count = %d, hits = %.2f%%, misses = %.2f%%",
             gtfsFilename,
@@ -180,7 +692,274 @@ public final class CsvFileLoader extends TableLoader {
             fieldCache.getLookupCount(),
             fieldCache.getHitRatio() * 100.0,
             fieldCache.getMissRatio() * 100.0);
+      } else if (fieldCache.getLookupCount() > 0) {
+        // Columns that are parsed as primitives never look up their cache.
+        logger.atInfo().log(
+            "Adaptive cache for %s %s (schema: %s): interning %s, decisions = %s, size = %d,"
+                + " lookup count = %d, hits = %.2f%%, misses = %.2f%%, bypassed = %d",
+            gtfsFilename,
+            columnDescriptors.get(i).columnName(),
+            columnDescriptors.get(i).isCached() ? "cached" : "not cached",
+            fieldCache.isInterning() ? "on" : "off",
+            fieldCache.getAdaptiveDecisions(),
+            fieldCache.getCacheSize(),
+            fieldCache.getLookupCount(),
+            fieldCache.getHitRatio() * 100.0,
+            fieldCache.getMissRatio() * 100.0,
+            fieldCache.getBypassedLookups());
+      }
+    }
+  }
+
+  /**
+   * Parses rows of a single table into entities and runs single-entity validators on them.
+   *
+   * <p>An instance holds a builder and a row parser, so it must not be shared between threads.
+   */
+  private static final class RowLoader {
+    private final GtfsTableDescriptor tableDescriptor;
+    private final String gtfsFilename;
+    private final CsvHeader header;
+    private final ValidatorProvider validatorProvider;
+    private final GtfsColumnDescriptor[] columnDescriptors;
+    private final int[] columnIndices;
+    private final GtfsFieldLoader[] fieldLoaders;
+    @Nullable private final GtfsRowLoader generatedRowLoader;
+    private final FieldCache[] fieldCaches;
+    private final List<SingleEntityValidator<GtfsEntity>> singleEntityValidators;
+    private final GtfsEntityBuilder builder;
+    private final RowParser rowParser;
+    private boolean hasUnparsableRows = false;
+    private boolean validRowLength = false;
+
+    RowLoader(
+        GtfsTableDescriptor tableDescriptor,
+        CsvHeader header,
+        ValidatorProvider validatorProvider,
+        int[] columnIndices,
+        GtfsFieldLoader[] fieldLoaders,
+        FieldCache[] fieldCaches,
+        List<SingleEntityValidator<GtfsEntity>> singleEntityValidators) {
+      this.tableDescriptor = tableDescriptor;
+      this.gtfsFilename = tableDescriptor.gtfsFilename();
+      this.header = header;
+      this.validatorProvider = validatorProvider;
+      this.columnDescriptors =
+          (GtfsColumnDescriptor[])
+              tableDescriptor.getColumns().toArray(new GtfsColumnDescriptor[0]);
+      this.columnIndices = columnIndices;
+      this.fieldLoaders = fieldLoaders;
+      // Generated loaders are faster; per-field loaders remain for tables that have none.
+      this.generatedRowLoader = (GtfsRowLoader) tableDescriptor.getRowLoader().orElse(null);
+      this.fieldCaches = fieldCaches;
+      this.singleEntityValidators = singleEntityValidators;
+      this.builder = tableDescriptor.createEntityBuilder();
+      this.rowParser = new RowParser(gtfsFilename, header, validatorProvider.getFieldValidator());
+    }
+
+    /** Creates a loader for another thread that shares field caches with this one. */
+    RowLoader forChunk(List<SingleEntityValidator<GtfsEntity>> chunkValidators) {
+      return new RowLoader(
+          tableDescriptor,
+          header,
+          validatorProvider,
+          columnIndices,
+          fieldLoaders,
+          fieldCaches,
+          chunkValidators);
+    }
+
+    /**
+     * Loads a single row.
+     *
+     * @return false if reading of the file must stop
+     */
+    boolean loadRow(CsvRow row, List<GtfsEntity> entities, NoticeContainer noticeContainer) {
+      if (!parseRow(row)) {
+        return false;
+      }
+      validateEntity(buildEntity(), entities, noticeContainer);
+      // Row notices go after notices of single-entity validators to keep the order of notices.
+      rowParser.flushRowNotices(noticeContainer);
+      return true;
+    }
+
+    /**
+     * Decodes cells of a row into the builder.
+     *
+     * @return false if reading of the file must stop
+     */
+    boolean parseRow(CsvRow row) {
+      rowParser.setRow(row);
+      if (!rowParser.checkRowNumber()) {
+        hasUnparsableRows = true;
+        return false;
       }
+      validRowLength = rowParser.checkRowLength();
+      if (validRowLength) {
+        builder.clear();
+        builder.setCsvRowNumber(rowParser.getRowNumber());
+        if (generatedRowLoader != null) {
+          generatedRowLoader.load(
+              rowParser, columnIndices, columnDescriptors, fieldCaches, builder);
+        } else {
+          for (int i = 0; i < fieldLoaders.length; ++i) {
+            fieldLoaders[i].load(
+                rowParser, columnIndices[i], columnDescriptors[i], fieldCaches[i], builder);
+          }
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Builds an entity from the row that was passed to {@link #parseRow}.
+     *
+     * @return the entity or null if the row is invalid
+     */
+    @Nullable
+    GtfsEntity buildEntity() {
+      if (rowParser.rowHasErrors()) {
+        hasUnparsableRows = true;
+        return null;
+      }
+      return validRowLength ? builder.build() : null;
+    }
+
+    /**
+     * Moves notices of the row that was passed to {@link #parseRow} to a new container.
+     *
+     * @return the container or null if the row has no notices
+     */
+    @Nullable
+    NoticeContainer detachRowNotices() {
+      if (rowParser.getNoticeContainer().isEmpty()) {
+        return null;
+      }
+      NoticeContainer rowNotices = new NoticeContainer();
+      rowParser.flushRowNotices(rowNotices);
+      return rowNotices;
+    }
+
+    /** Validates an entity, if any, and adds it to the file results. */
+    void validateEntity(
+        @Nullable GtfsEntity entity, List<GtfsEntity> entities, NoticeContainer noticeContainer) {
+      if (entity != null) {
+        ValidatorUtil.invokeSingleEntityValidators(
+            entity, singleEntityValidators, noticeContainer);
+        entities.add(entity);
+      }
+    }
+
+    ChunkResult loadChunk(List<CsvRow> rows) {
+      ChunkResult result = new ChunkResult(rows.size());
+      for (CsvRow row : rows) {
+        if (!loadRow(row, result.entities, result.noticeContainer)) {
+          result.stopped = true;
+          break;
+        }
+      }
+      result.hasUnparsableRows = hasUnparsableRows;
+      return result;
+    }
+  }
+
+  /** Entities built from a batch of rows, passed between stages of a pipeline. */
+  private static final class ParsedBatch {
+    /** Entities for each row, null for invalid rows. */
+    final GtfsEntity[] entities;
+
+    /** Notices for each row, null for rows without notices. */
+    final NoticeContainer[] rowNotices;
+    int size = 0;
+
+    ParsedBatch(int capacity) {
+      entities = new GtfsEntity[capacity];
+      rowNotices = new NoticeContainer[capacity];
+    }
+
+    void add(@Nullable GtfsEntity entity, @Nullable NoticeContainer notices) {
+      entities[size] = entity;
+      rowNotices[size] = notices;
+      ++size;
+    }
+  }
+
+  /**
+   * Runs a stage of a pipeline. If the stage fails, aborts all queues so that other stages do not
+   * wait forever.
+   */
+  private static final class PipelineStage implements Callable<Void> {
+    private final StageBody body;
+    private final StageQueue<?>[] queues;
+
+    PipelineStage(StageBody body, StageQueue<?>... queues) {
+      this.body = body;
+      this.queues = queues;
+    }
+
+    @Override
+    public Void call() throws InterruptedException {
+      try {
+        body.run();
+      } catch (RuntimeException | Error | InterruptedException e) {
+        for (StageQueue<?> queue : queues) {
+          queue.abort();
+        }
+        throw e;
+      }
+      return null;
+    }
+  }
+
+  @FunctionalInterface
+  private interface StageBody {
+    void run() throws InterruptedException;
+  }
+
+  /** Entities and notices produced from a chunk of rows. */
+  private static final class ChunkResult {
+    final List<GtfsEntity> entities;
+    final NoticeContainer noticeContainer = new NoticeContainer();
+    boolean hasUnparsableRows = false;
+    boolean stopped = false;
+
+    ChunkResult(int rowCount) {
+      entities = new ArrayList<>(rowCount);
+    }
+  }
+
+  /** Appends results of chunks to the file-level entities and notices in chunk order. */
+  private static final class ChunkMerger {
+    private final List<GtfsEntity> entities;
+    private final NoticeContainer noticeContainer;
+    boolean hasUnparsableRows = false;
+    boolean stopped = false;
+
+    ChunkMerger(List<GtfsEntity> entities, NoticeContainer noticeContainer) {
+      this.entities = entities;
+      this.noticeContainer = noticeContainer;
+    }
+
+    void merge(Future<ChunkResult> future) {
+      ChunkResult result;
+      try {
+        result = future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while loading a chunk of rows", e);
+      } catch (ExecutionException e) {
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new IllegalStateException(e.getCause());
+      }
+      add(result);
+    }
+
+    void add(ChunkResult result) {
+      entities.addAll(result.entities);
+      noticeContainer.addAllWithinLimits(result.noticeContainer);
+      hasUnparsableRows |= result.hasUnparsableRows;
+      stopped |= result.stopped;
     }
   }
 }
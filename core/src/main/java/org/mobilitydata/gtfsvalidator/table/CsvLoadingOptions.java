@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
+
+/**
+ * Describes how {@link CsvFileLoader} uses threads for loading a single file.
+ *
+ * <ul>
+ *   <li>{@link #sequential()}: all work is done on the calling thread.
+ *   <li>{@link #parallelRowDecoding}: records are split on the calling thread, and chunks of them
+ *       are decoded into entities and validated in parallel.
+ *   <li>{@link #pipelined}: decompression, tokenizing, building of entities and single-entity
+ *       validation run as separate stages connected by bounded queues.
+ * </ul>
+ *
+ * <p>Independently of threads, {@link #withAdaptiveFieldCaches} lets every column decide whether
+ * its values are interned instead of relying on schema annotations, and {@link
+ * #withIdDictionary} interns primary and foreign keys in a dictionary shared by all tables and
+ * {@link #withColumnarStorage} keeps large tables in columns, which {@link
+ * #withSpillThresholdRows} may move to disk. {@link #withValidatorPool} splits single-file
+ * validators into partitions that are validated in parallel.
+ */
+public final class CsvLoadingOptions {
+  /**
+   * Amount of tasks that a pipelined file runs on the pipeline executor: decompression, building of
+   * entities and validation. Tokenizing runs on the calling thread.
+   */
+  static final int PIPELINE_TASKS_PER_FILE = 3;
+
+  private static final CsvLoadingOptions SEQUENTIAL =
+      new CsvLoadingOptions(null, null, false, null, false, ImmutableSet.of(), 0, null);
+
+  @Nullable private final ExecutorService rowExecutor;
+  @Nullable private final ExecutorService pipelineExecutor;
+  private final boolean adaptiveFieldCaches;
+  @Nullable private final IdDictionary idDictionary;
+  private final boolean columnarStorage;
+  private final ImmutableSet<String> offHeapTables;
+  private final int spillThresholdRows;
+  @Nullable private final ForkJoinPool validatorPool;
+
+  private CsvLoadingOptions(
+      @Nullable ExecutorService rowExecutor,
+      @Nullable ExecutorService pipelineExecutor,
+      boolean adaptiveFieldCaches,
+      @Nullable IdDictionary idDictionary,
+      boolean columnarStorage,
+      ImmutableSet<String> offHeapTables,
+      int spillThresholdRows,
+      @Nullable ForkJoinPool validatorPool) {
+    this.rowExecutor = rowExecutor;
+    this.pipelineExecutor = pipelineExecutor;
+    this.adaptiveFieldCaches = adaptiveFieldCaches;
+    this.idDictionary = idDictionary;
+    this.columnarStorage = columnarStorage;
+    this.offHeapTables = offHeapTables;
+    this.spillThresholdRows = spillThresholdRows;
+    this.validatorPool = validatorPool;
+  }
+
+  /** Loads the whole file on the calling thread. */
+  public static CsvLoadingOptions sequential() {
+    return SEQUENTIAL;
+  }
+
+  /**
+   * Decodes and validates chunks of rows of a file in parallel. Tokenizing, which finds the
+   * boundaries of records, stays on the calling thread.
+   *
+   * <p>The executor must not be the one that runs {@link CsvFileLoader}, otherwise all its threads
+   * may end up waiting for chunks that are never scheduled.
+   */
+  public static CsvLoadingOptions parallelRowDecoding(ExecutorService rowExecutor) {
+    return new CsvLoadingOptions(rowExecutor, null, false, null, false, ImmutableSet.of(), 0, null);
+  }
+
+  /**
+   * Loads a file with a pipeline of stages.
+   *
+   * <p>Each stage blocks while waiting for its neighbours, so a stage must never wait in a queue of
+   * the executor. The executor must either start a thread for every task, e.g., {@link
+   * java.util.concurrent.Executors#newCachedThreadPool}, or reject tasks that it cannot start right
+   * away, like {@link #newPipelineExecutor}. A file whose stages are rejected is loaded on the
+   * calling thread.
+   */
+  public static CsvLoadingOptions pipelined(ExecutorService pipelineExecutor) {
+    return new CsvLoadingOptions(
+        null, pipelineExecutor, false, null, false, ImmutableSet.of(), 0, null);
+  }
+
+  /** Executor for chunks of rows, null unless the options are {@link #parallelRowDecoding}. */
+  @Nullable
+  public ExecutorService rowExecutor() {
+    return rowExecutor;
+  }
+
+  /**
+   * Creates an executor for {@link #pipelined} loading that has enough threads for {@code
+   * concurrentFiles} files. It never queues tasks: when all threads are busy, tasks are rejected
+   * with {@link java.util.concurrent.RejectedExecutionException}.
+   */
+  public static ExecutorService newPipelineExecutor(int concurrentFiles) {
+    return new ThreadPoolExecutor(
+        0,
+        PIPELINE_TASKS_PER_FILE * concurrentFiles,
+        60L,
+        TimeUnit.SECONDS,
+        new SynchronousQueue<>());
+  }
+
+  /** Executor for pipeline stages, null unless the options are {@link #pipelined}. */
+  @Nullable
+  public ExecutorService pipelineExecutor() {
+    return pipelineExecutor;
+  }
+
+  /**
+   * Returns the same options with adaptive field caches turned on or off.
+   *
+   * <p>With adaptive caches, every column gets a {@link
+   * org.mobilitydata.gtfsvalidator.parsing.FieldCache#adaptive} cache that samples values and
+   * interns them only if they repeat. Otherwise, only columns that are cached according to the
+   * schema get a cache.
+   */
+  public CsvLoadingOptions withAdaptiveFieldCaches(boolean adaptiveFieldCaches) {
+    return new CsvLoadingOptions(
+        rowExecutor,
+        pipelineExecutor,
+        adaptiveFieldCaches,
+        idDictionary,
+        columnarStorage,
+        offHeapTables,
+        spillThresholdRows,
+        validatorPool);
+  }
+
+  /** Tells if every column gets an adaptive field cache. */
+  public boolean adaptiveFieldCaches() {
+    return adaptiveFieldCaches;
+  }
+
+  /**
+   * Returns the same options with the given dictionary for IDs.
+   *
+   * <p>Columns that hold a primary or a foreign key are interned in the dictionary instead of a
+   * per-column {@link org.mobilitydata.gtfsvalidator.parsing.FieldCache}, so that an ID referenced
+   * by several tables is stored once. Pass null to turn the dictionary off.
+   */
+  public CsvLoadingOptions withIdDictionary(@Nullable IdDictionary idDictionary) {
+    return new CsvLoadingOptions(
+        rowExecutor,
+        pipelineExecutor,
+        adaptiveFieldCaches,
+        idDictionary,
+        columnarStorage,
+        offHeapTables,
+        spillThresholdRows,
+        validatorPool);
+  }
+
+  /** Dictionary shared by tables of a feed, null unless set by {@link #withIdDictionary}. */
+  @Nullable
+  public IdDictionary idDictionary() {
+    return idDictionary;
+  }
+
+  /**
+   * Returns the same options with columnar storage turned on or off.
+   *
+   * <p>Tables that support it keep entities in a {@link ColumnarEntityList} instead of an ordinary
+   * list of objects. Other tables are not affected.
+   */
+  public CsvLoadingOptions withColumnarStorage(boolean columnarStorage) {
+    return new CsvLoadingOptions(
+        rowExecutor,
+        pipelineExecutor,
+        adaptiveFieldCaches,
+        idDictionary,
+        columnarStorage,
+        offHeapTables,
+        spillThresholdRows,
+        validatorPool);
+  }
+
+  /** Tells if tables that support it are stored in columns. */
+  public boolean columnarStorage() {
+    return columnarStorage;
+  }
+
+  /**
+   * Returns the same options with the given tables stored off heap.
+   *
+   * <p>Listed tables that support columnar storage keep their primitive columns in direct buffers
+   * outside the Java heap, see {@link ColumnStorage#OFF_HEAP}. This implies columnar storage for
+   * those tables, whatever {@link #columnarStorage()} is.
+   *
+   * @param offHeapTables names of GTFS files, e.g., "stop_times.txt"
+   */
+  public CsvLoadingOptions withOffHeapTables(Set<String> offHeapTables) {
+    return new CsvLoadingOptions(
+        rowExecutor,
+        pipelineExecutor,
+        adaptiveFieldCaches,
+        idDictionary,
+        columnarStorage,
+        ImmutableSet.copyOf(offHeapTables),
+        spillThresholdRows,
+        validatorPool);
+  }
+
+  /** Names of files whose columns are stored off heap. */
+  public ImmutableSet<String> offHeapTables() {
+    return offHeapTables;
+  }
+
+  /**
+   * Returns the same options with a threshold for moving columns of large tables to disk.
+   *
+   * <p>Tables that support columnar storage move their columns to a temporary file once they grow
+   * past the given number of rows, see {@link ColumnStorage#DISK}. Their rows are then grouped by
+   * their main index, e.g., stop times by trip, so that indexes do not keep an object per row. This
+   * implies columnar storage for those tables.
+   *
+   * @param spillThresholdRows number of rows, or 0 to keep all tables in memory
+   */
+  public CsvLoadingOptions withSpillThresholdRows(int spillThresholdRows) {
+    return new CsvLoadingOptions(
+        rowExecutor,
+        pipelineExecutor,
+        adaptiveFieldCaches,
+        idDictionary,
+        columnarStorage,
+        offHeapTables,
+        spillThresholdRows,
+        validatorPool);
+  }
+
+  /** Number of rows past which tables are moved to disk, or 0 if they are never moved. */
+  public int spillThresholdRows() {
+    return spillThresholdRows;
+  }
+
+  /**
+   * Returns the same options with a pool for partitions of single-file validators.
+   *
+   * <p>Once a table is loaded, partitions of each {@link
+   * org.mobilitydata.gtfsvalidator.validator.PartitionedFileValidator} of the table are validated
+   * in parallel on the pool. Pass null to run validators on the loading thread.
+   */
+  public CsvLoadingOptions withValidatorPool(@Nullable ForkJoinPool validatorPool) {
+    return new CsvLoadingOptions(
+        rowExecutor,
+        pipelineExecutor,
+        adaptiveFieldCaches,
+        idDictionary,
+        columnarStorage,
+        offHeapTables,
+        spillThresholdRows,
+        validatorPool);
+  }
+
+  /**
+   * Pool for partitions of single-file validators, null unless set by {@link #withValidatorPool}.
+   */
+  @Nullable
+  public ForkJoinPool validatorPool() {
+    return validatorPool;
+  }
+}
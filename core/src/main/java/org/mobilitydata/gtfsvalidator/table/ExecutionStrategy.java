@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import com.google.common.flogger.FluentLogger;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
+
+/** Selects the executor that {@link GtfsFeedLoader} runs tasks for tables and validators on. */
+public enum ExecutionStrategy {
+  /** A new pool with a fixed number of threads for every feed, the default one. */
+  FIXED_THREAD_POOL,
+  /**
+   * A work-stealing {@link ForkJoinPool} with a thread per available processor that is shared by
+   * all feeds, so that threads are not started again for every feed. Tables and validators run on
+   * as many threads as there are processors, whatever the number of threads is, which still limits
+   * chunks of rows and partitions of validators. Large indexes sort their groups on the pool as
+   * well.
+   */
+  WORK_STEALING,
+  /**
+   * A new virtual thread for every task, so that tasks waiting for chunks of rows or for other
+   * tasks do not hold a platform thread. The number of threads still limits chunks of rows and
+   * partitions of validators. Falls back to {@link #FIXED_THREAD_POOL} before Java 21.
+   */
+  VIRTUAL_THREADS,
+  /**
+   * All tasks run one after another on the calling thread, whatever the number of threads is, so
+   * that profiles are deterministic. Pipelined loading, parallel row decoding, partitioned
+   * validators and the parallel sorting of indexes are turned off as well.
+   */
+  SEQUENTIAL;
+
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  /** Returns the number of threads that tasks actually run on, given the configured one. */
+  int parallelism(int numThreads) {
+    return this == SEQUENTIAL ? 1 : numThreads;
+  }
+
+  /**
+   * Returns an executor for the tasks of a feed. It must be passed to {@link #release} once the
+   * feed is loaded.
+   */
+  ExecutorService newExecutor(int numThreads) {
+    switch (this) {
+      case WORK_STEALING:
+        return SharedPool.POOL;
+      case VIRTUAL_THREADS:
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        return executor != null ? executor : Executors.newFixedThreadPool(numThreads);
+      case SEQUENTIAL:
+        return MoreExecutors.newDirectExecutorService();
+      default:
+        return Executors.newFixedThreadPool(numThreads);
+    }
+  }
+
+  /** Shuts an executor from {@link #newExecutor} down, unless it is shared between feeds. */
+  void release(ExecutorService executor) {
+    if (this != WORK_STEALING) {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Holds the pool of {@link #WORK_STEALING}, which is created on first use. The pool is never shut
+   * down, since feeds may be loaded concurrently. Its workers are daemon threads that end after
+   * {@link ForkJoinPool}'s keep-alive time without tasks, so an idle pool holds no threads.
+   */
+  private static final class SharedPool {
+    static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Calls {@code Executors.newVirtualThreadPerTaskExecutor()} through reflection, since the
+   * validator is compiled for Java 17. Returns null if the running JVM has no virtual threads.
+   */
+  @Nullable
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      logger.atWarning().log(
+          "Virtual threads are not available in Java %s, using a fixed thread pool instead",
+          Runtime.version().feature());
+      return null;
+    }
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
+import org.mobilitydata.gtfsvalidator.parsing.CsvTokenizerType;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
+import org.mobilitydata.gtfsvalidator.validator.ValidatorProvider;
+
+/**
+ * How {@link GtfsFeedLoader} uses threads and memory to load a feed and run its validators.
+ *
+ * <p>Options that change only performance are kept together, so that combinations that cannot work
+ * are rejected by {@link Builder#build()} instead of being silently ignored. All options are off by
+ * default, which loads tables with the univocity tokenizer on a fixed thread pool.
+ */
+@AutoValue
+public abstract class FeedLoadingOptions {
+
+  /**
+   * The executor for loading tables and running validators. The number of threads from {@link
+   * GtfsFeedLoader#setNumThreads} applies to all strategies but {@link
+   * ExecutionStrategy#SEQUENTIAL}.
+   */
+  public abstract ExecutionStrategy executionStrategy();
+
+  /** How CSV tables are split into records. */
+  public abstract CsvTokenizerType csvTokenizerType();
+
+  /**
+   * Decodes and validates chunks of rows of large CSV tables on separate threads, see {@link
+   * CsvLoadingOptions#parallelRowDecoding}. Records are still split on the thread that loads the
+   * table. Takes effect only with more than one thread.
+   */
+  public abstract boolean parallelRowDecoding();
+
+  /** Loads each CSV table with a pipeline of stages, see {@link CsvLoadingOptions#pipelined}. */
+  public abstract boolean pipelinedLoading();
+
+  /**
+   * Lets every column of CSV tables decide whether to intern its values, see {@link
+   * CsvLoadingOptions#withAdaptiveFieldCaches}.
+   */
+  public abstract boolean adaptiveFieldCaches();
+
+  /**
+   * Interns primary and foreign keys of all tables in a single dictionary, see {@link
+   * CsvLoadingOptions#withIdDictionary}.
+   */
+  public abstract boolean sharedIdDictionary();
+
+  /**
+   * Encodes primary and foreign keys of all tables as int codes of a shared dictionary, so that
+   * indexes and foreign key checks use arrays instead of hash maps, see {@link
+   * IdDictionary#encoding()}. This implies {@link #sharedIdDictionary}. Unlike an interning
+   * dictionary, the encoding dictionary is not cleared after loading and stays in memory with the
+   * feed.
+   */
+  public abstract boolean intEncodedIds();
+
+  /**
+   * Keeps tables that support it, such as stop_times.txt, in columns of primitives instead of
+   * objects, see {@link CsvLoadingOptions#withColumnarStorage}.
+   */
+  public abstract boolean columnarStorage();
+
+  /**
+   * Names of GTFS files, e.g., "shapes.txt", that are kept in columns outside the Java heap, see
+   * {@link CsvLoadingOptions#withOffHeapTables}.
+   */
+  public abstract ImmutableSet<String> offHeapTables();
+
+  /**
+   * Number of rows past which columns of a table are moved to temporary files, see {@link
+   * CsvLoadingOptions#withSpillThresholdRows}, or 0 to keep all tables in memory.
+   */
+  public abstract int spillThresholdRows();
+
+  /**
+   * Lets parallel tasks write notices to stripes of a single thread-safe container instead of
+   * containers of their own that are merged once they finish. The caller picks the container that
+   * is passed to {@link GtfsFeedLoader#loadAndValidate}.
+   */
+  public abstract boolean concurrentNoticeContainer();
+
+  /**
+   * Starts each multi-file validator as soon as the tables that are injected to it are loaded,
+   * instead of once all tables are loaded. Validators that need the whole feed still wait for all
+   * tables. This requires a {@link ValidatorProvider} that supports {@link
+   * ValidatorProvider#getMultiFileValidatorDependencies()}.
+   *
+   * <p>Validators that scan the same table are fused into a single sweep in both modes. Eagerly,
+   * only validators that become ready on the same table are fused, so a table may be scanned more
+   * than once.
+   */
+  public abstract boolean eagerMultiFileValidators();
+
+  /**
+   * Validates partitions of each {@link
+   * org.mobilitydata.gtfsvalidator.validator.PartitionedFileValidator}, e.g., trips or shapes, in
+   * parallel on a fork-join pool with as many threads as {@link GtfsFeedLoader#setNumThreads}.
+   * Notices are the same as with sequential validation, unless a validator reaches the limits of a
+   * notice container.
+   */
+  public abstract boolean partitionedValidators();
+
+  public static FeedLoadingOptions defaults() {
+    return builder().build();
+  }
+
+  public static Builder builder() {
+    return new AutoValue_FeedLoadingOptions.Builder()
+        .setExecutionStrategy(ExecutionStrategy.FIXED_THREAD_POOL)
+        .setCsvTokenizerType(CsvTokenizerType.UNIVOCITY)
+        .setParallelRowDecoding(false)
+        .setPipelinedLoading(false)
+        .setAdaptiveFieldCaches(false)
+        .setSharedIdDictionary(false)
+        .setIntEncodedIds(false)
+        .setColumnarStorage(false)
+        .setOffHeapTables(ImmutableSet.of())
+        .setSpillThresholdRows(0)
+        .setConcurrentNoticeContainer(false)
+        .setEagerMultiFileValidators(false)
+        .setPartitionedValidators(false);
+  }
+
+  public abstract Builder toBuilder();
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder setExecutionStrategy(ExecutionStrategy value);
+
+    public abstract Builder setCsvTokenizerType(CsvTokenizerType value);
+
+    public abstract Builder setParallelRowDecoding(boolean value);
+
+    public abstract Builder setPipelinedLoading(boolean value);
+
+    public abstract Builder setAdaptiveFieldCaches(boolean value);
+
+    public abstract Builder setSharedIdDictionary(boolean value);
+
+    public abstract Builder setIntEncodedIds(boolean value);
+
+    public abstract Builder setColumnarStorage(boolean value);
+
+    public abstract Builder setOffHeapTables(Set<String> value);
+
+    public abstract Builder setSpillThresholdRows(int value);
+
+    public abstract Builder setConcurrentNoticeContainer(boolean value);
+
+    public abstract Builder setEagerMultiFileValidators(boolean value);
+
+    public abstract Builder setPartitionedValidators(boolean value);
+
+    abstract FeedLoadingOptions autoBuild();
+
+    /**
+     * Builds the options.
+     *
+     * @throws IllegalArgumentException if options cannot be combined: pipelined loading with
+     *     parallel row decoding, which split tables in two different ways, or a {@link
+     *     ExecutionStrategy#SEQUENTIAL} strategy with any option that needs threads of its own
+     */
+    public FeedLoadingOptions build() {
+      FeedLoadingOptions options = autoBuild();
+      if (options.spillThresholdRows() < 0) {
+        throw new IllegalArgumentException(
+            "Spill threshold must not be negative: " + options.spillThresholdRows());
+      }
+      if (options.pipelinedLoading() && options.parallelRowDecoding()) {
+        throw new IllegalArgumentException(
+            "Pipelined loading and parallel row decoding cannot be combined");
+      }
+      if (options.executionStrategy() == ExecutionStrategy.SEQUENTIAL) {
+        if (options.pipelinedLoading()) {
+          throw new IllegalArgumentException("Pipelined loading needs a parallel strategy");
+        }
+        if (options.parallelRowDecoding()) {
+          throw new IllegalArgumentException("Parallel row decoding needs a parallel strategy");
+        }
+        if (options.partitionedValidators()) {
+          throw new IllegalArgumentException("Partitioned validators need a parallel strategy");
+        }
+      }
+      return options;
+    }
+  }
+}
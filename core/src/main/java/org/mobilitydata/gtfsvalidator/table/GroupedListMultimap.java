@@ -0,0 +1,302 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multiset;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Read-only {@link ListMultimap} over values that are already grouped by key.
+ *
+ * <p>Groups are numbered from 0 and each of them is a list of values, e.g., a range of rows of a
+ * {@link ColumnarEntityList}. Unlike {@link com.google.common.collect.ArrayListMultimap}, this
+ * class does not copy values, so a multimap view of a table with millions of rows costs a few
+ * objects.
+ *
+ * <p>All methods that modify the multimap throw {@link UnsupportedOperationException}.
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public final class GroupedListMultimap<K, V> implements ListMultimap<K, V> {
+  /** Groups of values with a distinct key each. */
+  public interface Groups<K, V> {
+    /** Returns the number of groups. */
+    int groupCount();
+
+    /** Returns the key of a group. */
+    K keyOf(int group);
+
+    /** Returns the group with the given key, or -1 if there is none. */
+    int groupOf(@Nullable Object key);
+
+    /** Returns the non-empty list of values in a group. */
+    List<V> valuesOf(int group);
+  }
+
+  private final Groups<K, V> groups;
+  private final int size;
+
+  /**
+   * Creates a view of the groups.
+   *
+   * @param groups groups of values
+   * @param size total number of values in all groups
+   */
+  public GroupedListMultimap(Groups<K, V> groups, int size) {
+    this.groups = groups;
+    this.size = size;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    return groups.groupOf(key) >= 0;
+  }
+
+  @Override
+  public boolean containsValue(@Nullable Object value) {
+    return values().contains(value);
+  }
+
+  @Override
+  public boolean containsEntry(@Nullable Object key, @Nullable Object value) {
+    int group = groups.groupOf(key);
+    return group >= 0 && groups.valuesOf(group).contains(value);
+  }
+
+  @Override
+  public List<V> get(@Nullable K key) {
+    int group = groups.groupOf(key);
+    return group >= 0 ? groups.valuesOf(group) : ImmutableList.of();
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return asMap().keySet();
+  }
+
+  @Override
+  public Multiset<K> keys() {
+    ImmutableMultiset.Builder<K> keys = ImmutableMultiset.builder();
+    for (int group = 0; group < groups.groupCount(); ++group) {
+      keys.addCopies(groups.keyOf(group), groups.valuesOf(group).size());
+    }
+    return keys.build();
+  }
+
+  @Override
+  public Collection<V> values() {
+    return new AbstractCollection<>() {
+      @Override
+      public Iterator<V> iterator() {
+        return new GroupIterator<>(groups, (key, value) -> value);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Collection<Map.Entry<K, V>> entries() {
+    return new AbstractCollection<>() {
+      @Override
+      public Iterator<Map.Entry<K, V>> iterator() {
+        return new GroupIterator<>(groups, Maps::immutableEntry);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Map<K, Collection<V>> asMap() {
+    return new AbstractMap<>() {
+      @Override
+      public boolean containsKey(@Nullable Object key) {
+        return groups.groupOf(key) >= 0;
+      }
+
+      @Override
+      @Nullable
+      public Collection<V> get(@Nullable Object key) {
+        int group = groups.groupOf(key);
+        return group >= 0 ? groups.valuesOf(group) : null;
+      }
+
+      @Override
+      public int size() {
+        return groups.groupCount();
+      }
+
+      @Override
+      public Set<Entry<K, Collection<V>>> entrySet() {
+        return new AbstractSet<>() {
+          @Override
+          public Iterator<Entry<K, Collection<V>>> iterator() {
+            return new Iterator<>() {
+              private int group = 0;
+
+              @Override
+              public boolean hasNext() {
+                return group < groups.groupCount();
+              }
+
+              @Override
+              public Entry<K, Collection<V>> next() {
+                if (!hasNext()) {
+                  throw new NoSuchElementException();
+                }
+                Entry<K, Collection<V>> entry =
+                    Maps.immutableEntry(groups.keyOf(group), groups.valuesOf(group));
+                ++group;
+                return entry;
+              }
+            };
+          }
+
+          @Override
+          public int size() {
+            return groups.groupCount();
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public boolean put(K key, V value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean remove(@Nullable Object key, @Nullable Object value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean putAll(K key, Iterable<? extends V> values) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean putAll(Multimap<? extends K, ? extends V> multimap) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public List<V> replaceValues(K key, Iterable<? extends V> values) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public List<V> removeAll(@Nullable Object key) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean equals(@Nullable Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    return obj instanceof Multimap && asMap().equals(((Multimap<?, ?>) obj).asMap());
+  }
+
+  @Override
+  public int hashCode() {
+    return asMap().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return asMap().toString();
+  }
+
+  /** Converts a key and a value to an element of an iterator. */
+  private interface ElementFactory<K, V, E> {
+    E create(K key, V value);
+  }
+
+  /** Iterates over values of all groups in the order of groups. */
+  private static final class GroupIterator<K, V, E> implements Iterator<E> {
+    private final Groups<K, V> groups;
+    private final ElementFactory<K, V, E> factory;
+    private int group = -1;
+    private List<V> values = ImmutableList.of();
+    private int index = 0;
+
+    GroupIterator(Groups<K, V> groups, ElementFactory<K, V, E> factory) {
+      this.groups = groups;
+      this.factory = factory;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (index == values.size()) {
+        if (group + 1 >= groups.groupCount()) {
+          return false;
+        }
+        ++group;
+        values = groups.valuesOf(group);
+        index = 0;
+      }
+      return true;
+    }
+
+    @Override
+    public E next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return factory.create(groups.keyOf(group), values.get(index++));
+    }
+  }
+}
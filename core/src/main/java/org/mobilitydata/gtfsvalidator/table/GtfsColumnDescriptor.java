@@ -19,12 +19,18 @@ public abstract class GtfsColumnDescriptor {
 
   public abstract boolean isMixedCase();
 
+  /**
+   * Tells if the column holds an ID that is a primary or a foreign key, so its values may be shared
+   * with other tables through an {@link org.mobilitydata.gtfsvalidator.parsing.IdDictionary}.
+   */
+  public abstract boolean isSharedId();
+
   public boolean isRequired() {
     return FieldLevelEnum.REQUIRED.equals(fieldLevel());
   }
 
   public static GtfsColumnDescriptor.Builder builder() {
-    return new AutoValue_GtfsColumnDescriptor.Builder();
+    return new AutoValue_GtfsColumnDescriptor.Builder().setIsSharedId(false);
   }
 
   @AutoValue.Builder
@@ -43,6 +49,8 @@ public abstract class GtfsColumnDescriptor {
 
     public abstract Builder setIsMixedCase(boolean value);
 
+    public abstract Builder setIsSharedId(boolean value);
+
     public abstract GtfsColumnDescriptor build();
   }
 }
@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.flogger.FluentLogger;
+import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
@@ -29,16 +30,23 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import javax.annotation.Nullable;
 import org.mobilitydata.gtfsvalidator.input.GtfsInput;
+import org.mobilitydata.gtfsvalidator.notice.ConcurrentNoticeContainer;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.notice.RuntimeExceptionInLoaderError;
 import org.mobilitydata.gtfsvalidator.notice.ThreadExecutionError;
 import org.mobilitydata.gtfsvalidator.notice.UnknownFileNotice;
+import org.mobilitydata.gtfsvalidator.parsing.CsvByteSource;
+import org.mobilitydata.gtfsvalidator.parsing.CsvTokenizerType;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
 import org.mobilitydata.gtfsvalidator.performance.MemoryMonitor;
 import org.mobilitydata.gtfsvalidator.performance.MemoryUsageRegister;
 import org.mobilitydata.gtfsvalidator.validator.FileValidator;
@@ -54,6 +62,8 @@ public class GtfsFeedLoader {
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
   private final HashMap<String, GtfsFileDescriptor<?>> tableDescriptors = new HashMap<>();
   private int numThreads = 1;
+  private FeedLoadingOptions loadingOptions = FeedLoadingOptions.defaults();
+  @Nullable private IdDictionary idDictionary = null;
 
   /**
    * The set of validators that were skipped during validation because their file dependencies had
@@ -113,14 +123,64 @@ public class GtfsFeedLoader {
     this.numThreads = numThreads;
   }
 
+  /** Selects how threads and memory are used to load the feed, see {@link FeedLoadingOptions}. */
+  public void setLoadingOptions(FeedLoadingOptions loadingOptions) {
+    this.loadingOptions = loadingOptions;
+  }
+
+  /**
+   * Returns the ID dictionary used by the last call to {@link #loadAndValidate}, which holds
+   * statistics for each table, or empty if the dictionary is turned off.
+   */
+  public Optional<IdDictionary> getIdDictionary() {
+    return Optional.ofNullable(idDictionary);
+  }
+
   @SuppressWarnings("unchecked")
   @MemoryMonitor()
   public GtfsFeedContainer loadAndValidate(
       GtfsInput gtfsInput, ValidatorProvider validatorProvider, NoticeContainer noticeContainer)
       throws InterruptedException {
-    logger.atInfo().log("Loading in %d threads", numThreads);
-    ExecutorService exec = Executors.newFixedThreadPool(numThreads);
+    ExecutionStrategy executionStrategy = loadingOptions.executionStrategy();
+    int parallelism = executionStrategy.parallelism(numThreads);
+    logger.atInfo().log("Loading in %d threads with %s", parallelism, executionStrategy);
+    ExecutorService exec = executionStrategy.newExecutor(parallelism);
+    // With parallel row decoding or pipelined loading, large tables are split into chunks of rows or
+    // pipeline stages that run on a separate pool, so that tasks of exec never wait for tasks
+    // queued behind them. Pipeline stages block on each other, so each of them needs its own
+    // thread. The pipeline pool has threads for parallelism files; a file that finds no thread left
+    // is loaded sequentially.
+    @Nullable ExecutorService rowExecutor = null;
+    CsvLoadingOptions csvLoadingOptions = CsvLoadingOptions.sequential();
+    if (loadingOptions.pipelinedLoading()) {
+      rowExecutor = CsvLoadingOptions.newPipelineExecutor(parallelism);
+      csvLoadingOptions = CsvLoadingOptions.pipelined(rowExecutor);
+    } else if (loadingOptions.parallelRowDecoding() && parallelism > 1) {
+      rowExecutor = Executors.newFixedThreadPool(parallelism);
+      csvLoadingOptions = CsvLoadingOptions.parallelRowDecoding(rowExecutor);
+    }
+    // Partitions of validators are forked and joined, so they run on a pool of their own that does
+    // not compete with loading of tables for threads.
+    @Nullable ForkJoinPool validatorPool =
+        loadingOptions.partitionedValidators() && parallelism > 1
+            ? new ForkJoinPool(parallelism)
+            : null;
+    if (loadingOptions.intEncodedIds()) {
+      idDictionary = IdDictionary.encoding();
+    } else {
+      idDictionary = loadingOptions.sharedIdDictionary() ? new IdDictionary() : null;
+    }
+    final CsvLoadingOptions options =
+        csvLoadingOptions
+            .withAdaptiveFieldCaches(loadingOptions.adaptiveFieldCaches())
+            .withIdDictionary(idDictionary)
+            .withColumnarStorage(loadingOptions.columnarStorage())
+            .withOffHeapTables(loadingOptions.offHeapTables())
+            .withSpillThresholdRows(loadingOptions.spillThresholdRows())
+            .withValidatorPool(validatorPool);
     skippedValidators.clear();
+    @Nullable MultiFileValidatorScheduler validatorScheduler =
+        createValidatorScheduler(validatorProvider, exec, validatorPool);
     List<Callable<TableAndNoticeContainers>> loaderCallables = new ArrayList<>();
     Map<String, GtfsTableDescriptor<?>> remainingDescriptors =
         (Map<String, GtfsTableDescriptor<?>>) tableDescriptors.clone();
@@ -129,31 +189,37 @@ public class GtfsFeedLoader {
       if (tableDescriptor == null) {
         noticeContainer.addValidationNotice(new UnknownFileNotice(filename));
       } else {
+        NoticeContainer loaderNotices = newTaskNotices(noticeContainer);
         loaderCallables.add(
             () -> {
-              NoticeContainer loaderNotices = new NoticeContainer();
               GtfsEntityContainer<?, ?> tableContainer;
               // The descriptor knows what loader to use to load the file
               TableLoader tableLoader = tableDescriptor.getTableLoader();
               tableLoader.setSkippedValidators(skippedValidators);
-              try (InputStream inputStream = gtfsInput.getFile(filename)) {
-                try {
-                  tableContainer =
-                      tableLoader.load(
-                          tableDescriptor, validatorProvider, inputStream, loaderNotices);
-                } catch (RuntimeException e) {
-                  // This handler should prevent ExecutionException for
-                  // this thread. We catch an exception here for storing
-                  // the context since we know the filename here.
-                  logger.atSevere().withCause(e).log("Runtime exception when loading %s", filename);
-                  loaderNotices.addSystemError(new RuntimeExceptionInLoaderError(filename, e));
-                  // Since the file was not loaded successfully, we treat
-                  // it as missing for continuing validation.
+              try {
+                tableContainer =
+                    loadFile(
+                        gtfsInput,
+                        filename,
+                        tableDescriptor,
+                        tableLoader,
+                        validatorProvider,
+                        loaderNotices,
+                        options);
+              } catch (RuntimeException e) {
+                // This handler should prevent ExecutionException for
+                // this thread. We catch an exception here for storing
+                // the context since we know the filename here.
+                logger.atSevere().withCause(e).log("Runtime exception when loading %s", filename);
+                loaderNotices.addSystemError(new RuntimeExceptionInLoaderError(filename, e));
+                // Since the file was not loaded successfully, we treat
+                // it as missing for continuing validation.
 
-                  tableContainer =
-                      tableLoader.loadMissingFile(
-                          tableDescriptor, validatorProvider, loaderNotices);
-                }
+                tableContainer =
+                    tableLoader.loadMissingFile(tableDescriptor, validatorProvider, loaderNotices);
+              }
+              if (validatorScheduler != null) {
+                validatorScheduler.onTableLoaded(tableContainer);
               }
               return new TableAndNoticeContainers(tableContainer, loaderNotices);
             });
@@ -166,11 +232,20 @@ public class GtfsFeedLoader {
       tableContainers.add(
           tableLoader.loadMissingFile(tableDescriptor, validatorProvider, noticeContainer));
     }
+    if (validatorScheduler != null) {
+      tableContainers.forEach(validatorScheduler::onTableLoaded);
+      validatorScheduler.start(noticeContainer);
+    }
     try {
       var beforeLoading =
           MemoryUsageRegister.getInstance()
               .getMemoryUsageSnapshot("GtfsFeedLoader.loadTables", null);
       loadTables(noticeContainer, exec, loaderCallables, tableContainers);
+      if (idDictionary != null) {
+        // Entities keep the canonical instances, so an interning dictionary is not needed
+        // anymore. An encoding dictionary keeps its codes, which lookups by ID still use.
+        idDictionary.clear();
+      }
       MemoryUsageRegister.getInstance()
           .registerMemoryUsage("GtfsFeedLoader.loadTables", beforeLoading);
 
@@ -178,14 +253,78 @@ public class GtfsFeedLoader {
       var beforeMultiFileValidators =
           MemoryUsageRegister.getInstance()
               .getMemoryUsageSnapshot("GtfsFeedLoader.executeMultiFileValidators", null);
-      executeMultiFileValidators(validatorProvider, noticeContainer, feed, exec);
+      if (validatorScheduler != null) {
+        validatorScheduler.finish(feed, noticeContainer);
+      } else {
+        executeMultiFileValidators(validatorProvider, noticeContainer, feed, exec, validatorPool);
+      }
       MemoryUsageRegister.getInstance()
           .registerMemoryUsage(
               "GtfsFeedLoader.executeMultiFileValidators", beforeMultiFileValidators);
 
       return feed;
     } finally {
-      exec.shutdown();
+      executionStrategy.release(exec);
+      if (rowExecutor != null) {
+        rowExecutor.shutdown();
+      }
+      if (validatorPool != null) {
+        validatorPool.shutdown();
+      }
+    }
+  }
+
+  /**
+   * Returns a scheduler that starts multi-file validators as soon as their tables are loaded, or
+   * null if validators run once all tables are loaded.
+   */
+  @Nullable
+  private MultiFileValidatorScheduler createValidatorScheduler(
+      ValidatorProvider validatorProvider,
+      ExecutorService exec,
+      @Nullable ForkJoinPool validatorPool) {
+    if (!loadingOptions.eagerMultiFileValidators()) {
+      return null;
+    }
+    MultiFileValidatorScheduler scheduler =
+        new MultiFileValidatorScheduler(validatorProvider, exec, validatorPool, skippedValidators);
+    if (!scheduler.hasValidators()) {
+      logger.atWarning().log("Multi-file validators cannot be started one by one");
+      return null;
+    }
+    return scheduler;
+  }
+
+  /**
+   * Opens a file from the input and passes it to the table loader, using the selected {@link
+   * CsvTokenizerType} for CSV tables.
+   *
+   * @param options how CSV tables use threads
+   */
+  private GtfsEntityContainer<?, ?> loadFile(
+      GtfsInput gtfsInput,
+      String filename,
+      GtfsFileDescriptor<?> tableDescriptor,
+      TableLoader tableLoader,
+      ValidatorProvider validatorProvider,
+      NoticeContainer loaderNotices,
+      CsvLoadingOptions options)
+      throws IOException {
+    if (tableLoader instanceof CsvFileLoader) {
+      CsvFileLoader csvFileLoader = (CsvFileLoader) tableLoader;
+      if (loadingOptions.csvTokenizerType() == CsvTokenizerType.BYTE_BUFFER) {
+        try (CsvByteSource byteSource = gtfsInput.getFileByteSource(filename)) {
+          return csvFileLoader.load(
+              tableDescriptor, validatorProvider, byteSource, loaderNotices, options);
+        }
+      }
+      try (InputStream inputStream = gtfsInput.getFile(filename)) {
+        return csvFileLoader.load(
+            tableDescriptor, validatorProvider, inputStream, loaderNotices, options);
+      }
+    }
+    try (InputStream inputStream = gtfsInput.getFile(filename)) {
+      return tableLoader.load(tableDescriptor, validatorProvider, inputStream, loaderNotices);
     }
   }
 
@@ -199,7 +338,7 @@ public class GtfsFeedLoader {
       try {
         TableAndNoticeContainers containers = futureContainer.get();
         tableContainers.add(containers.tableContainer);
-        noticeContainer.addAll(containers.noticeContainer);
+        collectTaskNotices(noticeContainer, containers.noticeContainer);
       } catch (ExecutionException e) {
         // All runtime exceptions should be caught above.
         // ExecutionException is not expected to happen.
@@ -212,17 +351,19 @@ public class GtfsFeedLoader {
       ValidatorProvider validatorProvider,
       NoticeContainer noticeContainer,
       GtfsFeedContainer feed,
-      ExecutorService exec)
+      ExecutorService exec,
+      @Nullable ForkJoinPool validatorPool)
       throws InterruptedException {
     List<Callable<NoticeContainer>> validatorCallables = new ArrayList<>();
     // Validators with parser-error dependencies will not be returned here, but instead added to
-    // the skippedValidators list.
+    // the skippedValidators list. Validators that scan the same table share a single sweep.
     for (FileValidator validator :
-        validatorProvider.createMultiFileValidators(feed, skippedValidators)) {
+        ValidatorUtil.fusePartitionScans(
+            validatorProvider.createMultiFileValidators(feed, skippedValidators))) {
+      NoticeContainer validatorNotices = newTaskNotices(noticeContainer);
       validatorCallables.add(
           () -> {
-            NoticeContainer validatorNotices = new NoticeContainer();
-            ValidatorUtil.safeValidate(validator::validate, validator.getClass(), validatorNotices);
+            ValidatorUtil.invokeFileValidator(validator, validatorPool, validatorNotices);
             return validatorNotices;
           });
     }
@@ -236,7 +377,7 @@ public class GtfsFeedLoader {
       throws InterruptedException {
     for (Future<NoticeContainer> futureContainer : exec.invokeAll(validatorCallables)) {
       try {
-        noticeContainer.addAll(futureContainer.get());
+        collectTaskNotices(noticeContainer, futureContainer.get());
       } catch (ExecutionException e) {
         // All runtime exceptions should be caught above.
         // ExecutionException is not expected to happen.
@@ -245,8 +386,26 @@ public class GtfsFeedLoader {
     }
   }
 
+  /**
+   * Returns a container for the notices of a task: a stripe of the given container if it is
+   * concurrent, or else a new container that {@link #collectTaskNotices} merges.
+   */
+  static NoticeContainer newTaskNotices(NoticeContainer noticeContainer) {
+    return noticeContainer instanceof ConcurrentNoticeContainer
+        ? ((ConcurrentNoticeContainer) noticeContainer).newStripe()
+        : new NoticeContainer();
+  }
+
+  /** Merges notices of a finished task, unless they were written to a stripe already. */
+  static void collectTaskNotices(
+      NoticeContainer noticeContainer, NoticeContainer taskNotices) {
+    if (!(noticeContainer instanceof ConcurrentNoticeContainer)) {
+      noticeContainer.addAll(taskNotices);
+    }
+  }
+
   /** Adds a ThreadExecutionError to the notice container. */
-  private void addThreadExecutionError(ExecutionException e, NoticeContainer noticeContainer) {
+  static void addThreadExecutionError(ExecutionException e, NoticeContainer noticeContainer) {
     logger.atSevere().withCause(e).log("Execution exception");
     noticeContainer.addSystemError(new ThreadExecutionError(e));
   }
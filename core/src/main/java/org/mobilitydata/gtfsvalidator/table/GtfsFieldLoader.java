@@ -2,6 +2,7 @@ package org.mobilitydata.gtfsvalidator.table;
 
 import javax.annotation.Nullable;
 import org.mobilitydata.gtfsvalidator.parsing.FieldCache;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
 import org.mobilitydata.gtfsvalidator.parsing.RowParser;
 
 public abstract class GtfsFieldLoader<T extends GtfsEntityBuilder, V> {
@@ -18,4 +19,30 @@ public abstract class GtfsFieldLoader<T extends GtfsEntityBuilder, V> {
     }
     return fieldCache.addIfAbsent(value);
   }
+
+  /**
+   * Returns the code of an ID if the column is cached by a dictionary that encodes IDs, otherwise
+   * {@link IdDictionary#NO_CODE}.
+   */
+  protected static int encodeIdIfPresent(
+      @Nullable String value, @Nullable FieldCache<String> fieldCache) {
+    if (value == null || !(fieldCache instanceof IdDictionary.ColumnCache)) {
+      return IdDictionary.NO_CODE;
+    }
+    IdDictionary.ColumnCache columnCache = (IdDictionary.ColumnCache) fieldCache;
+    return columnCache.dictionary().encodesIds() ? columnCache.encode(value) : IdDictionary.NO_CODE;
+  }
+
+  /**
+   * Returns the canonical instance of an ID, given the code from {@link #encodeIdIfPresent}.
+   *
+   * <p>IDs without a code are passed through the cache as usual.
+   */
+  protected static String addIdToCacheIfPresent(
+      @Nullable String value, int code, @Nullable FieldCache<String> fieldCache) {
+    if (code == IdDictionary.NO_CODE) {
+      return addToCacheIfPresent(value, fieldCache);
+    }
+    return ((IdDictionary.ColumnCache) fieldCache).dictionary().idOf(code);
+  }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.parsing.FieldCache;
+import org.mobilitydata.gtfsvalidator.parsing.RowParser;
+
+/**
+ * Loads all fields of a row into an entity builder.
+ *
+ * <p>Subclasses are generated for each GTFS table. Loading a row with them has the same effect as
+ * calling the {@link GtfsFieldLoader} of every column in the order of {@link
+ * GtfsTableDescriptor#getColumns()}, but column loops are unrolled and builder setters are called
+ * directly.
+ */
+public abstract class GtfsRowLoader<T extends GtfsEntityBuilder> {
+  /**
+   * Loads fields of the current row of {@code rowParser} into {@code builder}.
+   *
+   * <p>All arrays are indexed in the order of {@link GtfsTableDescriptor#getColumns()}.
+   *
+   * @param rowParser parser that is set to the current row
+   * @param columnIndices index of each column in the CSV header, or -1 if the column is missing
+   * @param columnDescriptors descriptors of columns
+   * @param fieldCaches caches for columns, or null for columns that are not cached
+   * @param builder builder of the entity
+   */
+  public abstract void load(
+      RowParser rowParser,
+      int[] columnIndices,
+      GtfsColumnDescriptor[] columnDescriptors,
+      FieldCache[] fieldCaches,
+      T builder);
+
+  protected static <V> V addToCacheIfPresent(V value, @Nullable FieldCache<V> fieldCache) {
+    return GtfsFieldLoader.addToCacheIfPresent(value, fieldCache);
+  }
+
+  protected static int encodeIdIfPresent(
+      @Nullable String value, @Nullable FieldCache<String> fieldCache) {
+    return GtfsFieldLoader.encodeIdIfPresent(value, fieldCache);
+  }
+
+  protected static String addIdToCacheIfPresent(
+      @Nullable String value, int code, @Nullable FieldCache<String> fieldCache) {
+    return GtfsFieldLoader.addIdToCacheIfPresent(value, code, fieldCache);
+  }
+}
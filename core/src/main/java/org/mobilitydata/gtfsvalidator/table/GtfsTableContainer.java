@@ -19,8 +19,10 @@ package org.mobilitydata.gtfsvalidator.table;
 import com.google.common.collect.ImmutableList;
 import java.util.List;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import org.mobilitydata.gtfsvalidator.annotation.PrimaryKey;
 import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
 
 /**
  * Container for {@code GtfsEntity} instances coming from a CSV file. e.g., stops.txt.
@@ -35,6 +37,8 @@ public abstract class GtfsTableContainer<T extends GtfsEntity, D extends GtfsTab
 
   private final CsvHeader header;
 
+  @Nullable private IdDictionary idDictionary;
+
   public GtfsTableContainer(D descriptor, TableStatus tableStatus, CsvHeader header) {
     super(descriptor, tableStatus);
     this.header = header;
@@ -58,6 +62,30 @@ public abstract class GtfsTableContainer<T extends GtfsEntity, D extends GtfsTab
     return header.hasColumn(columnName);
   }
 
+  /**
+   * Returns the dictionary that encoded IDs of this table, or null if IDs are only kept as strings.
+   *
+   * <p>If present, indexes on IDs are keyed by {@link IdDictionary} codes and entities store the
+   * code of each ID that is a primary or a foreign key.
+   */
+  @Nullable
+  public IdDictionary getIdDictionary() {
+    return idDictionary;
+  }
+
+  /** Sets the dictionary that encoded IDs, before indexes are built. */
+  protected void setIdDictionary(@Nullable IdDictionary idDictionary) {
+    this.idDictionary = idDictionary;
+  }
+
+  /**
+   * Returns the code that was stored in an entity for an ID, or encodes the ID if the entity was
+   * built without a code.
+   */
+  protected int encodeId(int code, String id) {
+    return code != IdDictionary.NO_CODE ? code : idDictionary.encode(id);
+  }
+
   /**
    * Returns names of the columns that are keys in that table.
    *
@@ -4,8 +4,10 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.util.List;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
 
 public abstract class GtfsTableDescriptor<T extends GtfsEntity> extends GtfsFileDescriptor<T> {
 
@@ -15,10 +17,46 @@ public abstract class GtfsTableDescriptor<T extends GtfsEntity> extends GtfsFile
   public abstract GtfsTableContainer createContainerForHeaderAndEntities(
       CsvHeader header, List<T> entities, NoticeContainer noticeContainer);
 
+  /**
+   * Creates a container whose indexes on IDs are keyed by codes of the given dictionary.
+   *
+   * <p>Tables that do not support encoded IDs ignore the dictionary.
+   *
+   * @param idDictionary dictionary that encoded IDs of entities, or null if IDs are not encoded
+   */
+  public GtfsTableContainer createContainerForHeaderAndEntities(
+      CsvHeader header,
+      List<T> entities,
+      @Nullable IdDictionary idDictionary,
+      NoticeContainer noticeContainer) {
+    return createContainerForHeaderAndEntities(header, entities, noticeContainer);
+  }
+
   public abstract GtfsEntityBuilder createEntityBuilder();
 
   public abstract ImmutableMap<String, GtfsFieldLoader> getFieldLoaders();
 
+  /**
+   * Returns a loader that loads all fields of a row at once.
+   *
+   * <p>Tables without such a loader are loaded field by field with {@link #getFieldLoaders()}.
+   */
+  public Optional<GtfsRowLoader> getRowLoader() {
+    return Optional.empty();
+  }
+
+  /**
+   * Returns an empty list that stores entities of this table in columns.
+   *
+   * <p>Only tables whose schema is annotated with {@code @GtfsTable(columnar = true)} support
+   * columnar storage. Other tables keep entities as objects in an ordinary list.
+   *
+   * @param storage where primitive columns are allocated
+   */
+  public Optional<ColumnarEntityList<T>> createColumnarEntityList(ColumnStorage storage) {
+    return Optional.empty();
+  }
+
   public abstract Optional<Integer> maxCharsPerColumn();
 
   public abstract ImmutableList<GtfsColumnDescriptor> getColumns();
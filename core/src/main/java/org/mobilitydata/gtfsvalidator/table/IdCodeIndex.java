@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
+
+/**
+ * Index of entities by the code of a unique ID, e.g., stops by stop_id.
+ *
+ * <p>Entities are stored in an array indexed by {@link IdDictionary} codes, so lookups do not hash
+ * strings. The index is built by a single thread and may be read concurrently afterwards.
+ *
+ * @param <T> type of entities
+ */
+public final class IdCodeIndex<T> {
+  private Object[] entities;
+
+  /**
+   * Creates an empty index.
+   *
+   * @param expectedCodes the number of codes in the dictionary, used as the initial capacity
+   */
+  public IdCodeIndex(int expectedCodes) {
+    entities = new Object[Math.max(expectedCodes, 16)];
+  }
+
+  /** Returns the entity with the given code, or null if there is none. */
+  @SuppressWarnings("unchecked")
+  @Nullable
+  public T get(int code) {
+    return code >= 0 && code < entities.length ? (T) entities[code] : null;
+  }
+
+  /** Tells if there is an entity with the given code. */
+  public boolean containsCode(int code) {
+    return get(code) != null;
+  }
+
+  /**
+   * Adds an entity unless there is already one with the same code.
+   *
+   * @return the entity that was already in the index, or null if the new entity was added
+   */
+  @Nullable
+  public T putIfAbsent(int code, T entity) {
+    T oldEntity = get(code);
+    if (oldEntity != null) {
+      return oldEntity;
+    }
+    if (code >= entities.length) {
+      entities =
+          Arrays.copyOf(entities, Math.max(code + 1, entities.length + (entities.length >> 1)));
+    }
+    entities[code] = entity;
+    return null;
+  }
+}
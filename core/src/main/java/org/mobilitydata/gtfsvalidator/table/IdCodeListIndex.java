@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
+
+/**
+ * Index of entities by the code of an ID that may repeat, e.g., stop times by trip_id.
+ *
+ * <p>Codes of {@link IdDictionary} are mapped to groups by an array, so lookups by code do not
+ * hash strings. Groups are numbered in the order in which their IDs first appear.
+ *
+ * @param <T> type of entities
+ */
+public final class IdCodeListIndex<T> extends CsrListIndex<String, T> {
+  private final IdDictionary idDictionary;
+  private final int[] groupOfCode;
+  private final int[] codeOfGroup;
+
+  private IdCodeListIndex(
+      List<? extends T> entities,
+      int[] groupOfRow,
+      IdDictionary idDictionary,
+      int[] groupOfCode,
+      int[] codeOfGroup,
+      @Nullable ToIntFunction<? super T> sequence,
+      boolean presorted) {
+    super(entities, groupOfRow, codeOfGroup.length, sequence, presorted);
+    this.idDictionary = idDictionary;
+    this.groupOfCode = groupOfCode;
+    this.codeOfGroup = codeOfGroup;
+  }
+
+  /**
+   * Indexes entities by codes of an ID.
+   *
+   * @param idDictionary dictionary that assigned the codes
+   * @param entities entities to index
+   * @param code code of the ID of an entity, never {@link IdDictionary#NO_CODE}
+   * @param sequence sequence that sorts entities with the same ID, or null to keep their order
+   */
+  public static <T> IdCodeListIndex<T> build(
+      IdDictionary idDictionary,
+      List<? extends T> entities,
+      ToIntFunction<? super T> code,
+      @Nullable ToIntFunction<? super T> sequence) {
+    int[] groupOfRow = new int[entities.size()];
+    int maxCode = -1;
+    int row = 0;
+    for (T entity : entities) {
+      int entityCode = code.applyAsInt(entity);
+      groupOfRow[row++] = entityCode;
+      maxCode = Math.max(maxCode, entityCode);
+    }
+    int[] groupOfCode = new int[maxCode + 1];
+    Arrays.fill(groupOfCode, -1);
+    int[] codeOfGroup = new int[16];
+    int groupCount = 0;
+    InputOrder<T> inputOrder = new InputOrder<>(sequence);
+    row = 0;
+    for (T entity : entities) {
+      int entityCode = groupOfRow[row];
+      if (groupOfCode[entityCode] < 0) {
+        if (groupCount == codeOfGroup.length) {
+          codeOfGroup = Arrays.copyOf(codeOfGroup, groupCount * 2);
+        }
+        codeOfGroup[groupCount] = entityCode;
+        groupOfCode[entityCode] = groupCount++;
+      }
+      groupOfRow[row++] = groupOfCode[entityCode];
+      inputOrder.add(entity, groupOfRow[row - 1]);
+    }
+    return new IdCodeListIndex<>(
+        entities,
+        groupOfRow,
+        idDictionary,
+        groupOfCode,
+        Arrays.copyOf(codeOfGroup, groupCount),
+        sequence,
+        inputOrder.isPresorted());
+  }
+
+  private int groupOfCode(int code) {
+    return code >= 0 && code < groupOfCode.length ? groupOfCode[code] : -1;
+  }
+
+  /** Returns entities with the given code, or an empty list if there are none. */
+  public List<T> get(int code) {
+    int group = groupOfCode(code);
+    return group >= 0 ? valuesOf(group) : ImmutableList.of();
+  }
+
+  /** Tells if there is at least one entity with the given code. */
+  public boolean containsCode(int code) {
+    return groupOfCode(code) >= 0;
+  }
+
+  @Override
+  public long estimateMemoryBytes() {
+    return super.estimateMemoryBytes() + 4L * (groupOfCode.length + codeOfGroup.length);
+  }
+
+  @Override
+  public String keyOf(int group) {
+    return idDictionary.idOf(codeOfGroup[group]);
+  }
+
+  @Override
+  public int groupOf(@Nullable Object key) {
+    return key instanceof String ? groupOfCode(idDictionary.codeOf((String) key)) : -1;
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import com.google.common.flogger.FluentLogger;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Index of a table that is built on first access, e.g., stop times by trip_id.
+ *
+ * <p>Many indexes are read only by a few validators, which may be disabled, so tables do not build
+ * them while they are loaded. The first call to {@link #get} builds the index while other threads
+ * wait for it, and later calls return it without locking. Time and memory taken by every index are
+ * logged, so that costly indexes are easy to spot.
+ *
+ * @param <K> type of keys
+ * @param <T> type of entities
+ */
+public final class LazyListIndex<K, T> {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  private final String gtfsFilename;
+  private final String columnName;
+  private final Supplier<CsrListIndex<K, T>> builder;
+  @Nullable private volatile CsrListIndex<K, T> index;
+
+  /**
+   * Creates an index that is not built yet.
+   *
+   * @param gtfsFilename name of the indexed file, for logging
+   * @param columnName name of the indexed column, for logging
+   * @param builder builds the index, called at most once
+   */
+  public LazyListIndex(
+      String gtfsFilename, String columnName, Supplier<CsrListIndex<K, T>> builder) {
+    this.gtfsFilename = gtfsFilename;
+    this.columnName = columnName;
+    this.builder = builder;
+  }
+
+  /** Returns the index, building it on the first call. */
+  public CsrListIndex<K, T> get() {
+    CsrListIndex<K, T> result = index;
+    if (result == null) {
+      synchronized (this) {
+        result = index;
+        if (result == null) {
+          long startNanos = System.nanoTime();
+          result = builder.get();
+          logger.atInfo().log(
+              "Built index of %s by %s in %d ms: %d rows, %d keys, ~%.1f KiB%s",
+              gtfsFilename,
+              columnName,
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+              result.size(),
+              result.groupCount(),
+              result.estimateMemoryBytes() / 1024.0,
+              result.isPresorted() ? ", presorted" : "");
+          index = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /** Tells if the index was already built by {@link #get}. */
+  public boolean isBuilt() {
+    return index != null;
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.MultimapBuilder;
+import com.google.common.flogger.FluentLogger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.table.GtfsFeedLoader.SkippedValidatorReason;
+import org.mobilitydata.gtfsvalidator.validator.FileValidator;
+import org.mobilitydata.gtfsvalidator.validator.ValidatorProvider;
+import org.mobilitydata.gtfsvalidator.validator.ValidatorUtil;
+
+/**
+ * Runs cross-file validators as soon as the tables that are injected to them are loaded, instead
+ * of waiting for all tables of the feed.
+ *
+ * <p>The dependencies of validators form a graph with tables and validators as nodes: each loaded
+ * table counts down the validators that wait for it, and a validator is submitted once none of its
+ * tables is pending. Validators that need the whole feed, or tables that the feed loader does not
+ * report, run once all tables are loaded, see {@link #finish}.
+ *
+ * <p>Notices of validators are collected in the order of validator classes, so that reports do not
+ * depend on the order in which tables finish loading.
+ *
+ * <p>Validators that become ready together, on the same loaded table or in {@link #finish}, and
+ * that scan the same table share a single sweep over it, see {@link
+ * ValidatorUtil#invokePartitionScan}. Each of them still reports to a container of its own.
+ * Validators that become ready on different tables sweep separately.
+ */
+final class MultiFileValidatorScheduler {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  private final ValidatorProvider validatorProvider;
+  private final ExecutorService exec;
+  @Nullable private final ForkJoinPool validatorPool;
+  private final Multimap<SkippedValidatorReason, Class<?>> skippedValidators;
+
+  /** Validators in the order of the validator provider. */
+  private final List<ScheduledValidator> validators = new ArrayList<>();
+
+  /** Validators that wait for a table, keyed by table class. Guarded by this. */
+  private final ListMultimap<Class<?>, ScheduledValidator> validatorsByTable =
+      ArrayListMultimap.create();
+
+  /** Tables loaded so far, keyed by class. Guarded by this. */
+  private final Map<Class<?>, GtfsEntityContainer<?, ?>> loadedTables = new HashMap<>();
+
+  private int startedValidators = 0;
+
+  MultiFileValidatorScheduler(
+      ValidatorProvider validatorProvider,
+      ExecutorService exec,
+      @Nullable ForkJoinPool validatorPool,
+      Multimap<SkippedValidatorReason, Class<?>> skippedValidators) {
+    this.validatorProvider = validatorProvider;
+    this.exec = exec;
+    this.validatorPool = validatorPool;
+    this.skippedValidators = skippedValidators;
+    validatorProvider
+        .getMultiFileValidatorDependencies()
+        .forEach(
+            (validatorClass, dependencies) ->
+                validators.add(new ScheduledValidator(validatorClass, dependencies)));
+  }
+
+  /** Tells if the validator provider supports creating validators one by one. */
+  boolean hasValidators() {
+    return !validators.isEmpty();
+  }
+
+  /**
+   * Starts waiting for tables. Validators whose tables are loaded already, or that do not depend on
+   * any table, are submitted right away.
+   *
+   * @param noticeContainer the container for notices of all validators, see {@link
+   *     GtfsFeedLoader#newTaskNotices}
+   */
+  synchronized void start(NoticeContainer noticeContainer) {
+    for (ScheduledValidator validator : validators) {
+      validator.notices = GtfsFeedLoader.newTaskNotices(noticeContainer);
+    }
+    List<ScheduledValidator> ready = new ArrayList<>();
+    for (ScheduledValidator validator : validators) {
+      if (validator.dependencies.contains(GtfsFeedContainer.class)) {
+        continue;
+      }
+      for (Class<?> tableClass : validator.dependencies) {
+        if (!loadedTables.containsKey(tableClass)) {
+          validatorsByTable.put(tableClass, validator);
+          ++validator.pendingTables;
+        }
+      }
+      if (validator.pendingTables == 0) {
+        ready.add(validator);
+      }
+    }
+    submitLoaded(ready);
+  }
+
+  /**
+   * Reports a table that is completely loaded, including its single-file validation, and submits
+   * the validators that waited for it as the last of their tables.
+   */
+  synchronized void onTableLoaded(GtfsEntityContainer<?, ?> table) {
+    loadedTables.put(table.getClass(), table);
+    List<ScheduledValidator> ready = new ArrayList<>();
+    for (ScheduledValidator validator : validatorsByTable.removeAll(table.getClass())) {
+      if (--validator.pendingTables == 0) {
+        ready.add(validator);
+      }
+    }
+    submitLoaded(ready);
+  }
+
+  /**
+   * Submits all validators that have not started yet with the whole feed, waits for all validators
+   * to finish and collects their notices.
+   *
+   * @param feed all tables of the feed
+   * @param noticeContainer the container that was passed to {@link #start}
+   */
+  void finish(GtfsFeedContainer feed, NoticeContainer noticeContainer)
+      throws InterruptedException {
+    synchronized (this) {
+      logger.atInfo().log(
+          "%d of %d multi-file validators started before all tables were loaded",
+          startedValidators, validators.size());
+      validatorsByTable.clear();
+      List<ScheduledValidator> remaining = new ArrayList<>();
+      for (ScheduledValidator validator : validators) {
+        if (validator.future == null) {
+          remaining.add(validator);
+        }
+      }
+      submit(remaining, feed);
+    }
+    for (ScheduledValidator validator : validators) {
+      try {
+        validator.future.get();
+        GtfsFeedLoader.collectTaskNotices(noticeContainer, validator.notices);
+      } catch (ExecutionException e) {
+        // All runtime exceptions should be caught by ValidatorUtil.safeValidate.
+        // ExecutionException is not expected to happen.
+        GtfsFeedLoader.addThreadExecutionError(e, noticeContainer);
+      }
+    }
+  }
+
+  /** Submits validators with the tables that are loaded so far. Must hold the lock. */
+  private void submitLoaded(List<ScheduledValidator> ready) {
+    if (ready.isEmpty()) {
+      return;
+    }
+    startedValidators += ready.size();
+    submit(ready, new GtfsFeedContainer(new ArrayList<>(loadedTables.values())));
+  }
+
+  /**
+   * Creates validators that became ready together and submits them. Partitioned validators with
+   * the same scan key are submitted as a single task that walks their partitions once.
+   */
+  private void submit(List<ScheduledValidator> ready, GtfsFeedContainer feed) {
+    ListMultimap<Object, ScheduledValidator> scans =
+        MultimapBuilder.linkedHashKeys().arrayListValues().build();
+    ListMultimap<Object, FileValidator> scanValidators =
+        MultimapBuilder.linkedHashKeys().arrayListValues().build();
+    for (ScheduledValidator validator : ready) {
+      Optional<FileValidator> fileValidator =
+          validatorProvider.createMultiFileValidator(
+              validator.validatorClass, feed, skippedValidators);
+      if (fileValidator.isEmpty()) {
+        validator.future = CompletableFuture.completedFuture(null);
+        continue;
+      }
+      @Nullable Object scanKey = ValidatorUtil.getPartitionScanKey(fileValidator.get());
+      if (scanKey != null) {
+        scans.put(scanKey, validator);
+        scanValidators.put(scanKey, fileValidator.get());
+        continue;
+      }
+      NoticeContainer notices = validator.notices;
+      validator.future =
+          exec.submit(
+              () -> ValidatorUtil.invokeFileValidator(fileValidator.get(), validatorPool, notices));
+    }
+    for (Object scanKey : scans.keySet()) {
+      List<ScheduledValidator> scan = scans.get(scanKey);
+      List<FileValidator> scanned = scanValidators.get(scanKey);
+      List<NoticeContainer> notices = new ArrayList<>(scan.size());
+      for (ScheduledValidator validator : scan) {
+        notices.add(validator.notices);
+      }
+      Future<?> future =
+          exec.submit(() -> ValidatorUtil.invokePartitionScan(scanned, validatorPool, notices));
+      for (ScheduledValidator validator : scan) {
+        validator.future = future;
+      }
+    }
+  }
+
+  /** A validator class with the state of its dependencies. */
+  private static final class ScheduledValidator {
+    final Class<? extends FileValidator> validatorClass;
+    final ImmutableSet<Class<?>> dependencies;
+
+    /** Notices of the validator, set when the scheduler starts. */
+    @Nullable NoticeContainer notices = null;
+
+    /** Number of tables that are not loaded yet. Guarded by the scheduler. */
+    int pendingTables = 0;
+
+    /** Set once the validator is submitted. Guarded by the scheduler. */
+    @Nullable Future<?> future = null;
+
+    ScheduledValidator(
+        Class<? extends FileValidator> validatorClass, ImmutableSet<Class<?>> dependencies) {
+      this.validatorClass = validatorClass;
+      this.dependencies = dependencies;
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
+
+/**
+ * Reads another stream on a separate thread, e.g., to inflate a ZIP entry while the previous
+ * blocks are being parsed.
+ *
+ * <p>The source stream is not closed by this class since it is owned by the caller.
+ */
+final class PrefetchingInputStream extends InputStream {
+  private static final int BLOCK_SIZE = 1 << 20;
+  private static final int QUEUE_CAPACITY = 8;
+
+  private final StageQueue<byte[]> blocks;
+  @Nullable private volatile IOException readException = null;
+  private byte[] block = new byte[0];
+  private int position = 0;
+  private boolean endOfStream = false;
+
+  PrefetchingInputStream(InputStream source, String name, ExecutorService executor) {
+    this.blocks = new StageQueue<>(name + " inflated blocks", QUEUE_CAPACITY);
+    executor.execute(() -> readAll(source));
+  }
+
+  private void readAll(InputStream source) {
+    try {
+      while (true) {
+        byte[] next = source.readNBytes(BLOCK_SIZE);
+        if (next.length == 0) {
+          break;
+        }
+        blocks.put(next);
+      }
+    } catch (IOException e) {
+      readException = e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      readException = new IOException("Interrupted while reading", e);
+    } catch (CancellationException e) {
+      // The consumer does not need more data.
+      return;
+    }
+    try {
+      blocks.close();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (CancellationException e) {
+      // The consumer does not need more data.
+    }
+  }
+
+  private boolean fillBlock() throws IOException {
+    while (position >= block.length) {
+      if (endOfStream) {
+        return false;
+      }
+      byte[] next;
+      try {
+        next = blocks.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while waiting for data", e);
+      }
+      if (next == null) {
+        endOfStream = true;
+        if (readException != null) {
+          throw readException;
+        }
+        return false;
+      }
+      block = next;
+      position = 0;
+    }
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!fillBlock()) {
+      return -1;
+    }
+    return block[position++] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if (!fillBlock()) {
+      return -1;
+    }
+    int count = Math.min(length, block.length - position);
+    System.arraycopy(block, position, buffer, offset, count);
+    position += count;
+    return count;
+  }
+
+  /** Returns queue metrics, see {@link StageQueue#formatStats()}. */
+  String formatStats() {
+    return blocks.formatStats();
+  }
+
+  /** Stops the reading thread if it is still running. */
+  @Override
+  public void close() {
+    blocks.abort();
+  }
+}
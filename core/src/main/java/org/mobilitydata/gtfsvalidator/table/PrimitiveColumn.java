@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import com.google.common.base.Preconditions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * Column of fixed-width primitive values of a {@link ColumnarEntityList}.
+ *
+ * <p>Values are kept in pages of {@link #PAGE_ROWS} rows, so that a column grows without copying
+ * and may exceed the 2 GiB limit of a single buffer. Pages are heap or direct byte buffers,
+ * or pages of a {@link SpillFile}, depending on {@link ColumnStorage}. Only the last page may be
+ * shorter than {@link #PAGE_ROWS}.
+ *
+ * <p>Callers use accessors that match the width of the column, e.g., {@link #getInt} for a column
+ * created with {@link Integer#BYTES}. This class is not thread-safe.
+ */
+public final class PrimitiveColumn {
+  private static final int PAGE_SHIFT = 16;
+
+  /** Number of rows in a full page. */
+  public static final int PAGE_ROWS = 1 << PAGE_SHIFT;
+
+  private static final int PAGE_MASK = PAGE_ROWS - 1;
+
+  private final int width;
+  private ColumnStorage storage;
+  @Nullable private SpillFile spillFile;
+  private ByteBuffer[] pages = new ByteBuffer[0];
+
+  /**
+   * Creates an empty column on or off the heap.
+   *
+   * @param width size of a single value in bytes, e.g., {@link Integer#BYTES}
+   * @param storage where pages are allocated, either {@link ColumnStorage#HEAP} or {@link
+   *     ColumnStorage#OFF_HEAP}
+   */
+  public PrimitiveColumn(int width, ColumnStorage storage) {
+    Preconditions.checkArgument(
+        storage != ColumnStorage.DISK, "Columns on disk need a spill file");
+    this.width = width;
+    this.storage = storage;
+  }
+
+  /**
+   * Creates an empty column whose pages are mapped from a file.
+   *
+   * @param width size of a single value in bytes, e.g., {@link Integer#BYTES}
+   * @param spillFile file that new pages are appended to
+   */
+  public PrimitiveColumn(int width, SpillFile spillFile) {
+    this.width = width;
+    this.storage = ColumnStorage.DISK;
+    this.spillFile = spillFile;
+  }
+
+  /** Tells where pages are allocated. */
+  public ColumnStorage storage() {
+    return storage;
+  }
+
+  /** Rounds the number of rows up to a whole number of pages. */
+  public static int roundUpToPage(int rows) {
+    return (rows + PAGE_MASK) & ~PAGE_MASK;
+  }
+
+  /**
+   * Resizes the column to hold exactly the given number of rows, keeping values of rows below that
+   * number.
+   */
+  public void resize(int rows) {
+    int pageCount = (rows + PAGE_MASK) >>> PAGE_SHIFT;
+    ByteBuffer[] newPages = Arrays.copyOf(pages, pageCount);
+    for (int i = 0; i < pageCount; ++i) {
+      int pageBytes = Math.min(PAGE_ROWS, rows - (i << PAGE_SHIFT)) * width;
+      ByteBuffer page = newPages[i];
+      if (page == null || page.capacity() != pageBytes) {
+        ByteBuffer newPage = allocate(pageBytes);
+        if (page != null) {
+          newPage.put(0, page, 0, Math.min(page.capacity(), pageBytes));
+        }
+        newPages[i] = newPage;
+      }
+    }
+    pages = newPages;
+  }
+
+  /**
+   * Moves all pages to the given file. Pages that are added later are also appended to that file.
+   */
+  public void spillTo(SpillFile spillFile) {
+    this.storage = ColumnStorage.DISK;
+    this.spillFile = spillFile;
+    for (int i = 0; i < pages.length; ++i) {
+      ByteBuffer page = allocate(pages[i].capacity());
+      page.put(0, pages[i], 0, pages[i].capacity());
+      pages[i] = page;
+    }
+  }
+
+  /**
+   * Reorders the first {@code rows} values, so that row {@code i} gets the value that row {@code
+   * order.getInt(i)} had before. The column is resized to exactly {@code rows} rows.
+   *
+   * @param order column of {@link Integer#BYTES} width that holds a permutation of rows
+   */
+  public void permute(PrimitiveColumn order, int rows) {
+    ByteBuffer[] oldPages = pages;
+    pages = new ByteBuffer[0];
+    resize(rows);
+    for (int row = 0; row < rows; ++row) {
+      int oldRow = order.getInt(row);
+      ByteBuffer oldPage = oldPages[oldRow >>> PAGE_SHIFT];
+      int oldOffset = (oldRow & PAGE_MASK) * width;
+      ByteBuffer page = pages[row >>> PAGE_SHIFT];
+      int offset = (row & PAGE_MASK) * width;
+      switch (width) {
+        case Long.BYTES:
+          page.putLong(offset, oldPage.getLong(oldOffset));
+          break;
+        case Integer.BYTES:
+          page.putInt(offset, oldPage.getInt(oldOffset));
+          break;
+        case Short.BYTES:
+          page.putShort(offset, oldPage.getShort(oldOffset));
+          break;
+        default:
+          page.put(offset, oldPage, oldOffset, width);
+      }
+    }
+  }
+
+  private ByteBuffer allocate(int bytes) {
+    switch (storage) {
+      case DISK:
+        return spillFile.map(bytes);
+      case OFF_HEAP:
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+      default:
+        return ByteBuffer.allocate(bytes).order(ByteOrder.nativeOrder());
+    }
+  }
+
+  /** Returns the number of bytes taken by all pages. */
+  public long memoryBytes() {
+    long bytes = 0;
+    for (ByteBuffer page : pages) {
+      bytes += page.capacity();
+    }
+    return bytes;
+  }
+
+  public byte getByte(int row) {
+    return pages[row >>> PAGE_SHIFT].get(row & PAGE_MASK);
+  }
+
+  public void setByte(int row, byte value) {
+    pages[row >>> PAGE_SHIFT].put(row & PAGE_MASK, value);
+  }
+
+  public short getShort(int row) {
+    return pages[row >>> PAGE_SHIFT].getShort((row & PAGE_MASK) << 1);
+  }
+
+  public void setShort(int row, short value) {
+    pages[row >>> PAGE_SHIFT].putShort((row & PAGE_MASK) << 1, value);
+  }
+
+  public int getInt(int row) {
+    return pages[row >>> PAGE_SHIFT].getInt((row & PAGE_MASK) << 2);
+  }
+
+  public void setInt(int row, int value) {
+    pages[row >>> PAGE_SHIFT].putInt((row & PAGE_MASK) << 2, value);
+  }
+
+  public long getLong(int row) {
+    return pages[row >>> PAGE_SHIFT].getLong((row & PAGE_MASK) << 3);
+  }
+
+  public void setLong(int row, long value) {
+    pages[row >>> PAGE_SHIFT].putLong((row & PAGE_MASK) << 3, value);
+  }
+
+  public float getFloat(int row) {
+    return pages[row >>> PAGE_SHIFT].getFloat((row & PAGE_MASK) << 2);
+  }
+
+  public void setFloat(int row, float value) {
+    pages[row >>> PAGE_SHIFT].putFloat((row & PAGE_MASK) << 2, value);
+  }
+
+  public double getDouble(int row) {
+    return pages[row >>> PAGE_SHIFT].getDouble((row & PAGE_MASK) << 3);
+  }
+
+  public void setDouble(int row, double value) {
+    pages[row >>> PAGE_SHIFT].putDouble((row & PAGE_MASK) << 3, value);
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Temporary file that holds pages of {@link PrimitiveColumn}s with {@link ColumnStorage#DISK}.
+ *
+ * <p>Pages are appended to the file and mapped into memory, so values are read and written like
+ * those of direct buffers. Mappings stay valid after the file is closed, and the file is deleted
+ * when it is closed, so a table keeps its pages once loading is done while the disk space is freed
+ * as soon as the pages are garbage collected.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class SpillFile implements Closeable {
+  private final Path path;
+  private final FileChannel channel;
+  private long length = 0;
+
+  private SpillFile(Path path, FileChannel channel) {
+    this.path = path;
+    this.channel = channel;
+  }
+
+  /**
+   * Creates an empty file in the default temporary directory, see {@code java.io.tmpdir}.
+   *
+   * @throws UncheckedIOException if the file cannot be created
+   */
+  public static SpillFile create() {
+    try {
+      Path path = Files.createTempFile("gtfs-validator-", ".columns");
+      return new SpillFile(
+          path,
+          FileChannel.open(
+              path,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.DELETE_ON_CLOSE));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot create a file for spilled columns", e);
+    }
+  }
+
+  /** Returns the path of the file. */
+  public Path path() {
+    return path;
+  }
+
+  /** Returns the number of bytes of all pages mapped so far. */
+  public long length() {
+    return length;
+  }
+
+  /**
+   * Appends a zero-filled page to the file and maps it.
+   *
+   * @throws UncheckedIOException if the file cannot grow, e.g., if the disk is full
+   * @throws IllegalStateException if the file is closed
+   */
+  public MappedByteBuffer map(int bytes) {
+    if (!channel.isOpen()) {
+      throw new IllegalStateException("Spill file is closed: " + path);
+    }
+    try {
+      MappedByteBuffer page = channel.map(MapMode.READ_WRITE, length, bytes);
+      page.order(ByteOrder.nativeOrder());
+      length += bytes;
+      return page;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot map " + bytes + " bytes of " + path, e);
+    }
+  }
+
+  /** Tells if new pages may still be mapped. */
+  public boolean isOpen() {
+    return channel.isOpen();
+  }
+
+  /** Closes and deletes the file. Pages that were already mapped remain readable and writable. */
+  @Override
+  public void close() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot close " + path, e);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Bounded queue that connects two stages of a loading pipeline.
+ *
+ * <p>The queue has a single producer and a single consumer. It collects metrics about backpressure
+ * (how often and how long the producer waited for free space), starvation (how long the consumer
+ * waited for items) and queue depth. Metrics are meant to be read after both stages finished.
+ *
+ * <p>Any stage may {@link #abort()} the queue after a failure, so that its neighbours stop waiting.
+ *
+ * @param <T> type of items
+ */
+final class StageQueue<T> {
+  /** Marks the end of the stream of items. */
+  private static final Object END = new Object();
+
+  private static final long POLL_INTERVAL_MILLIS = 50;
+
+  private final String name;
+  private final int capacity;
+  private final BlockingQueue<Object> queue;
+  private volatile boolean aborted = false;
+
+  // Written by the producer.
+  private long putCount = 0;
+  private long blockedPutCount = 0;
+  private long putWaitNanos = 0;
+  private long depthSum = 0;
+  private int maxDepth = 0;
+
+  // Written by the consumer.
+  private long takeWaitNanos = 0;
+
+  StageQueue(String name, int capacity) {
+    this.name = name;
+    this.capacity = capacity;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+  }
+
+  /** Adds an item, waiting while the queue is full. */
+  void put(T item) throws InterruptedException {
+    enqueue(item);
+    ++putCount;
+  }
+
+  /** Tells the consumer that there will be no more items. */
+  void close() throws InterruptedException {
+    enqueue(END);
+  }
+
+  private void enqueue(Object item) throws InterruptedException {
+    checkNotAborted();
+    int depth = queue.size();
+    depthSum += depth;
+    maxDepth = Math.max(maxDepth, depth);
+    if (queue.offer(item)) {
+      return;
+    }
+    ++blockedPutCount;
+    long start = System.nanoTime();
+    while (!queue.offer(item, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+      checkNotAborted();
+    }
+    putWaitNanos += System.nanoTime() - start;
+  }
+
+  /**
+   * Removes the next item, waiting while the queue is empty.
+   *
+   * @return the next item or null if the producer closed the queue
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  T take() throws InterruptedException {
+    Object item = queue.poll();
+    if (item == null) {
+      long start = System.nanoTime();
+      while ((item = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+        checkNotAborted();
+      }
+      takeWaitNanos += System.nanoTime() - start;
+    }
+    return item == END ? null : (T) item;
+  }
+
+  /** Makes all pending and future operations on this queue throw {@link CancellationException}. */
+  void abort() {
+    aborted = true;
+    queue.clear();
+  }
+
+  private void checkNotAborted() {
+    if (aborted) {
+      throw new CancellationException("Stage queue " + name + " was aborted");
+    }
+  }
+
+  /** Returns the current amount of items in the queue. */
+  int depth() {
+    return queue.size();
+  }
+
+  /** Returns a human-readable summary of the metrics. */
+  String formatStats() {
+    return String.format(
+        "%s: %d items, average depth %.1f of %d, max depth %d, producer blocked %d times for %d"
+            + " ms, consumer waited %d ms",
+        name,
+        putCount,
+        putCount == 0 ? 0.0 : depthSum * 1.0 / putCount,
+        capacity,
+        maxDepth,
+        blockedPutCount,
+        TimeUnit.NANOSECONDS.toMillis(putWaitNanos),
+        TimeUnit.NANOSECONDS.toMillis(takeWaitNanos));
+  }
+}
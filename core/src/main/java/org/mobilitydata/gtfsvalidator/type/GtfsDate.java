@@ -18,9 +18,14 @@ package org.mobilitydata.gtfsvalidator.type;
 
 import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
 
 /** Represents GTFS date. */
 public class GtfsDate implements Comparable<GtfsDate> {
+  /** Number of days from 0000-01-01 to 1970-01-01. */
+  private static final int DAYS_0000_TO_1970 = 719528;
+
   private final LocalDate localDate;
 
   private GtfsDate(LocalDate localDate) {
@@ -43,24 +48,80 @@ public class GtfsDate implements Comparable<GtfsDate> {
    * @return a GtfsDate instance
    */
   public static GtfsDate fromString(String yyyymmdd) {
+    return new GtfsDate(parseLocalDate(yyyymmdd));
+  }
+
+  /**
+   * Parses date from string in {@code YYYYMMDD} format without allocating a GtfsDate object.
+   *
+   * @param yyyymmdd date in {@code YYYYMMDD} format, e.g. "20210102"
+   * @throws IllegalArgumentException for invalid date string
+   * @return the number of days since 1970-01-01
+   */
+  public static int parseEpochDay(String yyyymmdd) {
+    if (yyyymmdd.length() == 8) {
+      int year = parseDigits(yyyymmdd, 0, 4);
+      int month = parseDigits(yyyymmdd, 4, 6);
+      int day = parseDigits(yyyymmdd, 6, 8);
+      if (year >= 0
+          && month >= 1
+          && month <= 12
+          && day >= 1
+          && day <= Month.of(month).length(Year.isLeap(year))) {
+        return toEpochDay(year, month, day);
+      }
+    }
+    // Unusual and invalid strings take the slow path that also builds the exception.
+    return (int) parseLocalDate(yyyymmdd).toEpochDay();
+  }
+
+  private static LocalDate parseLocalDate(String yyyymmdd) {
     if (yyyymmdd.length() != 8) {
       throw new IllegalArgumentException("Date must have YYYYMMDD format: " + yyyymmdd);
     }
-    int year, month, day;
-    try {
-      year = Integer.parseInt(yyyymmdd.substring(0, 4));
-      month = Integer.parseInt(yyyymmdd.substring(4, 6));
-      day = Integer.parseInt(yyyymmdd.substring(6));
-    } catch (NumberFormatException ex) {
-      throw new IllegalArgumentException("Date must have YYYYMMDD format: " + yyyymmdd);
+    int year = parseDigits(yyyymmdd, 0, 4);
+    int month = parseDigits(yyyymmdd, 4, 6);
+    int day = parseDigits(yyyymmdd, 6, 8);
+    if (year < 0 || month < 0 || day < 0) {
+      // Integer.parseInt also accepts a sign and non-ASCII digits.
+      try {
+        year = Integer.parseInt(yyyymmdd.substring(0, 4));
+        month = Integer.parseInt(yyyymmdd.substring(4, 6));
+        day = Integer.parseInt(yyyymmdd.substring(6));
+      } catch (NumberFormatException ex) {
+        throw new IllegalArgumentException("Date must have YYYYMMDD format: " + yyyymmdd);
+      }
     }
     try {
-      return new GtfsDate(LocalDate.of(year, month, day));
+      return LocalDate.of(year, month, day);
     } catch (DateTimeException e) {
       throw new IllegalArgumentException("Invalid date " + yyyymmdd, e);
     }
   }
 
+  /** Parses ASCII digits in {@code [start, end)}, or returns -1 if there is any other character. */
+  private static int parseDigits(String s, int start, int end) {
+    int value = 0;
+    for (int i = start; i < end; ++i) {
+      int digit = s.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  /** Same as {@link LocalDate#toEpochDay()} for a valid date with a non-negative year. */
+  private static int toEpochDay(int year, int month, int day) {
+    int total = 365 * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+    total += (367 * month - 362) / 12 + day - 1;
+    if (month > 2) {
+      total -= Year.isLeap(year) ? 1 : 2;
+    }
+    return total - DAYS_0000_TO_1970;
+  }
+
   public int getYear() {
     return localDate.getYear();
   }
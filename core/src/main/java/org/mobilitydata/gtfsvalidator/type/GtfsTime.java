@@ -16,9 +16,6 @@
 
 package org.mobilitydata.gtfsvalidator.type;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * Represents GTFS time.
  *
@@ -26,7 +23,12 @@ import java.util.regex.Pattern;
  * days on which daylight savings time changes occur).
  */
 public class GtfsTime implements Comparable<GtfsTime> {
-  private static final Pattern HHMMCC_PATTERN = Pattern.compile("(\\d{1,3}):(\\d\\d):(\\d\\d)");
+  /**
+   * Shared instances for times from 00:00:00 to 48:00:00, which covers nearly all values found in
+   * feeds. Slots are filled lazily; a race may only create a duplicate of an equal object.
+   */
+  private static final GtfsTime[] CACHE = new GtfsTime[48 * 3600 + 1];
+
   private final int secondsSinceMidnight;
 
   private GtfsTime(int secondsSinceMidnight) {
@@ -34,6 +36,10 @@ public class GtfsTime implements Comparable<GtfsTime> {
   }
 
   public static GtfsTime fromHourMinuteSecond(int hour, int minute, int second) {
+    return fromSecondsSinceMidnight(toSecondsSinceMidnight(hour, minute, second));
+  }
+
+  private static int toSecondsSinceMidnight(int hour, int minute, int second) {
     if (hour < 0) {
       throw new IllegalArgumentException("Negative hour: " + hour);
     }
@@ -43,11 +49,19 @@ public class GtfsTime implements Comparable<GtfsTime> {
     if (second < 0 || second >= 60) {
       throw new IllegalArgumentException("Invalid second: " + second);
     }
-    return new GtfsTime(hour * 3600 + minute * 60 + second);
+    return hour * 3600 + minute * 60 + second;
   }
 
   public static GtfsTime fromSecondsSinceMidnight(int secondsSinceMidnight) {
-    return new GtfsTime(secondsSinceMidnight);
+    if (secondsSinceMidnight < 0 || secondsSinceMidnight >= CACHE.length) {
+      return new GtfsTime(secondsSinceMidnight);
+    }
+    GtfsTime time = CACHE[secondsSinceMidnight];
+    if (time == null) {
+      time = new GtfsTime(secondsSinceMidnight);
+      CACHE[secondsSinceMidnight] = time;
+    }
+    return time;
   }
 
   /**
@@ -57,15 +71,51 @@ public class GtfsTime implements Comparable<GtfsTime> {
    * @return GtfsTime object
    */
   public static GtfsTime fromString(String time) {
-    Matcher matcher = HHMMCC_PATTERN.matcher(time);
-    if (!matcher.matches()) {
-      throw new IllegalArgumentException(
-          "Time must have H:MM:SS, HH:MM:SS or HHH:MM:SS format: " + time);
+    return fromSecondsSinceMidnight(parseSecondsSinceMidnight(time));
+  }
+
+  /**
+   * Parses a time string, such as 12:02:34, without allocating a GtfsTime object.
+   *
+   * @param time the time in H:MM:SS, HH:MM:SS or HHH:MM:SS format
+   * @return seconds since midnight
+   * @throws IllegalArgumentException for invalid time string
+   */
+  public static int parseSecondsSinceMidnight(String time) {
+    // Accepts the same strings as the pattern (\d{1,3}):(\d\d):(\d\d) with ASCII digits.
+    int length = time.length();
+    int hourDigits = length - 6;
+    if (hourDigits < 1
+        || hourDigits > 3
+        || time.charAt(hourDigits) != ':'
+        || time.charAt(hourDigits + 3) != ':') {
+      throw invalidFormat(time);
+    }
+    int hour = parseDigits(time, 0, hourDigits);
+    int minute = parseDigits(time, hourDigits + 1, hourDigits + 3);
+    int second = parseDigits(time, hourDigits + 4, length);
+    if (hour < 0 || minute < 0 || second < 0) {
+      throw invalidFormat(time);
     }
-    return fromHourMinuteSecond(
-        Integer.parseInt(matcher.group(1)),
-        Integer.parseInt(matcher.group(2)),
-        Integer.parseInt(matcher.group(3)));
+    return toSecondsSinceMidnight(hour, minute, second);
+  }
+
+  /** Parses ASCII digits in {@code [start, end)}, or returns -1 if there is any other character. */
+  private static int parseDigits(String s, int start, int end) {
+    int value = 0;
+    for (int i = start; i < end; ++i) {
+      int digit = s.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static IllegalArgumentException invalidFormat(String time) {
+    return new IllegalArgumentException(
+        "Time must have H:MM:SS, HH:MM:SS or HHH:MM:SS format: " + time);
   }
 
   public int getSecondsSinceMidnight() {
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.util;
+
+import java.util.Arrays;
+
+/**
+ * Sorts long keys with a least significant digit radix sort.
+ *
+ * <p>Keys are typically packed with {@link #packKey} from the ordinal of a group and a sequence
+ * within the group, e.g., stop times by trip and stop_sequence. The sort makes one pass per byte of
+ * the keys and skips bytes that are the same in all keys, so that small group ordinals and
+ * sequences need few passes. It does not compare or box anything and allocates two arrays of keys
+ * and two arrays of positions.
+ */
+public final class RadixSort {
+  private static final int DIGIT_BITS = 8;
+  private static final int DIGIT_COUNT = Long.SIZE / DIGIT_BITS;
+  private static final int RADIX = 1 << DIGIT_BITS;
+
+  /** Packs a group ordinal and a sequence into a key that sorts by group, then by sequence. */
+  public static long packKey(int group, int sequence) {
+    // Flipping the sign bit keeps negative sequences before positive ones as unsigned values.
+    return ((long) group << 32) | ((sequence ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Returns positions of the first {@code length} keys in ascending order of the keys, compared as
+   * unsigned values. Equal keys keep their order. The keys are not modified.
+   */
+  public static int[] sortedPermutation(long[] keys, int length) {
+    int[] order = new int[length];
+    for (int i = 0; i < length; ++i) {
+      order[i] = i;
+    }
+    if (length < 2) {
+      return order;
+    }
+    int[] counts = new int[DIGIT_COUNT * RADIX];
+    for (int i = 0; i < length; ++i) {
+      long key = keys[i];
+      for (int digit = 0; digit < DIGIT_COUNT; ++digit) {
+        ++counts[digit * RADIX + digitOf(key, digit)];
+      }
+    }
+    long[] sortedKeys = Arrays.copyOf(keys, length);
+    long[] keyBuffer = null;
+    int[] orderBuffer = null;
+    for (int digit = 0; digit < DIGIT_COUNT; ++digit) {
+      int base = digit * RADIX;
+      if (counts[base + digitOf(sortedKeys[0], digit)] == length) {
+        // All keys have the same digit.
+        continue;
+      }
+      if (keyBuffer == null) {
+        keyBuffer = new long[length];
+        orderBuffer = new int[length];
+      }
+      int next = 0;
+      for (int value = 0; value < RADIX; ++value) {
+        int count = counts[base + value];
+        counts[base + value] = next;
+        next += count;
+      }
+      for (int i = 0; i < length; ++i) {
+        long key = sortedKeys[i];
+        int position = counts[base + digitOf(key, digit)]++;
+        keyBuffer[position] = key;
+        orderBuffer[position] = order[i];
+      }
+      long[] swapKeys = sortedKeys;
+      sortedKeys = keyBuffer;
+      keyBuffer = swapKeys;
+      int[] swapOrder = order;
+      order = orderBuffer;
+      orderBuffer = swapOrder;
+    }
+    return order;
+  }
+
+  private static int digitOf(long key, int digit) {
+    return (int) (key >>> (digit * DIGIT_BITS)) & (RADIX - 1);
+  }
+
+  private RadixSort() {}
+}
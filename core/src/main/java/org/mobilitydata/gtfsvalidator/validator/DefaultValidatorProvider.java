@@ -18,11 +18,14 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import static org.mobilitydata.gtfsvalidator.table.GtfsFeedLoader.SkippedValidatorReason.*;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.flogger.FluentLogger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntity;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntityContainer;
 import org.mobilitydata.gtfsvalidator.table.GtfsFeedContainer;
@@ -44,6 +47,8 @@ public class DefaultValidatorProvider implements ValidatorProvider {
           Class<? extends GtfsEntityContainer<?, ?>>, Class<? extends FileValidator>>
       singleFileValidators;
   private final List<Class<? extends FileValidator>> multiFileValidators;
+  private final ImmutableMap<Class<? extends FileValidator>, ImmutableSet<Class<?>>>
+      multiFileValidatorDependencies;
 
   /** Creates a validator provider that uses given validators. */
   public DefaultValidatorProvider(
@@ -57,6 +62,8 @@ public class DefaultValidatorProvider implements ValidatorProvider {
     this.singleEntityValidators = validatorLoader.getSingleEntityValidators();
     this.singleFileValidators = validatorLoader.getSingleFileValidators();
     this.multiFileValidators = validatorLoader.getMultiFileValidators();
+    this.multiFileValidatorDependencies =
+        ImmutableMap.copyOf(validatorLoader.getMultiFileValidatorDependencies());
   }
 
   /** Creates a validator provider that uses default validators for fields and headers. */
@@ -146,23 +153,38 @@ public class DefaultValidatorProvider implements ValidatorProvider {
     ArrayList<FileValidator> validators = new ArrayList<>();
     validators.ensureCapacity(multiFileValidators.size());
     for (Class<? extends FileValidator> validatorClass : multiFileValidators) {
-      try {
-        ValidatorWithDependencyStatus<? extends FileValidator> validatorWithStatus =
-            ValidatorLoader.createMultiFileValidator(validatorClass, feed, validationContext);
-        if (validatorWithStatus.dependenciesHaveErrors()) {
-          skippedValidators.put(MULTI_FILE_VALIDATORS_WITH_ERROR, validatorClass);
+      createMultiFileValidator(validatorClass, feed, skippedValidators).ifPresent(validators::add);
+    }
+    return validators;
+  }
+
+  @Override
+  public ImmutableMap<Class<? extends FileValidator>, ImmutableSet<Class<?>>>
+      getMultiFileValidatorDependencies() {
+    return multiFileValidatorDependencies;
+  }
+
+  @Override
+  public Optional<FileValidator> createMultiFileValidator(
+      Class<? extends FileValidator> validatorClass,
+      GtfsFeedContainer feed,
+      Multimap<GtfsFeedLoader.SkippedValidatorReason, Class<?>> skippedValidators) {
+    try {
+      ValidatorWithDependencyStatus<? extends FileValidator> validatorWithStatus =
+          ValidatorLoader.createMultiFileValidator(validatorClass, feed, validationContext);
+      if (validatorWithStatus.dependenciesHaveErrors()) {
+        skippedValidators.put(MULTI_FILE_VALIDATORS_WITH_ERROR, validatorClass);
+      } else {
+        if (validatorWithStatus.validator().shouldCallValidate()) {
+          return Optional.of(validatorWithStatus.validator());
         } else {
-          if (validatorWithStatus.validator().shouldCallValidate()) {
-            validators.add(validatorWithStatus.validator());
-          } else {
-            skippedValidators.put(VALIDATORS_NO_NEED_TO_RUN, validatorClass);
-          }
+          skippedValidators.put(VALIDATORS_NO_NEED_TO_RUN, validatorClass);
         }
-      } catch (ReflectiveOperationException | ValidatorLoaderException e) {
-        logger.atSevere().withCause(e).log(
-            "Cannot instantiate validator %s", validatorClass.getCanonicalName());
       }
+    } catch (ReflectiveOperationException | ValidatorLoaderException e) {
+      logger.atSevere().withCause(e).log(
+          "Cannot instantiate validator %s", validatorClass.getCanonicalName());
     }
-    return validators;
+    return Optional.empty();
   }
 }
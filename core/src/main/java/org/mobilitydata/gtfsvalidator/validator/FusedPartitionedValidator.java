@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.validator;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+
+/**
+ * Validates partitions of several validators with the same {@link
+ * PartitionedFileValidator#getPartitionScanKey()} in a single walk, see {@link PartitionScan}.
+ *
+ * <p>A validator that throws, either on a partition or before or after partitions, is reported
+ * once and stops at that point, like a validator that throws from {@link FileValidator#validate}.
+ * Other validators go on.
+ */
+final class FusedPartitionedValidator<P> extends FileValidator {
+  private final PartitionScan<P> scan;
+
+  FusedPartitionedValidator(List<PartitionedFileValidator<P>> validators) {
+    this.scan = new PartitionScan<>(validators);
+  }
+
+  /** Validates partitions of all validators on the calling thread. */
+  @Override
+  public void validate(NoticeContainer noticeContainer) {
+    scan.run(null, noticeContainer);
+  }
+
+  /**
+   * Validates partitions of all validators on the given pool.
+   *
+   * @param pool pool for chunks of partitions, or null to validate them on the calling thread
+   */
+  void validate(@Nullable ForkJoinPool pool, NoticeContainer noticeContainer) {
+    scan.run(pool, noticeContainer);
+  }
+}
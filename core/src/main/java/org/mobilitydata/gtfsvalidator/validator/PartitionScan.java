@@ -0,0 +1,296 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.validator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.flogger.FluentLogger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.notice.RuntimeExceptionInValidatorError;
+import org.mobilitydata.gtfsvalidator.validator.PartitionedFileValidator.PartitionAccumulator;
+
+/**
+ * A walk over the partitions of one or more {@link PartitionedFileValidator}s that share them.
+ *
+ * <p>Partitions may be split into contiguous chunks that are validated in parallel. Each chunk
+ * writes the notices of each validator to a container of its own, and containers are merged in the
+ * order of chunks, so that every validator reports the same notices as if it ran alone on the
+ * calling thread.
+ *
+ * <p>A runtime exception stops the validator that threw it, like an exception thrown from {@link
+ * FileValidator#validate}. Each validator keeps the index of its first failing partition, which
+ * only decreases while chunks run. Notices of the validator are kept up to the exception at that
+ * index and dropped for later partitions, its exception is reported as a single system error and
+ * {@link PartitionedFileValidator#afterPartitions} is skipped, however chunks were scheduled. Other
+ * validators of the walk go on.
+ *
+ * <p>Each chunk has its own {@link PartitionAccumulator} per validator. Accumulators are merged in
+ * the order of chunks on the calling thread, right before {@link
+ * PartitionedFileValidator#afterPartitions}.
+ *
+ * @param <P> type of a partition
+ */
+final class PartitionScan<P> {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  /** Number of chunks per thread of the pool that partitions are split into. */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  private final ImmutableList<PartitionedFileValidator<P>> validators;
+
+  PartitionScan(List<PartitionedFileValidator<P>> validators) {
+    this.validators = ImmutableList.copyOf(validators);
+  }
+
+  /**
+   * Validates all partitions.
+   *
+   * <p>{@link PartitionedFileValidator#beforePartitions} and {@link
+   * PartitionedFileValidator#afterPartitions} run on the calling thread. Partitions are taken from
+   * the first validator whose {@link PartitionedFileValidator#beforePartitions} succeeds.
+   *
+   * @param pool pool for chunks of partitions, or null to validate them on the calling thread
+   * @param noticeContainer container for accumulating notices of all validators
+   */
+  void run(@Nullable ForkJoinPool pool, NoticeContainer noticeContainer) {
+    run(pool, Collections.nCopies(validators.size(), noticeContainer));
+  }
+
+  /**
+   * Validates all partitions, reporting notices of each validator to a container of its own.
+   *
+   * @param pool pool for chunks of partitions, or null to validate them on the calling thread
+   * @param noticeContainers container of each validator, in the order of validators
+   */
+  void run(@Nullable ForkJoinPool pool, List<NoticeContainer> noticeContainers) {
+    List<PartitionedFileValidator<P>> started = new ArrayList<>();
+    List<NoticeContainer> startedNotices = new ArrayList<>();
+    List<List<P>> partitionHolder = new ArrayList<>(1);
+    for (int i = 0; i < validators.size(); ++i) {
+      PartitionedFileValidator<P> validator = validators.get(i);
+      if (ValidatorUtil.safeValidate(
+          c -> {
+            validator.beforePartitions(c);
+            if (partitionHolder.isEmpty()) {
+              partitionHolder.add(validator.getPartitions());
+            }
+          },
+          validator.getClass(),
+          noticeContainers.get(i))) {
+        started.add(validator);
+        startedNotices.add(noticeContainers.get(i));
+      }
+    }
+    if (started.isEmpty()) {
+      return;
+    }
+    List<P> partitions = partitionHolder.get(0);
+    if (!(partitions instanceof RandomAccess)) {
+      partitions = new ArrayList<>(partitions);
+    }
+    Walk<P> walk = new Walk<>(started, partitions);
+
+    int chunkCount =
+        pool == null
+            ? 1
+            : Math.max(1, Math.min(partitions.size(), pool.getParallelism() * CHUNKS_PER_THREAD));
+    Chunk<P>[] chunks = newChunks(chunkCount);
+    if (chunkCount == 1) {
+      // Notices go straight to the containers, there is nothing to merge.
+      chunks[0] = new Chunk<>(walk, 0, partitions.size(), startedNotices);
+      chunks[0].validate();
+    } else {
+      pool.invoke(new ChunksTask<>(walk, chunks, 0, chunkCount));
+    }
+
+    for (Chunk<P> chunk : chunks) {
+      for (int i = 0; i < started.size(); ++i) {
+        int firstFailure = walk.firstFailures[i].get();
+        if (chunk.from > firstFailure) {
+          continue;
+        }
+        NoticeContainer noticeContainer = startedNotices.get(i);
+        if (chunk.notices[i] != noticeContainer) {
+          noticeContainer.addAllWithinLimits(chunk.notices[i]);
+        }
+        if (chunk.exceptions[i] != null && chunk.failedPartitions[i] == firstFailure) {
+          reportException(started.get(i), chunk.exceptions[i], noticeContainer);
+        }
+      }
+    }
+    for (int i = 0; i < started.size(); ++i) {
+      if (walk.firstFailures[i].get() == partitions.size()) {
+        int validatorIndex = i;
+        PartitionedFileValidator<P> validator = started.get(i);
+        ValidatorUtil.safeValidate(
+            c -> {
+              for (Chunk<P> chunk : chunks) {
+                if (chunk.accumulators[validatorIndex] != null) {
+                  chunk.accumulators[validatorIndex].merge();
+                }
+              }
+              validator.afterPartitions(c);
+            },
+            validator.getClass(),
+            startedNotices.get(i));
+      }
+    }
+  }
+
+  private static void reportException(
+      FileValidator validator, RuntimeException e, NoticeContainer noticeContainer) {
+    String validatorName = validator.getClass().getCanonicalName();
+    logger.atSevere().withCause(e).log("Runtime exception in validator %s", validatorName);
+    noticeContainer.addSystemError(new RuntimeExceptionInValidatorError(validatorName, e));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <P> Chunk<P>[] newChunks(int chunkCount) {
+    return (Chunk<P>[]) new Chunk<?>[chunkCount];
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <P> PartitionAccumulator<P>[] newAccumulators(int validatorCount) {
+    return (PartitionAccumulator<P>[]) new PartitionAccumulator<?>[validatorCount];
+  }
+
+  /** Validators of a walk with their partitions, and the first failing partition of each. */
+  private static final class Walk<P> {
+    final List<PartitionedFileValidator<P>> validators;
+    final List<P> partitions;
+
+    /** First partition whose validation threw, for each validator, or the number of partitions. */
+    final AtomicInteger[] firstFailures;
+
+    Walk(List<PartitionedFileValidator<P>> validators, List<P> partitions) {
+      this.validators = validators;
+      this.partitions = partitions;
+      this.firstFailures = new AtomicInteger[validators.size()];
+      for (int i = 0; i < firstFailures.length; ++i) {
+        firstFailures[i] = new AtomicInteger(partitions.size());
+      }
+    }
+  }
+
+  /** Consecutive partitions that a single thread validates, with notices of each validator. */
+  private static final class Chunk<P> {
+    private final Walk<P> walk;
+    final int from;
+    private final int to;
+    final NoticeContainer[] notices;
+    final PartitionAccumulator<P>[] accumulators;
+    final int[] failedPartitions;
+    final RuntimeException[] exceptions;
+
+    /**
+     * @param directNotices containers that validators write to, or null to give each validator a
+     *     container of its own that is merged later
+     */
+    Chunk(Walk<P> walk, int from, int to, @Nullable List<NoticeContainer> directNotices) {
+      this.walk = walk;
+      this.from = from;
+      this.to = to;
+      int validatorCount = walk.validators.size();
+      this.notices = new NoticeContainer[validatorCount];
+      for (int i = 0; i < validatorCount; ++i) {
+        notices[i] = directNotices != null ? directNotices.get(i) : new NoticeContainer();
+      }
+      this.accumulators = newAccumulators(validatorCount);
+      this.failedPartitions = new int[validatorCount];
+      this.exceptions = new RuntimeException[validatorCount];
+    }
+
+    /** Validates partitions of the chunk, skipping validators that threw on earlier ones. */
+    void validate() {
+      List<PartitionedFileValidator<P>> validators = walk.validators;
+      boolean[] failed = new boolean[validators.size()];
+      if (from < to) {
+        for (int i = 0; i < failed.length; ++i) {
+          try {
+            accumulators[i] = validators.get(i).newAccumulator();
+          } catch (RuntimeException e) {
+            failed[i] = true;
+            fail(i, from, e);
+          }
+        }
+      }
+      for (int partition = from; partition < to; ++partition) {
+        P value = walk.partitions.get(partition);
+        for (int i = 0; i < failed.length; ++i) {
+          if (failed[i] || walk.firstFailures[i].get() <= partition) {
+            continue;
+          }
+          try {
+            validators.get(i).validatePartition(value, notices[i]);
+            if (accumulators[i] != null) {
+              accumulators[i].accumulate(value);
+            }
+          } catch (RuntimeException e) {
+            failed[i] = true;
+            fail(i, partition, e);
+          }
+        }
+      }
+    }
+
+    private void fail(int validator, int partition, RuntimeException e) {
+      failedPartitions[validator] = partition;
+      exceptions[validator] = e;
+      walk.firstFailures[validator].accumulateAndGet(partition, Math::min);
+    }
+  }
+
+  /** Validates a range of chunks, split in halves. */
+  private static final class ChunksTask<P> extends RecursiveAction {
+    private final Walk<P> walk;
+    private final Chunk<P>[] chunks;
+    private final int fromChunk;
+    private final int toChunk;
+
+    ChunksTask(Walk<P> walk, Chunk<P>[] chunks, int fromChunk, int toChunk) {
+      this.walk = walk;
+      this.chunks = chunks;
+      this.fromChunk = fromChunk;
+      this.toChunk = toChunk;
+    }
+
+    @Override
+    protected void compute() {
+      if (toChunk - fromChunk > 1) {
+        int middleChunk = (fromChunk + toChunk) >>> 1;
+        invokeAll(
+            new ChunksTask<>(walk, chunks, fromChunk, middleChunk),
+            new ChunksTask<>(walk, chunks, middleChunk, toChunk));
+        return;
+      }
+      Chunk<P> chunk = new Chunk<>(walk, chunkStart(fromChunk), chunkStart(fromChunk + 1), null);
+      chunks[fromChunk] = chunk;
+      chunk.validate();
+    }
+
+    private int chunkStart(int chunk) {
+      return (int) ((long) chunk * walk.partitions.size() / chunks.length);
+    }
+  }
+}
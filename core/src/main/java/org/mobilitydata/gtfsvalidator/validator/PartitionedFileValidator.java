@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.validator;
+
+import java.util.List;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+
+/**
+ * A file validator whose work splits into independent partitions, e.g., one per trip, shape or
+ * block.
+ *
+ * <p>The loader may validate partitions in parallel, see {@link
+ * ValidatorUtil#invokeFileValidator}. Partitions are then split into contiguous chunks that write
+ * to notice containers of their own, merged in the order of {@link #getPartitions()}, so that
+ * notices are reported in the same order as by {@link #validate}. Implementations follow a single
+ * threading model:
+ *
+ * <ul>
+ *   <li>{@link #beforePartitions}, {@link PartitionAccumulator#merge} and {@link #afterPartitions}
+ *       run on the calling thread, one after another, so state they write needs no
+ *       synchronization.
+ *   <li>{@link #validatePartition} may run concurrently for different partitions. It only reads
+ *       state of the validator and writes notices to the given container.
+ *   <li>State that {@link #afterPartitions} needs from all partitions, e.g., stations that stops
+ *       refer to, is collected by the {@link PartitionAccumulator} of each chunk, which a single
+ *       thread uses, and merged into the validator in the order of partitions.
+ * </ul>
+ *
+ * @param <P> type of a partition, e.g., a shape ID or the stop times of a trip
+ */
+public abstract class PartitionedFileValidator<P> extends FileValidator {
+  /**
+   * Returns partitions in the order their notices are reported.
+   *
+   * <p>Validators that have nothing to validate, e.g., because a table is empty, return an empty
+   * list.
+   */
+  public abstract List<P> getPartitions();
+
+  /**
+   * Validates a single partition.
+   *
+   * <p>This may be called concurrently for different partitions, so implementations must not
+   * write state of the validator, see {@link #newAccumulator}.
+   */
+  public abstract void validatePartition(P partition, NoticeContainer noticeContainer);
+
+  /**
+   * Prepares state that partitions share, e.g., indexes on other tables, before the first
+   * partition is validated.
+   *
+   * <p>Partitions are not validated if this throws.
+   */
+  public void beforePartitions(NoticeContainer noticeContainer) {}
+
+  /**
+   * Reports notices that need all partitions, e.g., entities that no partition refers to, after
+   * the last partition is validated.
+   */
+  public void afterPartitions(NoticeContainer noticeContainer) {}
+
+  /**
+   * Returns a new accumulator for a chunk of consecutive partitions, or null if {@link
+   * #afterPartitions} needs no state of partitions.
+   *
+   * <p>This may be called from any thread.
+   */
+  @Nullable
+  public PartitionAccumulator<P> newAccumulator() {
+    return null;
+  }
+
+  /**
+   * Returns a key that names how partitions are built, e.g., stop times grouped by trip or the
+   * entities of a table, or null if no other validator shares them.
+   *
+   * <p>Validators that return equal keys must return equal partitions. Single-file validators of a
+   * table, or multi-file validators of a feed, that share a key are validated in a single walk over
+   * the partitions: each partition is passed to all of them, one after another, while its entities
+   * are still in CPU caches.
+   */
+  @Nullable
+  public Object getPartitionScanKey() {
+    return null;
+  }
+
+  /** Validates all partitions one after another, as a single chunk. */
+  @Override
+  public void validate(NoticeContainer noticeContainer) {
+    beforePartitions(noticeContainer);
+    PartitionAccumulator<P> accumulator = newAccumulator();
+    for (P partition : getPartitions()) {
+      validatePartition(partition, noticeContainer);
+      if (accumulator != null) {
+        accumulator.accumulate(partition);
+      }
+    }
+    if (accumulator != null) {
+      accumulator.merge();
+    }
+    afterPartitions(noticeContainer);
+  }
+
+  /**
+   * State that a chunk of consecutive partitions collects for {@link
+   * PartitionedFileValidator#afterPartitions}.
+   *
+   * <p>An accumulator is used by a single thread, so it needs no synchronization.
+   *
+   * @param <P> type of a partition
+   */
+  public interface PartitionAccumulator<P> {
+    /** Collects state of a partition right after the partition is validated. */
+    void accumulate(P partition);
+
+    /**
+     * Adds the collected state to the validator. This is called on the calling thread for each
+     * chunk in the order of partitions, before {@link PartitionedFileValidator#afterPartitions}.
+     */
+    void merge();
+  }
+}
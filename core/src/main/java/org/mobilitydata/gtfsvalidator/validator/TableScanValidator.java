@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.validator;
+
+import java.util.List;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.table.GtfsEntity;
+import org.mobilitydata.gtfsvalidator.table.GtfsTableContainer;
+
+/**
+ * Base class for validators that visit every entity of a table, e.g., every stop of stops.txt.
+ *
+ * <p>All validators that scan the same table container share a single sweep over its entities:
+ * each entity is passed to every validator, one after another. Single-file validators of the table
+ * share the sweep once the table is loaded, and multi-file validators share it once the feed is
+ * loaded. The sweep may be split across threads, see {@link ValidatorUtil#invokeFileValidator}.
+ *
+ * <p>State that needs other tables is better prepared in {@link #beforePartitions} than looked up
+ * for every entity. Entities may be visited concurrently, so state collected from entities goes to
+ * an accumulator, see {@link PartitionedFileValidator}.
+ *
+ * @param <T> type of the scanned entities
+ */
+public abstract class TableScanValidator<T extends GtfsEntity> extends PartitionedFileValidator<T> {
+
+  private final GtfsTableContainer<T, ?> scannedTable;
+
+  protected TableScanValidator(GtfsTableContainer<T, ?> scannedTable) {
+    this.scannedTable = scannedTable;
+  }
+
+  /**
+   * Validates a single entity of the scanned table.
+   *
+   * @param entity entity to validate
+   * @param noticeContainer container for notices
+   */
+  public abstract void validateEntity(T entity, NoticeContainer noticeContainer);
+
+  /** Returns entities of the scanned table in the order of the file. */
+  @Override
+  public final List<T> getPartitions() {
+    return scannedTable.getEntities();
+  }
+
+  @Override
+  public final void validatePartition(T entity, NoticeContainer noticeContainer) {
+    validateEntity(entity, noticeContainer);
+  }
+
+  /** Returns the scanned table, so that validators of the same container share a sweep. */
+  @Override
+  public final Object getPartitionScanKey() {
+    return scannedTable;
+  }
+}
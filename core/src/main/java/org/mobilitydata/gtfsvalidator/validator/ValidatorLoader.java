@@ -18,11 +18,13 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ListMultimap;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -47,6 +49,8 @@ public class ValidatorLoader {
           Class<? extends GtfsEntityContainer<?, ?>>, Class<? extends FileValidator>>
       singleFileValidators = ArrayListMultimap.create();
   private final List<Class<? extends FileValidator>> multiFileValidators = new ArrayList<>();
+  private final Map<Class<? extends FileValidator>, ImmutableSet<Class<?>>>
+      multiFileValidatorDependencies = new LinkedHashMap<>();
 
   /** Create a validator with the specified validator classes loaded. */
   public static ValidatorLoader createForClasses(ImmutableList<Class<?>> validatorClasses)
@@ -86,6 +90,17 @@ public class ValidatorLoader {
     return multiFileValidators;
   }
 
+  /**
+   * Tables that are injected to loaded cross-file validators, keyed by validator class in the order
+   * of {@link #getMultiFileValidators()}.
+   *
+   * <p>A validator that has the whole feed injected depends on {@link GtfsFeedContainer} instead.
+   */
+  public Map<Class<? extends FileValidator>, ImmutableSet<Class<?>>>
+      getMultiFileValidatorDependencies() {
+    return multiFileValidatorDependencies;
+  }
+
   @SuppressWarnings("unchecked")
   private <T extends SingleEntityValidator<?>> void addSingleEntityValidator(
       Class<T> validatorClass) {
@@ -129,6 +144,11 @@ public class ValidatorLoader {
       singleFileValidators.put(injectedTables.get(0), validatorClass);
     } else {
       multiFileValidators.add(validatorClass);
+      multiFileValidatorDependencies.put(
+          validatorClass,
+          injectFeedContainer
+              ? ImmutableSet.of(GtfsFeedContainer.class)
+              : ImmutableSet.copyOf(injectedTables));
     }
   }
 
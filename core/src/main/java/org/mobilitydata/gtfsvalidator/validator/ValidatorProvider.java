@@ -16,8 +16,11 @@
 
 package org.mobilitydata.gtfsvalidator.validator;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import java.util.List;
+import java.util.Optional;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntity;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntityContainer;
 import org.mobilitydata.gtfsvalidator.table.GtfsFeedContainer;
@@ -71,11 +74,42 @@ public interface ValidatorProvider {
    * will not be returned by this method, but instead noted with a call to the `skippedValidators`
    * callback.
    *
-   * <p>Use {@link ValidatorUtil#safeValidate} to invoke each validator.
+   * <p>Use {@link ValidatorUtil#invokeFileValidator} to invoke each validator.
    *
    * @param feed GTFS feed to validate
    * @param skippedValidators
    */
   List<FileValidator> createMultiFileValidators(
       GtfsFeedContainer feed, Multimap<SkippedValidatorReason, Class<?>> skippedValidators);
+
+  /**
+   * Returns the classes of cross-table validators with the tables that are injected to each of
+   * them, in the order in which {@link #createMultiFileValidators} creates validators. A validator
+   * that needs the whole feed depends on {@link GtfsFeedContainer}.
+   *
+   * <p>The feed loader may create each validator with {@link #createMultiFileValidator} as soon as
+   * its tables are loaded. Returns an empty map if validators can only be created all at once.
+   */
+  default ImmutableMap<Class<? extends FileValidator>, ImmutableSet<Class<?>>>
+      getMultiFileValidatorDependencies() {
+    return ImmutableMap.of();
+  }
+
+  /**
+   * Creates a cross-table validator of a class returned by {@link
+   * #getMultiFileValidatorDependencies}, unless it is skipped like in {@link
+   * #createMultiFileValidators}.
+   *
+   * <p>The feed loader only calls this for classes returned by {@link
+   * #getMultiFileValidatorDependencies}, so providers that return an empty map may return {@link
+   * Optional#empty()}.
+   *
+   * @param validatorClass class of the validator
+   * @param feed GTFS feed that holds at least the tables the validator depends on
+   * @param skippedValidators A map where to put the validator class if it does not run.
+   */
+  Optional<FileValidator> createMultiFileValidator(
+      Class<? extends FileValidator> validatorClass,
+      GtfsFeedContainer feed,
+      Multimap<SkippedValidatorReason, Class<?>> skippedValidators);
 }
@@ -16,9 +16,15 @@
 
 package org.mobilitydata.gtfsvalidator.validator;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.MultimapBuilder;
 import com.google.common.flogger.FluentLogger;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.notice.RuntimeExceptionInValidatorError;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntity;
@@ -51,11 +57,136 @@ public final class ValidatorUtil {
    */
   public static <T extends GtfsEntity> void invokeSingleFileValidators(
       List<FileValidator> validators, NoticeContainer noticeContainer) {
+    invokeSingleFileValidators(validators, null, noticeContainer);
+  }
+
+  /**
+   * Invokes single-file validators, validating partitions of each {@link
+   * PartitionedFileValidator} on the given pool.
+   *
+   * <p>Partitioned validators with the same scan key share a single walk over their partitions, see
+   * {@link #fusePartitionScans}.
+   *
+   * @param validators list of single-file validators
+   * @param pool pool for partitions, or null to run validators on the calling thread
+   * @param noticeContainer container for accumulating notices
+   */
+  public static void invokeSingleFileValidators(
+      List<FileValidator> validators,
+      @Nullable ForkJoinPool pool,
+      NoticeContainer noticeContainer) {
+    for (FileValidator validator : fusePartitionScans(validators)) {
+      invokeFileValidator(validator, pool, noticeContainer);
+    }
+  }
+
+  /**
+   * Replaces partitioned validators that have the same {@link
+   * PartitionedFileValidator#getPartitionScanKey()} by a single validator that passes each
+   * partition to all of them.
+   *
+   * <p>The fused validator takes the place of the first validator of its group, so the notices of
+   * the others come earlier than before. Notices of each validator keep their order.
+   *
+   * @param validators list of validators of the same table, or of multi-file validators of a feed
+   * @return validators to invoke instead, in the same order otherwise
+   */
+  public static List<FileValidator> fusePartitionScans(List<? extends FileValidator> validators) {
+    ListMultimap<Object, PartitionedFileValidator<?>> validatorsByScanKey =
+        MultimapBuilder.linkedHashKeys().arrayListValues().build();
     for (FileValidator validator : validators) {
+      @Nullable Object scanKey = getPartitionScanKey(validator);
+      if (scanKey != null) {
+        validatorsByScanKey.put(scanKey, (PartitionedFileValidator<?>) validator);
+      }
+    }
+    List<FileValidator> fused = new ArrayList<>();
+    for (FileValidator validator : validators) {
+      @Nullable Object scanKey = getPartitionScanKey(validator);
+      if (scanKey == null) {
+        fused.add(validator);
+        continue;
+      }
+      List<PartitionedFileValidator<?>> scan = validatorsByScanKey.get(scanKey);
+      if (scan.size() == 1) {
+        fused.add(validator);
+      } else if (scan.get(0) == validator) {
+        fused.add(fuse(scan));
+      }
+    }
+    return fused;
+  }
+
+  /**
+   * Returns the {@link PartitionedFileValidator#getPartitionScanKey()} of a validator, or null if
+   * the validator does not share a walk over its partitions.
+   */
+  @Nullable
+  public static Object getPartitionScanKey(FileValidator validator) {
+    return validator instanceof PartitionedFileValidator
+        ? ((PartitionedFileValidator<?>) validator).getPartitionScanKey()
+        : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <P> FusedPartitionedValidator<P> fuse(List<PartitionedFileValidator<?>> scan) {
+    // Validators with the same scan key have the same partitions.
+    return new FusedPartitionedValidator<>((List<PartitionedFileValidator<P>>) (List<?>) scan);
+  }
+
+  /**
+   * Invokes partitioned validators with the same {@link
+   * PartitionedFileValidator#getPartitionScanKey()} in a single walk over their partitions, like
+   * {@link #fusePartitionScans}, while each validator reports to a container of its own.
+   *
+   * @param validators validators with the same scan key
+   * @param pool pool for partitions, or null to run validators on the calling thread
+   * @param noticeContainers container of each validator, in the order of validators
+   */
+  public static void invokePartitionScan(
+      List<? extends FileValidator> validators,
+      @Nullable ForkJoinPool pool,
+      List<NoticeContainer> noticeContainers) {
+    List<PartitionedFileValidator<?>> scan = new ArrayList<>(validators.size());
+    for (FileValidator validator : validators) {
+      scan.add((PartitionedFileValidator<?>) validator);
+    }
+    scanOf(scan).run(pool, noticeContainers);
+  }
+
+  /**
+   * Invokes a single-file or multi-file validator.
+   *
+   * <p>Partitions of a {@link PartitionedFileValidator}, or of validators fused by {@link
+   * #fusePartitionScans}, are split into contiguous chunks that are validated in parallel on the
+   * given pool. Notices are the same as if the validator ran on the calling thread, see {@link
+   * PartitionScan}.
+   *
+   * @param validator validator to invoke
+   * @param pool pool for partitions, or null to run the validator on the calling thread
+   * @param noticeContainer container for accumulating notices
+   */
+  public static void invokeFileValidator(
+      FileValidator validator, @Nullable ForkJoinPool pool, NoticeContainer noticeContainer) {
+    if (pool != null && validator instanceof FusedPartitionedValidator) {
+      ((FusedPartitionedValidator<?>) validator).validate(pool, noticeContainer);
+    } else if (pool != null && validator instanceof PartitionedFileValidator) {
+      scanOf((PartitionedFileValidator<?>) validator).run(pool, noticeContainer);
+    } else {
       safeValidate(validator::validate, validator.getClass(), noticeContainer);
     }
   }
 
+  private static <P> PartitionScan<P> scanOf(PartitionedFileValidator<P> validator) {
+    return new PartitionScan<>(ImmutableList.of(validator));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <P> PartitionScan<P> scanOf(List<PartitionedFileValidator<?>> scan) {
+    // Validators with the same scan key have the same partitions.
+    return new PartitionScan<>((List<PartitionedFileValidator<P>>) (List<?>) scan);
+  }
+
   /**
    * Invokes the given validation function.
    *
@@ -65,18 +196,21 @@ public final class ValidatorUtil {
    * @param validate a function to invoke
    * @param validatorClass the class of the validator for debugging purposes
    * @param noticeContainer the container for storing notices
+   * @return false if the function raised an exception
    */
-  public static void safeValidate(
+  public static boolean safeValidate(
       Consumer<NoticeContainer> validate,
       Class<?> validatorClass,
       NoticeContainer noticeContainer) {
     try {
       validate.accept(noticeContainer);
+      return true;
     } catch (RuntimeException e) {
       logger.atSevere().withCause(e).log(
           "Runtime exception in validator %s", validatorClass.getCanonicalName());
       noticeContainer.addSystemError(
           new RuntimeExceptionInValidatorError(validatorClass.getCanonicalName(), e));
+      return false;
     }
   }
 
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.notice;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ConcurrentNoticeContainerTest {
+  @Test
+  public void readsStripesInOrderOfCreation() {
+    ConcurrentNoticeContainer container = new ConcurrentNoticeContainer();
+    ValidationNotice first = new UnknownFileNotice("first.txt");
+    ValidationNotice fromStripe1 = new MissingRequiredFileNotice("stops.txt");
+    ValidationNotice fromStripe2 = new MissingRequiredFileNotice("agency.txt");
+    ValidationNotice last = new UnknownFileNotice("last.txt");
+
+    container.addValidationNotice(first);
+    NoticeContainer stripe1 = container.newStripe();
+    NoticeContainer stripe2 = container.newStripe();
+    container.addValidationNotice(last);
+    stripe2.addValidationNotice(fromStripe2);
+    stripe1.addValidationNotice(fromStripe1);
+
+    assertThat(container.getValidationNotices())
+        .containsExactly(first, fromStripe1, fromStripe2, last)
+        .inOrder();
+    assertThat(container.hasValidationErrors()).isTrue();
+  }
+
+  @Test
+  public void exportsLikeNoticeContainer() {
+    NoticeContainer expected = new NoticeContainer();
+    ConcurrentNoticeContainer container = new ConcurrentNoticeContainer();
+    for (NoticeContainer notices : List.of(expected, container.newStripe())) {
+      notices.addValidationNotice(new MissingRequiredFileNotice("stops.txt"));
+      notices.addValidationNotice(new MissingRecommendedFileNotice("feed_info.txt"));
+      notices.addSystemError(
+          new RuntimeExceptionInValidatorError(
+              "FaultyValidator", new IndexOutOfBoundsException("Index 0 out of bounds")));
+    }
+
+    Gson gson = new Gson();
+    assertThat(gson.toJson(container.exportValidationNotices()))
+        .isEqualTo(gson.toJson(expected.exportValidationNotices()));
+    assertThat(gson.toJson(container.exportSystemErrors()))
+        .isEqualTo(gson.toJson(expected.exportSystemErrors()));
+  }
+
+  @Test
+  public void enforcesLimitsAcrossStripes() throws Exception {
+    ConcurrentNoticeContainer container = new ConcurrentNoticeContainer(1500, 1000, 10);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int task = 0; task < 4; ++task) {
+      NoticeContainer stripe = container.newStripe();
+      futures.add(
+          executor.submit(
+              () -> {
+                for (int i = 0; i < 500; ++i) {
+                  stripe.addValidationNotice(new MissingRequiredFileNotice("file" + i));
+                  stripe.addValidationNotice(new MissingRecommendedFileNotice("file" + i));
+                }
+              }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    List<ValidationNotice> notices = container.getValidationNotices();
+    assertThat(notices).hasSize(1500);
+    assertThat(notices.stream().filter(n -> n instanceof MissingRequiredFileNotice).count())
+        .isAtMost(1000);
+    assertThat(notices.stream().filter(n -> n instanceof MissingRecommendedFileNotice).count())
+        .isAtMost(1000);
+    assertThat(new Gson().toJson(container.exportValidationNotices()))
+        .contains("\"totalNotices\":2000");
+  }
+
+  @Test
+  public void limitPerType_keepsNoticesThatWereAddedFirst() {
+    ConcurrentNoticeContainer container = new ConcurrentNoticeContainer(100, 3, 10);
+    NoticeContainer stripe1 = container.newStripe();
+    NoticeContainer stripe2 = container.newStripe();
+    ValidationNotice first = new MissingRequiredFileNotice("stops.txt");
+    ValidationNotice second = new MissingRequiredFileNotice("trips.txt");
+    ValidationNotice third = new MissingRequiredFileNotice("routes.txt");
+    ValidationNotice fourth = new MissingRequiredFileNotice("agency.txt");
+    ValidationNotice other = new UnknownFileNotice("other.txt");
+
+    stripe1.addValidationNotice(first);
+    stripe2.addValidationNotice(second);
+    stripe2.addValidationNotice(other);
+    stripe2.addValidationNotice(third);
+    // The limit of the type is reached, so the stripe does not store the notice.
+    stripe1.addValidationNotice(fourth);
+
+    assertThat(stripe1.getValidationNotices()).containsExactly(first);
+    assertThat(container.getValidationNotices())
+        .containsExactly(first, second, other, third)
+        .inOrder();
+    assertThat(new Gson().toJson(container.exportValidationNotices()))
+        .contains("\"totalNotices\":4");
+  }
+
+  @Test
+  public void directNotices_keepOrderOfCallsAcrossThreads() throws Exception {
+    ConcurrentNoticeContainer container = new ConcurrentNoticeContainer();
+    ValidationNotice first = new UnknownFileNotice("first.txt");
+    ValidationNotice second = new UnknownFileNotice("second.txt");
+    ValidationNotice third = new UnknownFileNotice("third.txt");
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    container.addValidationNotice(first);
+    executor.submit(() -> container.addValidationNotice(second)).get();
+    container.addValidationNotice(third);
+    executor.shutdown();
+
+    assertThat(container.getValidationNotices()).containsExactly(first, second, third).inOrder();
+  }
+
+  @Test
+  public void clear() {
+    ConcurrentNoticeContainer container = new ConcurrentNoticeContainer();
+    container.newStripe().addValidationNotice(new MissingRequiredFileNotice("stops.txt"));
+
+    container.clear();
+
+    assertThat(container.isEmpty()).isTrue();
+    assertThat(container.hasValidationErrors()).isFalse();
+    assertThat(container.getValidationNotices()).isEmpty();
+  }
+}
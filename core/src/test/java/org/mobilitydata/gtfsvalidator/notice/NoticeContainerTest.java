@@ -181,6 +181,27 @@ public class NoticeContainerTest {
     assertThat(noticeContainer.getValidationNotices()).hasSize(MAX_TOTAL_VALIDATION_NOTICES);
   }
 
+  @Test
+  public void addAllWithinLimits_sameAsSingleContainer() {
+    NoticeContainer single = new NoticeContainer(50, 15, 15);
+    NoticeContainer merged = new NoticeContainer(50, 15, 15);
+    for (int part = 0; part < 3; ++part) {
+      NoticeContainer partNotices = new NoticeContainer(50, 15, 15);
+      for (int i = 0; i < 10; ++i) {
+        ValidationNotice notice = new DoubleFieldNotice(part * 10 + i);
+        single.addValidationNotice(notice);
+        partNotices.addValidationNotice(notice);
+      }
+      merged.addAllWithinLimits(partNotices);
+    }
+
+    assertThat(merged.getValidationNotices()).hasSize(15);
+    assertThat(merged.getValidationNotices())
+        .containsExactlyElementsIn(single.getValidationNotices())
+        .inOrder();
+    assertThat(merged.exportValidationNotices()).isEqualTo(single.exportValidationNotices());
+  }
+
   @Test
   public void exportNotices_shouldReflectTheTotalNumberOfNoticesAndContexts() {
     NoticeContainer container = new NoticeContainer(26, 8, 3);
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.notice;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.notice.testnotices.DoubleFieldNotice;
+import org.mobilitydata.gtfsvalidator.notice.testnotices.StringFieldNotice;
+
+@RunWith(JUnit4.class)
+public class NoticeTypeTest {
+  @Test
+  public void of_isSameForEachClass() {
+    NoticeType type = NoticeType.of(StringFieldNotice.class);
+
+    assertThat(NoticeType.of(StringFieldNotice.class)).isSameInstanceAs(type);
+    assertThat(new StringFieldNotice("value").getNoticeType()).isSameInstanceAs(type);
+    assertThat(NoticeType.byId(type.getId())).isSameInstanceAs(type);
+    assertThat(type.getId()).isLessThan(NoticeType.count());
+    assertThat(NoticeType.of(DoubleFieldNotice.class).getId()).isNotEqualTo(type.getId());
+  }
+
+  @Test
+  public void indexedNoticesHaveIds() {
+    // Notices of the core are listed in the index that is written at build time.
+    int count = NoticeType.count();
+
+    NoticeType.of(UnknownFileNotice.class);
+    NoticeType.of(MissingRequiredFileNotice.class);
+
+    assertThat(NoticeType.count()).isEqualTo(count);
+  }
+
+  @Test
+  public void resolvesCodeAndSeverity() {
+    NoticeType type = NoticeType.of(StringFieldNotice.class);
+
+    assertThat(type.getCode()).isEqualTo("string_field");
+    assertThat(type.getDefaultSeverityLevel()).isEqualTo(SeverityLevel.ERROR);
+    assertThat(type.getMappingKey(SeverityLevel.WARNING)).isEqualTo("string_field1");
+  }
+
+  @Test
+  public void countIndex_isDenseAndMapsBackToKey() {
+    NoticeType type = NoticeType.of(StringFieldNotice.class);
+    int index = type.getCountIndex(SeverityLevel.ERROR);
+
+    assertThat(index).isLessThan(NoticeType.countSlots());
+    assertThat(type.getCountIndex(SeverityLevel.INFO)).isEqualTo(index - 2);
+    assertThat(NoticeType.mappingKeyOfCountIndex(index)).isEqualTo("string_field2");
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void getDefaultSeverityLevel_withoutAnnotation_throws() {
+    NoticeType.of(UnannotatedNotice.class).getDefaultSeverityLevel();
+  }
+
+  private static class UnannotatedNotice extends ValidationNotice {}
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.primitives.Bytes;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.commons.io.ByteOrderMark;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ByteBufferCsvTokenizerTest {
+
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private static CsvFile createCsvFile(byte[] content, int windowSize) {
+    return new CsvFile(
+        new ByteBufferCsvTokenizer(
+            new StreamCsvByteSource(new ByteArrayInputStream(content), windowSize)),
+        "stops.txt");
+  }
+
+  private static CsvFile createCsvFileReusingWindows(byte[] content, int windowSize) {
+    StreamCsvByteSource byteSource =
+        new StreamCsvByteSource(new ByteArrayInputStream(content), windowSize);
+    byteSource.allowWindowReuse();
+    return new CsvFile(new ByteBufferCsvTokenizer(byteSource), "stops.txt");
+  }
+
+  private static CsvFile createCsvFile(String content) {
+    return createCsvFile(content.getBytes(StandardCharsets.UTF_8), 1024);
+  }
+
+  private static List<String> readAll(CsvFile csvFile) {
+    List<String> rows = new ArrayList<>();
+    rows.add(String.join("|", csvFile.getHeader().getColumnNames()));
+    for (CsvRow row : csvFile) {
+      StringBuilder builder = new StringBuilder().append(row.getRowNumber()).append(':');
+      for (int i = 0; i < row.getColumnCount(); ++i) {
+        builder.append(i == 0 ? "" : "|").append(row.asString(i));
+      }
+      rows.add(builder.toString());
+    }
+    return rows;
+  }
+
+  /** Returns the header and cells of all rows, without row numbers. */
+  private static List<String> readCells(CsvFile csvFile) {
+    List<String> rows = new ArrayList<>();
+    rows.add(String.join("|", csvFile.getHeader().getColumnNames()));
+    for (CsvRow row : csvFile) {
+      List<String> cells = new ArrayList<>();
+      for (int i = 0; i < row.getColumnCount(); ++i) {
+        cells.add(String.valueOf(row.asString(i)));
+      }
+      rows.add(String.join("|", cells));
+    }
+    return rows;
+  }
+
+  /** Checks that both tokenizers return the same cells, also when records span windows. */
+  private static void assertSameAsUnivocity(String content) {
+    byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+    List<String> expected = readCells(new CsvFile(new ByteArrayInputStream(bytes), "stops.txt"));
+    assertThat(readCells(createCsvFile(bytes, 1024))).containsExactlyElementsIn(expected).inOrder();
+    assertThat(readCells(createCsvFile(bytes, 3))).containsExactlyElementsIn(expected).inOrder();
+  }
+
+  @Test
+  public void emptyFile() {
+    CsvFile csvFile = createCsvFile("");
+
+    assertThat(csvFile.isEmpty()).isTrue();
+    assertThat(csvFile.getHeader().getColumnCount()).isEqualTo(0);
+    assertThat(csvFile.iterator().hasNext()).isFalse();
+  }
+
+  @Test
+  public void headersOnlyFile() {
+    CsvFile csvFile = createCsvFile("stop_id,stop_name");
+
+    assertThat(csvFile.isEmpty()).isFalse();
+    assertThat(csvFile.getHeader().getColumnNames())
+        .asList()
+        .containsExactly("stop_id", "stop_name");
+    assertThat(csvFile.iterator().hasNext()).isFalse();
+  }
+
+  @Test
+  public void fileWithEntities() {
+    CsvFile csvFile =
+        createCsvFile(
+            "stop_id,stop_name,stop_lat\n" + "s1,First stop,3.21\n" + "s2,Second stop,1.31\n");
+
+    Iterator<CsvRow> iterator = csvFile.iterator();
+    CsvRow row = iterator.next();
+    assertThat(row.getRowNumber()).isEqualTo(2);
+    assertThat(row.getColumnCount()).isEqualTo(3);
+    assertThat(row.asString(0)).isEqualTo("s1");
+    assertThat(row.asString(2)).isEqualTo("3.21");
+    assertThat(row.asString(200)).isNull();
+    assertThat(row.asString(-1)).isNull();
+
+    row = iterator.next();
+    assertThat(row.getRowNumber()).isEqualTo(3);
+    assertThat(row.asString(1)).isEqualTo("Second stop");
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void fileWithEntitiesWindows() {
+    assertThat(readAll(createCsvFile("stop_id,stop_name\r\n" + "s1,First stop\r\n")))
+        .containsExactly("stop_id|stop_name", "2:s1|First stop")
+        .inOrder();
+  }
+
+  @Test
+  public void emptyValues() {
+    assertThat(readAll(createCsvFile("col0,col1,col2\n" + "a,,\"\",b\n" + "c,  ,\n")))
+        .containsExactly("col0|col1|col2", "2:a|null|null|b", "3:c|null|null")
+        .inOrder();
+  }
+
+  @Test
+  public void whitespaceIsTrimmedOutsideOfQuotes() {
+    assertThat(readAll(createCsvFile("col0,col1\n" + "  a b ,\" c \"\n")))
+        .containsExactly("col0|col1", "2:a b| c ")
+        .inOrder();
+  }
+
+  @Test
+  public void quotedValues() {
+    assertThat(
+            readAll(
+                createCsvFile(
+                    "col0,col1\n"
+                        + "\"a,b\",\"say \"\"hi\"\"\"\n"
+                        + "\"multi\nline\",x\n"
+                        + "y,z")))
+        .containsExactly("col0|col1", "2:a,b|say \"hi\"", "4:multi\nline|x", "5:y|z")
+        .inOrder();
+  }
+
+  @Test
+  public void commentsAndEmptyLinesAreSkipped() {
+    assertThat(readAll(createCsvFile("# comment\n" + "col0\n" + "\n" + "# comment\n" + "a\n")))
+        .containsExactly("col0", "5:a")
+        .inOrder();
+  }
+
+  @Test
+  public void fileWithNonAscii() {
+    CsvFile csvFile = createCsvFile("stop_id,stop_name\n" + "s1,Первая остановка\n");
+    assertThat(csvFile.iterator().next().asString(1)).isEqualTo("Первая остановка");
+  }
+
+  @Test
+  public void invalidUtf8IsReplaced() {
+    byte[] content =
+        Bytes.concat(
+            "stop_id\n".getBytes(StandardCharsets.UTF_8),
+            new byte[] {'s', (byte) 0xFF, '1', '\n'});
+    CsvFile csvFile = createCsvFile(content, 1024);
+    assertThat(csvFile.iterator().next().asString(0)).isEqualTo("s\uFFFD1");
+  }
+
+  @Test
+  public void fileWithBomUtf8() {
+    CsvFile csvFile =
+        createCsvFile(
+            Bytes.concat(
+                ByteOrderMark.UTF_8.getBytes(),
+                ("stop_id,stop_name\n" + "s1,First stop\n").getBytes(StandardCharsets.UTF_8)),
+            1024);
+
+    assertThat(readAll(csvFile)).containsExactly("stop_id|stop_name", "2:s1|First stop").inOrder();
+  }
+
+  @Test
+  public void recordsSpanningWindows() {
+    String content =
+        "stop_id,stop_name\n" + "s1,\"First\n\"\"stop\"\"\"\n" + "s2,Вторая\n" + "\n" + "s3,Third";
+    List<String> expected = readAll(createCsvFile(content));
+
+    for (int windowSize = 1; windowSize < 16; ++windowSize) {
+      assertThat(readAll(createCsvFile(content.getBytes(StandardCharsets.UTF_8), windowSize)))
+          .containsExactlyElementsIn(expected)
+          .inOrder();
+    }
+  }
+
+  @Test
+  public void recordsSpanningReusedWindows() {
+    String content =
+        "stop_id,stop_name\n" + "s1,\"First\n\"\"stop\"\"\"\n" + "s2,Вторая\n" + "\n" + "s3,Third";
+    List<String> expected = readAll(createCsvFile(content));
+
+    for (int windowSize = 1; windowSize < 16; ++windowSize) {
+      assertThat(
+              readAll(
+                  createCsvFileReusingWindows(
+                      content.getBytes(StandardCharsets.UTF_8), windowSize)))
+          .containsExactlyElementsIn(expected)
+          .inOrder();
+    }
+  }
+
+  @Test
+  public void tooLongValue() {
+    CsvFile csvFile = createCsvFile("col0\n" + "a".repeat(5000) + "\n");
+
+    CsvTokenizerException exception =
+        assertThrows(CsvTokenizerException.class, () -> csvFile.iterator().next());
+    assertThat(exception.getMessage())
+        .isEqualTo(
+            "Length of parsed input (4097) exceeds the maximum number of characters defined in"
+                + " your parser settings (4096).");
+    assertThat(exception.getLineIndex()).isEqualTo(1);
+  }
+
+  @Test
+  public void mappedFile() throws IOException {
+    Path path = tmpDir.newFile("stops.txt").toPath();
+    Files.write(
+        path,
+        ("stop_id,stop_name\n" + "s1,First stop\n" + "s2,\"Second\nstop\"\n")
+            .getBytes(StandardCharsets.UTF_8));
+
+    try (CsvByteSource byteSource = new MappedCsvByteSource(path, 8)) {
+      assertThat(readAll(new CsvFile(new ByteBufferCsvTokenizer(byteSource), "stops.txt")))
+          .containsExactly("stop_id|stop_name", "2:s1|First stop", "4:s2|Second\nstop")
+          .inOrder();
+    }
+  }
+
+  @Test
+  public void whitespaceOnlyLastLineIsSkipped() {
+    assertThat(readAll(createCsvFile("col0\n" + "a\n" + "  \t")))
+        .containsExactly("col0", "2:a")
+        .inOrder();
+  }
+
+  @Test
+  public void sameAsUnivocity_plainAndQuotedValues() {
+    assertSameAsUnivocity("col0,col1,col2\n" + "a,b,c\n" + "\"a,b\",\"say \"\"hi\"\"\",x\n");
+    assertSameAsUnivocity("col0,col1\n" + "\"multi\nline\",x\n" + "y,z");
+    assertSameAsUnivocity("col0,col1\n" + "\"a\"  ,\" b \"\n");
+  }
+
+  @Test
+  public void sameAsUnivocity_whitespaceAndEmptyValues() {
+    assertSameAsUnivocity("col0,col1,col2\n" + "a,,\"\",b\n" + "c,  ,\n" + "  a b ,\t\n");
+    assertSameAsUnivocity("col0,col1\n" + "a,b\n" + "   \n" + "\n" + "c,d\n" + "  \t");
+  }
+
+  @Test
+  public void sameAsUnivocity_windowsLineEndings() {
+    assertSameAsUnivocity("stop_id,stop_name\r\n" + "s1,First stop\r\n" + "s2,\"Second\"\r\n");
+  }
+
+  @Test
+  public void sameAsUnivocity_commentsAndNonAscii() {
+    assertSameAsUnivocity(
+        "# comment\n" + "col0,col1\n" + "# comment\n" + "s1,Первая остановка\n");
+  }
+}
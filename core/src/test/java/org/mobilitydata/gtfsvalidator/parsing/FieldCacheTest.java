@@ -157,4 +157,72 @@ public class FieldCacheTest {
     assertThat(cache.getCacheSize()).isEqualTo(3);
     assertThat(cache.getLookupCount()).isEqualTo(5);
   }
+
+  @Test
+  public void adaptive_uniqueValues_turnsOff() {
+    FieldCache<String> cache = FieldCache.adaptive(false);
+    for (int i = 0; i < FieldCache.SAMPLE_SIZE; ++i) {
+      cache.addIfAbsent("id" + i);
+    }
+
+    assertThat(cache.isInterning()).isFalse();
+    assertThat(cache.getAdaptiveDecisions())
+        .containsExactly("off after 1024 lookups (100.0% new values)");
+    assertThat(cache.getCacheSize()).isEqualTo(0);
+
+    String id = new String("id0");
+    assertThat(cache.addIfAbsent(id)).isSameInstanceAs(id);
+    assertThat(cache.getBypassedLookups()).isEqualTo(1);
+    assertThat(cache.getCacheMisses()).isEqualTo(FieldCache.SAMPLE_SIZE);
+    assertThat(cache.getCacheHits()).isEqualTo(0);
+  }
+
+  @Test
+  public void adaptive_repeatedValues_staysOn() {
+    FieldCache<String> cache = FieldCache.adaptive(false);
+    String first = new String("route0");
+    cache.addIfAbsent(first);
+    for (int i = 1; i < 2 * FieldCache.SAMPLE_SIZE; ++i) {
+      cache.addIfAbsent("route" + (i % 8));
+    }
+
+    assertThat(cache.isInterning()).isTrue();
+    assertThat(cache.getAdaptiveDecisions())
+        .containsExactly("on after 1024 lookups (0.8% new values)");
+    assertThat(cache.addIfAbsent(new String("route0"))).isSameInstanceAs(first);
+    assertThat(cache.getCacheSize()).isEqualTo(8);
+    assertThat(cache.getCacheMisses()).isEqualTo(8);
+    assertThat(cache.getBypassedLookups()).isEqualTo(0);
+  }
+
+  @Test
+  public void adaptive_turnedOff_samplesAgain() {
+    FieldCache<String> cache = FieldCache.adaptive(true);
+    for (int i = 0; i < FieldCache.SAMPLE_SIZE; ++i) {
+      cache.addIfAbsent("id" + i);
+    }
+    // Values start repeating while the cache is off.
+    for (int i = 0; i < FieldCache.REEVALUATION_INTERVAL + FieldCache.SAMPLE_SIZE; ++i) {
+      cache.addIfAbsent("headsign" + (i % 4));
+    }
+
+    assertThat(cache.isInterning()).isTrue();
+    assertThat(cache.getAdaptiveDecisions())
+        .containsExactly(
+            "off after 1024 lookups (100.0% new values)",
+            "on after 67584 lookups (0.4% new values)")
+        .inOrder();
+    assertThat(cache.getCacheSize()).isEqualTo(4);
+  }
+
+  @Test
+  public void adaptive_nullIsNotSampled() {
+    FieldCache<String> cache = FieldCache.adaptive(false);
+    for (int i = 0; i < 2 * FieldCache.SAMPLE_SIZE; ++i) {
+      assertThat(cache.addIfAbsent(null)).isNull();
+    }
+
+    assertThat(cache.getAdaptiveDecisions()).isEmpty();
+    assertThat(cache.getLookupCount()).isEqualTo(2 * FieldCache.SAMPLE_SIZE);
+  }
 }
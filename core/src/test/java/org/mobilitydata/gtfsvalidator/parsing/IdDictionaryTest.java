@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary.TableStats;
+
+@RunWith(JUnit4.class)
+public class IdDictionaryTest {
+  @Test
+  public void sharesInstancesAcrossTables() {
+    IdDictionary dictionary = new IdDictionary();
+    FieldCache<String> trips = dictionary.newFieldCache("trips.txt");
+    FieldCache<String> stopTimes = dictionary.newFieldCache("stop_times.txt");
+    FieldCache<String> frequencies = dictionary.newFieldCache("frequencies.txt");
+
+    String trip1 = new String("trip1");
+    assertThat(trips.addIfAbsent(trip1)).isSameInstanceAs(trip1);
+    assertThat(stopTimes.addIfAbsent(new String("trip1"))).isSameInstanceAs(trip1);
+    assertThat(stopTimes.addIfAbsent(new String("trip1"))).isSameInstanceAs(trip1);
+    assertThat(frequencies.addIfAbsent(new String("trip1"))).isSameInstanceAs(trip1);
+
+    // An ID that is first seen in a referencing table is shared as well.
+    String trip2 = new String("trip2");
+    assertThat(stopTimes.addIfAbsent(trip2)).isSameInstanceAs(trip2);
+    assertThat(trips.addIfAbsent(new String("trip2"))).isSameInstanceAs(trip2);
+
+    assertThat(dictionary.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void columnStats() {
+    IdDictionary dictionary = new IdDictionary();
+    FieldCache<String> trips = dictionary.newFieldCache("trips.txt");
+    FieldCache<String> stopTimes = dictionary.newFieldCache("stop_times.txt");
+
+    trips.addIfAbsent("trip1");
+    stopTimes.addIfAbsent(new String("trip1"));
+    stopTimes.addIfAbsent("trip2");
+    stopTimes.addIfAbsent(null);
+
+    assertThat(trips.getLookupCount()).isEqualTo(1);
+    assertThat(trips.getCacheSize()).isEqualTo(1);
+    assertThat(trips.getCacheMisses()).isEqualTo(1);
+    assertThat(trips.getCacheHits()).isEqualTo(0);
+
+    assertThat(stopTimes.getLookupCount()).isEqualTo(3);
+    assertThat(stopTimes.getCacheSize()).isEqualTo(1);
+    assertThat(stopTimes.getCacheMisses()).isEqualTo(1);
+    assertThat(stopTimes.getCacheHits()).isEqualTo(2);
+  }
+
+  @Test
+  public void tableStats() {
+    IdDictionary dictionary = new IdDictionary();
+    FieldCache<String> stopIds = dictionary.newFieldCache("stops.txt");
+    FieldCache<String> parentStations = dictionary.newFieldCache("stops.txt");
+    FieldCache<String> stopTimes = dictionary.newFieldCache("stop_times.txt");
+
+    stopIds.addIfAbsent("stop1");
+    stopIds.addIfAbsent("stop2");
+    parentStations.addIfAbsent(new String("stop1"));
+    stopTimes.addIfAbsent(new String("stop1"));
+    stopTimes.addIfAbsent(new String("stop2"));
+    stopTimes.addIfAbsent("stop3");
+    stopTimes.addIfAbsent(null);
+
+    assertThat(dictionary.getTableStats()).hasSize(2);
+    // Tables are sorted by filename.
+    TableStats stopTimesStats = dictionary.getTableStats().get(0);
+    TableStats stopsStats = dictionary.getTableStats().get(1);
+
+    assertThat(stopsStats.filename()).isEqualTo("stops.txt");
+    assertThat(stopsStats.lookups()).isEqualTo(3);
+    assertThat(stopsStats.newIds()).isEqualTo(2);
+    assertThat(stopsStats.sharedLookups()).isEqualTo(1);
+    assertThat(stopsStats.savedBytes()).isEqualTo(48);
+
+    assertThat(stopTimesStats.filename()).isEqualTo("stop_times.txt");
+    assertThat(stopTimesStats.lookups()).isEqualTo(3);
+    assertThat(stopTimesStats.newIds()).isEqualTo(1);
+    assertThat(stopTimesStats.sharedLookups()).isEqualTo(2);
+    assertThat(stopTimesStats.savedBytes()).isEqualTo(96);
+  }
+
+  @Test
+  public void clear_keepsStats() {
+    IdDictionary dictionary = new IdDictionary();
+    FieldCache<String> trips = dictionary.newFieldCache("trips.txt");
+    trips.addIfAbsent("trip1");
+
+    dictionary.clear();
+
+    assertThat(dictionary.size()).isEqualTo(0);
+    assertThat(dictionary.getTableStats().get(0).newIds()).isEqualTo(1);
+    assertThat(dictionary.savingsText()).contains("trips.txt: 1 lookups, 1 new IDs, 0 shared");
+  }
+
+  @Test
+  public void encoding_assignsDenseCodes() {
+    IdDictionary dictionary = IdDictionary.encoding();
+    IdDictionary.ColumnCache trips = dictionary.newFieldCache("trips.txt");
+    IdDictionary.ColumnCache stopTimes = dictionary.newFieldCache("stop_times.txt");
+
+    String trip1 = new String("trip1");
+    assertThat(trips.encode(trip1)).isEqualTo(0);
+    assertThat(trips.encode("trip2")).isEqualTo(1);
+    assertThat(stopTimes.encode(new String("trip1"))).isEqualTo(0);
+    assertThat(stopTimes.encode("trip3")).isEqualTo(2);
+
+    assertThat(dictionary.size()).isEqualTo(3);
+    assertThat(dictionary.codeOf("trip2")).isEqualTo(1);
+    assertThat(dictionary.codeOf("unknown")).isEqualTo(IdDictionary.NO_CODE);
+    assertThat(dictionary.codeOf(null)).isEqualTo(IdDictionary.NO_CODE);
+    assertThat(dictionary.idOf(0)).isSameInstanceAs(trip1);
+    assertThat(stopTimes.addIfAbsent(new String("trip1"))).isSameInstanceAs(trip1);
+    assertThat(stopTimes.getCacheHits()).isEqualTo(2);
+  }
+
+  @Test
+  public void encoding_growsPastInitialCapacity() {
+    IdDictionary dictionary = IdDictionary.encoding();
+    for (int i = 0; i < 5000; ++i) {
+      assertThat(dictionary.encode("id" + i)).isEqualTo(i);
+    }
+    assertThat(dictionary.idOf(4321)).isEqualTo("id4321");
+  }
+
+  @Test
+  public void encoding_clearKeepsCodes() {
+    IdDictionary dictionary = IdDictionary.encoding();
+    dictionary.encode("trip1");
+
+    dictionary.clear();
+
+    assertThat(dictionary.codeOf("trip1")).isEqualTo(0);
+    assertThat(dictionary.size()).isEqualTo(1);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void encode_notEncodingDictionary_throws() {
+    new IdDictionary().encode("trip1");
+  }
+}
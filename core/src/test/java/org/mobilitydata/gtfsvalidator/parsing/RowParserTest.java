@@ -75,6 +75,11 @@ public class RowParserTest {
         public boolean isMixedCase() {
           return false;
         }
+
+        @Override
+        public boolean isSharedId() {
+          return false;
+        }
       };
 
   private static RowParser createParser(String cellValue) {
@@ -322,6 +327,36 @@ public class RowParserTest {
     assertThat(createParser("invalid").asTime(0, GTFS_COLUMN_DESCRIPTOR)).isNull();
   }
 
+  @Test
+  public void primitiveValues() {
+    RowParser parser = createParser("12:20:30");
+    assertThat(parser.asTimeSeconds(0, GTFS_COLUMN_DESCRIPTOR)).isEqualTo(44430);
+    assertThat(parser.hasParsedValue()).isTrue();
+
+    parser = createParser("20200901");
+    assertThat(parser.asDateEpochDay(0, GTFS_COLUMN_DESCRIPTOR))
+        .isEqualTo((int) LocalDate.of(2020, 9, 1).toEpochDay());
+    assertThat(parser.hasParsedValue()).isTrue();
+
+    parser = createParser("-12");
+    assertThat(parser.asIntegerValue(0, GTFS_COLUMN_DESCRIPTOR)).isEqualTo(-12);
+    assertThat(parser.hasParsedValue()).isTrue();
+    assertThat(
+            parser.asIntegerValue(0, GTFS_COLUMN_DESCRIPTOR, RowParser.NumberBounds.NON_NEGATIVE))
+        .isEqualTo(-12);
+    assertThat(parser.hasParsedValue()).isTrue();
+
+    parser = createParser("invalid");
+    assertThat(parser.asIntegerValue(0, GTFS_COLUMN_DESCRIPTOR)).isEqualTo(0);
+    assertThat(parser.hasParsedValue()).isFalse();
+    assertThat(parser.asTimeSeconds(0, GTFS_COLUMN_DESCRIPTOR)).isEqualTo(0);
+    assertThat(parser.hasParsedValue()).isFalse();
+
+    parser = createParser(null);
+    assertThat(parser.asFloatValue(0, GTFS_COLUMN_DESCRIPTOR)).isEqualTo(0.0);
+    assertThat(parser.hasParsedValue()).isFalse();
+  }
+
   @Test
   public void asTimezone_valid() {
     assertThat(createParser("America/Toronto").asTimezone(0, GTFS_COLUMN_DESCRIPTOR))
@@ -477,4 +512,27 @@ public class RowParserTest {
     assertThat(parser.getNoticeContainer().getValidationNotices())
         .containsExactly(new InvalidRowLengthNotice(TEST_FILENAME, 2, 1, 2));
   }
+
+  @Test
+  public void rowNoticeBuffer_clearedForEachRowAndFlushed() {
+    RowParser parser =
+        new RowParser(
+            TEST_FILENAME, new CsvHeader(new String[] {"stop_id", "stop_name"}), FIELD_VALIDATOR);
+    NoticeContainer fileNotices = new NoticeContainer();
+
+    parser.setRow(new CsvRow(2, new String[] {"s1"}));
+    assertThat(parser.checkRowLength()).isFalse();
+    assertThat(parser.rowHasErrors()).isTrue();
+    parser.flushRowNotices(fileNotices);
+
+    parser.setRow(new CsvRow(3, new String[] {"s2", "Stop"}));
+    assertThat(parser.checkRowLength()).isTrue();
+    assertThat(parser.rowHasErrors()).isFalse();
+    parser.flushRowNotices(fileNotices);
+
+    assertThat(parser.getNoticeContainer().isEmpty()).isTrue();
+    assertThat(fileNotices.hasValidationErrors()).isTrue();
+    assertThat(fileNotices.getValidationNotices())
+        .containsExactly(new InvalidRowLengthNotice(TEST_FILENAME, 2, 1, 2));
+  }
 }
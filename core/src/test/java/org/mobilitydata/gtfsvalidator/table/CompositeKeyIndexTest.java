@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Objects;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class CompositeKeyIndexTest {
+  /** Entity with a key of two columns. */
+  private static final class Transfer {
+    final String fromStopId;
+    final int transferType;
+
+    Transfer(String fromStopId, int transferType) {
+      this.fromStopId = fromStopId;
+      this.transferType = transferType;
+    }
+  }
+
+  private static long hash(String fromStopId, int transferType) {
+    long hash = 0;
+    hash = CompositeKeyIndex.hash(hash, fromStopId);
+    hash = CompositeKeyIndex.hash(hash, transferType);
+    return hash;
+  }
+
+  private static boolean sameKey(Transfer transfer1, Transfer transfer2) {
+    return Objects.equals(transfer1.fromStopId, transfer2.fromStopId)
+        && transfer1.transferType == transfer2.transferType;
+  }
+
+  @Test
+  public void putIfAbsent_returnsEntityWithSameKey() {
+    CompositeKeyIndex<Transfer> index =
+        new CompositeKeyIndex<>(
+            (transfer) -> hash(transfer.fromStopId, transfer.transferType),
+            CompositeKeyIndexTest::sameKey);
+    Transfer first = new Transfer("stop1", 0);
+    Transfer duplicate = new Transfer("stop1", 0);
+    Transfer withNull = new Transfer(null, 0);
+
+    assertThat(index.putIfAbsent(first)).isNull();
+    assertThat(index.putIfAbsent(new Transfer("stop1", 1))).isNull();
+    assertThat(index.putIfAbsent(withNull)).isNull();
+    assertThat(index.putIfAbsent(duplicate)).isSameInstanceAs(first);
+    assertThat(index.putIfAbsent(new Transfer(null, 0))).isSameInstanceAs(withNull);
+    assertThat(index.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void get_findsEntitiesAfterGrowing() {
+    CompositeKeyIndex<Transfer> index =
+        new CompositeKeyIndex<>(
+            (transfer) -> hash(transfer.fromStopId, transfer.transferType),
+            CompositeKeyIndexTest::sameKey);
+    for (int i = 0; i < 1000; ++i) {
+      index.putIfAbsent(new Transfer("stop" + i, i % 4));
+    }
+
+    Transfer found =
+        index.get(
+            hash("stop123", 3),
+            (transfer) -> transfer.fromStopId.equals("stop123") && transfer.transferType == 3);
+    assertThat(found.fromStopId).isEqualTo("stop123");
+    assertThat(index.get(hash("stop123", 2), (transfer) -> sameKey(transfer, found))).isNull();
+    assertThat(index.size()).isEqualTo(1000);
+  }
+
+  @Test
+  public void collidingHashes_compareKeys() {
+    // All keys have the same hash, so that entities are told apart by their keys only.
+    CompositeKeyIndex<Transfer> index =
+        new CompositeKeyIndex<>((transfer) -> 42, CompositeKeyIndexTest::sameKey);
+    Transfer stop1 = new Transfer("stop1", 0);
+    Transfer stop2 = new Transfer("stop2", 0);
+
+    assertThat(index.putIfAbsent(stop1)).isNull();
+    assertThat(index.putIfAbsent(stop2)).isNull();
+    assertThat(index.putIfAbsent(new Transfer("stop2", 0))).isSameInstanceAs(stop2);
+    assertThat(index.get(42, (transfer) -> transfer.fromStopId.equals("stop2")))
+        .isSameInstanceAs(stop2);
+    assertThat(index.get(42, (transfer) -> transfer.fromStopId.equals("stop3"))).isNull();
+  }
+}
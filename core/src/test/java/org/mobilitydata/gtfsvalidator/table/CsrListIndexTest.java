@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
+
+@RunWith(JUnit4.class)
+public class CsrListIndexTest {
+  private static final ImmutableList<String> ENTITIES =
+      ImmutableList.of("b:2", "a:3", "b:1", "c:1", "a:1", "a:3");
+
+  private static String key(String entity) {
+    return entity.substring(0, 1);
+  }
+
+  private static int sequence(String entity) {
+    return Integer.parseInt(entity.substring(2));
+  }
+
+  @Test
+  public void byKey_keepsOrderWithoutSequence() {
+    CsrListIndex<String, String> index =
+        CsrListIndex.byKey(ENTITIES, CsrListIndexTest::key, null);
+
+    assertThat(index.get("a")).containsExactly("a:3", "a:1", "a:3").inOrder();
+    assertThat(index.get("b")).containsExactly("b:2", "b:1").inOrder();
+    assertThat(index.get("d")).isEmpty();
+    assertThat(index.get(null)).isEmpty();
+    assertThat(index.size()).isEqualTo(6);
+  }
+
+  @Test
+  public void byKey_sortsBySequence() {
+    CsrListIndex<String, String> index =
+        CsrListIndex.byKey(ENTITIES, CsrListIndexTest::key, CsrListIndexTest::sequence);
+
+    assertThat(index.get("a")).containsExactly("a:1", "a:3", "a:3").inOrder();
+    assertThat(index.get("b")).containsExactly("b:1", "b:2").inOrder();
+    assertThat(index.get("c")).containsExactly("c:1");
+  }
+
+  @Test
+  public void byKey_sortsLargeIndexInParallel() {
+    List<Integer> entities = new ArrayList<>();
+    for (int i = 0; i < 200000; ++i) {
+      entities.add(i);
+    }
+
+    // Entities are keyed by their remainder and sorted from the largest.
+    CsrListIndex<Integer, Integer> index =
+        CsrListIndex.byKey(entities, (entity) -> entity % 7, (entity) -> -entity);
+
+    assertThat(index.groupCount()).isEqualTo(7);
+    for (int key = 0; key < 7; ++key) {
+      List<Integer> group = index.get(key);
+      for (int i = 1; i < group.size(); ++i) {
+        assertThat(group.get(i)).isEqualTo(group.get(i - 1) - 7);
+      }
+    }
+    assertThat(index.get(3).get(0)).isEqualTo(199993);
+  }
+
+  @Test
+  public void byKey_presortedInput_keepsNoRowNumbers() {
+    ImmutableList<String> presorted = ImmutableList.of("b:1", "b:2", "b:2", "a:1", "a:3", "c:1");
+
+    CsrListIndex<String, String> index =
+        CsrListIndex.byKey(presorted, CsrListIndexTest::key, CsrListIndexTest::sequence);
+
+    assertThat(index.isPresorted()).isTrue();
+    assertThat(index.get("b")).containsExactly("b:1", "b:2", "b:2").inOrder();
+    assertThat(index.get("a")).containsExactly("a:1", "a:3").inOrder();
+    assertThat(index.asMultimap().size()).isEqualTo(6);
+    assertThat(index.estimateMemoryBytes())
+        .isLessThan(
+            CsrListIndex.byKey(ENTITIES, CsrListIndexTest::key, CsrListIndexTest::sequence)
+                .estimateMemoryBytes());
+  }
+
+  @Test
+  public void byKey_unsortedInput_isNotPresorted() {
+    // Groups are interleaved.
+    assertThat(
+            CsrListIndex.byKey(ImmutableList.of("b:1", "a:1", "b:2"), CsrListIndexTest::key, null)
+                .isPresorted())
+        .isFalse();
+    // Sequences decrease within a group.
+    assertThat(
+            CsrListIndex.byKey(
+                    ImmutableList.of("b:2", "b:1"),
+                    CsrListIndexTest::key,
+                    CsrListIndexTest::sequence)
+                .isPresorted())
+        .isFalse();
+    // Without a sequence, the order within a group does not matter.
+    assertThat(
+            CsrListIndex.byKey(ImmutableList.of("b:2", "b:1"), CsrListIndexTest::key, null)
+                .isPresorted())
+        .isTrue();
+  }
+
+  @Test
+  public void asMultimap() {
+    ListMultimap<String, String> multimap =
+        CsrListIndex.byKey(ENTITIES, CsrListIndexTest::key, CsrListIndexTest::sequence)
+            .asMultimap();
+
+    // Keys are in the order of their first entity.
+    assertThat(multimap.keySet()).containsExactly("b", "a", "c").inOrder();
+    assertThat(multimap.size()).isEqualTo(6);
+    assertThat(multimap.get("b")).containsExactly("b:1", "b:2").inOrder();
+    assertThat(multimap.containsEntry("c", "c:1")).isTrue();
+    assertThat(multimap.containsKey("d")).isFalse();
+    assertThat(Multimaps.asMap(multimap).get("a")).hasSize(3);
+    assertThat(multimap.values()).hasSize(6);
+  }
+
+  @Test
+  public void empty() {
+    CsrListIndex<String, String> index = CsrListIndex.empty();
+
+    assertThat(index.get("a")).isEmpty();
+    assertThat(index.asMultimap().isEmpty()).isTrue();
+  }
+
+  @Test
+  public void idCodeListIndex() {
+    IdDictionary dictionary = IdDictionary.encoding();
+    dictionary.encode("unused");
+    IdCodeListIndex<String> index =
+        IdCodeListIndex.build(
+            dictionary,
+            ENTITIES,
+            (entity) -> dictionary.encode(key(entity)),
+            CsrListIndexTest::sequence);
+
+    int codeOfA = dictionary.codeOf("a");
+    assertThat(index.get(codeOfA)).containsExactly("a:1", "a:3", "a:3").inOrder();
+    assertThat(index.get("b")).containsExactly("b:1", "b:2").inOrder();
+    assertThat(index.containsCode(codeOfA)).isTrue();
+    assertThat(index.containsCode(dictionary.codeOf("unused"))).isFalse();
+    assertThat(index.containsCode(IdDictionary.NO_CODE)).isFalse();
+    assertThat(index.containsCode(1000)).isFalse();
+    assertThat(index.get("unused")).isEmpty();
+    assertThat(index.asMultimap().keySet()).containsExactly("b", "a", "c").inOrder();
+  }
+
+  @Test
+  public void idCodeListIndex_presortedInput() {
+    IdDictionary dictionary = IdDictionary.encoding();
+    ImmutableList<String> presorted = ImmutableList.of("b:1", "b:2", "a:1", "a:3");
+
+    IdCodeListIndex<String> index =
+        IdCodeListIndex.build(
+            dictionary,
+            presorted,
+            (entity) -> dictionary.encode(key(entity)),
+            CsrListIndexTest::sequence);
+
+    assertThat(index.isPresorted()).isTrue();
+    assertThat(index.get("a")).containsExactly("a:1", "a:3").inOrder();
+    assertThat(index.get(dictionary.codeOf("b"))).containsExactly("b:1", "b:2").inOrder();
+  }
+
+  @Test
+  public void groupListsAreImmutable() {
+    List<String> group = CsrListIndex.byKey(ENTITIES, CsrListIndexTest::key, null).get("a");
+
+    assertThrows(UnsupportedOperationException.class, () -> group.add("a:4"));
+  }
+}
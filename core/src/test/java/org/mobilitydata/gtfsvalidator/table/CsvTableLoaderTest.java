@@ -8,16 +8,27 @@ import static org.mockito.Mockito.*;
 import com.google.common.collect.ImmutableList;
 import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mobilitydata.gtfsvalidator.annotation.FieldLevelEnum;
+import org.mobilitydata.gtfsvalidator.input.CountryCode;
 import org.mobilitydata.gtfsvalidator.notice.*;
 import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
+import org.mobilitydata.gtfsvalidator.parsing.FieldCache;
+import org.mobilitydata.gtfsvalidator.parsing.RowParser;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestEntity;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestSingleFileValidator;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestTableDescriptor;
+import org.mobilitydata.gtfsvalidator.validator.DefaultFieldValidator;
 import org.mobilitydata.gtfsvalidator.validator.GtfsFieldValidator;
 import org.mobilitydata.gtfsvalidator.validator.TableHeaderValidator;
 import org.mobilitydata.gtfsvalidator.validator.ValidatorProvider;
@@ -172,4 +183,312 @@ public class CsvTableLoaderTest {
         .contains(new MissingRequiredFieldNotice("filename.txt", 2, "code"));
     assertThat(loadedContainer).isEqualTo(mockContainer);
   }
+
+  private static String largeTable(boolean withInvalidRows) {
+    StringBuilder builder = new StringBuilder("id,code\n");
+    for (int i = 0; i < 25_000; ++i) {
+      if (i % 1000 == 500) {
+        builder.append("s").append(i).append(",\" padded \"\n");
+      } else if (withInvalidRows && i % 3000 == 1500) {
+        // A quoted newline must not be treated as a record boundary.
+        builder.append("s").append(i).append(",\"multi\nline\"\n");
+      } else if (withInvalidRows && i % 7000 == 3) {
+        builder.append("s").append(i).append("\n");
+      } else {
+        builder.append("s").append(i).append(", c").append(i % 7).append('\n');
+      }
+    }
+    return builder.toString();
+  }
+
+  private GtfsEntityContainer<?, ?> loadLargeTable(
+      String content, NoticeContainer notices, CsvLoadingOptions options) {
+    return CsvFileLoader.getInstance()
+        .load(
+            new GtfsTestTableDescriptor(),
+            validatorProvider,
+            toInputStream(content),
+            notices,
+            options);
+  }
+
+  private static List<String> entitiesAsStrings(GtfsEntityContainer<?, ?> container) {
+    return container.getEntities().stream()
+        .map(
+            entity -> {
+              GtfsTestEntity testEntity = (GtfsTestEntity) entity;
+              return testEntity.csvRowNumber() + ":" + testEntity.id() + ":" + testEntity.code();
+            })
+        .collect(Collectors.toList());
+  }
+
+  /** Loads the test table in the same way as a row loader generated by the annotation processor. */
+  private static class TestRowLoader extends GtfsRowLoader<GtfsTestEntity.Builder> {
+    @Override
+    @SuppressWarnings("unchecked")
+    public void load(
+        RowParser rowParser,
+        int[] columnIndices,
+        GtfsColumnDescriptor[] columnDescriptors,
+        FieldCache[] fieldCaches,
+        GtfsTestEntity.Builder builder) {
+      {
+        int columnIndex = columnIndices[0];
+        GtfsColumnDescriptor columnDescriptor = columnDescriptors[0];
+        FieldCache<String> fieldCache = fieldCaches[0];
+        builder.setId(
+            addToCacheIfPresent(rowParser.asId(columnIndex, columnDescriptor), fieldCache));
+      }
+      {
+        int columnIndex = columnIndices[1];
+        GtfsColumnDescriptor columnDescriptor = columnDescriptors[1];
+        FieldCache<String> fieldCache = fieldCaches[1];
+        builder.setCode(
+            addToCacheIfPresent(rowParser.asText(columnIndex, columnDescriptor), fieldCache));
+      }
+    }
+  }
+
+  @Test
+  public void rowLoader_sameAsFieldLoaders() {
+    when(validatorProvider.getTableHeaderValidator()).thenReturn(mock(TableHeaderValidator.class));
+    when(validatorProvider.getFieldValidator())
+        .thenReturn(new DefaultFieldValidator(CountryCode.forStringOrUnknown(CountryCode.ZZ)));
+    String content = largeTable(false);
+    var rowLoaderDescriptor = spy(new GtfsTestTableDescriptor());
+    doReturn(Optional.of(new TestRowLoader())).when(rowLoaderDescriptor).getRowLoader();
+    NoticeContainer fieldLoaderNotices = new NoticeContainer();
+    NoticeContainer rowLoaderNotices = new NoticeContainer();
+
+    GtfsEntityContainer<?, ?> fieldLoaded =
+        loadLargeTable(content, fieldLoaderNotices, CsvLoadingOptions.sequential());
+    GtfsEntityContainer<?, ?> rowLoaded =
+        CsvFileLoader.getInstance()
+            .load(
+                rowLoaderDescriptor,
+                validatorProvider,
+                toInputStream(content),
+                rowLoaderNotices,
+                CsvLoadingOptions.sequential());
+
+    assertThat(rowLoaded.getTableStatus()).isEqualTo(fieldLoaded.getTableStatus());
+    assertThat(entitiesAsStrings(rowLoaded))
+        .containsExactlyElementsIn(entitiesAsStrings(fieldLoaded))
+        .inOrder();
+    assertThat(rowLoaderNotices.getValidationNotices())
+        .containsExactlyElementsIn(fieldLoaderNotices.getValidationNotices())
+        .inOrder();
+  }
+
+  @Test
+  public void parallelRowDecoding_sameAsSequential() {
+    when(validatorProvider.getTableHeaderValidator()).thenReturn(mock(TableHeaderValidator.class));
+    when(validatorProvider.getFieldValidator())
+        .thenReturn(new DefaultFieldValidator(CountryCode.forStringOrUnknown(CountryCode.ZZ)));
+    String content = largeTable(false);
+    NoticeContainer sequentialNotices = new NoticeContainer();
+    NoticeContainer chunkedNotices = new NoticeContainer();
+    ExecutorService rowExecutor = Executors.newFixedThreadPool(4);
+
+    GtfsEntityContainer<?, ?> sequential =
+        loadLargeTable(content, sequentialNotices, CsvLoadingOptions.sequential());
+    GtfsEntityContainer<?, ?> chunked;
+    try {
+      chunked =
+          loadLargeTable(
+              content, chunkedNotices, CsvLoadingOptions.parallelRowDecoding(rowExecutor));
+    } finally {
+      rowExecutor.shutdown();
+    }
+
+    assertThat(chunked.getTableStatus()).isEqualTo(TableStatus.PARSABLE_HEADERS_AND_ROWS);
+    assertThat(chunked.entityCount()).isEqualTo(25_000);
+    assertThat(entitiesAsStrings(chunked))
+        .containsExactlyElementsIn(entitiesAsStrings(sequential))
+        .inOrder();
+    assertThat(chunkedNotices.getValidationNotices()).isNotEmpty();
+    assertThat(chunkedNotices.getValidationNotices())
+        .containsExactlyElementsIn(sequentialNotices.getValidationNotices())
+        .inOrder();
+  }
+
+  @Test
+  public void parallelRowDecoding_unparsableRows_sameNoticesAsSequential() {
+    when(validatorProvider.getTableHeaderValidator()).thenReturn(mock(TableHeaderValidator.class));
+    when(validatorProvider.getFieldValidator())
+        .thenReturn(new DefaultFieldValidator(CountryCode.forStringOrUnknown(CountryCode.ZZ)));
+    String content = largeTable(true);
+    NoticeContainer sequentialNotices = new NoticeContainer();
+    NoticeContainer chunkedNotices = new NoticeContainer();
+    ExecutorService rowExecutor = Executors.newFixedThreadPool(4);
+
+    loadLargeTable(content, sequentialNotices, CsvLoadingOptions.sequential());
+    GtfsEntityContainer<?, ?> chunked;
+    try {
+      chunked =
+          loadLargeTable(
+              content, chunkedNotices, CsvLoadingOptions.parallelRowDecoding(rowExecutor));
+    } finally {
+      rowExecutor.shutdown();
+    }
+
+    assertThat(chunked.getTableStatus()).isEqualTo(TableStatus.UNPARSABLE_ROWS);
+    assertThat(validationNoticeTypes(chunkedNotices)).contains(InvalidRowLengthNotice.class);
+    assertThat(chunkedNotices.getValidationNotices())
+        .containsExactlyElementsIn(sequentialNotices.getValidationNotices())
+        .inOrder();
+  }
+
+  @Test
+  public void parallelRowDecoding_moreNoticesThanLimit_sameNoticesAsSequential() {
+    when(validatorProvider.getTableHeaderValidator()).thenReturn(mock(TableHeaderValidator.class));
+    when(validatorProvider.getFieldValidator())
+        .thenReturn(new DefaultFieldValidator(CountryCode.forStringOrUnknown(CountryCode.ZZ)));
+    // Every row has a notice, which is more than a container stores for a single notice type.
+    StringBuilder builder = new StringBuilder("id,code\n");
+    for (int i = 0; i < 120_000; ++i) {
+      builder.append("s").append(i).append(",\" padded \"\n");
+    }
+    String content = builder.toString();
+    NoticeContainer sequentialNotices = new NoticeContainer();
+    NoticeContainer chunkedNotices = new NoticeContainer();
+    ExecutorService rowExecutor = Executors.newFixedThreadPool(4);
+
+    loadLargeTable(content, sequentialNotices, CsvLoadingOptions.sequential());
+    try {
+      loadLargeTable(content, chunkedNotices, CsvLoadingOptions.parallelRowDecoding(rowExecutor));
+    } finally {
+      rowExecutor.shutdown();
+    }
+
+    assertThat(sequentialNotices.getValidationNotices().size()).isLessThan(120_000);
+    assertThat(chunkedNotices.getValidationNotices())
+        .containsExactlyElementsIn(sequentialNotices.getValidationNotices())
+        .inOrder();
+    assertThat(chunkedNotices.exportValidationNotices())
+        .isEqualTo(sequentialNotices.exportValidationNotices());
+  }
+
+  @Test
+  public void pipelinedLoading_sameAsSequential() {
+    when(validatorProvider.getTableHeaderValidator()).thenReturn(mock(TableHeaderValidator.class));
+    when(validatorProvider.getFieldValidator())
+        .thenReturn(new DefaultFieldValidator(CountryCode.forStringOrUnknown(CountryCode.ZZ)));
+    String content = largeTable(false);
+    NoticeContainer sequentialNotices = new NoticeContainer();
+    NoticeContainer pipelinedNotices = new NoticeContainer();
+    ExecutorService pipelineExecutor = Executors.newCachedThreadPool();
+
+    GtfsEntityContainer<?, ?> sequential =
+        loadLargeTable(content, sequentialNotices, CsvLoadingOptions.sequential());
+    GtfsEntityContainer<?, ?> pipelined;
+    try {
+      pipelined =
+          loadLargeTable(content, pipelinedNotices, CsvLoadingOptions.pipelined(pipelineExecutor));
+    } finally {
+      pipelineExecutor.shutdown();
+    }
+
+    assertThat(pipelined.getTableStatus()).isEqualTo(TableStatus.PARSABLE_HEADERS_AND_ROWS);
+    assertThat(entitiesAsStrings(pipelined))
+        .containsExactlyElementsIn(entitiesAsStrings(sequential))
+        .inOrder();
+    assertThat(pipelinedNotices.getValidationNotices())
+        .containsExactlyElementsIn(sequentialNotices.getValidationNotices())
+        .inOrder();
+  }
+
+  @Test
+  public void pipelinedLoading_noThreadsLeft_sameAsSequential() {
+    when(validatorProvider.getTableHeaderValidator()).thenReturn(mock(TableHeaderValidator.class));
+    when(validatorProvider.getFieldValidator())
+        .thenReturn(new DefaultFieldValidator(CountryCode.forStringOrUnknown(CountryCode.ZZ)));
+    String content = largeTable(false);
+    NoticeContainer sequentialNotices = new NoticeContainer();
+    NoticeContainer pipelinedNotices = new NoticeContainer();
+    // Has a thread for prefetching, but rejects the stages of the pipeline.
+    ExecutorService pipelineExecutor =
+        new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS, new SynchronousQueue<>());
+
+    GtfsEntityContainer<?, ?> sequential =
+        loadLargeTable(content, sequentialNotices, CsvLoadingOptions.sequential());
+    GtfsEntityContainer<?, ?> pipelined;
+    try {
+      pipelined =
+          loadLargeTable(content, pipelinedNotices, CsvLoadingOptions.pipelined(pipelineExecutor));
+    } finally {
+      pipelineExecutor.shutdown();
+    }
+
+    assertThat(pipelined.getTableStatus()).isEqualTo(TableStatus.PARSABLE_HEADERS_AND_ROWS);
+    assertThat(entitiesAsStrings(pipelined))
+        .containsExactlyElementsIn(entitiesAsStrings(sequential))
+        .inOrder();
+    assertThat(pipelinedNotices.getValidationNotices())
+        .containsExactlyElementsIn(sequentialNotices.getValidationNotices())
+        .inOrder();
+  }
+
+  @Test
+  public void pipelinedLoading_unparsableRows_sameNoticesAsSequential() {
+    when(validatorProvider.getTableHeaderValidator()).thenReturn(mock(TableHeaderValidator.class));
+    when(validatorProvider.getFieldValidator())
+        .thenReturn(new DefaultFieldValidator(CountryCode.forStringOrUnknown(CountryCode.ZZ)));
+    String content = largeTable(true);
+    NoticeContainer sequentialNotices = new NoticeContainer();
+    NoticeContainer pipelinedNotices = new NoticeContainer();
+    ExecutorService pipelineExecutor = Executors.newCachedThreadPool();
+
+    loadLargeTable(content, sequentialNotices, CsvLoadingOptions.sequential());
+    GtfsEntityContainer<?, ?> pipelined;
+    try {
+      pipelined =
+          loadLargeTable(content, pipelinedNotices, CsvLoadingOptions.pipelined(pipelineExecutor));
+    } finally {
+      pipelineExecutor.shutdown();
+    }
+
+    assertThat(pipelined.getTableStatus()).isEqualTo(TableStatus.UNPARSABLE_ROWS);
+    assertThat(pipelinedNotices.getValidationNotices())
+        .containsExactlyElementsIn(sequentialNotices.getValidationNotices())
+        .inOrder();
+  }
+
+  @Test
+  public void parallelLoading_csvParsingFailure_sameNoticesAsSequential() {
+    when(validatorProvider.getTableHeaderValidator()).thenReturn(mock(TableHeaderValidator.class));
+    when(validatorProvider.getFieldValidator())
+        .thenReturn(new DefaultFieldValidator(CountryCode.forStringOrUnknown(CountryCode.ZZ)));
+    // The last chunk is incomplete when the value that is too long is reached.
+    String content = largeTable(false) + "s_long," + "x".repeat(5000) + "\n";
+    NoticeContainer sequentialNotices = new NoticeContainer();
+    NoticeContainer chunkedNotices = new NoticeContainer();
+    NoticeContainer pipelinedNotices = new NoticeContainer();
+    ExecutorService rowExecutor = Executors.newFixedThreadPool(4);
+    ExecutorService pipelineExecutor = Executors.newCachedThreadPool();
+
+    loadLargeTable(content, sequentialNotices, CsvLoadingOptions.sequential());
+    GtfsEntityContainer<?, ?> chunked;
+    GtfsEntityContainer<?, ?> pipelined;
+    try {
+      chunked =
+          loadLargeTable(
+              content, chunkedNotices, CsvLoadingOptions.parallelRowDecoding(rowExecutor));
+      pipelined =
+          loadLargeTable(content, pipelinedNotices, CsvLoadingOptions.pipelined(pipelineExecutor));
+    } finally {
+      rowExecutor.shutdown();
+      pipelineExecutor.shutdown();
+    }
+
+    assertThat(chunked.getTableStatus()).isEqualTo(TableStatus.UNPARSABLE_ROWS);
+    assertThat(pipelined.getTableStatus()).isEqualTo(TableStatus.UNPARSABLE_ROWS);
+    assertThat(validationNoticeTypes(sequentialNotices)).contains(CsvParsingFailedNotice.class);
+    assertThat(chunkedNotices.getValidationNotices())
+        .containsExactlyElementsIn(sequentialNotices.getValidationNotices())
+        .inOrder();
+    assertThat(pipelinedNotices.getValidationNotices())
+        .containsExactlyElementsIn(sequentialNotices.getValidationNotices())
+        .inOrder();
+  }
 }
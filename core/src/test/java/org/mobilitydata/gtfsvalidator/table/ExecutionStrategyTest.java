@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ExecutionStrategyTest {
+  @Test
+  public void workStealing_sharesOnePoolWhateverTheNumberOfThreads() {
+    ExecutorService first = ExecutionStrategy.WORK_STEALING.newExecutor(2);
+    ExecutorService second = ExecutionStrategy.WORK_STEALING.newExecutor(7);
+    ExecutionStrategy.WORK_STEALING.release(first);
+    ExecutionStrategy.WORK_STEALING.release(second);
+
+    assertThat(second).isSameInstanceAs(first);
+    assertThat(((ForkJoinPool) first).getParallelism())
+        .isEqualTo(Runtime.getRuntime().availableProcessors());
+    assertThat(first.isShutdown()).isFalse();
+  }
+
+  @Test
+  public void fixedThreadPool_newPoolForEveryFeed() {
+    ExecutorService first = ExecutionStrategy.FIXED_THREAD_POOL.newExecutor(2);
+    ExecutorService second = ExecutionStrategy.FIXED_THREAD_POOL.newExecutor(2);
+    ExecutionStrategy.FIXED_THREAD_POOL.release(first);
+    ExecutionStrategy.FIXED_THREAD_POOL.release(second);
+
+    assertThat(second).isNotSameInstanceAs(first);
+    assertThat(first.isShutdown()).isTrue();
+  }
+}
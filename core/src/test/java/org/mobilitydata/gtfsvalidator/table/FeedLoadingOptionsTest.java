@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.parsing.CsvTokenizerType;
+
+@RunWith(JUnit4.class)
+public class FeedLoadingOptionsTest {
+  @Test
+  public void defaults_allOptionsOff() {
+    FeedLoadingOptions options = FeedLoadingOptions.defaults();
+
+    assertThat(options.executionStrategy()).isEqualTo(ExecutionStrategy.FIXED_THREAD_POOL);
+    assertThat(options.csvTokenizerType()).isEqualTo(CsvTokenizerType.UNIVOCITY);
+    assertThat(options.parallelRowDecoding()).isFalse();
+    assertThat(options.pipelinedLoading()).isFalse();
+    assertThat(options.offHeapTables()).isEmpty();
+    assertThat(options.spillThresholdRows()).isEqualTo(0);
+    assertThat(options.eagerMultiFileValidators()).isFalse();
+    assertThat(options.partitionedValidators()).isFalse();
+  }
+
+  @Test
+  public void pipelinedLoadingWithParallelRowDecoding_isRejected() {
+    FeedLoadingOptions.Builder builder =
+        FeedLoadingOptions.builder().setPipelinedLoading(true).setParallelRowDecoding(true);
+
+    assertThrows(IllegalArgumentException.class, builder::build);
+  }
+
+  @Test
+  public void pipelinedLoadingOrParallelRowDecoding_isAccepted() {
+    assertThat(FeedLoadingOptions.builder().setPipelinedLoading(true).build().pipelinedLoading())
+        .isTrue();
+    assertThat(
+            FeedLoadingOptions.builder().setParallelRowDecoding(true).build().parallelRowDecoding())
+        .isTrue();
+  }
+
+  @Test
+  public void sequentialWithOptionsThatNeedThreads_isRejected() {
+    FeedLoadingOptions.Builder sequential =
+        FeedLoadingOptions.builder().setExecutionStrategy(ExecutionStrategy.SEQUENTIAL);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> sequential.setPartitionedValidators(true).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> sequential.setPartitionedValidators(false).setPipelinedLoading(true).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> sequential.setPipelinedLoading(false).setParallelRowDecoding(true).build());
+  }
+
+  @Test
+  public void parallelStrategiesWithPartitionedValidators_areAccepted() {
+    for (ExecutionStrategy executionStrategy : ExecutionStrategy.values()) {
+      if (executionStrategy == ExecutionStrategy.SEQUENTIAL) {
+        continue;
+      }
+      FeedLoadingOptions options =
+          FeedLoadingOptions.builder()
+              .setExecutionStrategy(executionStrategy)
+              .setPartitionedValidators(true)
+              .build();
+
+      assertThat(options.partitionedValidators()).isTrue();
+    }
+  }
+
+  @Test
+  public void eagerValidatorsWithPartitionedValidators_isAccepted() {
+    // Eager validators that become ready together still share a fused scan of their table.
+    FeedLoadingOptions options =
+        FeedLoadingOptions.builder()
+            .setEagerMultiFileValidators(true)
+            .setPartitionedValidators(true)
+            .build();
+
+    assertThat(options.eagerMultiFileValidators()).isTrue();
+    assertThat(options.partitionedValidators()).isTrue();
+  }
+
+  @Test
+  public void sequentialWithEagerValidators_isAccepted() {
+    FeedLoadingOptions options =
+        FeedLoadingOptions.builder()
+            .setExecutionStrategy(ExecutionStrategy.SEQUENTIAL)
+            .setEagerMultiFileValidators(true)
+            .build();
+
+    assertThat(options.eagerMultiFileValidators()).isTrue();
+  }
+
+  @Test
+  public void negativeSpillThreshold_isRejected() {
+    FeedLoadingOptions.Builder builder = FeedLoadingOptions.builder().setSpillThresholdRows(-1);
+
+    assertThrows(IllegalArgumentException.class, builder::build);
+  }
+
+  @Test
+  public void toBuilder_keepsOptions() {
+    FeedLoadingOptions options =
+        FeedLoadingOptions.builder()
+            .setColumnarStorage(true)
+            .setOffHeapTables(ImmutableSet.of("shapes.txt"))
+            .build();
+
+    FeedLoadingOptions copy = options.toBuilder().setIntEncodedIds(true).build();
+
+    assertThat(copy.columnarStorage()).isTrue();
+    assertThat(copy.offHeapTables()).containsExactly("shapes.txt");
+    assertThat(copy.intEncodedIds()).isTrue();
+  }
+}
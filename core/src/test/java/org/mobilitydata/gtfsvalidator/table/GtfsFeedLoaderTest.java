@@ -13,9 +13,11 @@ import org.mobilitydata.gtfsvalidator.input.GtfsInput;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestEntity;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestEntityValidator;
+import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestMultiFileValidator;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestSingleFileValidator;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestTableContainer;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestTableDescriptor;
+import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestTableDescriptor2;
 import org.mobilitydata.gtfsvalidator.testgtfs.WholeFeedValidator;
 import org.mobilitydata.gtfsvalidator.testing.MockGtfs;
 import org.mobilitydata.gtfsvalidator.validator.DefaultValidatorProvider;
@@ -82,4 +84,65 @@ public class GtfsFeedLoaderTest {
                 .get(GtfsFeedLoader.SkippedValidatorReason.MULTI_FILE_VALIDATORS_WITH_ERROR))
         .containsExactly(WholeFeedValidator.class);
   }
+
+  @Test
+  public void testEagerMultiFileValidators() throws Exception {
+    mockGtfs.putFileFromLines(GtfsTestEntity.FILENAME, "id,code", "1,alpha");
+    // Missing `id` value in the second table, which is required.
+    mockGtfs.putFileFromLines(GtfsTestEntity.FILENAME + "2", "id,code", ",beta");
+    ValidatorProvider provider =
+        new DefaultValidatorProvider(
+            TestUtils.contextForTest(),
+            ValidatorLoader.createForClasses(
+                ImmutableList.of(
+                    GtfsTestSingleFileValidator.class,
+                    GtfsTestMultiFileValidator.class,
+                    WholeFeedValidator.class)));
+
+    // Eager validators that scan the same table are fused into a single sweep, which partitioned
+    // validators split into chunks.
+    for (boolean partitionedValidators : new boolean[] {false, true}) {
+      GtfsInput input = GtfsInput.createFromPath(mockGtfs.getPath(), noticeContainer);
+      NoticeContainer notices = new NoticeContainer();
+      GtfsFeedLoader loader =
+          new GtfsFeedLoader(
+              ImmutableList.of(GtfsTestTableDescriptor.class, GtfsTestTableDescriptor2.class));
+      loader.setNumThreads(2);
+      loader.setLoadingOptions(
+          FeedLoadingOptions.builder()
+              .setEagerMultiFileValidators(true)
+              .setPartitionedValidators(partitionedValidators)
+              .build());
+      GtfsFeedContainer feedContainer = loader.loadAndValidate(input, provider, notices);
+
+      assertThat(feedContainer.getTable(GtfsTestTableContainer.class).getEntities()).hasSize(1);
+      assertThat(
+              loader
+                  .getSkippedValidators()
+                  .get(GtfsFeedLoader.SkippedValidatorReason.MULTI_FILE_VALIDATORS_WITH_ERROR))
+          .containsExactly(GtfsTestMultiFileValidator.class, WholeFeedValidator.class);
+      assertThat(notices.getSystemErrors()).isEmpty();
+    }
+  }
+
+  @Test
+  public void testExecutionStrategies() throws Exception {
+    mockGtfs.putFileFromLines(GtfsTestEntity.FILENAME, "id,code", "1,alpha", "2,beta");
+    ValidatorProvider provider =
+        new DefaultValidatorProvider(
+            TestUtils.contextForTest(), ValidatorLoader.createForClasses(VALIDATOR_CLASSES));
+
+    for (ExecutionStrategy executionStrategy : ExecutionStrategy.values()) {
+      GtfsInput input = GtfsInput.createFromPath(mockGtfs.getPath(), noticeContainer);
+      NoticeContainer notices = new NoticeContainer();
+      GtfsFeedLoader loader = new GtfsFeedLoader(ImmutableList.of(GtfsTestTableDescriptor.class));
+      loader.setNumThreads(2);
+      loader.setLoadingOptions(
+          FeedLoadingOptions.builder().setExecutionStrategy(executionStrategy).build());
+      GtfsFeedContainer feedContainer = loader.loadAndValidate(input, provider, notices);
+
+      assertThat(feedContainer.getTable(GtfsTestTableContainer.class).getEntities()).hasSize(2);
+      assertThat(notices.getSystemErrors()).isEmpty();
+    }
+  }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class LazyListIndexTest {
+  private static final ImmutableList<String> ENTITIES = ImmutableList.of("a1", "b1", "a2");
+
+  @Test
+  public void buildsOnFirstAccess() {
+    AtomicInteger builds = new AtomicInteger();
+    LazyListIndex<String, String> index =
+        new LazyListIndex<>(
+            "test.txt",
+            "key",
+            () -> {
+              builds.incrementAndGet();
+              return CsrListIndex.byKey(ENTITIES, (entity) -> entity.substring(0, 1), null);
+            });
+
+    assertThat(index.isBuilt()).isFalse();
+    assertThat(builds.get()).isEqualTo(0);
+
+    assertThat(index.get().get("a")).containsExactly("a1", "a2").inOrder();
+    assertThat(index.get().get("b")).containsExactly("b1");
+    assertThat(index.isBuilt()).isTrue();
+    assertThat(builds.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void buildsOnceForConcurrentReaders() throws Exception {
+    AtomicInteger builds = new AtomicInteger();
+    LazyListIndex<String, String> index =
+        new LazyListIndex<>(
+            "test.txt",
+            "key",
+            () -> {
+              builds.incrementAndGet();
+              return CsrListIndex.byKey(ENTITIES, (entity) -> entity.substring(0, 1), null);
+            });
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<CsrListIndex<String, String>>> futures = new ArrayList<>();
+      for (int i = 0; i < 16; ++i) {
+        futures.add(executor.submit(index::get));
+      }
+      for (Future<CsrListIndex<String, String>> future : futures) {
+        assertThat(future.get()).isSameInstanceAs(index.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(builds.get()).isEqualTo(1);
+  }
+}
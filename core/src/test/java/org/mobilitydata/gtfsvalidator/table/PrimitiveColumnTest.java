@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class PrimitiveColumnTest {
+  @Test
+  public void roundUpToPage() {
+    assertThat(PrimitiveColumn.roundUpToPage(0)).isEqualTo(0);
+    assertThat(PrimitiveColumn.roundUpToPage(1)).isEqualTo(PrimitiveColumn.PAGE_ROWS);
+    assertThat(PrimitiveColumn.roundUpToPage(PrimitiveColumn.PAGE_ROWS))
+        .isEqualTo(PrimitiveColumn.PAGE_ROWS);
+    assertThat(PrimitiveColumn.roundUpToPage(PrimitiveColumn.PAGE_ROWS + 1))
+        .isEqualTo(2 * PrimitiveColumn.PAGE_ROWS);
+  }
+
+  @Test
+  public void resize_keepsValuesAcrossPages() {
+    for (ColumnStorage storage : new ColumnStorage[] {ColumnStorage.HEAP, ColumnStorage.OFF_HEAP}) {
+      PrimitiveColumn column = new PrimitiveColumn(Integer.BYTES, storage);
+      int rows = PrimitiveColumn.PAGE_ROWS + 10;
+      column.resize(PrimitiveColumn.roundUpToPage(rows));
+      for (int row = 0; row < rows; ++row) {
+        column.setInt(row, row * 3);
+      }
+
+      column.resize(rows);
+
+      assertThat(column.memoryBytes()).isEqualTo((long) rows * Integer.BYTES);
+      assertThat(column.getInt(0)).isEqualTo(0);
+      assertThat(column.getInt(PrimitiveColumn.PAGE_ROWS - 1))
+          .isEqualTo((PrimitiveColumn.PAGE_ROWS - 1) * 3);
+      assertThat(column.getInt(rows - 1)).isEqualTo((rows - 1) * 3);
+    }
+  }
+
+  @Test
+  public void accessorsOfAllWidths() {
+    PrimitiveColumn bytes = new PrimitiveColumn(Byte.BYTES, ColumnStorage.OFF_HEAP);
+    PrimitiveColumn shorts = new PrimitiveColumn(Short.BYTES, ColumnStorage.OFF_HEAP);
+    PrimitiveColumn longs = new PrimitiveColumn(Long.BYTES, ColumnStorage.OFF_HEAP);
+    PrimitiveColumn floats = new PrimitiveColumn(Float.BYTES, ColumnStorage.OFF_HEAP);
+    PrimitiveColumn doubles = new PrimitiveColumn(Double.BYTES, ColumnStorage.OFF_HEAP);
+    for (PrimitiveColumn column : new PrimitiveColumn[] {bytes, shorts, longs, floats, doubles}) {
+      column.resize(3);
+    }
+
+    bytes.setByte(2, (byte) -7);
+    shorts.setShort(2, (short) 30000);
+    longs.setLong(2, Long.MIN_VALUE);
+    floats.setFloat(2, 1.5f);
+    doubles.setDouble(2, -0.25);
+
+    assertThat(bytes.getByte(2)).isEqualTo((byte) -7);
+    assertThat(shorts.getShort(2)).isEqualTo((short) 30000);
+    assertThat(longs.getLong(2)).isEqualTo(Long.MIN_VALUE);
+    assertThat(floats.getFloat(2)).isEqualTo(1.5f);
+    assertThat(doubles.getDouble(2)).isEqualTo(-0.25);
+    assertThat(bytes.getByte(1)).isEqualTo((byte) 0);
+  }
+
+  @Test
+  public void spillTo_keepsValuesAfterFileIsClosed() {
+    PrimitiveColumn column = new PrimitiveColumn(Long.BYTES, ColumnStorage.HEAP);
+    int rows = PrimitiveColumn.PAGE_ROWS + 5;
+    column.resize(PrimitiveColumn.roundUpToPage(rows));
+    for (int row = 0; row < rows; ++row) {
+      column.setLong(row, -row);
+    }
+    SpillFile spillFile = SpillFile.create();
+    Path path = spillFile.path();
+
+    column.spillTo(spillFile);
+    column.resize(rows);
+    spillFile.close();
+
+    assertThat(column.storage()).isEqualTo(ColumnStorage.DISK);
+    assertThat(Files.exists(path)).isFalse();
+    assertThat(column.getLong(3)).isEqualTo(-3L);
+    assertThat(column.getLong(rows - 1)).isEqualTo(-(rows - 1L));
+  }
+
+  @Test
+  public void permute() {
+    PrimitiveColumn order = new PrimitiveColumn(Integer.BYTES, ColumnStorage.HEAP);
+    PrimitiveColumn shorts = new PrimitiveColumn(Short.BYTES, ColumnStorage.HEAP);
+    order.resize(3);
+    shorts.resize(PrimitiveColumn.PAGE_ROWS);
+    order.setInt(0, 2);
+    order.setInt(1, 0);
+    order.setInt(2, 1);
+    for (short row = 0; row < 3; ++row) {
+      shorts.setShort(row, (short) (10 * row));
+    }
+
+    shorts.permute(order, 3);
+
+    assertThat(shorts.memoryBytes()).isEqualTo(3L * Short.BYTES);
+    assertThat(shorts.getShort(0)).isEqualTo((short) 20);
+    assertThat(shorts.getShort(1)).isEqualTo((short) 0);
+    assertThat(shorts.getShort(2)).isEqualTo((short) 10);
+  }
+}
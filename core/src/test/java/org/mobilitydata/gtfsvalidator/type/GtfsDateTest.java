@@ -38,6 +38,21 @@ public class GtfsDateTest {
     assertThrows(IllegalArgumentException.class, () -> GtfsDate.fromString("qwerty"));
     assertThrows(IllegalArgumentException.class, () -> GtfsDate.fromString("today"));
     assertThrows(IllegalArgumentException.class, () -> GtfsDate.fromString("20219999"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsDate.fromString("20210229"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsDate.fromString("20211300"));
+  }
+
+  @Test
+  public void parseEpochDay() {
+    assertThat(GtfsDate.parseEpochDay("19700101")).isEqualTo(0);
+    assertThat(GtfsDate.parseEpochDay("20200229"))
+        .isEqualTo((int) LocalDate.of(2020, 2, 29).toEpochDay());
+    assertThat(GtfsDate.parseEpochDay("00000101"))
+        .isEqualTo((int) LocalDate.of(0, 1, 1).toEpochDay());
+    assertThat(GtfsDate.parseEpochDay("99991231"))
+        .isEqualTo((int) LocalDate.of(9999, 12, 31).toEpochDay());
+    assertThrows(IllegalArgumentException.class, () -> GtfsDate.parseEpochDay("21000229"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsDate.parseEpochDay("2021010"));
   }
 
   @Test
@@ -39,6 +39,20 @@ public class GtfsTimeTest {
     assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("midnight"));
     assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("1234:00:12"));
     assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("prefix4:00:12suffix"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("12:60:00"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("12:00:60"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("12:3:45"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("+1:00:00"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString(":00:00"));
+  }
+
+  @Test
+  public void fromString_sharesInstancesUpTo48Hours() {
+    assertThat(GtfsTime.fromString("12:20:30"))
+        .isSameInstanceAs(GtfsTime.fromHourMinuteSecond(12, 20, 30));
+    assertThat(GtfsTime.fromString("48:00:00"))
+        .isSameInstanceAs(GtfsTime.fromSecondsSinceMidnight(48 * 3600));
+    assertThat(GtfsTime.fromString("48:00:01")).isEqualTo(GtfsTime.fromString("48:00:01"));
   }
 
   @Test
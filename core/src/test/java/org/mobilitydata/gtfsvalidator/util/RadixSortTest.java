@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class RadixSortTest {
+  @Test
+  public void packKey_sortsByGroupThenSequence() {
+    assertThat(RadixSort.packKey(0, -1)).isLessThan(RadixSort.packKey(0, 0));
+    assertThat(RadixSort.packKey(0, 1)).isLessThan(RadixSort.packKey(0, 2));
+    assertThat(RadixSort.packKey(0, Integer.MAX_VALUE))
+        .isLessThan(RadixSort.packKey(1, Integer.MIN_VALUE));
+  }
+
+  @Test
+  public void sortedPermutation_keepsOrderOfEqualKeys() {
+    long[] keys = {
+      RadixSort.packKey(1, 2),
+      RadixSort.packKey(0, 5),
+      RadixSort.packKey(1, 1),
+      RadixSort.packKey(0, 5),
+      RadixSort.packKey(0, -3)
+    };
+    long[] copy = keys.clone();
+
+    assertThat(RadixSort.sortedPermutation(keys, keys.length))
+        .asList()
+        .containsExactly(4, 1, 3, 2, 0)
+        .inOrder();
+    assertThat(keys).isEqualTo(copy);
+  }
+
+  @Test
+  public void sortedPermutation_sortsPrefix() {
+    long[] keys = {3, 2, 1, 0};
+
+    assertThat(RadixSort.sortedPermutation(keys, 3)).asList().containsExactly(2, 1, 0).inOrder();
+    assertThat(RadixSort.sortedPermutation(keys, 1)).asList().containsExactly(0);
+    assertThat(RadixSort.sortedPermutation(keys, 0)).isEmpty();
+  }
+
+  @Test
+  public void sortedPermutation_matchesComparisonSort() {
+    Random random = new Random(1);
+    long[] keys = new long[10000];
+    for (int i = 0; i < keys.length; ++i) {
+      keys[i] = RadixSort.packKey(random.nextInt(300), random.nextInt() >> random.nextInt(32));
+    }
+
+    int[] expected =
+        IntStream.range(0, keys.length)
+            .boxed()
+            .sorted(Comparator.comparing((Integer i) -> keys[i], Long::compareUnsigned))
+            .mapToInt(Integer::intValue)
+            .toArray();
+
+    assertThat(Arrays.equals(RadixSort.sortedPermutation(keys, keys.length), expected)).isTrue();
+  }
+}
@@ -19,6 +19,7 @@ package org.mobilitydata.gtfsvalidator.validator;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import java.time.LocalDate;
 import org.junit.Test;
 import org.mobilitydata.gtfsvalidator.input.CountryCode;
@@ -26,8 +27,10 @@ import org.mobilitydata.gtfsvalidator.input.DateForValidation;
 import org.mobilitydata.gtfsvalidator.table.GtfsFeedContainer;
 import org.mobilitydata.gtfsvalidator.table.TableStatus;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestEntityValidator;
+import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestMultiFileValidator;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestSingleFileValidator;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestTableContainer;
+import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestTableContainer2;
 import org.mobilitydata.gtfsvalidator.testgtfs.WholeFeedValidator;
 import org.mobilitydata.gtfsvalidator.validator.ValidatorLoader.ValidatorWithDependencyStatus;
 
@@ -99,4 +102,23 @@ public class ValidatorLoaderTest {
     assertThat(validatorWithStatus.dependenciesHaveErrors()).isTrue();
     assertThat(validatorWithStatus.validator().getStopTable()).isEqualTo(table);
   }
+
+  @Test
+  public void getMultiFileValidatorDependencies_listsInjectedTables()
+      throws ValidatorLoaderException {
+    ValidatorLoader loader =
+        ValidatorLoader.createForClasses(
+            ImmutableList.of(
+                GtfsTestSingleFileValidator.class,
+                GtfsTestMultiFileValidator.class,
+                WholeFeedValidator.class));
+
+    assertThat(loader.getMultiFileValidatorDependencies())
+        .containsExactly(
+            GtfsTestMultiFileValidator.class,
+            ImmutableSet.of(GtfsTestTableContainer.class, GtfsTestTableContainer2.class),
+            WholeFeedValidator.class,
+            ImmutableSet.of(GtfsFeedContainer.class))
+        .inOrder();
+  }
 }
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.validator;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.notice.RuntimeExceptionInValidatorError;
+import org.mobilitydata.gtfsvalidator.notice.UnknownFileNotice;
+import org.mobilitydata.gtfsvalidator.notice.ValidationNotice;
+
+@RunWith(JUnit4.class)
+public class ValidatorUtilTest {
+  /** Reports a notice per partition and fails on the given partition. */
+  private static class NumberValidator extends PartitionedFileValidator<Integer> {
+    private final int partitionCount;
+    private final int failingPartition;
+
+    NumberValidator(int partitionCount, int failingPartition) {
+      this.partitionCount = partitionCount;
+      this.failingPartition = failingPartition;
+    }
+
+    @Override
+    public List<Integer> getPartitions() {
+      return IntStream.range(0, partitionCount).boxed().collect(Collectors.toList());
+    }
+
+    @Override
+    public void validatePartition(Integer partition, NoticeContainer noticeContainer) {
+      if (partition == failingPartition) {
+        throw new IllegalStateException("partition " + partition);
+      }
+      noticeContainer.addValidationNotice(new UnknownFileNotice(partition + ".txt"));
+    }
+  }
+
+  /** Shares a walk over the partitions with other scanning validators. */
+  private static class ScanningValidator extends NumberValidator {
+    private final AtomicInteger partitionCalls = new AtomicInteger();
+
+    ScanningValidator(int partitionCount, int failingPartition) {
+      super(partitionCount, failingPartition);
+    }
+
+    @Override
+    public List<Integer> getPartitions() {
+      partitionCalls.incrementAndGet();
+      return super.getPartitions();
+    }
+
+    @Override
+    public Object getPartitionScanKey() {
+      return ScanningValidator.class;
+    }
+  }
+
+  /** Collects partitions in accumulators and reports them after all partitions. */
+  private static class CollectingValidator extends NumberValidator {
+    private final List<Integer> collected = new ArrayList<>();
+
+    CollectingValidator(int partitionCount, int failingPartition) {
+      super(partitionCount, failingPartition);
+    }
+
+    @Override
+    public PartitionAccumulator<Integer> newAccumulator() {
+      List<Integer> chunkPartitions = new ArrayList<>();
+      return new PartitionAccumulator<Integer>() {
+        @Override
+        public void accumulate(Integer partition) {
+          chunkPartitions.add(partition);
+        }
+
+        @Override
+        public void merge() {
+          collected.addAll(chunkPartitions);
+        }
+      };
+    }
+
+    @Override
+    public void afterPartitions(NoticeContainer noticeContainer) {
+      for (int partition : collected) {
+        noticeContainer.addValidationNotice(new UnknownFileNotice("after" + partition));
+      }
+    }
+  }
+
+  private static NoticeContainer invoke(FileValidator validator, ForkJoinPool pool) {
+    NoticeContainer noticeContainer = new NoticeContainer();
+    ValidatorUtil.invokeFileValidator(validator, pool, noticeContainer);
+    return noticeContainer;
+  }
+
+  @Test
+  public void invokeFileValidator_partitioned_keepsOrderOfPartitions() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      NumberValidator validator = new NumberValidator(1000, -1);
+
+      NoticeContainer expected = invoke(validator, null);
+      NoticeContainer actual = invoke(validator, pool);
+
+      assertThat(actual.getValidationNotices()).hasSize(1000);
+      assertThat(actual.getValidationNotices())
+          .containsExactlyElementsIn(expected.getValidationNotices())
+          .inOrder();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void invokeFileValidator_accumulators_mergedInOrderOfPartitions() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      NoticeContainer expected = invoke(new CollectingValidator(1000, -1), null);
+      NoticeContainer actual = invoke(new CollectingValidator(1000, -1), pool);
+
+      assertThat(actual.getValidationNotices()).hasSize(2000);
+      assertThat(actual.getValidationNotices())
+          .containsExactlyElementsIn(expected.getValidationNotices())
+          .inOrder();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void invokeFileValidator_exceptionInPartition_accumulatorsNotMerged() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      CollectingValidator validator = new CollectingValidator(1000, 500);
+
+      NoticeContainer actual = invoke(validator, pool);
+
+      assertThat(actual.getSystemErrors()).hasSize(1);
+      assertThat(actual.getValidationNotices()).hasSize(500);
+      assertThat(validator.collected).isEmpty();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void invokeFileValidator_exceptionInPartition_sameAsSequential() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      NumberValidator validator = new NumberValidator(1000, 500);
+
+      NoticeContainer expected = invoke(validator, null);
+      NoticeContainer actual = invoke(validator, pool);
+
+      assertThat(actual.getSystemErrors()).hasSize(1);
+      assertThat(actual.getSystemErrors().get(0))
+          .isInstanceOf(RuntimeExceptionInValidatorError.class);
+      // Partitions after the failing one are not validated, as on the calling thread.
+      assertThat(actual.getValidationNotices()).hasSize(500);
+      assertThat(actual.getValidationNotices())
+          .containsExactlyElementsIn(expected.getValidationNotices())
+          .inOrder();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void invokeFileValidator_exceptionsInManyChunks_singleSystemError() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      NumberValidator validator =
+          new NumberValidator(1000, -1) {
+            @Override
+            public void validatePartition(Integer partition, NoticeContainer noticeContainer) {
+              if (partition % 100 == 50) {
+                throw new IllegalStateException("partition " + partition);
+              }
+              super.validatePartition(partition, noticeContainer);
+            }
+          };
+
+      NoticeContainer noticeContainer = invoke(validator, pool);
+
+      assertThat(noticeContainer.getSystemErrors()).hasSize(1);
+      assertThat(noticeContainer.getValidationNotices()).hasSize(50);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void invokeFileValidator_notPartitioned_runsValidate() {
+    FileValidator validator =
+        new FileValidator() {
+          @Override
+          public void validate(NoticeContainer noticeContainer) {
+            noticeContainer.addValidationNotice(new UnknownFileNotice("file.txt"));
+          }
+        };
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      assertThat(invoke(validator, pool).getValidationNotices())
+          .containsExactly(new UnknownFileNotice("file.txt"));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void invokeFileValidator_noPartitions() {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      assertThat(invoke(new NumberValidator(0, -1), pool).isEmpty()).isTrue();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void invokeSingleFileValidators_sameScanKey_walksPartitionsOnce() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      ScanningValidator first = new ScanningValidator(100, -1);
+      ScanningValidator second = new ScanningValidator(100, 50);
+      NoticeContainer noticeContainer = new NoticeContainer();
+
+      ValidatorUtil.invokeSingleFileValidators(
+          ImmutableList.of(first, second), pool, noticeContainer);
+
+      assertThat(first.partitionCalls.get()).isEqualTo(1);
+      assertThat(second.partitionCalls.get()).isEqualTo(0);
+      assertThat(noticeContainer.getSystemErrors()).hasSize(1);
+      // The failing validator is skipped for the partitions that follow, the other one is not.
+      assertThat(noticeContainer.getValidationNotices()).hasSize(150);
+      assertThat(noticeContainer.getValidationNotices().get(0))
+          .isEqualTo(new UnknownFileNotice("0.txt"));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void invokeFileValidator_fusedValidatorFailsInLateChunk_keepsNoticesOfEarlierChunks() {
+    CountDownLatch failed = new CountDownLatch(1);
+    ScanningValidator first = new ScanningValidator(1000, -1);
+    ScanningValidator second =
+        new ScanningValidator(1000, 900) {
+          @Override
+          public void validatePartition(Integer partition, NoticeContainer noticeContainer) {
+            if (partition == 0) {
+              // The first chunk goes on only once a late chunk has failed.
+              Uninterruptibles.awaitUninterruptibly(failed, 10, TimeUnit.SECONDS);
+            } else if (partition == 900) {
+              failed.countDown();
+            }
+            super.validatePartition(partition, noticeContainer);
+          }
+        };
+    List<FileValidator> fused = ValidatorUtil.fusePartitionScans(ImmutableList.of(first, second));
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      NoticeContainer actual = invoke(fused.get(0), pool);
+      NoticeContainer expected = invoke(fused.get(0), null);
+
+      assertThat(actual.getSystemErrors()).hasSize(1);
+      // Both validators report partitions before 900, only the first one reports the others.
+      assertThat(actual.getValidationNotices()).hasSize(1900);
+      assertThat(actual.getValidationNotices())
+          .containsExactlyElementsIn(expected.getValidationNotices());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void invokePartitionScan_reportsToContainerOfEachValidator() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      ScanningValidator first = new ScanningValidator(100, -1);
+      ScanningValidator second = new ScanningValidator(100, 50);
+      NoticeContainer firstNotices = new NoticeContainer();
+      NoticeContainer secondNotices = new NoticeContainer();
+
+      ValidatorUtil.invokePartitionScan(
+          ImmutableList.of(first, second), pool, ImmutableList.of(firstNotices, secondNotices));
+
+      assertThat(first.partitionCalls.get() + second.partitionCalls.get()).isEqualTo(1);
+      assertThat(firstNotices.getSystemErrors()).isEmpty();
+      assertThat(firstNotices.getValidationNotices())
+          .containsExactlyElementsIn(invoke(first, null).getValidationNotices())
+          .inOrder();
+      assertThat(secondNotices.getSystemErrors()).hasSize(1);
+      assertThat(secondNotices.getValidationNotices())
+          .containsExactlyElementsIn(invoke(second, null).getValidationNotices())
+          .inOrder();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void fusePartitionScans_replacesValidatorsWithSameScanKey() {
+    ScanningValidator first = new ScanningValidator(10, -1);
+    NumberValidator notScanning = new NumberValidator(10, -1);
+    ScanningValidator second = new ScanningValidator(10, -1);
+
+    List<FileValidator> fused =
+        ValidatorUtil.fusePartitionScans(ImmutableList.of(first, notScanning, second));
+
+    assertThat(fused).hasSize(2);
+    assertThat(fused.get(0)).isInstanceOf(FusedPartitionedValidator.class);
+    assertThat(fused.get(1)).isSameInstanceAs(notScanning);
+  }
+
+  @Test
+  public void invokeFileValidator_partitioned_callsBeforeAndAfterPartitions() {
+    NumberValidator validator =
+        new NumberValidator(100, -1) {
+          @Override
+          public void beforePartitions(NoticeContainer noticeContainer) {
+            noticeContainer.addValidationNotice(new UnknownFileNotice("before.txt"));
+          }
+
+          @Override
+          public void afterPartitions(NoticeContainer noticeContainer) {
+            noticeContainer.addValidationNotice(new UnknownFileNotice("after.txt"));
+          }
+        };
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      List<ValidationNotice> notices = invoke(validator, pool).getValidationNotices();
+
+      assertThat(notices).hasSize(102);
+      assertThat(notices.get(0)).isEqualTo(new UnknownFileNotice("before.txt"));
+      assertThat(notices.get(101)).isEqualTo(new UnknownFileNotice("after.txt"));
+      assertThat(notices)
+          .containsExactlyElementsIn(invoke(validator, null).getValidationNotices())
+          .inOrder();
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
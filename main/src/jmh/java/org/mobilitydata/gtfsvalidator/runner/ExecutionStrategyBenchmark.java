@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.runner;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.mobilitydata.gtfsvalidator.input.CountryCode;
+import org.mobilitydata.gtfsvalidator.input.DateForValidation;
+import org.mobilitydata.gtfsvalidator.input.GtfsInput;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.table.ExecutionStrategy;
+import org.mobilitydata.gtfsvalidator.table.FeedLoadingOptions;
+import org.mobilitydata.gtfsvalidator.table.GtfsFeedLoader;
+import org.mobilitydata.gtfsvalidator.validator.ClassGraphDiscovery;
+import org.mobilitydata.gtfsvalidator.validator.ValidationContext;
+import org.mobilitydata.gtfsvalidator.validator.ValidatorLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loads and validates the same feeds with every {@link ExecutionStrategy}.
+ *
+ * <p>Feeds are not bundled, pass local GTFS ZIP files or directories with {@code -p
+ * feed=/path/a.zip,/path/b.zip}. Virtual threads need a Java 21 runtime, older ones measure the
+ * fixed thread pool twice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ExecutionStrategyBenchmark {
+  @Param("")
+  public String feed;
+
+  @Param({"FIXED_THREAD_POOL", "WORK_STEALING", "VIRTUAL_THREADS", "SEQUENTIAL"})
+  public ExecutionStrategy executionStrategy;
+
+  @Param("4")
+  public int threads;
+
+  private ValidatorLoader validatorLoader;
+  private ValidationContext validationContext;
+
+  @Setup
+  public void setUp() throws Exception {
+    if (feed.isEmpty()) {
+      throw new IllegalArgumentException("Pass GTFS feeds with -p feed=...");
+    }
+    validatorLoader =
+        ValidatorLoader.createForClasses(ClassGraphDiscovery.discoverValidatorsInDefaultPackage());
+    validationContext =
+        ValidationContext.builder()
+            .setCountryCode(CountryCode.forStringOrUnknown(CountryCode.ZZ))
+            .setDateForValidation(new DateForValidation(LocalDate.now()))
+            .build();
+  }
+
+  @Benchmark
+  public NoticeContainer loadAndValidate() throws Exception {
+    NoticeContainer noticeContainer = new NoticeContainer();
+    GtfsFeedLoader feedLoader = new GtfsFeedLoader(ClassGraphDiscovery.discoverTables());
+    feedLoader.setNumThreads(threads);
+    feedLoader.setLoadingOptions(
+        FeedLoadingOptions.builder().setExecutionStrategy(executionStrategy).build());
+    try (GtfsInput gtfsInput = GtfsInput.createFromPath(Path.of(feed), noticeContainer)) {
+      ValidationRunner.loadAndValidate(
+          validatorLoader, feedLoader, noticeContainer, gtfsInput, validationContext);
+    }
+    return noticeContainer;
+  }
+}
@@ -34,6 +34,7 @@ import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.mobilitydata.gtfsvalidator.input.DateForValidation;
 import org.mobilitydata.gtfsvalidator.input.GtfsInput;
+import org.mobilitydata.gtfsvalidator.notice.ConcurrentNoticeContainer;
 import org.mobilitydata.gtfsvalidator.notice.IOError;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.notice.URISyntaxError;
@@ -105,7 +106,11 @@ public class ValidationRunner {
     final long startNanos = System.nanoTime();
     // Input.
     feedLoader.setNumThreads(config.numThreads());
-    NoticeContainer noticeContainer = new NoticeContainer();
+    feedLoader.setLoadingOptions(config.loadingOptions());
+    NoticeContainer noticeContainer =
+        config.loadingOptions().concurrentNoticeContainer()
+            ? new ConcurrentNoticeContainer()
+            : new NoticeContainer();
     GtfsFeedContainer feedContainer;
     GtfsInput gtfsInput = null;
     try {
@@ -235,6 +240,7 @@ public class ValidationRunner {
 
     logger.atInfo().log("Validation took %.3f seconds%n", feedMetadata.validationTimeSeconds);
     logger.atInfo().log(feedContainer.tableTotalsText());
+    loader.getIdDictionary().ifPresent(d -> logger.atInfo().log(d.savingsText()));
   }
 
   /**
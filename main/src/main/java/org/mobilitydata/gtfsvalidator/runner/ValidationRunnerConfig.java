@@ -21,6 +21,7 @@ import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.Optional;
 import org.mobilitydata.gtfsvalidator.input.CountryCode;
+import org.mobilitydata.gtfsvalidator.table.FeedLoadingOptions;
 
 /** Defines execution parameters for {@link ValidationRunner}. */
 @AutoValue
@@ -53,6 +54,9 @@ public abstract class ValidationRunnerConfig {
   // validation.
   public abstract int numThreads();
 
+  // Selects how loading of files and validators use threads and memory.
+  public abstract FeedLoadingOptions loadingOptions();
+
   // The country code for the country containing the transit service to be
   // validated.
   public abstract CountryCode countryCode();
@@ -73,6 +77,7 @@ public abstract class ValidationRunnerConfig {
         .setHtmlReportFileName("report.html")
         .setSystemErrorsReportFileName("system_errors.json")
         .setNumThreads(1)
+        .setLoadingOptions(FeedLoadingOptions.defaults())
         .setPrettyJson(false)
         .setCountryCode(CountryCode.forStringOrUnknown(CountryCode.ZZ))
         .setDateForValidation(LocalDate.now())
@@ -95,6 +100,8 @@ public abstract class ValidationRunnerConfig {
 
     public abstract Builder setNumThreads(int numThreads);
 
+    public abstract Builder setLoadingOptions(FeedLoadingOptions loadingOptions);
+
     public abstract Builder setCountryCode(CountryCode countryCode);
 
     public abstract Builder setDateForValidation(LocalDate dateForValidation);
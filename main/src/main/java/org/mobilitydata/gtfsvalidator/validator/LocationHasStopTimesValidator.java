@@ -40,27 +40,26 @@ import org.mobilitydata.gtfsvalidator.table.*;
  * </ul>
  */
 @GtfsValidator
-public class LocationHasStopTimesValidator extends FileValidator {
-
-  private final GtfsStopTableContainer stopTable;
+public class LocationHasStopTimesValidator extends TableScanValidator<GtfsStop> {
 
   private final GtfsStopTimeTableContainer stopTimeTable;
 
   private final GtfsLocationGroupStopsTableContainer locationGroupStopTable;
 
+  private final Set<String> stopIdsInStopTimesandLocationGroupStops = new HashSet<>();
+
   @Inject
   LocationHasStopTimesValidator(
       GtfsStopTableContainer stopTable,
       GtfsStopTimeTableContainer stopTimeTable,
       GtfsLocationGroupStopsTableContainer locationGroupStopTable) {
-    this.stopTable = stopTable;
+    super(stopTable);
     this.stopTimeTable = stopTimeTable;
     this.locationGroupStopTable = locationGroupStopTable;
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
-    Set<String> stopIdsInStopTimesandLocationGroupStops = new HashSet<>();
+  public void beforePartitions(NoticeContainer noticeContainer) {
     Set<String> locationGroupIdsInStopTimes = new HashSet<>();
 
     for (GtfsStopTime stopTime : stopTimeTable.getEntities()) {
@@ -79,18 +78,18 @@ public class LocationHasStopTimesValidator extends FileValidator {
         stopIdsInStopTimesandLocationGroupStops.add(locationGroupStop.stopId());
       }
     }
+  }
 
-    for (GtfsStop stop : stopTable.getEntities()) {
-      List<GtfsStopTime> stopTimes = stopTimeTable.byStopId(stop.stopId());
-      if (stop.locationType().equals(GtfsLocationType.STOP)) {
-        if (stopTimes.isEmpty()
-            && !stopIdsInStopTimesandLocationGroupStops.contains(stop.stopId())) {
-          noticeContainer.addValidationNotice(new StopWithoutStopTimeNotice(stop));
-        }
-      } else if (!stopTimes.isEmpty()) {
-        noticeContainer.addValidationNotice(
-            new LocationWithUnexpectedStopTimeNotice(stop, stopTimes.get(0)));
+  @Override
+  public void validateEntity(GtfsStop stop, NoticeContainer noticeContainer) {
+    List<GtfsStopTime> stopTimes = stopTimeTable.byStopId(stop.stopId());
+    if (stop.locationType().equals(GtfsLocationType.STOP)) {
+      if (stopTimes.isEmpty() && !stopIdsInStopTimesandLocationGroupStops.contains(stop.stopId())) {
+        noticeContainer.addValidationNotice(new StopWithoutStopTimeNotice(stop));
       }
+    } else if (!stopTimes.isEmpty()) {
+      noticeContainer.addValidationNotice(
+          new LocationWithUnexpectedStopTimeNotice(stop, stopTimes.get(0)));
     }
   }
 
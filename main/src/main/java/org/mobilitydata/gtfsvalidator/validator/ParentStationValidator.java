@@ -17,7 +17,9 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.ERROR;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import javax.inject.Inject;
@@ -44,11 +46,18 @@ import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeSchema;
  * </ul>
  */
 @GtfsValidator
-public class ParentStationValidator extends FileValidator {
+public class ParentStationValidator extends TableScanValidator<GtfsStop> {
   private final GtfsStopTableContainer stopTable;
 
+  /** Stations in the order of the file, merged from accumulators of all chunks. */
+  private final List<GtfsStop> stations = new ArrayList<>();
+
+  /** Parent stations of stops, merged from accumulators of all chunks. */
+  private final Set<String> stationsWithStops = new HashSet<>();
+
   @Inject
   ParentStationValidator(GtfsStopTableContainer stopTable) {
+    super(stopTable);
     this.stopTable = stopTable;
   }
 
@@ -66,56 +75,71 @@ public class ParentStationValidator extends FileValidator {
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
-    Set<String> stations = new HashSet<>();
-    Set<String> stationsWithStops = new HashSet<String>();
+  public void validateEntity(GtfsStop location, NoticeContainer noticeContainer) {
+    if (location.locationType() == GtfsLocationType.STATION) {
+      // Stations must not have parent_station; this is validated elsewhere.
+      return;
+    }
+    if (!location.hasParentStation()) {
+      return;
+    }
+    Optional<GtfsStop> optionalParentLocation = stopTable.byStopId(location.parentStation());
+    if (optionalParentLocation.isEmpty()) {
+      // Broken reference is reported in another rule.
+      return;
+    }
+    GtfsStop parentLocation = optionalParentLocation.get();
+    GtfsLocationType expected = expectedParentLocationType(location.locationType());
+    if (expected != GtfsLocationType.UNRECOGNIZED && parentLocation.locationType() != expected) {
+      noticeContainer.addValidationNotice(
+          new WrongParentLocationTypeNotice(
+              location.csvRowNumber(),
+              location.stopId(),
+              location.stopName(),
+              location.locationTypeValue(),
+              parentLocation.csvRowNumber(),
+              location.parentStation(),
+              parentLocation.stopName(),
+              parentLocation.locationTypeValue(),
+              expected.getNumber()));
+    }
+  }
 
-    for (GtfsStop location : stopTable.getEntities()) {
-      if (location.locationType() == GtfsLocationType.STATION) {
-        stations.add(location.stopId());
-        // Stations must not have parent_station; this is validated elsewhere.
-        continue;
-      }
-      if (!location.hasParentStation()) {
-        continue;
-      }
-      Optional<GtfsStop> optionalParentLocation = stopTable.byStopId(location.parentStation());
-      if (optionalParentLocation.isEmpty()) {
-        // Broken reference is reported in another rule.
-        continue;
-      }
-      if (location.locationType() == GtfsLocationType.STOP) {
-        stationsWithStops.add(location.parentStation());
-      }
-      GtfsStop parentLocation = optionalParentLocation.get();
-      GtfsLocationType expected = expectedParentLocationType(location.locationType());
-      if (expected != GtfsLocationType.UNRECOGNIZED && parentLocation.locationType() != expected) {
+  @Override
+  public PartitionAccumulator<GtfsStop> newAccumulator() {
+    return new StationAccumulator();
+  }
+
+  /** Reports stations without stops in the order of the file. */
+  @Override
+  public void afterPartitions(NoticeContainer noticeContainer) {
+    for (GtfsStop station : stations) {
+      // Adding the station reports it once if its stop_id repeats.
+      if (stationsWithStops.add(station.stopId())) {
         noticeContainer.addValidationNotice(
-            new WrongParentLocationTypeNotice(
-                location.csvRowNumber(),
-                location.stopId(),
-                location.stopName(),
-                location.locationTypeValue(),
-                parentLocation.csvRowNumber(),
-                location.parentStation(),
-                parentLocation.stopName(),
-                parentLocation.locationTypeValue(),
-                expected.getNumber()));
+            new UnusedStationNotice(station.csvRowNumber(), station.stopId(), station.stopName()));
       }
     }
+  }
 
-    stations.removeAll(stationsWithStops);
-    for (String station : stations) {
-      Optional<GtfsStop> optionalStationStop = stopTable.byStopId(station);
-      if (optionalStationStop.isEmpty()) {
-        // This should never happen because we just populated the set stations
-        // with actual stations.
-        continue;
+  /** Collects stations and parent stations of stops of a chunk. */
+  private final class StationAccumulator implements PartitionAccumulator<GtfsStop> {
+    private final List<GtfsStop> chunkStations = new ArrayList<>();
+    private final Set<String> chunkStationsWithStops = new HashSet<>();
+
+    @Override
+    public void accumulate(GtfsStop location) {
+      if (location.locationType() == GtfsLocationType.STATION) {
+        chunkStations.add(location);
+      } else if (location.locationType() == GtfsLocationType.STOP && location.hasParentStation()) {
+        chunkStationsWithStops.add(location.parentStation());
       }
-      GtfsStop stationStop = optionalStationStop.get();
-      noticeContainer.addValidationNotice(
-          new UnusedStationNotice(
-              stationStop.csvRowNumber(), stationStop.stopId(), stationStop.stopName()));
+    }
+
+    @Override
+    public void merge() {
+      stations.addAll(chunkStations);
+      stationsWithStops.addAll(chunkStationsWithStops);
     }
   }
 
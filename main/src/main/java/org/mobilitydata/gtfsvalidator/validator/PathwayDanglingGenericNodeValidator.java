@@ -42,36 +42,32 @@ import org.mobilitydata.gtfsvalidator.table.GtfsStopTableContainer;
  * <p>Pathway directions are ignored during that validation.
  */
 @GtfsValidator
-public class PathwayDanglingGenericNodeValidator extends FileValidator {
+public class PathwayDanglingGenericNodeValidator extends TableScanValidator<GtfsStop> {
 
   private final GtfsPathwayTableContainer pathwayTable;
 
-  private final GtfsStopTableContainer stopTable;
-
   @Inject
   PathwayDanglingGenericNodeValidator(
       GtfsPathwayTableContainer pathwayTable, GtfsStopTableContainer stopTable) {
+    super(stopTable);
     this.pathwayTable = pathwayTable;
-    this.stopTable = stopTable;
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
-    for (GtfsStop location : stopTable.getEntities()) {
-      if (!location.locationType().equals(GENERIC_NODE)) {
-        continue;
-      }
-      Set<String> incidentIds = new HashSet<>();
-      for (GtfsPathway pathway : pathwayTable.byFromStopId(location.stopId())) {
-        incidentIds.add(pathway.toStopId());
-      }
-      for (GtfsPathway pathway : pathwayTable.byToStopId(location.stopId())) {
-        incidentIds.add(pathway.fromStopId());
-      }
-      if (incidentIds.size() == 1) {
-        // The generic node is incident to a single location.
-        noticeContainer.addValidationNotice(new PathwayDanglingGenericNodeNotice(location));
-      }
+  public void validateEntity(GtfsStop location, NoticeContainer noticeContainer) {
+    if (!location.locationType().equals(GENERIC_NODE)) {
+      return;
+    }
+    Set<String> incidentIds = new HashSet<>();
+    for (GtfsPathway pathway : pathwayTable.byFromStopId(location.stopId())) {
+      incidentIds.add(pathway.toStopId());
+    }
+    for (GtfsPathway pathway : pathwayTable.byToStopId(location.stopId())) {
+      incidentIds.add(pathway.fromStopId());
+    }
+    if (incidentIds.size() == 1) {
+      // The generic node is incident to a single location.
+      noticeContainer.addValidationNotice(new PathwayDanglingGenericNodeNotice(location));
     }
   }
 
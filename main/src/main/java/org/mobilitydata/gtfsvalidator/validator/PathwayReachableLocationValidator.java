@@ -24,6 +24,7 @@ import static org.mobilitydata.gtfsvalidator.table.GtfsPathwayIsBidirectional.BI
 import static org.mobilitydata.gtfsvalidator.validator.PathwayReachableLocationValidator.SearchDirection.FROM_ENTRANCES;
 import static org.mobilitydata.gtfsvalidator.validator.PathwayReachableLocationValidator.SearchDirection.TO_EXITS;
 
+import com.google.common.collect.ImmutableSet;
 import java.util.ArrayDeque;
 import java.util.HashSet;
 import java.util.Optional;
@@ -55,48 +56,61 @@ import org.mobilitydata.gtfsvalidator.util.StopUtil;
  * have incident pathways. Instead, notices are reported for the boarding areas.
  */
 @GtfsValidator
-public class PathwayReachableLocationValidator extends FileValidator {
+public class PathwayReachableLocationValidator extends TableScanValidator<GtfsStop> {
 
   private final GtfsPathwayTableContainer pathwayTable;
 
   private final GtfsStopTableContainer stopTable;
 
+  private Set<String> stationsWithPathways = ImmutableSet.of();
+
+  private Set<String> locationsHavingEntrances = ImmutableSet.of();
+
+  private Set<String> locationsHavingExits = ImmutableSet.of();
+
   @Inject
   PathwayReachableLocationValidator(
       GtfsPathwayTableContainer pathwayTable, GtfsStopTableContainer stopTable) {
+    super(stopTable);
     this.pathwayTable = pathwayTable;
     this.stopTable = stopTable;
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
+  public void beforePartitions(NoticeContainer noticeContainer) {
     final Set<String> pathwayEndpoints = new HashSet<>(pathwayTable.byFromStopIdMap().keySet());
     pathwayEndpoints.addAll(pathwayTable.byToStopIdMap().keySet());
-    final Set<String> stationsWithPathways = findStationsWithPathways(pathwayEndpoints);
-    final Set<String> locationsHavingEntrances = traversePathways(FROM_ENTRANCES);
-    final Set<String> locationsHavingExits = traversePathways(TO_EXITS);
-    for (GtfsStop location : stopTable.getEntities()) {
-      // Skip locations that do not belong to stations with pathways.
-      Optional<GtfsStop> includingStation =
-          StopUtil.getIncludingStation(stopTable, location.stopId());
-      if (!(includingStation.isPresent()
-          && stationsWithPathways.contains(includingStation.get().stopId()))) {
-        continue;
-      }
-      // Emit notices only for generic nodes, boarding areas and platforms that do not have boarding
-      // areas.
-      if (!(location.locationType().equals(GENERIC_NODE)
-          || location.locationType().equals(BOARDING_AREA)
-          || (location.locationType().equals(STOP)
-              && stopTable.byParentStation(location.stopId()).isEmpty()))) {
-        continue;
-      }
-      boolean hasEntrance = locationsHavingEntrances.contains(location.stopId());
-      boolean hasExit = locationsHavingExits.contains(location.stopId());
-      if (!(hasEntrance && hasExit)) {
-        noticeContainer.addValidationNotice(
-            new PathwayUnreachableLocationNotice(location, hasEntrance, hasExit));
-      }
+    stationsWithPathways = findStationsWithPathways(pathwayEndpoints);
+    if (stationsWithPathways.isEmpty()) {
+      // No location is checked, so pathways need not be traversed.
+      return;
+    }
+    locationsHavingEntrances = traversePathways(FROM_ENTRANCES);
+    locationsHavingExits = traversePathways(TO_EXITS);
+  }
+
+  @Override
+  public void validateEntity(GtfsStop location, NoticeContainer noticeContainer) {
+    // Skip locations that do not belong to stations with pathways.
+    Optional<GtfsStop> includingStation =
+        StopUtil.getIncludingStation(stopTable, location.stopId());
+    if (!(includingStation.isPresent()
+        && stationsWithPathways.contains(includingStation.get().stopId()))) {
+      return;
+    }
+    // Emit notices only for generic nodes, boarding areas and platforms that do not have boarding
+    // areas.
+    if (!(location.locationType().equals(GENERIC_NODE)
+        || location.locationType().equals(BOARDING_AREA)
+        || (location.locationType().equals(STOP)
+            && stopTable.byParentStation(location.stopId()).isEmpty()))) {
+      return;
+    }
+    boolean hasEntrance = locationsHavingEntrances.contains(location.stopId());
+    boolean hasExit = locationsHavingExits.contains(location.stopId());
+    if (!(hasEntrance && hasExit)) {
+      noticeContainer.addValidationNotice(
+          new PathwayUnreachableLocationNotice(location, hasEntrance, hasExit));
     }
   }
 
@@ -18,7 +18,7 @@ package org.mobilitydata.gtfsvalidator.validator;
 import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.WARNING;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Multimaps;
+import com.google.common.collect.ImmutableList;
 import com.google.common.geometry.S2LatLng;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
@@ -59,7 +59,7 @@ import org.mobilitydata.gtfsvalidator.util.shape.StopToShapeMatcherSettings;
  * sequences for trips that reference the shape can be properly matched to the shape.
  */
 @GtfsValidator
-public class ShapeToStopMatchingValidator extends FileValidator {
+public class ShapeToStopMatchingValidator extends PartitionedFileValidator<String> {
 
   private static final HashFunction HASH_FUNCTION = Hashing.farmHashFingerprint64();
 
@@ -118,51 +118,56 @@ public class ShapeToStopMatchingValidator extends FileValidator {
     return hasher.hash().asLong();
   }
 
+  /** Returns IDs of shapes, or an empty list if any of the tables is empty. */
   @Override
-  public void validate(NoticeContainer noticeContainer) {
+  public List<String> getPartitions() {
     if (stopTable.getEntities().isEmpty()
         || tripTable.getEntities().isEmpty()
         || stopTimeTable.getEntities().isEmpty()
         || shapeTable.getEntities().isEmpty()) {
+      return ImmutableList.of();
+    }
+    return ImmutableList.copyOf(shapeTable.byShapeIdMap().keySet());
+  }
+
+  @Override
+  public void validatePartition(String shapeId, NoticeContainer noticeContainer) {
+    List<GtfsTrip> trips = tripTable.byShapeId(shapeId);
+    if (trips.isEmpty()) {
       return;
     }
-    for (List<GtfsShape> gtfsShapePoints : Multimaps.asMap(shapeTable.byShapeIdMap()).values()) {
-      List<GtfsTrip> trips = tripTable.byShapeId(gtfsShapePoints.get(0).shapeId());
-      if (trips.isEmpty()) {
+    List<GtfsShape> gtfsShapePoints = shapeTable.byShapeId(shapeId);
+    final ShapePoints shapePoints = ShapePoints.fromGtfsShape(gtfsShapePoints);
+    // Report each stop that is too far from shape only once, even if there are multiple trips
+    // that visit it.
+    Set<Long> processedTripHashes = new HashSet<>();
+    Set<String> reportedStopIds = new HashSet<>();
+    for (GtfsTrip trip : trips) {
+      List<GtfsStopTime> stopTimes = stopTimeTable.byTripId(trip.tripId());
+      if (!processedTripHashes.add(tripHash(stopTimes))) {
+        continue;
+      }
+      Optional<GtfsRoute> route = routeTable.byRouteId(trip.routeId());
+      if (route.isEmpty()) {
+        // Broken reference is reported in another rule.
         continue;
       }
-      final ShapePoints shapePoints = ShapePoints.fromGtfsShape(gtfsShapePoints);
-      // Report each stop that is too far from shape only once, even if there are multiple trips
-      // that visit it.
-      Set<Long> processedTripHashes = new HashSet<>();
-      Set<String> reportedStopIds = new HashSet<>();
-      for (GtfsTrip trip : trips) {
-        List<GtfsStopTime> stopTimes = stopTimeTable.byTripId(trip.tripId());
-        if (!processedTripHashes.add(tripHash(stopTimes))) {
-          continue;
-        }
-        Optional<GtfsRoute> route = routeTable.byRouteId(trip.routeId());
-        if (route.isEmpty()) {
-          // Broken reference is reported in another rule.
-          continue;
-        }
-        final StopPoints stopPoints =
-            StopPoints.fromStopTimes(
-                stopTimes, stopTable, StopPoints.routeTypeToStationSize(route.get().routeType()));
+      final StopPoints stopPoints =
+          StopPoints.fromStopTimes(
+              stopTimes, stopTable, StopPoints.routeTypeToStationSize(route.get().routeType()));
+      reportProblems(
+          trip,
+          stopToShapeMatcher.matchUsingGeoDistance(stopPoints, shapePoints).getProblems(),
+          MatchingDistance.GEO,
+          reportedStopIds,
+          noticeContainer);
+      if (stopPoints.hasUserDistance() && shapePoints.hasUserDistance()) {
         reportProblems(
             trip,
-            stopToShapeMatcher.matchUsingGeoDistance(stopPoints, shapePoints).getProblems(),
-            MatchingDistance.GEO,
+            stopToShapeMatcher.matchUsingUserDistance(stopPoints, shapePoints).getProblems(),
+            MatchingDistance.USER,
             reportedStopIds,
             noticeContainer);
-        if (stopPoints.hasUserDistance() && shapePoints.hasUserDistance()) {
-          reportProblems(
-              trip,
-              stopToShapeMatcher.matchUsingUserDistance(stopPoints, shapePoints).getProblems(),
-              MatchingDistance.USER,
-              reportedStopIds,
-              noticeContainer);
-        }
       }
     }
   }
@@ -17,7 +17,6 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.ERROR;
 
-import com.google.common.collect.Multimaps;
 import java.util.List;
 import javax.inject.Inject;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
@@ -44,49 +43,45 @@ import org.mobilitydata.gtfsvalidator.type.GtfsTime;
  * </ul>
  */
 @GtfsValidator
-public class StopTimeArrivalAndDepartureTimeValidator extends FileValidator {
-
-  private final GtfsStopTimeTableContainer table;
+public class StopTimeArrivalAndDepartureTimeValidator extends TripStopTimesValidator {
 
   @Inject
   StopTimeArrivalAndDepartureTimeValidator(GtfsStopTimeTableContainer table) {
-    this.table = table;
+    super(table);
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
-    for (List<GtfsStopTime> stopTimeList : Multimaps.asMap(table.byTripIdMap()).values()) {
-      int previousDepartureRow = -1;
-      for (int i = 0; i < stopTimeList.size(); ++i) {
-        GtfsStopTime stopTime = stopTimeList.get(i);
-        final boolean hasDeparture = stopTime.hasDepartureTime();
-        final boolean hasArrival = stopTime.hasArrivalTime();
-        if (hasArrival != hasDeparture) {
-          noticeContainer.addValidationNotice(
-              new StopTimeWithOnlyArrivalOrDepartureTimeNotice(
-                  stopTime.csvRowNumber(),
-                  stopTime.tripId(),
-                  stopTime.stopSequence(),
-                  hasArrival
-                      ? GtfsStopTime.ARRIVAL_TIME_FIELD_NAME
-                      : GtfsStopTime.DEPARTURE_TIME_FIELD_NAME));
-        }
-        if (hasArrival
-            && previousDepartureRow != -1
-            && stopTime
-                .arrivalTime()
-                .isBefore(stopTimeList.get(previousDepartureRow).departureTime())) {
-          noticeContainer.addValidationNotice(
-              new StopTimeWithArrivalBeforePreviousDepartureTimeNotice(
-                  stopTime.csvRowNumber(),
-                  stopTimeList.get(previousDepartureRow).csvRowNumber(),
-                  stopTime.tripId(),
-                  stopTime.arrivalTime(),
-                  stopTimeList.get(previousDepartureRow).departureTime()));
-        }
-        if (hasDeparture) {
-          previousDepartureRow = i;
-        }
+  public void validateTrip(List<GtfsStopTime> stopTimeList, NoticeContainer noticeContainer) {
+    int previousDepartureRow = -1;
+    for (int i = 0; i < stopTimeList.size(); ++i) {
+      GtfsStopTime stopTime = stopTimeList.get(i);
+      final boolean hasDeparture = stopTime.hasDepartureTime();
+      final boolean hasArrival = stopTime.hasArrivalTime();
+      if (hasArrival != hasDeparture) {
+        noticeContainer.addValidationNotice(
+            new StopTimeWithOnlyArrivalOrDepartureTimeNotice(
+                stopTime.csvRowNumber(),
+                stopTime.tripId(),
+                stopTime.stopSequence(),
+                hasArrival
+                    ? GtfsStopTime.ARRIVAL_TIME_FIELD_NAME
+                    : GtfsStopTime.DEPARTURE_TIME_FIELD_NAME));
+      }
+      if (hasArrival
+          && previousDepartureRow != -1
+          && stopTime
+              .arrivalTime()
+              .isBefore(stopTimeList.get(previousDepartureRow).departureTime())) {
+        noticeContainer.addValidationNotice(
+            new StopTimeWithArrivalBeforePreviousDepartureTimeNotice(
+                stopTime.csvRowNumber(),
+                stopTimeList.get(previousDepartureRow).csvRowNumber(),
+                stopTime.tripId(),
+                stopTime.arrivalTime(),
+                stopTimeList.get(previousDepartureRow).departureTime()));
+      }
+      if (hasDeparture) {
+        previousDepartureRow = i;
       }
     }
   }
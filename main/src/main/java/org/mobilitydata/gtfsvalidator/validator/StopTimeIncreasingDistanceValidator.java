@@ -17,7 +17,6 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.ERROR;
 
-import com.google.common.collect.Multimaps;
 import java.util.List;
 import javax.inject.Inject;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
@@ -35,13 +34,11 @@ import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeTableContainer;
  * <p>Generated notice: {@link DecreasingOrEqualStopTimeDistanceNotice}.
  */
 @GtfsValidator
-public class StopTimeIncreasingDistanceValidator extends FileValidator {
-
-  private final GtfsStopTimeTableContainer stopTimeTable;
+public class StopTimeIncreasingDistanceValidator extends TripStopTimesValidator {
 
   @Inject
   StopTimeIncreasingDistanceValidator(GtfsStopTimeTableContainer stopTimeTable) {
-    this.stopTimeTable = stopTimeTable;
+    super(stopTimeTable);
   }
 
   @Override
@@ -51,35 +48,33 @@ public class StopTimeIncreasingDistanceValidator extends FileValidator {
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
-    for (List<GtfsStopTime> stopTimeList : Multimaps.asMap(stopTimeTable.byTripIdMap()).values()) {
-      // GtfsStopTime objects are sorted based on @SequenceKey annotation on stop_sequence field.
-      GtfsStopTime prev = null;
-      for (var curr : stopTimeList) {
-        // DecreasingOrEqualStopTimeDistanceNotice should not be triggered in cases where stop
-        // times has location id, location group id or stop id is not present
-        // See: https://github.com/MobilityData/gtfs-validator/issues/1882
-        if (!curr.hasStopId()) {
-          continue;
-        }
-
-        if (prev != null
-            && prev.hasShapeDistTraveled()
-            && curr.hasShapeDistTraveled()
-            && prev.shapeDistTraveled() >= curr.shapeDistTraveled()) {
-          noticeContainer.addValidationNotice(
-              new DecreasingOrEqualStopTimeDistanceNotice(
-                  curr.tripId(),
-                  curr.stopId(),
-                  curr.csvRowNumber(),
-                  curr.shapeDistTraveled(),
-                  curr.stopSequence(),
-                  prev.csvRowNumber(),
-                  prev.shapeDistTraveled(),
-                  prev.stopSequence()));
-        }
-        prev = curr;
+  public void validateTrip(List<GtfsStopTime> stopTimeList, NoticeContainer noticeContainer) {
+    // GtfsStopTime objects are sorted based on @SequenceKey annotation on stop_sequence field.
+    GtfsStopTime prev = null;
+    for (var curr : stopTimeList) {
+      // DecreasingOrEqualStopTimeDistanceNotice should not be triggered in cases where stop
+      // times has location id, location group id or stop id is not present
+      // See: https://github.com/MobilityData/gtfs-validator/issues/1882
+      if (!curr.hasStopId()) {
+        continue;
+      }
+
+      if (prev != null
+          && prev.hasShapeDistTraveled()
+          && curr.hasShapeDistTraveled()
+          && prev.shapeDistTraveled() >= curr.shapeDistTraveled()) {
+        noticeContainer.addValidationNotice(
+            new DecreasingOrEqualStopTimeDistanceNotice(
+                curr.tripId(),
+                curr.stopId(),
+                curr.csvRowNumber(),
+                curr.shapeDistTraveled(),
+                curr.stopSequence(),
+                prev.csvRowNumber(),
+                prev.shapeDistTraveled(),
+                prev.stopSequence()));
       }
+      prev = curr;
     }
   }
 
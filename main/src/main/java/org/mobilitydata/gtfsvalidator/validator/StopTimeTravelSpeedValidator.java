@@ -20,6 +20,7 @@ import static org.mobilitydata.gtfsvalidator.util.StopUtil.getStopOrParentLatLng
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.geometry.S2LatLng;
@@ -57,7 +58,8 @@ import org.mobilitydata.gtfsvalidator.util.S2Earth;
  * <p>Max allowed speed depends on route type, so trains are OK to move faster than buses.
  */
 @GtfsValidator
-public class StopTimeTravelSpeedValidator extends FileValidator {
+public class StopTimeTravelSpeedValidator
+    extends PartitionedFileValidator<List<StopTimeTravelSpeedValidator.TripAndStopTimes>> {
 
   private static final HashFunction HASH_FUNCTION = Hashing.farmHashFingerprint64();
 
@@ -81,8 +83,12 @@ public class StopTimeTravelSpeedValidator extends FileValidator {
     this.stopTable = stopTable;
   }
 
+  /**
+   * Returns groups of trips that belong to the same route and visit the same stops at the same
+   * times, so that each group is validated once.
+   */
   @Override
-  public void validate(NoticeContainer noticeContainer) {
+  public List<List<TripAndStopTimes>> getPartitions() {
     final ListMultimap<Long, TripAndStopTimes> tripsByHash = ArrayListMultimap.create();
     for (List<GtfsStopTime> stopTimes : Multimaps.asMap(stopTimeTable.byTripIdMap()).values()) {
       tripTable
@@ -91,23 +97,26 @@ public class StopTimeTravelSpeedValidator extends FileValidator {
           .ifPresent(
               tripAndStopTimes -> tripsByHash.put(tripAndStopTimes.tripFprint(), tripAndStopTimes));
     }
-    for (List<TripAndStopTimes> trips : Multimaps.asMap(tripsByHash).values()) {
-      final TripAndStopTimes tripAndStopTimes = trips.get(0);
-      // All trips belong to the same route.
-      final Optional<GtfsRoute> route = routeTable.byRouteId(tripAndStopTimes.getTrip().routeId());
-      if (route.isEmpty()) {
-        // Broken reference is reported in another rule.
-        continue;
-      }
-      final double maxSpeedKph = getMaxVehicleSpeedKph(route.get().routeType());
-      final double[] distancesKm = findDistancesKmBetweenStops(tripAndStopTimes.getStopTimes());
-      validateConsecutiveStops(trips, distancesKm, maxSpeedKph, noticeContainer);
-      validateFarStops(trips, distancesKm, maxSpeedKph, noticeContainer);
+    return ImmutableList.copyOf(Multimaps.asMap(tripsByHash).values());
+  }
+
+  @Override
+  public void validatePartition(List<TripAndStopTimes> trips, NoticeContainer noticeContainer) {
+    final TripAndStopTimes tripAndStopTimes = trips.get(0);
+    // All trips belong to the same route.
+    final Optional<GtfsRoute> route = routeTable.byRouteId(tripAndStopTimes.getTrip().routeId());
+    if (route.isEmpty()) {
+      // Broken reference is reported in another rule.
+      return;
     }
+    final double maxSpeedKph = getMaxVehicleSpeedKph(route.get().routeType());
+    final double[] distancesKm = findDistancesKmBetweenStops(tripAndStopTimes.getStopTimes());
+    validateConsecutiveStops(trips, distancesKm, maxSpeedKph, noticeContainer);
+    validateFarStops(trips, distancesKm, maxSpeedKph, noticeContainer);
   }
 
   /** A GTFS trip and all its stop times. */
-  private static class TripAndStopTimes {
+  static class TripAndStopTimes {
 
     private final GtfsTrip trip;
 
@@ -21,6 +21,7 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import java.util.HashSet;
 import java.util.Set;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice.FileRefs;
@@ -38,14 +39,16 @@ import org.mobilitydata.gtfsvalidator.table.*;
  * <p>Generated notice: {@link StopWithoutZoneIdNotice}.
  */
 @GtfsValidator
-public class StopZoneIdValidator extends FileValidator {
+public class StopZoneIdValidator extends TableScanValidator<GtfsStop> {
 
-  private final GtfsStopTableContainer stopTable;
   private final GtfsFareRuleTableContainer fareRuleTable;
   private final GtfsStopTimeTableContainer stopTimeTable;
   private final GtfsTripTableContainer tripTable;
   private final GtfsRouteTableContainer routeTable;
 
+  /** Fare rules with zone fields by route ID, or null if fare rules do not use zones. */
+  @Nullable private Multimap<String, GtfsFareRule> routesWithZoneFieldsDefined;
+
   @Inject
   StopZoneIdValidator(
       GtfsStopTableContainer stopTable,
@@ -53,7 +56,7 @@ public class StopZoneIdValidator extends FileValidator {
       GtfsStopTimeTableContainer stopTimeTable,
       GtfsTripTableContainer tripTable,
       GtfsRouteTableContainer routeTable) {
-    this.stopTable = stopTable;
+    super(stopTable);
     this.fareRuleTable = fareRuleTable;
     this.stopTimeTable = stopTimeTable;
     this.tripTable = tripTable;
@@ -78,7 +81,7 @@ public class StopZoneIdValidator extends FileValidator {
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
+  public void beforePartitions(NoticeContainer noticeContainer) {
     if (fareRuleTable.getEntities().isEmpty()) {
       return;
     }
@@ -86,26 +89,31 @@ public class StopZoneIdValidator extends FileValidator {
       return;
     }
 
-    Multimap<String, GtfsFareRule> routesWithZoneFieldsDefined =
+    routesWithZoneFieldsDefined =
         Multimaps.filterValues(
             fareRuleTable.byRouteIdMap(),
             fareRule ->
                 fareRule.hasOriginId() || fareRule.hasDestinationId() || fareRule.hasContainsId());
-    for (GtfsStop stop : stopTable.getEntities()) {
-      if (!stop.locationType().equals(GtfsLocationType.STOP)) {
-        continue;
-      }
-      if (stop.hasZoneId()) {
-        continue;
-      }
+  }
+
+  @Override
+  public void validateEntity(GtfsStop stop, NoticeContainer noticeContainer) {
+    if (routesWithZoneFieldsDefined == null) {
+      return;
+    }
+    if (!stop.locationType().equals(GtfsLocationType.STOP)) {
+      return;
+    }
+    if (stop.hasZoneId()) {
+      return;
+    }
 
-      // check that a stop without zone_id does not have a route_id in a fare_rule with
-      // zone-dependent fields
-      for (GtfsRoute route : getRoutesIncludingStop(stop)) {
-        if (routesWithZoneFieldsDefined.containsKey(route.routeId())) {
-          noticeContainer.addValidationNotice(new StopWithoutZoneIdNotice(stop));
-          break;
-        }
+    // check that a stop without zone_id does not have a route_id in a fare_rule with
+    // zone-dependent fields
+    for (GtfsRoute route : getRoutesIncludingStop(stop)) {
+      if (routesWithZoneFieldsDefined.containsKey(route.routeId())) {
+        noticeContainer.addValidationNotice(new StopWithoutZoneIdNotice(stop));
+        break;
       }
     }
   }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.validator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimaps;
+import java.util.List;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.table.GtfsStopTime;
+import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeTableContainer;
+
+/**
+ * Base class for single-file validators that visit the stop times of each trip.
+ *
+ * <p>Once stop_times.txt is loaded, all these validators share a single walk over trips: the stop
+ * times of a trip are passed to every validator, one after another, instead of each validator
+ * walking all of stop_times.txt on its own.
+ */
+public abstract class TripStopTimesValidator extends PartitionedFileValidator<List<GtfsStopTime>> {
+
+  protected final GtfsStopTimeTableContainer stopTimeTable;
+
+  protected TripStopTimesValidator(GtfsStopTimeTableContainer stopTimeTable) {
+    this.stopTimeTable = stopTimeTable;
+  }
+
+  /**
+   * Validates the stop times of a trip, sorted by stop_sequence.
+   *
+   * @param stopTimes stop times of the trip, never empty
+   * @param noticeContainer container for notices
+   */
+  public abstract void validateTrip(List<GtfsStopTime> stopTimes, NoticeContainer noticeContainer);
+
+  /** Returns stop times grouped by trip. */
+  @Override
+  public final List<List<GtfsStopTime>> getPartitions() {
+    return ImmutableList.copyOf(Multimaps.asMap(stopTimeTable.byTripIdMap()).values());
+  }
+
+  @Override
+  public final void validatePartition(
+      List<GtfsStopTime> stopTimes, NoticeContainer noticeContainer) {
+    validateTrip(stopTimes, noticeContainer);
+  }
+
+  @Override
+  public final Object getPartitionScanKey() {
+    return TripStopTimesValidator.class;
+  }
+}
@@ -36,26 +36,22 @@ import org.mobilitydata.gtfsvalidator.table.GtfsTripTableContainer;
  * <p>Generated notice: {@link UnusableTripNotice}.
  */
 @GtfsValidator
-public class TripUsabilityValidator extends FileValidator {
-
-  private final GtfsTripTableContainer tripTable;
+public class TripUsabilityValidator extends TableScanValidator<GtfsTrip> {
 
   private final GtfsStopTimeTableContainer stopTimeTable;
 
   @Inject
   TripUsabilityValidator(
       GtfsTripTableContainer tripTable, GtfsStopTimeTableContainer stopTimeTable) {
-    this.tripTable = tripTable;
+    super(tripTable);
     this.stopTimeTable = stopTimeTable;
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
-    for (GtfsTrip trip : tripTable.getEntities()) {
-      String tripId = trip.tripId();
-      if (stopTimeTable.byTripId(tripId).size() <= 1) {
-        noticeContainer.addValidationNotice(new UnusableTripNotice(trip.csvRowNumber(), tripId));
-      }
+  public void validateEntity(GtfsTrip trip, NoticeContainer noticeContainer) {
+    String tripId = trip.tripId();
+    if (stopTimeTable.byTripId(tripId).size() <= 1) {
+      noticeContainer.addValidationNotice(new UnusableTripNotice(trip.csvRowNumber(), tripId));
     }
   }
 
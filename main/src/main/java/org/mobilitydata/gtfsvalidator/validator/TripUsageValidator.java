@@ -17,8 +17,6 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.WARNING;
 
-import java.util.HashSet;
-import java.util.Set;
 import javax.inject.Inject;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice.FileRefs;
@@ -38,7 +36,7 @@ import org.mobilitydata.gtfsvalidator.table.GtfsTripTableContainer;
  * <p>Generated notice: {@link UnusedTripNotice}.
  */
 @GtfsValidator
-public class TripUsageValidator extends FileValidator {
+public class TripUsageValidator extends TableScanValidator<GtfsTrip> {
 
   private final GtfsTripTableContainer tripTable;
 
@@ -46,22 +44,30 @@ public class TripUsageValidator extends FileValidator {
 
   @Inject
   TripUsageValidator(GtfsTripTableContainer tripTable, GtfsStopTimeTableContainer stopTimeTable) {
+    super(tripTable);
     this.tripTable = tripTable;
     this.stopTimeTable = stopTimeTable;
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
-    // Do not report the same trip_id multiple times.
-    Set<String> reportedTrips = new HashSet<>();
-    for (GtfsTrip trip : tripTable.getEntities()) {
-      String tripId = trip.tripId();
-      if (reportedTrips.add(tripId) && stopTimeTable.byTripId(tripId).isEmpty()) {
-        noticeContainer.addValidationNotice(new UnusedTripNotice(tripId, trip.csvRowNumber()));
-      }
+  public void validateEntity(GtfsTrip trip, NoticeContainer noticeContainer) {
+    String tripId = trip.tripId();
+    if (isFirstTripWithId(trip) && stopTimeTable.byTripId(tripId).isEmpty()) {
+      noticeContainer.addValidationNotice(new UnusedTripNotice(tripId, trip.csvRowNumber()));
     }
   }
 
+  /**
+   * Tells if the trip is the first one with its trip_id, so that the same trip_id is not reported
+   * multiple times. Only the first trip with an ID is indexed.
+   */
+  private boolean isFirstTripWithId(GtfsTrip trip) {
+    return tripTable
+        .byTripId(trip.tripId())
+        .map(indexedTrip -> indexedTrip.csvRowNumber() == trip.csvRowNumber())
+        .orElse(true);
+  }
+
   /**
    * Trip is not be used in `stop_times.txt`
    *
@@ -19,6 +19,7 @@ import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.WARNING;
 
 import com.google.common.base.Ascii;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ListMultimap;
 import javax.inject.Inject;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
@@ -46,28 +47,30 @@ import org.mobilitydata.gtfsvalidator.table.GtfsStopTableContainer;
  * </ul>
  */
 @GtfsValidator
-public class UrlConsistencyValidator extends FileValidator {
+public class UrlConsistencyValidator extends TableScanValidator<GtfsStop> {
 
   private final GtfsAgencyTableContainer agencyTable;
 
   private final GtfsRouteTableContainer routeTable;
 
-  private final GtfsStopTableContainer stopTable;
+  private ListMultimap<String, GtfsAgency> agencyByUrlMap = ImmutableListMultimap.of();
+
+  private ListMultimap<String, GtfsRoute> routesByUrlMap = ImmutableListMultimap.of();
 
   @Inject
   UrlConsistencyValidator(
       GtfsAgencyTableContainer agencyTable,
       GtfsRouteTableContainer routeTable,
       GtfsStopTableContainer stopTable) {
+    super(stopTable);
     this.agencyTable = agencyTable;
     this.routeTable = routeTable;
-    this.stopTable = stopTable;
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
-    ListMultimap<String, GtfsAgency> agencyByUrlMap = agenciesByUrlMap(agencyTable);
-    ListMultimap<String, GtfsRoute> routesByUrlMap = routesByUrlMap(routeTable);
+  public void beforePartitions(NoticeContainer noticeContainer) {
+    agencyByUrlMap = agenciesByUrlMap(agencyTable);
+    routesByUrlMap = routesByUrlMap(routeTable);
     for (GtfsRoute route : routeTable.getEntities()) {
       if (!route.hasRouteUrl()) {
         continue;
@@ -76,16 +79,18 @@ public class UrlConsistencyValidator extends FileValidator {
         noticeContainer.addValidationNotice(new SameRouteAndAgencyUrlNotice(route, agency));
       }
     }
-    for (GtfsStop stop : stopTable.getEntities()) {
-      if (!stop.hasStopUrl()) {
-        continue;
-      }
-      for (GtfsAgency agency : agencyByUrlMap.get(Ascii.toLowerCase(stop.stopUrl()))) {
-        noticeContainer.addValidationNotice(new SameStopAndAgencyUrlNotice(stop, agency));
-      }
-      for (GtfsRoute route : routesByUrlMap.get(Ascii.toLowerCase(stop.stopUrl()))) {
-        noticeContainer.addValidationNotice(new SameStopAndRouteUrlNotice(stop, route));
-      }
+  }
+
+  @Override
+  public void validateEntity(GtfsStop stop, NoticeContainer noticeContainer) {
+    if (!stop.hasStopUrl()) {
+      return;
+    }
+    for (GtfsAgency agency : agencyByUrlMap.get(Ascii.toLowerCase(stop.stopUrl()))) {
+      noticeContainer.addValidationNotice(new SameStopAndAgencyUrlNotice(stop, agency));
+    }
+    for (GtfsRoute route : routesByUrlMap.get(Ascii.toLowerCase(stop.stopUrl()))) {
+      noticeContainer.addValidationNotice(new SameStopAndRouteUrlNotice(stop, route));
     }
   }
 
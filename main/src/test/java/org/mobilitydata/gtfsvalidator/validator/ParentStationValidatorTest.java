@@ -20,6 +20,7 @@ import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -188,6 +189,73 @@ public class ParentStationValidatorTest {
         .containsExactly(new UnusedStationNotice(2, "unused_station", "Unused station"));
   }
 
+  @Test
+  public void unusedStations_reportedInOrderOfFile() {
+    NoticeContainer noticeContainer = new NoticeContainer();
+    ImmutableList.Builder<GtfsStop> stops = ImmutableList.builder();
+    for (int i = 0; i < 20; ++i) {
+      stops.add(
+          new GtfsStop.Builder()
+              .setCsvRowNumber(i + 2)
+              .setStopId("station" + (20 - i))
+              .setStopName("Station")
+              .setLocationType(GtfsLocationType.STATION)
+              .build());
+    }
+    new ParentStationValidator(GtfsStopTableContainer.forEntities(stops.build(), noticeContainer))
+        .validate(noticeContainer);
+
+    assertThat(noticeContainer.getValidationNotices()).hasSize(20);
+    for (int i = 0; i < 20; ++i) {
+      assertThat(noticeContainer.getValidationNotices().get(i))
+          .isEqualTo(new UnusedStationNotice(i + 2, "station" + (20 - i), "Station"));
+    }
+  }
+
+  @Test
+  public void unusedStations_sameWhenStopsAreSplitIntoChunks() {
+    ImmutableList.Builder<GtfsStop> stops = ImmutableList.builder();
+    for (int i = 0; i < 100; ++i) {
+      stops.add(
+          new GtfsStop.Builder()
+              .setCsvRowNumber(i + 2)
+              .setStopId("station" + i)
+              .setStopName("Station")
+              .setLocationType(GtfsLocationType.STATION)
+              .build());
+    }
+    // Stops of even stations come in later chunks than the stations.
+    for (int i = 0; i < 100; i += 2) {
+      stops.add(
+          new GtfsStop.Builder()
+              .setCsvRowNumber(i + 102)
+              .setStopId("stop" + i)
+              .setStopName("Stop")
+              .setLocationType(GtfsLocationType.STOP)
+              .setParentStation("station" + i)
+              .build());
+    }
+    NoticeContainer expected = new NoticeContainer();
+    new ParentStationValidator(GtfsStopTableContainer.forEntities(stops.build(), expected))
+        .validate(expected);
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      NoticeContainer actual = new NoticeContainer();
+      ValidatorUtil.invokeFileValidator(
+          new ParentStationValidator(GtfsStopTableContainer.forEntities(stops.build(), actual)),
+          pool,
+          actual);
+
+      assertThat(actual.getValidationNotices()).hasSize(50);
+      assertThat(actual.getValidationNotices())
+          .containsExactlyElementsIn(expected.getValidationNotices())
+          .inOrder();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   @Test
   public void foreignKeyViolation_handledGracefully() {
     NoticeContainer noticeContainer = new NoticeContainer();
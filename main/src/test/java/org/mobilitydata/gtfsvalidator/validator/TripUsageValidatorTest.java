@@ -120,4 +120,22 @@ public class TripUsageValidatorTest {
                     })))
         .containsExactly(new UnusedTripNotice("unused trip id value", 3));
   }
+
+  @Test
+  public void duplicateTripId_reportedOnceForFirstTrip() {
+    assertThat(
+            generateNotices(
+                ImmutableList.of(
+                    createTrip(2, "route id value", "service id value", "used trip id value"),
+                    createTrip(3, "route id value", "service id value", "unused trip id value"),
+                    createTrip(4, "route id value", "service id value", "used trip id value"),
+                    createTrip(5, "route id value", "service id value", "unused trip id value")),
+                createStopTimes(
+                    new String[] {"used trip id value"},
+                    new String[] {"s0", "s1"},
+                    new String[][] {
+                      new String[] {"08:00:00", "09:00:00"},
+                    })))
+        .containsExactly(new UnusedTripNotice("unused trip id value", 3));
+  }
 }
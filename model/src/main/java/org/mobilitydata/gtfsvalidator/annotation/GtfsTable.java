@@ -26,6 +26,8 @@ import java.lang.annotation.Target;
  *
  * <p>Set {@code singleRow = true} if the table may have a single row, such as "feed_info.txt".
  *
+ * <p>Set {@code columnar = true} if the table may be very large, such as "stop_times.txt".
+ *
  * <p>Example.
  *
  * <pre>
@@ -48,4 +50,12 @@ public @interface GtfsTable {
    * for the CSV Parser.
    */
   int maxCharsPerColumn() default 0;
+
+  /**
+   * If true, a columnar list is generated for the table in addition to the entity class, e.g.,
+   * GtfsStopTimeColumns for "stop_times.txt". It keeps values in arrays of primitives and is used
+   * instead of a list of entities when columnar storage is turned on. Meant for tables that may
+   * have tens of millions of rows.
+   */
+  boolean columnar() default false;
 }
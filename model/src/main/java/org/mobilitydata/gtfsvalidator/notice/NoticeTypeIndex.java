@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.notice;
+
+/**
+ * Names of notice classes that a module declares, one binary class name per line.
+ *
+ * <p>The index is written as a resource at build time, so that notice types can be registered
+ * before any notice is created, see `NoticesProcessor`.
+ */
+public final class NoticeTypeIndex {
+  /** Name of the resource with the index. Each module with notices has its own. */
+  public static final String RESOURCE_NAME = "META-INF/gtfs-validator/notice-types";
+
+  private NoticeTypeIndex() {}
+}
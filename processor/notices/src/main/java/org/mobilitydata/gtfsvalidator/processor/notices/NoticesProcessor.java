@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.io.Writer;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.Processor;
@@ -21,11 +22,15 @@ import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
 import org.mobilitydata.gtfsvalidator.notice.NoticeDocComments;
+import org.mobilitydata.gtfsvalidator.notice.NoticeTypeIndex;
 
 /**
  * A processor for {@link GtfsValidationNotice}-annotated notices that extracts source-file comments
  * from the Java source and stores them as JSON-serialized {@link NoticeDocComments} resources in
  * for run-time access later by the validator.
+ *
+ * <p>The processor also writes a {@link NoticeTypeIndex} with the names of all notices of the
+ * module, so that the validator can assign numeric IDs to notice types up front.
  */
 @AutoService(Processor.class)
 public class NoticesProcessor extends AbstractProcessor {
@@ -34,6 +39,9 @@ public class NoticesProcessor extends AbstractProcessor {
 
   private final Gson GSON = new GsonBuilder().create();
 
+  /** Binary names of notices found in all rounds so far. */
+  private final Set<String> noticeClassNames = new TreeSet<>();
+
   @Override
   public Set<String> getSupportedAnnotationTypes() {
     return ImmutableSet.of(GtfsValidationNotice.class.getName());
@@ -54,6 +62,7 @@ public class NoticesProcessor extends AbstractProcessor {
   public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
     for (TypeElement element :
         typesIn(roundEnv.getElementsAnnotatedWith(GtfsValidationNotice.class))) {
+      noticeClassNames.add(processingEnv.getElementUtils().getBinaryName(element).toString());
       Optional<NoticeDocComments> comments = docCommentsFactory.create(element);
       if (comments.isEmpty()) {
         continue;
@@ -78,6 +87,26 @@ public class NoticesProcessor extends AbstractProcessor {
         throw new RuntimeException(e);
       }
     }
+    if (roundEnv.processingOver() && !noticeClassNames.isEmpty()) {
+      writeNoticeTypeIndex();
+    }
     return false;
   }
+
+  private void writeNoticeTypeIndex() {
+    try {
+      FileObject resource =
+          processingEnv
+              .getFiler()
+              .createResource(StandardLocation.CLASS_OUTPUT, "", NoticeTypeIndex.RESOURCE_NAME);
+      try (Writer writer = resource.openWriter()) {
+        for (String className : noticeClassNames) {
+          writer.write(className);
+          writer.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
 }
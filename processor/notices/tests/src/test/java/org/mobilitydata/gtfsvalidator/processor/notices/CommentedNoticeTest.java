@@ -7,8 +7,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import org.junit.Test;
 import org.mobilitydata.gtfsvalidator.notice.NoticeDocComments;
+import org.mobilitydata.gtfsvalidator.notice.NoticeTypeIndex;
 
 public class CommentedNoticeTest {
 
@@ -27,4 +29,16 @@ public class CommentedNoticeTest {
       assertThat(comments.getFieldComment("fieldB")).isEqualTo("This is the fieldB comment.");
     }
   }
+
+  @Test
+  public void testNoticeTypeIndex() throws IOException {
+    InputStream is =
+        CommentedNotice.class.getClassLoader().getResourceAsStream(NoticeTypeIndex.RESOURCE_NAME);
+    assertThat(is).isNotNull();
+
+    try (InputStream input = is) {
+      assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8))
+          .isEqualTo(CommentedNotice.class.getName() + "\n");
+    }
+  }
 }
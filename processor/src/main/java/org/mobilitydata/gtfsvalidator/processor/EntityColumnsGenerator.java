@@ -0,0 +1,646 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.processor;
+
+import static org.mobilitydata.gtfsvalidator.processor.EntityImplementationGenerator.CSV_ROW_NUMBER;
+import static org.mobilitydata.gtfsvalidator.processor.EntityImplementationGenerator.bitFieldForFieldNumber;
+import static org.mobilitydata.gtfsvalidator.processor.EntityImplementationGenerator.bitFieldName;
+import static org.mobilitydata.gtfsvalidator.processor.EntityImplementationGenerator.bitFieldType;
+import static org.mobilitydata.gtfsvalidator.processor.EntityImplementationGenerator.getClassFieldType;
+import static org.mobilitydata.gtfsvalidator.processor.EntityImplementationGenerator.lastBitFieldNumber;
+import static org.mobilitydata.gtfsvalidator.processor.EntityImplementationGenerator.maskForFieldNumber;
+import static org.mobilitydata.gtfsvalidator.processor.EntityImplementationGenerator.nullabilityAnnotation;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.byKeyMapName;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.byKeyMethodName;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.getValueMethodName;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.getterMethodName;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.hasMethodName;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.idCodeMethodName;
+import static org.mobilitydata.gtfsvalidator.processor.GtfsEntityClasses.TABLE_PACKAGE_NAME;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import javax.lang.model.element.Modifier;
+import org.mobilitydata.gtfsvalidator.annotation.FieldTypeEnum;
+import org.mobilitydata.gtfsvalidator.annotation.Generated;
+import org.mobilitydata.gtfsvalidator.table.ColumnDictionary;
+import org.mobilitydata.gtfsvalidator.table.ColumnStorage;
+import org.mobilitydata.gtfsvalidator.table.ColumnarEntityList;
+import org.mobilitydata.gtfsvalidator.table.PrimitiveColumn;
+import org.mobilitydata.gtfsvalidator.type.GtfsDate;
+import org.mobilitydata.gtfsvalidator.type.GtfsTime;
+
+/**
+ * Generates a columnar list of entities for a GTFS table whose schema is annotated with {@code
+ * GtfsTable(columnar = true)}.
+ *
+ * <p>E.g., GtfsStopTimeColumns class is generated for "stop_times.txt". Every field is kept in a
+ * {@link PrimitiveColumn}: numbers and enums as entities store them, times and dates as ints and
+ * texts as codes of a {@link ColumnDictionary}. Values of other types are kept as references in an
+ * array on the heap. A nested View class implements the entity class over a single row.
+ *
+ * <p>If rows may be grouped, see {@link #getGroupField}, the class also implements the grouping
+ * hooks of {@link ColumnarEntityList} and has a lookup method for every index, e.g., {@code
+ * byTripId}, that the table container uses once rows are grouped.
+ */
+public class EntityColumnsGenerator {
+  private static final String VIEW_CLASS_NAME = "View";
+  private static final String DICTIONARY_SUFFIX = "Dictionary";
+  private static final String ROW_GROUPS_SUFFIX = "Rows";
+
+  /** How values of a field are stored in a column. */
+  private enum ColumnKind {
+    /** Primitives and enums as they are stored by entities. */
+    PRIMITIVE,
+    /** Strings as codes of a {@link ColumnDictionary}. */
+    DICTIONARY,
+    /** {@link GtfsTime} as seconds since midnight. */
+    TIME,
+    /** {@link GtfsDate} as epoch days. */
+    DATE,
+    /** Other objects as references. */
+    REFERENCE
+  }
+
+  private final GtfsFileDescriptor fileDescriptor;
+  private final GtfsEntityClasses classNames;
+  private final ImmutableMap<String, TypeName> enumIntegerFieldTypes;
+
+  public EntityColumnsGenerator(
+      GtfsFileDescriptor fileDescriptor, List<GtfsEnumDescriptor> enumDescriptors) {
+    this.fileDescriptor = fileDescriptor;
+    this.classNames = new GtfsEntityClasses(fileDescriptor);
+    this.enumIntegerFieldTypes =
+        EntityImplementationGenerator.createEnumIntegerFieldTypesMap(enumDescriptors);
+  }
+
+  /**
+   * Returns the index field that rows may be grouped by with {@code ColumnarEntityList#groupRows}.
+   *
+   * <p>Rows are grouped if the primary key is an ID with an int sequence, e.g., trip_id and
+   * stop_sequence, and every index is on a text field, so that indexes of grouped rows are kept in
+   * columns.
+   */
+  static Optional<GtfsFieldDescriptor> getGroupField(GtfsFileDescriptor fileDescriptor) {
+    if (!fileDescriptor.columnar() || fileDescriptor.primaryKeys().size() != 2) {
+      return Optional.empty();
+    }
+    for (GtfsFieldDescriptor indexField : fileDescriptor.indices()) {
+      if (getColumnKind(indexField) != ColumnKind.DICTIONARY) {
+        return Optional.empty();
+      }
+    }
+    for (GtfsFieldDescriptor indexField : fileDescriptor.indices()) {
+      Optional<GtfsFieldDescriptor> sequenceField =
+          TableContainerIndexGenerator.resolveSequenceField(fileDescriptor, indexField);
+      if (sequenceField.isPresent()
+          && TypeName.get(sequenceField.get().javaType()).equals(TypeName.INT)) {
+        return Optional.of(indexField);
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static ColumnKind getColumnKind(GtfsFieldDescriptor field) {
+    if (field.isStoredAsPrimitive()) {
+      return ColumnKind.PRIMITIVE;
+    }
+    if (TypeName.get(field.javaType()).equals(ClassName.get(String.class))) {
+      return ColumnKind.DICTIONARY;
+    }
+    if (field.type() == FieldTypeEnum.TIME) {
+      return ColumnKind.TIME;
+    }
+    if (field.type() == FieldTypeEnum.DATE) {
+      return ColumnKind.DATE;
+    }
+    return ColumnKind.REFERENCE;
+  }
+
+  /** Returns the type of a single element of the column, e.g., int for a time. */
+  private TypeName getElementType(GtfsFieldDescriptor field) {
+    switch (getColumnKind(field)) {
+      case PRIMITIVE:
+        return getClassFieldType(field, enumIntegerFieldTypes);
+      case REFERENCE:
+        return TypeName.OBJECT;
+      default:
+        return TypeName.INT;
+    }
+  }
+
+  /**
+   * Returns the type of values in the {@link PrimitiveColumn} for an element type: booleans are
+   * stored as bytes and chars as shorts.
+   */
+  private static TypeName getStoredType(TypeName elementType) {
+    if (elementType.equals(TypeName.BOOLEAN)) {
+      return TypeName.BYTE;
+    }
+    if (elementType.equals(TypeName.CHAR)) {
+      return TypeName.SHORT;
+    }
+    return elementType;
+  }
+
+  /** Returns the suffix of {@link PrimitiveColumn} accessors for an element type, e.g., "Int". */
+  private static String accessorSuffix(TypeName elementType) {
+    String storedType = getStoredType(elementType).toString();
+    return Character.toUpperCase(storedType.charAt(0)) + storedType.substring(1);
+  }
+
+  /** Returns an expression that reads an element of a column of {@code columns} at {@code row}. */
+  private static CodeBlock readElement(String column, TypeName elementType) {
+    if (elementType.equals(TypeName.OBJECT)) {
+      return CodeBlock.of("columns.$L[row]", column);
+    }
+    CodeBlock read = CodeBlock.of("columns.$L.get$L(row)", column, accessorSuffix(elementType));
+    if (elementType.equals(TypeName.BOOLEAN)) {
+      return CodeBlock.of("$L != 0", read);
+    }
+    if (elementType.equals(TypeName.CHAR)) {
+      return CodeBlock.of("(char) $L", read);
+    }
+    return read;
+  }
+
+  /** Returns a statement that writes a value to a column at {@code row}. */
+  private static CodeBlock writeElement(String column, TypeName elementType, CodeBlock value) {
+    if (elementType.equals(TypeName.OBJECT)) {
+      return CodeBlock.of("$L[row] = $L", column, value);
+    }
+    if (elementType.equals(TypeName.BOOLEAN)) {
+      return CodeBlock.of("$L.setByte(row, (byte) ($L ? 1 : 0))", column, value);
+    }
+    if (elementType.equals(TypeName.CHAR)) {
+      return CodeBlock.of("$L.setShort(row, (short) $L)", column, value);
+    }
+    return CodeBlock.of("$L.set$L(row, $L)", column, accessorSuffix(elementType), value);
+  }
+
+  /**
+   * Returns names and element types of all primitive columns, including the row number, encoded
+   * IDs and bit fields.
+   */
+  private ImmutableMap<String, TypeName> getPrimitiveColumns() {
+    ImmutableMap.Builder<String, TypeName> columns = ImmutableMap.builder();
+    columns.put(CSV_ROW_NUMBER, TypeName.INT);
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      if (getColumnKind(field) != ColumnKind.REFERENCE) {
+        columns.put(field.name(), getElementType(field));
+      }
+      if (field.isSharedId()) {
+        columns.put(idCodeMethodName(field.name()), TypeName.INT);
+      }
+    }
+    TypeName bitFieldType = bitFieldType(fileDescriptor.fields().size());
+    for (int i = 0; i <= lastBitFieldNumber(fileDescriptor.fields().size()); ++i) {
+      columns.put(bitFieldName(i), bitFieldType);
+    }
+    return columns.build();
+  }
+
+  /** Returns names of columns that keep references in arrays. */
+  private ImmutableList<String> getReferenceColumns() {
+    ImmutableList.Builder<String> columns = ImmutableList.builder();
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      if (getColumnKind(field) == ColumnKind.REFERENCE) {
+        columns.add(field.name());
+      }
+    }
+    return columns.build();
+  }
+
+  private static String dictionaryName(GtfsFieldDescriptor field) {
+    return field.name() + DICTIONARY_SUFFIX;
+  }
+
+  private static String rowGroupsName(GtfsFieldDescriptor indexField) {
+    return byKeyMethodName(indexField.name()) + ROW_GROUPS_SUFFIX;
+  }
+
+  public JavaFile generateColumnsJavaFile() {
+    return JavaFile.builder(TABLE_PACKAGE_NAME, generateColumnsClass()).build();
+  }
+
+  public TypeSpec generateColumnsClass() {
+    ClassName entityType = classNames.entityImplementationTypeName();
+    TypeSpec.Builder typeSpec =
+        TypeSpec.classBuilder(classNames.columnsSimpleName())
+            .superclass(
+                ParameterizedTypeName.get(ClassName.get(ColumnarEntityList.class), entityType))
+            .addAnnotation(Generated.class)
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addJavadoc(
+                "Entities of $S stored in columns, see {@link $T}.",
+                fileDescriptor.filename(),
+                ColumnarEntityList.class);
+
+    MethodSpec.Builder constructor =
+        MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PUBLIC)
+            .addJavadoc("Creates an empty list that keeps primitive columns in the given storage.")
+            .addParameter(ColumnStorage.class, "storage")
+            .addStatement("super(storage)");
+    for (Map.Entry<String, TypeName> column : getPrimitiveColumns().entrySet()) {
+      typeSpec.addField(PrimitiveColumn.class, column.getKey(), Modifier.PRIVATE, Modifier.FINAL);
+      constructor.addStatement(
+          "$L = newColumn($T.BYTES)", column.getKey(), getStoredType(column.getValue()).box());
+    }
+    for (String column : getReferenceColumns()) {
+      typeSpec.addField(
+          FieldSpec.builder(ArrayTypeName.of(Object.class), column, Modifier.PRIVATE)
+              .initializer("new $T[0]", Object.class)
+              .build());
+    }
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      if (getColumnKind(field) == ColumnKind.DICTIONARY) {
+        typeSpec.addField(
+            FieldSpec.builder(
+                    ColumnDictionary.class, dictionaryName(field), Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T()", ColumnDictionary.class)
+                .build());
+      }
+    }
+    typeSpec.addMethod(constructor.build());
+
+    typeSpec.addMethod(generateGetRowMethod());
+    typeSpec.addMethod(generateAddMethod());
+    typeSpec.addMethod(generateEstimateMemoryBytesMethod());
+    if (!getReferenceColumns().isEmpty()) {
+      typeSpec.addMethod(generateResizeMethod());
+    }
+    Optional<GtfsFieldDescriptor> groupField = getGroupField(fileDescriptor);
+    if (groupField.isPresent()) {
+      addGroupingMethods(typeSpec, groupField.get());
+    }
+    typeSpec.addType(generateViewClass());
+    return typeSpec.build();
+  }
+
+  private MethodSpec generateGetRowMethod() {
+    return MethodSpec.methodBuilder("getRow")
+        .addModifiers(Modifier.PROTECTED)
+        .addAnnotation(Override.class)
+        .addJavadoc("Returns a new view over the row at the given position of the columns.")
+        .returns(classNames.entityImplementationTypeName())
+        .addParameter(int.class, "position")
+        .addStatement("return new $L(this, position)", VIEW_CLASS_NAME)
+        .build();
+  }
+
+  private MethodSpec generateAddMethod() {
+    MethodSpec.Builder method =
+        MethodSpec.methodBuilder("add")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(boolean.class)
+            .addParameter(classNames.entityImplementationTypeName(), "entity")
+            .addStatement("ensureCapacity(size + 1)")
+            .addStatement("int row = size")
+            .addStatement(
+                writeElement(
+                    CSV_ROW_NUMBER,
+                    TypeName.INT,
+                    CodeBlock.of("entity.$L()", getterMethodName(CSV_ROW_NUMBER))));
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      method.addStatement(writeElement(field.name(), getElementType(field), encodeValue(field)));
+      if (field.isSharedId()) {
+        method.addStatement(
+            writeElement(
+                idCodeMethodName(field.name()),
+                TypeName.INT,
+                CodeBlock.of("entity.$L()", idCodeMethodName(field.name()))));
+      }
+    }
+    TypeName bitFieldType = bitFieldType(fileDescriptor.fields().size());
+    for (int i = 0; i <= lastBitFieldNumber(fileDescriptor.fields().size()); ++i) {
+      method.addStatement("int bits$L = 0", i);
+    }
+    int fieldNumber = 0;
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      method
+          .beginControlFlow("if (entity.$L())", hasMethodName(field.name()))
+          .addStatement("bits$L |= $L", fieldNumber / 32, maskForFieldNumber(fieldNumber))
+          .endControlFlow();
+      ++fieldNumber;
+    }
+    for (int i = 0; i <= lastBitFieldNumber(fileDescriptor.fields().size()); ++i) {
+      CodeBlock bits =
+          bitFieldType.equals(TypeName.INT)
+              ? CodeBlock.of("bits$L", i)
+              : CodeBlock.of("($T) bits$L", bitFieldType, i);
+      method.addStatement(writeElement(bitFieldName(i), bitFieldType, bits));
+    }
+    return method
+        .addStatement("++size")
+        .addStatement("++modCount")
+        .addStatement("return true")
+        .build();
+  }
+
+  /** Returns an expression that converts the value of a field of {@code entity} to an element. */
+  private CodeBlock encodeValue(GtfsFieldDescriptor field) {
+    String getter = getterMethodName(field.name());
+    switch (getColumnKind(field)) {
+      case DICTIONARY:
+        return CodeBlock.of("$L.encode(entity.$L())", dictionaryName(field), getter);
+      case TIME:
+        return CodeBlock.of("entity.$L().getSecondsSinceMidnight()", getter);
+      case DATE:
+        return CodeBlock.of("(int) entity.$L().toEpochDay()", getter);
+      case PRIMITIVE:
+        if (field.type() == FieldTypeEnum.ENUM) {
+          TypeName elementType = getElementType(field);
+          return elementType.equals(TypeName.INT)
+              ? CodeBlock.of("entity.$L()", getValueMethodName(field.name()))
+              : CodeBlock.of("($T) entity.$L()", elementType, getValueMethodName(field.name()));
+        }
+        return CodeBlock.of("entity.$L()", getter);
+      default:
+        return CodeBlock.of("entity.$L()", getter);
+    }
+  }
+
+  /** Returns an expression that converts an element of {@code columns} back to a value. */
+  private CodeBlock decodeValue(GtfsFieldDescriptor field) {
+    CodeBlock element = readElement(field.name(), getElementType(field));
+    switch (getColumnKind(field)) {
+      case DICTIONARY:
+        return CodeBlock.of("columns.$L.decode($L)", dictionaryName(field), element);
+      case TIME:
+        return CodeBlock.of("$T.fromSecondsSinceMidnight($L)", GtfsTime.class, element);
+      case DATE:
+        return CodeBlock.of("$T.fromEpochDay($L)", GtfsDate.class, element);
+      case REFERENCE:
+        return CodeBlock.of("($T) $L", TypeName.get(field.javaType()), element);
+      default:
+        return element;
+    }
+  }
+
+  private MethodSpec generateEstimateMemoryBytesMethod() {
+    CodeBlock.Builder sum = CodeBlock.builder().add("super.estimateMemoryBytes()");
+    // Assume compressed references.
+    for (String column : getReferenceColumns()) {
+      sum.add("\n+ 4L * $L.length", column);
+    }
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      if (getColumnKind(field) == ColumnKind.DICTIONARY) {
+        sum.add("\n+ $L.estimateMemoryBytes()", dictionaryName(field));
+      }
+    }
+    return MethodSpec.methodBuilder("estimateMemoryBytes")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(Override.class)
+        .returns(long.class)
+        .addStatement("return $L", sum.build())
+        .build();
+  }
+
+  /** Generates an override that also resizes columns of references. */
+  private MethodSpec generateResizeMethod() {
+    MethodSpec.Builder method =
+        MethodSpec.methodBuilder("resize")
+            .addModifiers(Modifier.PROTECTED)
+            .addAnnotation(Override.class)
+            .addParameter(int.class, "capacity")
+            .addStatement("super.resize(capacity)");
+    for (String column : getReferenceColumns()) {
+      method.addStatement("$L = $T.copyOf($L, capacity)", column, Arrays.class, column);
+    }
+    return method.build();
+  }
+
+  /** Adds hooks of {@code ColumnarEntityList#groupRows} and lookups of grouped rows. */
+  private void addGroupingMethods(TypeSpec.Builder typeSpec, GtfsFieldDescriptor groupField) {
+    GtfsFieldDescriptor sequenceField =
+        TableContainerIndexGenerator.resolveSequenceField(fileDescriptor, groupField).get();
+    ClassName entityType = classNames.entityImplementationTypeName();
+    TypeName rowGroupsType =
+        ParameterizedTypeName.get(ClassName.get(ColumnarEntityList.class), entityType)
+            .nestedClass("RowGroups");
+
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder("supportsGrouping")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(boolean.class)
+            .addStatement("return true")
+            .build());
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder("groupCount")
+            .addModifiers(Modifier.PROTECTED)
+            .addAnnotation(Override.class)
+            .returns(int.class)
+            .addStatement("return $L.size()", dictionaryName(groupField))
+            .build());
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder("groupOf")
+            .addModifiers(Modifier.PROTECTED)
+            .addAnnotation(Override.class)
+            .returns(int.class)
+            .addParameter(int.class, "row")
+            .addStatement("return $L.getInt(row)", groupField.name())
+            .build());
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder("sequenceOf")
+            .addModifiers(Modifier.PROTECTED)
+            .addAnnotation(Override.class)
+            .returns(int.class)
+            .addParameter(int.class, "row")
+            .addStatement("return $L.getInt(row)", sequenceField.name())
+            .build());
+
+    MethodSpec.Builder onRowsGrouped =
+        MethodSpec.methodBuilder("onRowsGrouped")
+            .addModifiers(Modifier.PROTECTED)
+            .addAnnotation(Override.class)
+            .addParameter(
+                ParameterSpec.builder(PrimitiveColumn.class, "order")
+                    .addAnnotation(Nullable.class)
+                    .build());
+    if (!getReferenceColumns().isEmpty()) {
+      // Rows keep their positions if they were already grouped.
+      onRowsGrouped.beginControlFlow("if (order != null)");
+      for (String column : getReferenceColumns()) {
+        onRowsGrouped
+            .addStatement("$T[] $LGrouped = new $T[size]", Object.class, column, Object.class)
+            .beginControlFlow("for (int row = 0; row < size; ++row)")
+            .addStatement("$LGrouped[row] = $L[order.getInt(row)]", column, column)
+            .endControlFlow()
+            .addStatement("$L = $LGrouped", column, column);
+      }
+      onRowsGrouped.endControlFlow();
+    }
+    for (GtfsFieldDescriptor indexField : fileDescriptor.indices()) {
+      typeSpec.addField(
+          FieldSpec.builder(rowGroupsType, rowGroupsName(indexField), Modifier.PRIVATE)
+              .addAnnotation(Nullable.class)
+              .build());
+      if (indexField.equals(groupField)) {
+        onRowsGrouped.addStatement(
+            "$L = groupedRows($L)", rowGroupsName(indexField), dictionaryName(indexField));
+      } else {
+        onRowsGrouped.addStatement(
+            "$L = indexRows($L, $L)",
+            rowGroupsName(indexField),
+            indexField.name(),
+            dictionaryName(indexField));
+      }
+      String sortedBy =
+          indexField.equals(groupField)
+              ? " sorted by " + FieldNameConverter.gtfsColumnName(sequenceField.name())
+              : "";
+      typeSpec.addMethod(
+          MethodSpec.methodBuilder(byKeyMethodName(indexField.name()))
+              .addModifiers(Modifier.PUBLIC)
+              .returns(ParameterizedTypeName.get(ClassName.get(List.class), entityType))
+              .addParameter(String.class, "key")
+              .addJavadoc(
+                  "Returns rows with the given $L$L, once rows are grouped.",
+                  FieldNameConverter.gtfsColumnName(indexField.name()),
+                  sortedBy)
+              .addStatement("return $L.get(key)", rowGroupsName(indexField))
+              .build());
+      typeSpec.addMethod(
+          MethodSpec.methodBuilder(byKeyMapName(indexField.name()))
+              .addModifiers(Modifier.PUBLIC)
+              .returns(
+                  ParameterizedTypeName.get(
+                      ClassName.get(ListMultimap.class), ClassName.get(String.class), entityType))
+              .addJavadoc(
+                  "Returns a view of rows keyed by $L, once rows are grouped.",
+                  FieldNameConverter.gtfsColumnName(indexField.name()))
+              .addStatement("return $L.asMultimap()", rowGroupsName(indexField))
+              .build());
+    }
+    typeSpec.addMethod(onRowsGrouped.build());
+  }
+
+  private TypeSpec generateViewClass() {
+    ClassName columnsType = classNames.columnsTypeName();
+    ClassName viewType = columnsType.nestedClass(VIEW_CLASS_NAME);
+    TypeSpec.Builder typeSpec =
+        TypeSpec.classBuilder(VIEW_CLASS_NAME)
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .superclass(classNames.entityImplementationTypeName())
+            .addJavadoc("Entity that reads its values from a row of the columns.")
+            .addField(columnsType, "columns", Modifier.PRIVATE, Modifier.FINAL)
+            .addField(int.class, "row", Modifier.PRIVATE, Modifier.FINAL)
+            .addMethod(
+                MethodSpec.constructorBuilder()
+                    .addParameter(columnsType, "columns")
+                    .addParameter(int.class, "row")
+                    .addStatement("this.columns = columns")
+                    .addStatement("this.row = row")
+                    .build());
+
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder(getterMethodName(CSV_ROW_NUMBER))
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(int.class)
+            .addStatement("return $L", readElement(CSV_ROW_NUMBER, TypeName.INT))
+            .build());
+    TypeName bitFieldType = bitFieldType(fileDescriptor.fields().size());
+    int fieldNumber = 0;
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      TypeName javaType = TypeName.get(field.javaType());
+      MethodSpec.Builder getter =
+          MethodSpec.methodBuilder(getterMethodName(field.name()))
+              .addModifiers(Modifier.PUBLIC)
+              .addAnnotation(Override.class)
+              .addAnnotation(nullabilityAnnotation(field))
+              .returns(javaType);
+      if (field.type() == FieldTypeEnum.ENUM) {
+        getter
+            .addStatement("$T result = $T.forNumber($L)", javaType, javaType, decodeValue(field))
+            .addStatement("return result == null ? $T.UNRECOGNIZED : result", javaType);
+        typeSpec.addMethod(
+            MethodSpec.methodBuilder(getValueMethodName(field.name()))
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .returns(int.class)
+                .addStatement("return $L", decodeValue(field))
+                .build());
+      } else {
+        getter.addStatement("return $L", decodeValue(field));
+      }
+      typeSpec.addMethod(getter.build());
+      if (field.isSharedId()) {
+        typeSpec.addMethod(
+            MethodSpec.methodBuilder(idCodeMethodName(field.name()))
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .returns(int.class)
+                .addStatement(
+                    "return $L", readElement(idCodeMethodName(field.name()), TypeName.INT))
+                .build());
+      }
+      typeSpec.addMethod(
+          MethodSpec.methodBuilder(hasMethodName(field.name()))
+              .addModifiers(Modifier.PUBLIC)
+              .addAnnotation(Override.class)
+              .returns(boolean.class)
+              .addStatement(
+                  "return ($L & $L) != 0",
+                  readElement(bitFieldForFieldNumber(fieldNumber), bitFieldType),
+                  maskForFieldNumber(fieldNumber))
+              .build());
+      ++fieldNumber;
+    }
+
+    // Views are created on demand, so they are equal if they point to the same row.
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder("equals")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(boolean.class)
+            .addParameter(Object.class, "obj")
+            .beginControlFlow("if (!(obj instanceof $T))", viewType)
+            .addStatement("return false")
+            .endControlFlow()
+            .addStatement("$T other = ($T) obj", viewType, viewType)
+            .addStatement("return columns == other.columns && row == other.row")
+            .build());
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder("hashCode")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(int.class)
+            .addStatement("return 31 * System.identityHashCode(columns) + row")
+            .build());
+    return typeSpec.build();
+  }
+}
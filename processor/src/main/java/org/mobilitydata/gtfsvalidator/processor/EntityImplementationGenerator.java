@@ -23,6 +23,7 @@ import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.getVal
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.getterMethodName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.gtfsColumnName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.hasMethodName;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.idCodeMethodName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.setterMethodName;
 import static org.mobilitydata.gtfsvalidator.processor.GtfsEntityClasses.TABLE_PACKAGE_NAME;
 
@@ -47,6 +48,7 @@ import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import org.mobilitydata.gtfsvalidator.annotation.FieldTypeEnum;
 import org.mobilitydata.gtfsvalidator.annotation.Generated;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntity;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntityBuilder;
 import org.mobilitydata.gtfsvalidator.type.GtfsColor;
@@ -64,8 +66,11 @@ public class EntityImplementationGenerator {
     BUILDER
   };
 
-  private static final String CSV_ROW_NUMBER = "csvRowNumber";
-  private static final Class CSV_ROW_NUMBER_TYPE = int.class;
+  static final String CSV_ROW_NUMBER = "csvRowNumber";
+  static final Class CSV_ROW_NUMBER_TYPE = int.class;
+
+  /** Nested class of a columnar entity that holds its own values. */
+  private static final String STANDALONE_CLASS_NAME = "Standalone";
   private final GtfsFileDescriptor fileDescriptor;
   private final GtfsEntityClasses classNames;
   private final ImmutableMap<String, TypeName> enumIntegerFieldTypes;
@@ -98,7 +103,7 @@ public class EntityImplementationGenerator {
     return TypeName.INT;
   }
 
-  private static int lastBitFieldNumber(int fieldCount) {
+  static int lastBitFieldNumber(int fieldCount) {
     // Most standard GTFS tables have less than 16 fields, so a bitmask fits into short.
     // However, we want to support enormous tables that may have more than 32 fields.
     // An int bitField has 32 bits. We need bitField0_ to store 1..32 fields,
@@ -116,7 +121,7 @@ public class EntityImplementationGenerator {
    * @param i number of a bitField, starting from 0.
    * @return name of a bitField, e.g., bitField0_.
    */
-  private static String bitFieldName(int i) {
+  static String bitFieldName(int i) {
     return "bitField" + i + "_";
   }
 
@@ -133,13 +138,13 @@ public class EntityImplementationGenerator {
    * @param fieldNumber number of a GTFS field, starting from 0.
    * @return name of a bitField, e.g., bitField0_.
    */
-  private static String bitFieldForFieldNumber(int fieldNumber) {
+  static String bitFieldForFieldNumber(int fieldNumber) {
     // Bits for fields 0..31 are stored in bitField0_,
     // for fields 32..63 - in bitField1_ etc.
     return bitFieldName(fieldNumber / 32);
   }
 
-  private static String maskForFieldNumber(int fieldNumber) {
+  static String maskForFieldNumber(int fieldNumber) {
     return "0x" + Integer.toHexString(1 << (fieldNumber % 32));
   }
 
@@ -196,11 +201,17 @@ public class EntityImplementationGenerator {
     }
   }
 
-  private static Class<?> nullabilityAnnotation(GtfsFieldDescriptor field) {
+  static Class<?> nullabilityAnnotation(GtfsFieldDescriptor field) {
     return getDefaultValue(field).toString().equals("null") ? Nullable.class : Nonnull.class;
   }
 
   private TypeName getClassFieldType(GtfsFieldDescriptor field) {
+    return getClassFieldType(field, enumIntegerFieldTypes);
+  }
+
+  /** Returns the type of the Java field that stores the value, e.g., byte for a small enum. */
+  static TypeName getClassFieldType(
+      GtfsFieldDescriptor field, ImmutableMap<String, TypeName> enumIntegerFieldTypes) {
     if (field.type() == FieldTypeEnum.ENUM) {
       return enumIntegerFieldTypes.getOrDefault(
           ((DeclaredType) field.javaType()).asElement().getSimpleName().toString(), TypeName.INT);
@@ -217,23 +228,27 @@ public class EntityImplementationGenerator {
     for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
       typeSpec.addField(getClassFieldType(field), field.name(), Modifier.PRIVATE);
     }
-    if (fileDescriptor.fields().size() <= 32) {
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      if (field.isSharedId()) {
+        typeSpec.addField(int.class, idCodeMethodName(field.name()), Modifier.PRIVATE);
+      }
+    }
+    for (int i = 0; i <= lastBitFieldNumber(fileDescriptor.fields().size()); ++i) {
       typeSpec.addField(
           FieldSpec.builder(
-                  fileDescriptor.fields().size() <= 8
-                      ? byte.class
-                      : fileDescriptor.fields().size() <= 16 ? short.class : int.class,
-                  "bitField0_",
-                  Modifier.PRIVATE)
+                  bitFieldType(fileDescriptor.fields().size()), bitFieldName(i), Modifier.PRIVATE)
               .build());
-    } else {
-      for (int i = 0; i <= lastBitFieldNumber(fileDescriptor.fields().size()); ++i) {
-        typeSpec.addField(
-            FieldSpec.builder(int.class, "bitField" + i + "_", Modifier.PRIVATE).build());
-      }
     }
   }
 
+  /** Returns the type of bitFields for a table with the given number of fields. */
+  static TypeName bitFieldType(int fieldCount) {
+    if (fieldCount > 16) {
+      return TypeName.INT;
+    }
+    return fieldCount <= 8 ? TypeName.BYTE : TypeName.SHORT;
+  }
+
   private void addDefaultValueFields(TypeSpec.Builder typeSpec) {
     for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
       typeSpec.addField(
@@ -251,7 +266,6 @@ public class EntityImplementationGenerator {
   public TypeSpec generateGtfsEntityClass() {
     TypeSpec.Builder typeSpec =
         TypeSpec.classBuilder(classNames.entityImplementationSimpleName())
-            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
             .addAnnotation(Generated.class)
             .addSuperinterface(GtfsEntity.class);
 
@@ -259,18 +273,62 @@ public class EntityImplementationGenerator {
       typeSpec.addSuperinterface(superinterface);
     }
 
-    typeSpec.addMethod(
-        MethodSpec.constructorBuilder()
-            .addModifiers(Modifier.PRIVATE)
-            .addJavadoc("Use {@link Builder} class to construct an object.")
-            .build());
+    if (fileDescriptor.columnar()) {
+      // Values are held either by a standalone entity or by a row of the columnar list.
+      typeSpec
+          .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+          .addJavadoc(
+              "Entities are either built by {@link Builder} or are views over rows of {@link $T}.",
+              classNames.columnsTypeName())
+          .addMethod(
+              MethodSpec.constructorBuilder()
+                  .addJavadoc("Use {@link Builder} class to construct an object.")
+                  .build());
+      generateFilenameAndFieldNameConstants(typeSpec);
+      addDefaultValueFields(typeSpec);
+      addAbstractGetters(typeSpec);
+    } else {
+      typeSpec
+          .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+          .addMethod(
+              MethodSpec.constructorBuilder()
+                  .addModifiers(Modifier.PRIVATE)
+                  .addJavadoc("Use {@link Builder} class to construct an object.")
+                  .build());
+      generateFilenameAndFieldNameConstants(typeSpec);
+      addEntityOrBuilderFields(typeSpec);
+      addDefaultValueFields(typeSpec);
+      addEntityGetters(typeSpec);
+    }
+    for (LatLonDescriptor latLonDescriptor : fileDescriptor.latLonFields()) {
+      typeSpec.addMethod(generateGetLatLonMethod(latLonDescriptor));
+      typeSpec.addMethod(generateHasLatLonMethod(latLonDescriptor));
+    }
+
+    if (fileDescriptor.columnar()) {
+      typeSpec.addType(generateStandaloneEntityClass());
+    }
+    typeSpec.addType(generateGtfsEntityBuilderClass());
 
-    generateFilenameAndFieldNameConstants(typeSpec);
+    return typeSpec.build();
+  }
+
+  /**
+   * Generates the entity class that holds its own values. For columnar tables, it is a nested
+   * subclass of the abstract entity class.
+   */
+  private TypeSpec generateStandaloneEntityClass() {
+    TypeSpec.Builder typeSpec =
+        TypeSpec.classBuilder(STANDALONE_CLASS_NAME)
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .superclass(classNames.entityImplementationTypeName());
     addEntityOrBuilderFields(typeSpec);
-    addDefaultValueFields(typeSpec);
+    addEntityGetters(typeSpec);
+    return typeSpec.build();
+  }
 
+  private void addEntityGetters(TypeSpec.Builder typeSpec) {
     int fieldNumber = 0;
-
     typeSpec.addMethod(
         MethodSpec.methodBuilder(getterMethodName(CSV_ROW_NUMBER))
             .addModifiers(Modifier.PUBLIC)
@@ -281,17 +339,48 @@ public class EntityImplementationGenerator {
     for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
       typeSpec.addMethod(generateGetterMethod(field, ClassContext.ENTITY));
       maybeAddEnumValueGetter(field, typeSpec);
+      maybeAddIdCodeGetter(field, typeSpec);
       typeSpec.addMethod(generateHasMethod(field, fieldNumber));
       ++fieldNumber;
     }
-    for (LatLonDescriptor latLonDescriptor : fileDescriptor.latLonFields()) {
-      typeSpec.addMethod(generateGetLatLonMethod(latLonDescriptor));
-      typeSpec.addMethod(generateHasLatLonMethod(latLonDescriptor));
-    }
+  }
 
-    typeSpec.addType(generateGtfsEntityBuilderClass());
+  /** Declares getters of a columnar table that are implemented by standalone entities and views. */
+  private void addAbstractGetters(TypeSpec.Builder typeSpec) {
+    typeSpec.addMethod(
+        abstractMethodBuilder(getterMethodName(CSV_ROW_NUMBER), TypeName.get(CSV_ROW_NUMBER_TYPE))
+            .addAnnotation(Override.class)
+            .build());
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      typeSpec.addMethod(
+          abstractMethodBuilder(getterMethodName(field.name()), TypeName.get(field.javaType()))
+              .addAnnotation(nullabilityAnnotation(field))
+              .addAnnotation(Override.class)
+              .build());
+      if (field.type().equals(FieldTypeEnum.ENUM)) {
+        typeSpec.addMethod(
+            abstractMethodBuilder(getValueMethodName(field.name()), TypeName.INT).build());
+      }
+      if (field.isSharedId()) {
+        typeSpec.addMethod(
+            abstractMethodBuilder(idCodeMethodName(field.name()), TypeName.INT)
+                .addJavadoc(
+                    "Returns the code of $L in the feed's {@link $T}, or {@link $T#NO_CODE} if IDs"
+                        + " are not encoded.",
+                    gtfsColumnName(field.name()),
+                    IdDictionary.class,
+                    IdDictionary.class)
+                .build());
+      }
+      typeSpec.addMethod(
+          abstractMethodBuilder(hasMethodName(field.name()), TypeName.BOOLEAN).build());
+    }
+  }
 
-    return typeSpec.build();
+  private static MethodSpec.Builder abstractMethodBuilder(String name, TypeName returnType) {
+    return MethodSpec.methodBuilder(name)
+        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+        .returns(returnType);
   }
 
   private void generateFilenameAndFieldNameConstants(TypeSpec.Builder typeSpec) {
@@ -345,12 +434,30 @@ public class EntityImplementationGenerator {
             .build());
   }
 
+  private void maybeAddIdCodeGetter(GtfsFieldDescriptor field, TypeSpec.Builder typeSpec) {
+    if (!field.isSharedId()) {
+      return;
+    }
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder(idCodeMethodName(field.name()))
+            .addModifiers(Modifier.PUBLIC)
+            .returns(int.class)
+            .addJavadoc(
+                "Returns the code of $L in the feed's {@link $T}, or {@link $T#NO_CODE} if IDs are"
+                    + " not encoded.",
+                gtfsColumnName(field.name()),
+                IdDictionary.class,
+                IdDictionary.class)
+            .addStatement("return $L", idCodeMethodName(field.name()))
+            .build());
+  }
+
   private MethodSpec generateGetLatLonMethod(LatLonDescriptor latLonDescriptor) {
     return MethodSpec.methodBuilder(latLonDescriptor.latLonField())
         .addModifiers(Modifier.PUBLIC)
         .returns(S2LatLng.class)
         .addStatement(
-            "return $T.fromDegrees($L, $L)",
+            "return $T.fromDegrees($L(), $L())",
             S2LatLng.class,
             latLonDescriptor.latField(),
             latLonDescriptor.lonField())
@@ -392,6 +499,10 @@ public class EntityImplementationGenerator {
     } else {
       method.addStatement("$L = value", field.name());
     }
+    if (field.isSharedId()) {
+      // The code is set separately by loaders that encode IDs.
+      method.addStatement("$L = $T.NO_CODE", idCodeMethodName(field.name()), IdDictionary.class);
+    }
     return method
         .addStatement(
             "$L |= $L", bitFieldForFieldNumber(fieldNumber), maskForFieldNumber(fieldNumber))
@@ -399,6 +510,59 @@ public class EntityImplementationGenerator {
         .build();
   }
 
+  /**
+   * Adds a setter for the code of an ID, e.g., {@code setStopIdCode(int value)}. It must be called
+   * after the setter of the ID itself.
+   */
+  private void maybeAddIdCodeSetter(GtfsFieldDescriptor field, TypeSpec.Builder typeSpec) {
+    if (!field.isSharedId()) {
+      return;
+    }
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder(setterMethodName(idCodeMethodName(field.name())))
+            .addModifiers(Modifier.PUBLIC)
+            .returns(classNames.entityBuilderTypeName())
+            .addAnnotation(Nonnull.class)
+            .addParameter(int.class, "value")
+            .addStatement("$L = value", idCodeMethodName(field.name()))
+            .addStatement("return this")
+            .build());
+  }
+
+  /**
+   * Adds a setter that takes an unboxed value, e.g., {@code setStopSequence(int value)}, so that
+   * field loaders do not need to box parsed numbers.
+   */
+  private void maybeAddPrimitiveSetter(
+      GtfsFieldDescriptor field, int fieldNumber, TypeSpec.Builder typeSpec) {
+    if (!field.isStoredAsPrimitive()) {
+      return;
+    }
+    TypeName fieldType = getClassFieldType(field);
+    MethodSpec.Builder method =
+        MethodSpec.methodBuilder(setterMethodName(field.name()))
+            .addModifiers(Modifier.PUBLIC)
+            .returns(classNames.entityBuilderTypeName())
+            .addAnnotation(Nonnull.class);
+    if (field.type() == FieldTypeEnum.ENUM) {
+      method.addParameter(TypeName.INT, "value");
+      if (fieldType.equals(TypeName.INT)) {
+        method.addStatement("$L = value", field.name());
+      } else {
+        // Enums are usually stored in a smaller integer type, such as byte or short.
+        method.addStatement("$L = ($T) value", field.name(), fieldType);
+      }
+    } else {
+      method.addParameter(fieldType, "value").addStatement("$L = value", field.name());
+    }
+    typeSpec.addMethod(
+        method
+            .addStatement(
+                "$L |= $L", bitFieldForFieldNumber(fieldNumber), maskForFieldNumber(fieldNumber))
+            .addStatement("return this")
+            .build());
+  }
+
   private void maybeAddEnumValueSetter(GtfsFieldDescriptor field, TypeSpec.Builder typeSpec) {
     if (!field.type().equals(FieldTypeEnum.ENUM)) {
       return;
@@ -420,11 +584,16 @@ public class EntityImplementationGenerator {
   }
 
   private MethodSpec generateClearMethod(GtfsFieldDescriptor field, int fieldNumber) {
-    return MethodSpec.methodBuilder(clearMethodName(field.name()))
-        .addModifiers(Modifier.PUBLIC)
-        .returns(classNames.entityBuilderTypeName())
-        .addAnnotation(Nonnull.class)
-        .addStatement("$L = $L", field.name(), fieldDefaultName(field.name()))
+    MethodSpec.Builder method =
+        MethodSpec.methodBuilder(clearMethodName(field.name()))
+            .addModifiers(Modifier.PUBLIC)
+            .returns(classNames.entityBuilderTypeName())
+            .addAnnotation(Nonnull.class)
+            .addStatement("$L = $L", field.name(), fieldDefaultName(field.name()));
+    if (field.isSharedId()) {
+      method.addStatement("$L = $T.NO_CODE", idCodeMethodName(field.name()), IdDictionary.class);
+    }
+    return method
         .addStatement(
             "$L &= ~$L", bitFieldForFieldNumber(fieldNumber), maskForFieldNumber(fieldNumber))
         .addStatement("return this")
@@ -482,7 +651,9 @@ public class EntityImplementationGenerator {
       typeSpec.addMethod(generateGetterMethod(field, ClassContext.BUILDER));
       maybeAddEnumValueGetter(field, typeSpec);
       typeSpec.addMethod(generateSetterMethod(field, fieldNumber));
+      maybeAddPrimitiveSetter(field, fieldNumber, typeSpec);
       maybeAddEnumValueSetter(field, typeSpec);
+      maybeAddIdCodeSetter(field, typeSpec);
       typeSpec.addMethod(generateClearMethod(field, fieldNumber));
       ++fieldNumber;
     }
@@ -497,19 +668,27 @@ public class EntityImplementationGenerator {
   }
 
   private MethodSpec generateBuilderBuildMethod() {
-    TypeName gtfsEntityType = classNames.entityImplementationTypeName();
+    ClassName gtfsEntityType = classNames.entityImplementationTypeName();
+    ClassName instanceType =
+        fileDescriptor.columnar()
+            ? gtfsEntityType.nestedClass(STANDALONE_CLASS_NAME)
+            : gtfsEntityType;
     MethodSpec.Builder buildMethod =
         MethodSpec.methodBuilder("build")
             .addModifiers(Modifier.PUBLIC)
             .addAnnotation(Override.class)
             .returns(gtfsEntityType)
-            .addStatement("$T entity = new $T()", gtfsEntityType, gtfsEntityType)
+            .addStatement("$T entity = new $T()", instanceType, instanceType)
             .addStatement("entity.$L = this.$L", CSV_ROW_NUMBER, CSV_ROW_NUMBER);
     for (int i = 0; i <= lastBitFieldNumber(fileDescriptor.fields().size()); ++i) {
       buildMethod.addStatement("entity.$L = this.$L", bitFieldName(i), bitFieldName(i));
     }
     for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
       buildMethod.addStatement("entity.$L = this.$L", field.name(), field.name());
+      if (field.isSharedId()) {
+        buildMethod.addStatement(
+            "entity.$L = this.$L", idCodeMethodName(field.name()), idCodeMethodName(field.name()));
+      }
     }
     buildMethod.addStatement("return entity");
 
@@ -528,6 +707,10 @@ public class EntityImplementationGenerator {
     }
     for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
       buildMethod.addStatement("$L = $L", field.name(), fieldDefaultName(field.name()));
+      if (field.isSharedId()) {
+        buildMethod.addStatement(
+            "$L = $T.NO_CODE", idCodeMethodName(field.name()), IdDictionary.class);
+      }
     }
     return buildMethod.build();
   }
@@ -44,6 +44,18 @@ public final class FieldNameConverter {
     return "has" + StringUtils.capitalize(field);
   }
 
+  public static String idCodeMethodName(String field) {
+    return field + "Code";
+  }
+
+  public static String hasIdCodeMethodName(String field) {
+    return "has" + StringUtils.capitalize(field) + "Code";
+  }
+
+  public static String idCodeIndexName(String field) {
+    return field + "CodeIndex";
+  }
+
   public static String byKeyMethodName(String field) {
     return "by" + StringUtils.capitalize(field);
   }
@@ -57,6 +69,14 @@ public final class FieldNameConverter {
     return "by" + StringUtils.capitalize(field) + "Map";
   }
 
+  public static String byKeyIndexName(String field) {
+    return "by" + StringUtils.capitalize(field) + "Index";
+  }
+
+  public static String buildIndexMethodName(String field) {
+    return "buildBy" + StringUtils.capitalize(field) + "Index";
+  }
+
   public static String byKeyMapName(String field1, String field2) {
     return String.format(
         "by%sAnd%sMap", StringUtils.capitalize(field1), StringUtils.capitalize(field2));
@@ -29,6 +29,7 @@ import org.mobilitydata.gtfsvalidator.annotation.Generated;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidator;
 import org.mobilitydata.gtfsvalidator.notice.ForeignKeyViolationNotice;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
 import org.mobilitydata.gtfsvalidator.validator.FileValidator;
 
 /**
@@ -106,31 +107,54 @@ public class ForeignKeyValidatorGenerator {
             .addStatement("this.childContainer = childContainer")
             .build());
 
+    boolean canUseIdCodes = canUseIdCodes(childField, parentFile, parentField);
     MethodSpec.Builder validateMethod =
         MethodSpec.methodBuilder("validate")
             .addModifiers(Modifier.PUBLIC)
             .addAnnotation(Override.class)
             .returns(void.class)
-            .addParameter(NoticeContainer.class, "noticeContainer")
-            .beginControlFlow(
-                "for ($T childEntity: childContainer.getEntities())",
-                childClasses.entityImplementationTypeName())
-            .beginControlFlow(
-                "if (!childEntity.$L())", FieldNameConverter.hasMethodName(childField.name()))
-            .addStatement("continue")
-            .endControlFlow()
-            .addStatement("String childKey = childEntity.$L()", childField.name())
-            .beginControlFlow("if (!hasReferencedKey(childKey, parentContainer))")
-            .addStatement(
-                "noticeContainer.addValidationNotice(new $T($S, $S, $S, $S, childKey,"
-                    + " childEntity.csvRowNumber()))",
-                ForeignKeyViolationNotice.class,
-                childFile.filename(),
-                FieldNameConverter.gtfsColumnName(childField.name()),
-                parentFile.filename(),
-                FieldNameConverter.gtfsColumnName(parentField.name()))
-            .endControlFlow()
-            .endControlFlow();
+            .addParameter(NoticeContainer.class, "noticeContainer");
+    if (canUseIdCodes) {
+      // Codes are only comparable if both tables were encoded by the same dictionary.
+      validateMethod.addStatement(
+          "boolean useIdCodes =\nchildContainer.getIdDictionary() != null\n"
+              + "&& childContainer.getIdDictionary() == parentContainer.getIdDictionary()");
+    }
+    validateMethod
+        .beginControlFlow(
+            "for ($T childEntity: childContainer.getEntities())",
+            childClasses.entityImplementationTypeName())
+        .beginControlFlow(
+            "if (!childEntity.$L())", FieldNameConverter.hasMethodName(childField.name()))
+        .addStatement("continue")
+        .endControlFlow()
+        .addStatement("String childKey = childEntity.$L()", childField.name());
+    if (canUseIdCodes) {
+      String childCode = FieldNameConverter.idCodeMethodName(childField.name());
+      validateMethod.addStatement(
+          "boolean hasReferencedKey =\nuseIdCodes && childEntity.$L() != $T.NO_CODE\n"
+              + "? parentContainer.$L(childEntity.$L())\n"
+              + ": hasReferencedKey(childKey, parentContainer)",
+          childCode,
+          IdDictionary.class,
+          FieldNameConverter.hasIdCodeMethodName(parentField.name()),
+          childCode);
+    } else {
+      validateMethod.addStatement(
+          "boolean hasReferencedKey = hasReferencedKey(childKey, parentContainer)");
+    }
+    validateMethod
+        .beginControlFlow("if (!hasReferencedKey)")
+        .addStatement(
+            "noticeContainer.addValidationNotice(new $T($S, $S, $S, $S, childKey,"
+                + " childEntity.csvRowNumber()))",
+            ForeignKeyViolationNotice.class,
+            childFile.filename(),
+            FieldNameConverter.gtfsColumnName(childField.name()),
+            parentFile.filename(),
+            FieldNameConverter.gtfsColumnName(parentField.name()))
+        .endControlFlow()
+        .endControlFlow();
     typeSpec.addMethod(validateMethod.build());
 
     MethodSpec.Builder hasReferencedKeyMethod =
@@ -177,6 +201,21 @@ public class ForeignKeyValidatorGenerator {
     return typeSpec.build();
   }
 
+  /**
+   * Tells if the foreign key may be checked with codes of encoded IDs, i.e., both fields are shared
+   * IDs and the parent table has an index on codes of the parent field.
+   */
+  private static boolean canUseIdCodes(
+      GtfsFieldDescriptor childField,
+      GtfsFileDescriptor parentFile,
+      GtfsFieldDescriptor parentField) {
+    if (!childField.isSharedId() || !parentField.isSharedId()) {
+      return false;
+    }
+    return (parentFile.hasSingleColumnPrimaryKey() && parentField.primaryKey().isPresent())
+        || parentField.index();
+  }
+
   private String validatorName(GtfsFileDescriptor childFile, GtfsFieldDescriptor childField) {
     return childFile.className()
         + StringUtils.capitalize(childField.name())
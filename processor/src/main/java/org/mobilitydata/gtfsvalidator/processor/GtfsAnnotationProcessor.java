@@ -106,6 +106,14 @@ public class GtfsAnnotationProcessor extends AbstractProcessor {
               .generateGtfsEntityJavaFile());
       writeJavaFile(new TableDescriptorGenerator(fileDescriptor).generateGtfsDescriptorJavaFile());
       writeJavaFile(new TableContainerGenerator(fileDescriptor).generateGtfsContainerJavaFile());
+      if (RowLoaderGenerator.isSupported(fileDescriptor)) {
+        writeJavaFile(new RowLoaderGenerator(fileDescriptor).generateRowLoaderJavaFile());
+      }
+      if (fileDescriptor.columnar()) {
+        writeJavaFile(
+            new EntityColumnsGenerator(fileDescriptor, enumDescriptors)
+                .generateColumnsJavaFile());
+      }
     }
 
     List<TypeSpec> generatedValidators = new ArrayList<>();
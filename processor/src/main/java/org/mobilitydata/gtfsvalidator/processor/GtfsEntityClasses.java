@@ -60,6 +60,14 @@ public final class GtfsEntityClasses {
     return className + "TableContainer";
   }
 
+  public String rowLoaderSimpleName() {
+    return className + "RowLoader";
+  }
+
+  public String columnsSimpleName() {
+    return className + "Columns";
+  }
+
   public ClassName entityImplementationTypeName() {
     return ClassName.get(TABLE_PACKAGE_NAME, entityImplementationSimpleName());
   }
@@ -75,4 +83,12 @@ public final class GtfsEntityClasses {
   public ClassName tableContainerTypeName() {
     return ClassName.get(TABLE_PACKAGE_NAME, tableContainerSimpleName());
   }
+
+  public ClassName columnsTypeName() {
+    return ClassName.get(TABLE_PACKAGE_NAME, columnsSimpleName());
+  }
+
+  public ClassName rowLoaderTypeName() {
+    return ClassName.get(TABLE_PACKAGE_NAME, rowLoaderSimpleName());
+  }
 }
@@ -63,6 +63,22 @@ public abstract class GtfsFieldDescriptor {
     return columnRequired() || valueRequired();
   }
 
+  /** Tells if the entity stores the value in a primitive field, such as int or double. */
+  public boolean isStoredAsPrimitive() {
+    return type() == FieldTypeEnum.ENUM || javaType().getKind().isPrimitive();
+  }
+
+  /**
+   * Tells if the field holds an ID that may be shared with other tables, i.e., a primary or a
+   * foreign key. Such IDs go through the feed-wide ID dictionary and may be encoded as ints.
+   *
+   * <p>Unlike per-table caching, this includes single-column primary keys: they are unique within
+   * their own table but repeated by the tables that reference them.
+   */
+  public boolean isSharedId() {
+    return type() == FieldTypeEnum.ID && (primaryKey().isPresent() || foreignKey().isPresent());
+  }
+
   public abstract boolean mixedCase();
 
   public abstract Optional<RowParser.NumberBounds> numberBounds();
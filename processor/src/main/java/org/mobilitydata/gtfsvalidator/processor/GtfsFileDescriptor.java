@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import org.mobilitydata.gtfsvalidator.annotation.FieldTypeEnum;
 import org.mobilitydata.gtfsvalidator.annotation.PrimaryKey;
@@ -48,6 +49,9 @@ public abstract class GtfsFileDescriptor {
 
   public abstract Optional<Integer> maxCharsPerColumn();
 
+  /** Tells if a columnar list is generated for the table, see {@code GtfsTable#columnar}. */
+  public abstract boolean columnar();
+
   public abstract ImmutableList<GtfsFieldDescriptor> fields();
 
   public abstract ImmutableMap<String, GtfsFieldDescriptor> fieldByName();
@@ -93,6 +97,8 @@ public abstract class GtfsFileDescriptor {
 
     public abstract Builder setMaxCharsPerColumn(int maxCharsPerColumn);
 
+    public abstract Builder setColumnar(boolean value);
+
     public abstract ImmutableList.Builder<GtfsFieldDescriptor> fieldsBuilder();
 
     abstract ImmutableList<GtfsFieldDescriptor> fields();
@@ -160,6 +166,14 @@ public abstract class GtfsFileDescriptor {
             filename()
                 + ": At most one field can be annotated with @PrimarKey.isSequenceUsedForSorting = true");
       }
+      // Indexes sort rows by sequences packed in longs.
+      for (GtfsFieldDescriptor field : fields()) {
+        if (field.primaryKey().map(PrimaryKey::isSequenceUsedForSorting).orElse(false)
+            && field.javaType().getKind() != TypeKind.INT) {
+          throw new IllegalArgumentException(
+              filename() + ": Sequence used for sorting must be an int: " + field.name());
+        }
+      }
     }
 
     private void validateTranslationRecordTypeAnnotations() {
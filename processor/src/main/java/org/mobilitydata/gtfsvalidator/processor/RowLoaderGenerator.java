@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.processor;
+
+import static org.mobilitydata.gtfsvalidator.processor.GtfsEntityClasses.TABLE_PACKAGE_NAME;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.util.List;
+import javax.lang.model.element.Modifier;
+import org.mobilitydata.gtfsvalidator.annotation.Generated;
+import org.mobilitydata.gtfsvalidator.parsing.FieldCache;
+import org.mobilitydata.gtfsvalidator.parsing.RowParser;
+import org.mobilitydata.gtfsvalidator.table.GtfsColumnDescriptor;
+import org.mobilitydata.gtfsvalidator.table.GtfsRowLoader;
+
+/**
+ * Generates code for a GtfsRowLoader subclass for a specific GTFS table.
+ *
+ * <p>E.g., GtfsStopRowLoader class is generated for "stops.txt". Its load method has a block of
+ * code for every column, so that the whole row is loaded without virtual calls to field loaders.
+ */
+public class RowLoaderGenerator {
+
+  /**
+   * Tables with more columns are loaded field by field. This keeps the generated method well below
+   * the size that the JIT refuses to compile.
+   */
+  private static final int MAX_UNROLLED_COLUMNS = 64;
+
+  private final GtfsFileDescriptor fileDescriptor;
+  private final GtfsEntityClasses classNames;
+
+  public RowLoaderGenerator(GtfsFileDescriptor fileDescriptor) {
+    this.fileDescriptor = fileDescriptor;
+    this.classNames = new GtfsEntityClasses(fileDescriptor);
+  }
+
+  /** Tells if a row loader is generated for the given table. */
+  public static boolean isSupported(GtfsFileDescriptor fileDescriptor) {
+    return fileDescriptor.fields().size() <= MAX_UNROLLED_COLUMNS;
+  }
+
+  public JavaFile generateRowLoaderJavaFile() {
+    return JavaFile.builder(TABLE_PACKAGE_NAME, generateRowLoaderClass()).build();
+  }
+
+  public TypeSpec generateRowLoaderClass() {
+    ClassName builderType = classNames.entityImplementationTypeName().nestedClass("Builder");
+    return TypeSpec.classBuilder(classNames.rowLoaderSimpleName())
+        .superclass(ParameterizedTypeName.get(ClassName.get(GtfsRowLoader.class), builderType))
+        .addAnnotation(Generated.class)
+        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+        .addMethod(generateLoadMethod(builderType))
+        .build();
+  }
+
+  private MethodSpec generateLoadMethod(ClassName builderType) {
+    MethodSpec.Builder method =
+        MethodSpec.methodBuilder("load")
+            .addAnnotation(Override.class)
+            .addAnnotation(
+                AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "unchecked")
+                    .build())
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(RowParser.class, "rowParser")
+            .addParameter(int[].class, "columnIndices")
+            .addParameter(GtfsColumnDescriptor[].class, "columnDescriptors")
+            .addParameter(FieldCache[].class, "fieldCaches")
+            .addParameter(builderType, "builder");
+    // Columns go in the same order as in GtfsTableDescriptor.getColumns().
+    List<GtfsFieldDescriptor> fields = fileDescriptor.fields();
+    for (int i = 0; i < fields.size(); ++i) {
+      GtfsFieldDescriptor field = fields.get(i);
+      method
+          .addCode("{\n$>")
+          .addStatement("int columnIndex = columnIndices[$L]", i)
+          .addStatement(
+              "$T columnDescriptor = columnDescriptors[$L]", GtfsColumnDescriptor.class, i)
+          .addStatement(
+              "$T fieldCache = fieldCaches[$L]",
+              ParameterizedTypeName.get(
+                  ClassName.get(FieldCache.class), TableDescriptorGenerator.boxedFieldType(field)),
+              i)
+          .addCode(TableDescriptorGenerator.generateFieldLoadCode(field))
+          .addCode("$<}\n");
+    }
+    return method.build();
+  }
+}
@@ -21,15 +21,18 @@ import static org.mobilitydata.gtfsvalidator.processor.GtfsEntityClasses.TABLE_P
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 import javax.lang.model.element.Modifier;
 import org.mobilitydata.gtfsvalidator.annotation.Generated;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
 import org.mobilitydata.gtfsvalidator.table.GtfsTableContainer;
 import org.mobilitydata.gtfsvalidator.table.GtfsTableDescriptor;
 import org.mobilitydata.gtfsvalidator.table.TableStatus;
@@ -106,6 +109,7 @@ public class TableContainerGenerator {
     typeSpec.addMethod(generateConstructorWithEntities());
     typeSpec.addMethod(generateConstructorWithStatus());
     typeSpec.addMethod(generateForHeaderAndEntitiesMethod());
+    typeSpec.addMethod(generateForHeaderAndEntitiesWithIdDictionaryMethod());
     typeSpec.addMethod(generateForEntitiesMethod());
     typeSpec.addMethod(generateForStatusMethod());
 
@@ -151,10 +155,35 @@ public class TableContainerGenerator {
                 ClassName.get(List.class), classNames.entityImplementationTypeName()),
             "entities")
         .addParameter(NoticeContainer.class, "noticeContainer")
+        .addStatement(
+            "return forHeaderAndEntities(descriptor, header, entities, null, noticeContainer)")
+        .build();
+  }
+
+  private MethodSpec generateForHeaderAndEntitiesWithIdDictionaryMethod() {
+    TypeName tableContainerTypeName = classNames.tableContainerTypeName();
+    return MethodSpec.methodBuilder("forHeaderAndEntities")
+        .returns(tableContainerTypeName)
+        .addJavadoc(
+            "Creates a table with given header and entities whose IDs were encoded by the given"
+                + " dictionary, if any")
+        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+        .addParameter(tableDescriptorType, "descriptor")
+        .addParameter(CsvHeader.class, "header")
+        .addParameter(
+            ParameterizedTypeName.get(
+                ClassName.get(List.class), classNames.entityImplementationTypeName()),
+            "entities")
+        .addParameter(
+            ParameterSpec.builder(IdDictionary.class, "idDictionary")
+                .addAnnotation(Nullable.class)
+                .build())
+        .addParameter(NoticeContainer.class, "noticeContainer")
         .addStatement(
             "$T table = new $T(descriptor, header, entities)",
             tableContainerTypeName,
             tableContainerTypeName)
+        .addStatement("table.setIdDictionary(idDictionary)")
         .addStatement("table.setupIndices(noticeContainer)")
         .addStatement("return table")
         .build();
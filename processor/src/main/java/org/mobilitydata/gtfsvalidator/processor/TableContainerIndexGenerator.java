@@ -2,23 +2,27 @@ package org.mobilitydata.gtfsvalidator.processor;
 
 import static org.mobilitydata.gtfsvalidator.annotation.TranslationRecordIdType.RECORD_ID;
 import static org.mobilitydata.gtfsvalidator.annotation.TranslationRecordIdType.RECORD_SUB_ID;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.buildIndexMethodName;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.byKeyIndexName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.byKeyMapName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.byKeyMethodName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.fieldNameField;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.hasIdCodeMethodName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.hasMethodName;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.idCodeIndexName;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.idCodeMethodName;
 
 import com.google.common.base.Strings;
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ListMultimap;
-import com.google.common.collect.Multimaps;
 import com.squareup.javapoet.*;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import javax.annotation.Nullable;
 import javax.lang.model.element.Modifier;
@@ -26,22 +30,37 @@ import org.mobilitydata.gtfsvalidator.annotation.TranslationRecordIdType;
 import org.mobilitydata.gtfsvalidator.notice.DuplicateKeyNotice;
 import org.mobilitydata.gtfsvalidator.notice.MoreThanOneEntityNotice;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.table.CompositeKeyIndex;
+import org.mobilitydata.gtfsvalidator.table.CsrListIndex;
+import org.mobilitydata.gtfsvalidator.table.IdCodeIndex;
+import org.mobilitydata.gtfsvalidator.table.IdCodeListIndex;
+import org.mobilitydata.gtfsvalidator.table.LazyListIndex;
 import org.mobilitydata.gtfsvalidator.type.GtfsDate;
 import org.mobilitydata.gtfsvalidator.type.GtfsTime;
 
 /** Generates code in a container class for @Index and @PrimaryKey annotations. */
 class TableContainerIndexGenerator {
 
-  private static final String BY_COMPOSITE_KEY_MAP_FIELD_NAME = "byCompositeKeyMap";
+  private static final String BY_COMPOSITE_KEY_INDEX_FIELD_NAME = "byCompositeKeyIndex";
+
+  private static final String COMPOSITE_KEY_HASH_METHOD_NAME = "compositeKeyHash";
+
+  private static final String SAME_COMPOSITE_KEY_METHOD_NAME = "sameCompositeKey";
 
   private static final String KEY_COLUMN_NAMES_FIELD_NAME = "KEY_COLUMN_NAMES";
 
+  private static final String GROUPED_COLUMNS_FIELD_NAME = "groupedColumns";
+
   private final GtfsFileDescriptor fileDescriptor;
   private final GtfsEntityClasses classNames;
 
+  /** Index field that rows may be grouped by, see {@link EntityColumnsGenerator#getGroupField}. */
+  private final Optional<GtfsFieldDescriptor> groupField;
+
   TableContainerIndexGenerator(GtfsFileDescriptor fileDescriptor) {
     this.fileDescriptor = fileDescriptor;
     this.classNames = new GtfsEntityClasses(fileDescriptor);
+    this.groupField = EntityColumnsGenerator.getGroupField(fileDescriptor);
   }
 
   void generateMethods(TypeSpec.Builder typeSpec) {
@@ -61,15 +80,24 @@ class TableContainerIndexGenerator {
           fileDescriptor.getSingleColumnPrimaryKey(),
           classNames.entityImplementationTypeName());
     } else if (fileDescriptor.hasMultiColumnPrimaryKey()) {
-      addMapByCompositeKey(typeSpec, classNames.entityImplementationTypeName());
+      addIndexByCompositeKey(typeSpec);
     }
 
+    if (groupField.isPresent()) {
+      typeSpec.addField(
+          FieldSpec.builder(
+                  classNames.columnsTypeName(), GROUPED_COLUMNS_FIELD_NAME, Modifier.PRIVATE)
+              .addAnnotation(Nullable.class)
+              .addJavadoc("Entities if their rows are grouped, in which case indexes are empty.")
+              .build());
+    }
     for (GtfsFieldDescriptor indexField : fileDescriptor.indices()) {
       addListMultimapWithGetters(
           typeSpec,
           indexField,
           resolveSequenceField(indexField),
-          classNames.entityImplementationTypeName());
+          classNames.entityImplementationTypeName(),
+          groupField.isPresent());
     }
 
     typeSpec.addMethod(generateByTranslationKeyMethod());
@@ -84,6 +112,12 @@ class TableContainerIndexGenerator {
   }
 
   private Optional<GtfsFieldDescriptor> resolveSequenceField(GtfsFieldDescriptor indexField) {
+    return resolveSequenceField(fileDescriptor, indexField);
+  }
+
+  /** Returns the field that sorts entities with the same value of an index field, if any. */
+  static Optional<GtfsFieldDescriptor> resolveSequenceField(
+      GtfsFileDescriptor fileDescriptor, GtfsFieldDescriptor indexField) {
     if (indexField.primaryKey().isPresent()) {
       for (GtfsFieldDescriptor field : fileDescriptor.primaryKeys()) {
         if (field != indexField
@@ -100,42 +134,142 @@ class TableContainerIndexGenerator {
       TypeSpec.Builder typeSpec,
       GtfsFieldDescriptor indexField,
       Optional<GtfsFieldDescriptor> sequenceField,
-      TypeName entityTypeName) {
+      TypeName entityTypeName,
+      boolean groupable) {
+    TypeName keyType = TypeName.get(indexField.javaType()).box();
     TypeName keyMapType =
-        ParameterizedTypeName.get(
-            ClassName.get(ListMultimap.class), TypeName.get(indexField.javaType()), entityTypeName);
+        ParameterizedTypeName.get(ClassName.get(ListMultimap.class), keyType, entityTypeName);
+    TypeName indexType =
+        ParameterizedTypeName.get(ClassName.get(CsrListIndex.class), keyType, entityTypeName);
     String methodName = byKeyMethodName(indexField.name());
-    String fieldName = byKeyMapName(indexField.name());
+    String mapName = byKeyMapName(indexField.name());
+    String indexName = byKeyIndexName(indexField.name());
+    String columnName = FieldNameConverter.gtfsColumnName(indexField.name());
     typeSpec.addField(
-        FieldSpec.builder(keyMapType, fieldName, Modifier.PRIVATE)
-            .initializer("$T.create()", ParameterizedTypeName.get(ArrayListMultimap.class))
+        FieldSpec.builder(
+                ParameterizedTypeName.get(
+                    ClassName.get(LazyListIndex.class), keyType, entityTypeName),
+                indexName,
+                Modifier.PRIVATE,
+                Modifier.FINAL)
+            .initializer(
+                "new $T<>($T.FILENAME, $S, this::$L)",
+                LazyListIndex.class,
+                entityTypeName,
+                columnName,
+                buildIndexMethodName(indexField.name()))
             .build());
+    typeSpec.addMethod(
+        generateBuildIndexMethod(indexField, sequenceField, entityTypeName, indexType));
+
     String sortedBy =
         sequenceField
             .map((f) -> " sorted by " + FieldNameConverter.gtfsColumnName(f.name()))
             .orElse("");
-    typeSpec.addMethod(
+    MethodSpec.Builder byKeyMethod =
         MethodSpec.methodBuilder(methodName)
             .addModifiers(Modifier.PUBLIC)
             .addParameter(TypeName.get(indexField.javaType()), "key")
-            .returns(ParameterizedTypeName.get(ClassName.get(List.class), entityTypeName))
-            .addStatement("return $L.get(key)", fieldName)
+            .returns(ParameterizedTypeName.get(ClassName.get(List.class), entityTypeName));
+    MethodSpec.Builder byKeyMapMethod =
+        MethodSpec.methodBuilder(mapName)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(keyMapType);
+    if (groupable) {
+      byKeyMethod
+          .beginControlFlow("if ($L != null)", GROUPED_COLUMNS_FIELD_NAME)
+          .addStatement("return $L.$L(key)", GROUPED_COLUMNS_FIELD_NAME, methodName)
+          .endControlFlow();
+      byKeyMapMethod
+          .beginControlFlow("if ($L != null)", GROUPED_COLUMNS_FIELD_NAME)
+          .addStatement("return $L.$L()", GROUPED_COLUMNS_FIELD_NAME, mapName)
+          .endControlFlow();
+    }
+    if (indexField.isSharedId()) {
+      MethodSpec.Builder hasIdCodeMethod =
+          MethodSpec.methodBuilder(hasIdCodeMethodName(indexField.name()))
+              .addModifiers(Modifier.PUBLIC)
+              .addParameter(int.class, "code")
+              .returns(boolean.class);
+      if (groupable) {
+        hasIdCodeMethod
+            .beginControlFlow(
+                "if ($L != null && getIdDictionary() != null)", GROUPED_COLUMNS_FIELD_NAME)
+            .addStatement(
+                "return code >= 0 && !$L.$L(getIdDictionary().idOf(code)).isEmpty()",
+                GROUPED_COLUMNS_FIELD_NAME,
+                methodName)
+            .endControlFlow();
+      }
+      typeSpec.addMethod(
+          hasIdCodeMethod
+              .addStatement("$T index = $L.get()", indexType, indexName)
+              .addStatement(
+                  "return index instanceof $T && (($T<?>) index).containsCode(code)",
+                  IdCodeListIndex.class,
+                  IdCodeListIndex.class)
+              .addJavadoc(
+                  "@return true if there is an entity with the given code of "
+                      + columnName
+                      + ", always false unless IDs are encoded")
+              .build());
+    }
+    typeSpec.addMethod(
+        byKeyMethod
+            .addStatement("return $L.get().get(key)", indexName)
             .addJavadoc("@return List of " + entityTypeName + sortedBy)
             .build());
     typeSpec.addMethod(
-        MethodSpec.methodBuilder(methodName + "Map")
-            .addModifiers(Modifier.PUBLIC)
-            .returns(keyMapType)
-            .addStatement("return $L", fieldName)
+        byKeyMapMethod
+            .addStatement("return $L.get().asMultimap()", indexName)
             .addJavadoc(
-                "@return ListMultimap keyed on "
-                    + FieldNameConverter.gtfsColumnName(indexField.name())
+                "@return Immutable ListMultimap keyed on "
+                    + columnName
                     + " with values that are Lists of "
                     + entityTypeName
                     + sortedBy)
             .build());
   }
 
+  /**
+   * Generates a method that indexes entities by a field. Indexes of encoded IDs are keyed by codes
+   * of the ID dictionary.
+   */
+  private static MethodSpec generateBuildIndexMethod(
+      GtfsFieldDescriptor indexField,
+      Optional<GtfsFieldDescriptor> sequenceField,
+      TypeName entityTypeName,
+      TypeName indexType) {
+    CodeBlock sequence =
+        sequenceField
+            .map((field) -> CodeBlock.of("$T::$L", entityTypeName, field.name()))
+            .orElse(CodeBlock.of("null"));
+    MethodSpec.Builder method =
+        MethodSpec.methodBuilder(buildIndexMethodName(indexField.name()))
+            .addModifiers(Modifier.PRIVATE)
+            .returns(indexType);
+    if (indexField.isSharedId()) {
+      method
+          .beginControlFlow("if (getIdDictionary() != null)")
+          .addStatement(
+              "return $T.build(getIdDictionary(), entities,\n"
+                  + "(entity) -> encodeId(entity.$L(), entity.$L()), $L)",
+              IdCodeListIndex.class,
+              idCodeMethodName(indexField.name()),
+              indexField.name(),
+              sequence)
+          .endControlFlow();
+    }
+    return method
+        .addStatement(
+            "return $T.byKey(entities, $T::$L, $L)",
+            CsrListIndex.class,
+            entityTypeName,
+            indexField.name(),
+            sequence)
+        .build();
+  }
+
   private static void addMapWithGetter(
       TypeSpec.Builder typeSpec, GtfsFieldDescriptor indexField, TypeName entityTypeName) {
     String methodName = byKeyMethodName(indexField.name());
@@ -147,26 +281,124 @@ class TableContainerIndexGenerator {
         FieldSpec.builder(keyMapType, fieldName, Modifier.PRIVATE)
             .initializer("new $T<>()", ParameterizedTypeName.get(HashMap.class))
             .build());
-    typeSpec.addMethod(
+    MethodSpec.Builder byKeyMethod =
         MethodSpec.methodBuilder(methodName)
             .addModifiers(Modifier.PUBLIC)
             .addParameter(TypeName.get(indexField.javaType()), "key")
-            .returns(ParameterizedTypeName.get(ClassName.get(Optional.class), entityTypeName))
+            .returns(ParameterizedTypeName.get(ClassName.get(Optional.class), entityTypeName));
+    if (indexField.isSharedId()) {
+      String codeIndexName = idCodeIndexName(indexField.name());
+      typeSpec.addField(
+          FieldSpec.builder(
+                  ParameterizedTypeName.get(ClassName.get(IdCodeIndex.class), entityTypeName),
+                  codeIndexName,
+                  Modifier.PRIVATE)
+              .addAnnotation(Nullable.class)
+              .build());
+      byKeyMethod
+          .beginControlFlow("if ($L != null)", codeIndexName)
+          .addStatement(
+              "return Optional.ofNullable($L.get(getIdDictionary().codeOf(key)))", codeIndexName)
+          .endControlFlow();
+      typeSpec.addMethod(
+          MethodSpec.methodBuilder(hasIdCodeMethodName(indexField.name()))
+              .addModifiers(Modifier.PUBLIC)
+              .addParameter(int.class, "code")
+              .returns(boolean.class)
+              .addStatement(
+                  "return $L != null && $L.containsCode(code)", codeIndexName, codeIndexName)
+              .addJavadoc(
+                  "@return true if there is an entity with the given code of "
+                      + FieldNameConverter.gtfsColumnName(indexField.name())
+                      + ", always false unless IDs are encoded")
+              .build());
+    }
+    typeSpec.addMethod(
+        byKeyMethod
             .addStatement("return Optional.ofNullable($L.getOrDefault(key, null))", fieldName)
             .build());
   }
 
-  private static void addMapByCompositeKey(TypeSpec.Builder typeSpec, TypeName entityTypeName) {
-    // Field: Map<CompositeKey, EntityType?> byCompositeKeyMap;
-    TypeName keyMapType =
-        ParameterizedTypeName.get(
-            ClassName.get(Map.class), ClassName.get("", "CompositeKey"), entityTypeName);
+  /**
+   * Adds an index of entities by their multi-column primary key, which hashes values of the key
+   * instead of allocating a key object per entity.
+   */
+  private void addIndexByCompositeKey(TypeSpec.Builder typeSpec) {
+    TypeName entityTypeName = classNames.entityImplementationTypeName();
+    ImmutableList<GtfsFieldDescriptor> keyFields = fileDescriptor.primaryKeys();
+    // Field: CompositeKeyIndex<EntityType> byCompositeKeyIndex;
     typeSpec.addField(
-        FieldSpec.builder(keyMapType, BY_COMPOSITE_KEY_MAP_FIELD_NAME, Modifier.PRIVATE)
-            .initializer("new $T<>()", ParameterizedTypeName.get(HashMap.class))
+        FieldSpec.builder(
+                ParameterizedTypeName.get(ClassName.get(CompositeKeyIndex.class), entityTypeName),
+                BY_COMPOSITE_KEY_INDEX_FIELD_NAME,
+                Modifier.PRIVATE,
+                Modifier.FINAL)
+            .initializer(
+                "new $T<>(\n(entity) -> $L($L),\n$T::$L)",
+                CompositeKeyIndex.class,
+                COMPOSITE_KEY_HASH_METHOD_NAME,
+                keyFields.stream()
+                    .map((field) -> CodeBlock.of("entity.$L()", field.name()))
+                    .collect(CodeBlock.joining(", ")),
+                classNames.tableContainerTypeName(),
+                SAME_COMPOSITE_KEY_METHOD_NAME)
+            .build());
+
+    MethodSpec.Builder hashMethod =
+        MethodSpec.methodBuilder(COMPOSITE_KEY_HASH_METHOD_NAME)
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(long.class)
+            .addJavadoc(
+                "Hashes values of the primary key, see {@link $T#hash}.", CompositeKeyIndex.class)
+            .addStatement("long hash = 0");
+    for (GtfsFieldDescriptor field : keyFields) {
+      ParameterSpec.Builder param =
+          ParameterSpec.builder(TypeName.get(field.javaType()), field.name());
+      if (isKeyTypeNullable(field)) {
+        param.addAnnotation(Nullable.class);
+      }
+      hashMethod
+          .addParameter(param.build())
+          .addStatement("hash = $T.hash(hash, $L)", CompositeKeyIndex.class, field.name());
+    }
+    typeSpec.addMethod(hashMethod.addStatement("return hash").build());
+
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder(SAME_COMPOSITE_KEY_METHOD_NAME)
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(boolean.class)
+            .addParameter(entityTypeName, "entity1")
+            .addParameter(entityTypeName, "entity2")
+            .addStatement("return $L", sameKey("entity1", "entity2"))
             .build());
   }
 
+  /** Returns an expression that tells if two entities or keys have the same primary key. */
+  private CodeBlock sameKey(String object1, String object2) {
+    return fileDescriptor.primaryKeys().stream()
+        .map(
+            (field) -> {
+              CodeBlock value1 = CodeBlock.of("$L.$L()", object1, field.name());
+              CodeBlock value2 = CodeBlock.of("$L.$L()", object2, field.name());
+              switch (field.javaType().getKind()) {
+                case FLOAT:
+                case DOUBLE:
+                  // Same as equals() of boxed values, which AutoValue keys used.
+                  return CodeBlock.of(
+                      "$T.doubleToLongBits($L) == $T.doubleToLongBits($L)",
+                      Double.class,
+                      value1,
+                      Double.class,
+                      value2);
+                default:
+                  return field.javaType().getKind().isPrimitive()
+                      ? CodeBlock.of("$L == $L", value1, value2)
+                      : CodeBlock.of("$T.equals($L, $L)", Objects.class, value1, value2);
+              }
+            })
+        .collect(CodeBlock.joining("\n&& "));
+  }
+
   private FieldSpec generateKeyColumnNames() {
     FieldSpec.Builder field =
         FieldSpec.builder(
@@ -213,7 +445,13 @@ class TableContainerIndexGenerator {
                     ClassName.get(Optional.class), classNames.entityImplementationTypeName()))
             .addParameter(String.class, "recordId")
             .addParameter(String.class, "recordSubId");
-    if (fileDescriptor.hasSingleColumnPrimaryKey()) {
+    if (fileDescriptor.hasSingleColumnPrimaryKey()
+        && fileDescriptor.getSingleColumnPrimaryKey().isSharedId()) {
+      // The lookup method knows whether IDs are encoded.
+      method.addStatement(
+          "return $L(recordId)",
+          byKeyMethodName(fileDescriptor.getSingleColumnPrimaryKey().name()));
+    } else if (fileDescriptor.hasSingleColumnPrimaryKey()) {
       method.addStatement(
           "return Optional.ofNullable($L.getOrDefault(recordId, null))",
           byKeyMapName(fileDescriptor.getSingleColumnPrimaryKey().name()));
@@ -248,9 +486,36 @@ class TableContainerIndexGenerator {
       method
           .beginControlFlow("try")
           .addStatement(
-              "return Optional.ofNullable($L.getOrDefault(CompositeKey.builder()\n$L.\nbuild(), null))",
-              BY_COMPOSITE_KEY_MAP_FIELD_NAME,
-              CodeBlock.join(keyBuilderSetters, "\n"))
+              "CompositeKey key = CompositeKey.builder()\n$L.\nbuild()",
+              CodeBlock.join(keyBuilderSetters, "\n"));
+      if (groupField.isPresent()) {
+        // Grouped rows are not in the index, but rows with the same ID are sorted by sequence.
+        GtfsFieldDescriptor sequenceField = resolveSequenceField(groupField.get()).get();
+        method
+            .beginControlFlow("if ($L != null)", GROUPED_COLUMNS_FIELD_NAME)
+            .beginControlFlow(
+                "for ($T entity : $L.$L(key.$L()))",
+                classNames.entityImplementationTypeName(),
+                GROUPED_COLUMNS_FIELD_NAME,
+                byKeyMethodName(groupField.get().name()),
+                groupField.get().name())
+            .beginControlFlow(
+                "if (entity.$L() == key.$L())", sequenceField.name(), sequenceField.name())
+            .addStatement("return Optional.of(entity)")
+            .endControlFlow()
+            .endControlFlow()
+            .addStatement("return Optional.empty()")
+            .endControlFlow();
+      }
+      method
+          .addStatement(
+              "return Optional.ofNullable(\n$L.get(\n$L($L),\n(entity) -> $L))",
+              BY_COMPOSITE_KEY_INDEX_FIELD_NAME,
+              COMPOSITE_KEY_HASH_METHOD_NAME,
+              fileDescriptor.primaryKeys().stream()
+                  .map((field) -> CodeBlock.of("key.$L()", field.name()))
+                  .collect(CodeBlock.joining(", ")),
+              sameKey("entity", "key"))
           .nextControlFlow("catch (NumberFormatException ex)")
           .addStatement("return Optional.empty()")
           .endControlFlow();
@@ -279,6 +544,10 @@ class TableContainerIndexGenerator {
     }
   }
 
+  /**
+   * Generates a method that indexes primary keys and reports duplicates. Indexes of @Index fields
+   * are built on first access instead, see {@link LazyListIndex}.
+   */
   private MethodSpec generateSetupIndicesMethod() {
     TypeName gtfsEntityType = classNames.entityImplementationTypeName();
     MethodSpec.Builder method =
@@ -287,6 +556,9 @@ class TableContainerIndexGenerator {
             .addParameter(NoticeContainer.class, "noticeContainer")
             .returns(void.class);
 
+    if (groupField.isPresent()) {
+      addSetupGroupedRowsStatements(method);
+    }
     if (fileDescriptor.singleRow()) {
       method
           .beginControlFlow("if (entities.size() > 1)")
@@ -295,8 +567,14 @@ class TableContainerIndexGenerator {
               MoreThanOneEntityNotice.class)
           .endControlFlow();
     } else if (fileDescriptor.hasMultiColumnPrimaryKey()) {
+      // A key object is only built for the notice about a duplicate key.
       method
           .beginControlFlow("for ($T newEntity : entities)", gtfsEntityType)
+          .addStatement(
+              "$T oldEntity = $L.putIfAbsent(newEntity)",
+              classNames.entityImplementationTypeName(),
+              BY_COMPOSITE_KEY_INDEX_FIELD_NAME)
+          .beginControlFlow("if (oldEntity != null)")
           .addStatement(
               "CompositeKey key = CompositeKey.builder()\n$L\n.build()",
               fileDescriptor.primaryKeys().stream()
@@ -307,20 +585,16 @@ class TableContainerIndexGenerator {
                               FieldNameConverter.setterMethodName(field.name()),
                               field.name()))
                   .collect(CodeBlock.joining("\n")))
-          .addStatement(
-              "$T oldEntity = $L.getOrDefault(key, null)",
-              classNames.entityImplementationTypeName(),
-              BY_COMPOSITE_KEY_MAP_FIELD_NAME)
-          .beginControlFlow("if (oldEntity != null)")
           .addStatement(
               "noticeContainer.addValidationNotice(new $T(\n"
                   + "gtfsFilename(), oldEntity.csvRowNumber(), newEntity.csvRowNumber(),\n"
                   + "key.getDefinedKeys(oldEntity), key.getDefinedValues(oldEntity)))",
               DuplicateKeyNotice.class)
-          .nextControlFlow("else")
-          .addStatement("$L.put(key, newEntity)", BY_COMPOSITE_KEY_MAP_FIELD_NAME)
           .endControlFlow()
           .endControlFlow();
+    } else if (fileDescriptor.hasSingleColumnPrimaryKey()
+        && fileDescriptor.getSingleColumnPrimaryKey().isSharedId()) {
+      addSetupEncodedPrimaryKeyStatements(method, fileDescriptor.getSingleColumnPrimaryKey());
     } else if (fileDescriptor.hasSingleColumnPrimaryKey()) {
       GtfsFieldDescriptor primaryKey = fileDescriptor.getSingleColumnPrimaryKey();
       String byKeyMap = byKeyMapName(primaryKey.name());
@@ -347,35 +621,87 @@ class TableContainerIndexGenerator {
           .endControlFlow();
       method.endControlFlow();
     }
-
-    if (!fileDescriptor.indices().isEmpty()) {
-      method.beginControlFlow("for ($T entity : entities)", gtfsEntityType);
-      for (GtfsFieldDescriptor indexField : fileDescriptor.indices()) {
-        method.addStatement(
-            "$L.put(entity.$L(), entity)", byKeyMapName(indexField.name()), indexField.name());
-      }
-      method.endControlFlow();
-      for (GtfsFieldDescriptor indexField : fileDescriptor.indices()) {
-        Optional<GtfsFieldDescriptor> sequenceField = resolveSequenceField(indexField);
-        if (sequenceField.isPresent()) {
-          method
-              .beginControlFlow(
-                  "for (List<$T> entityList: $T.asMap($L).values())",
-                  gtfsEntityType,
-                  Multimaps.class,
-                  byKeyMapName(indexField.name()))
-              .addStatement(
-                  "entityList.sort((entity1, entity2) -> $T.compare(entity1.$L(), entity2.$L()))",
-                  TypeName.get(sequenceField.get().javaType()).box(),
-                  sequenceField.get().name(),
-                  sequenceField.get().name())
-              .endControlFlow();
-        }
-      }
-    }
     return method.build();
   }
 
+  /**
+   * Adds statements that keep grouped rows instead of building indexes and report duplicate primary
+   * keys. Rows are stored sorted by primary key once they are grouped, so duplicate keys are
+   * adjacent in grouped order.
+   */
+  private void addSetupGroupedRowsStatements(MethodSpec.Builder method) {
+    TypeName gtfsEntityType = classNames.entityImplementationTypeName();
+    ClassName columnsType = classNames.columnsTypeName();
+    method
+        .beginControlFlow(
+            "if (entities instanceof $T && (($T) entities).isGrouped())", columnsType, columnsType)
+        .addStatement("$L = ($T) entities", GROUPED_COLUMNS_FIELD_NAME, columnsType)
+        .addStatement("$T oldEntity = null", gtfsEntityType)
+        .beginControlFlow(
+            "for ($T newEntity : $L.inGroupedOrder())", gtfsEntityType, GROUPED_COLUMNS_FIELD_NAME)
+        .beginControlFlow("if (oldEntity != null\n&& $L)", sameKey("oldEntity", "newEntity"))
+        .addStatement(
+            "CompositeKey key = CompositeKey.builder()\n$L\n.build()",
+            fileDescriptor.primaryKeys().stream()
+                .map(
+                    (field) ->
+                        CodeBlock.of(
+                            ".$L(newEntity.$L())",
+                            FieldNameConverter.setterMethodName(field.name()),
+                            field.name()))
+                .collect(CodeBlock.joining("\n")))
+        .addStatement(
+            "noticeContainer.addValidationNotice(new $T(\n"
+                + "gtfsFilename(), oldEntity.csvRowNumber(), newEntity.csvRowNumber(),\n"
+                + "key.getDefinedKeys(oldEntity), key.getDefinedValues(oldEntity)))",
+            DuplicateKeyNotice.class)
+        .nextControlFlow("else")
+        .addStatement("oldEntity = newEntity")
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("return")
+        .endControlFlow();
+  }
+
+  /**
+   * Adds statements that index entities by a primary key that is an encoded ID and report
+   * duplicate keys. Entities are indexed by string if IDs are not encoded.
+   */
+  private void addSetupEncodedPrimaryKeyStatements(
+      MethodSpec.Builder method, GtfsFieldDescriptor primaryKey) {
+    TypeName gtfsEntityType = classNames.entityImplementationTypeName();
+    String codeIndexName = idCodeIndexName(primaryKey.name());
+    method
+        .beginControlFlow("if (getIdDictionary() != null)")
+        .addStatement("$L = new $T<>(getIdDictionary().size())", codeIndexName, IdCodeIndex.class)
+        .endControlFlow()
+        .beginControlFlow("for ($T newEntity : entities)", gtfsEntityType)
+        .beginControlFlow("if (!newEntity.$L())", hasMethodName(primaryKey.name()))
+        .addStatement("continue")
+        .endControlFlow()
+        .addStatement(
+            "$T oldEntity =\n$L != null\n"
+                + "? $L.putIfAbsent(encodeId(newEntity.$L(), newEntity.$L()), newEntity)\n"
+                + ": $L.putIfAbsent(newEntity.$L(), newEntity)",
+            gtfsEntityType,
+            codeIndexName,
+            codeIndexName,
+            idCodeMethodName(primaryKey.name()),
+            primaryKey.name(),
+            byKeyMapName(primaryKey.name()),
+            primaryKey.name())
+        .beginControlFlow("if (oldEntity != null)")
+        .addStatement(
+            "noticeContainer.addValidationNotice(new $T(gtfsFilename(),"
+                + " oldEntity.csvRowNumber(), newEntity.csvRowNumber(), $T.$L, newEntity.$L()))",
+            DuplicateKeyNotice.class,
+            gtfsEntityType,
+            fieldNameField(primaryKey.name()),
+            primaryKey.name())
+        .endControlFlow()
+        .endControlFlow();
+  }
+
   private TypeSpec compositeKeyClass() {
     // We generate an @AutoValue object to contain the values of the key.  @AutoValue automatically
     // generates equals() and hashCode() methods.
@@ -29,11 +29,13 @@ import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.util.List;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import javax.lang.model.element.Modifier;
 import org.mobilitydata.gtfsvalidator.annotation.FieldLevelEnum;
 import org.mobilitydata.gtfsvalidator.annotation.FieldTypeEnum;
@@ -41,13 +43,19 @@ import org.mobilitydata.gtfsvalidator.annotation.Generated;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
 import org.mobilitydata.gtfsvalidator.parsing.FieldCache;
+import org.mobilitydata.gtfsvalidator.parsing.IdDictionary;
 import org.mobilitydata.gtfsvalidator.parsing.RowParser;
+import org.mobilitydata.gtfsvalidator.table.ColumnStorage;
+import org.mobilitydata.gtfsvalidator.table.ColumnarEntityList;
 import org.mobilitydata.gtfsvalidator.table.GtfsColumnDescriptor;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntityBuilder;
 import org.mobilitydata.gtfsvalidator.table.GtfsFieldLoader;
+import org.mobilitydata.gtfsvalidator.table.GtfsRowLoader;
 import org.mobilitydata.gtfsvalidator.table.GtfsTableContainer;
 import org.mobilitydata.gtfsvalidator.table.GtfsTableDescriptor;
 import org.mobilitydata.gtfsvalidator.table.TableStatus;
+import org.mobilitydata.gtfsvalidator.type.GtfsDate;
+import org.mobilitydata.gtfsvalidator.type.GtfsTime;
 
 /**
  * Generates code for a GtfsTableDescriptor subclass for a specific GTFS table.
@@ -68,7 +76,34 @@ public class TableDescriptorGenerator {
     return "as" + CaseFormat.UPPER_UNDERSCORE.to(CaseFormat.UPPER_CAMEL, typeEnum.toString());
   }
 
+  /**
+   * Returns the {@code RowParser} method that parses a field without boxing, or empty if the field
+   * has to be parsed as an object.
+   */
+  private static Optional<String> primitiveParserMethod(GtfsFieldDescriptor field) {
+    switch (field.type()) {
+      case INTEGER:
+      case FLOAT:
+      case LATITUDE:
+      case LONGITUDE:
+      case ENUM:
+        return field.isStoredAsPrimitive()
+            ? Optional.of(gtfsTypeToParserMethod(field.type()) + "Value")
+            : Optional.empty();
+      case TIME:
+        return Optional.of("asTimeSeconds");
+      case DATE:
+        return Optional.of("asDateEpochDay");
+      default:
+        return Optional.empty();
+    }
+  }
+
   private boolean cachingEnabled(final GtfsFieldDescriptor field) {
+    if (field.isStoredAsPrimitive()) {
+      // Primitive values are stored unboxed in entities, so interning them saves nothing.
+      return false;
+    }
     // FIXME: Add a way to disable all caching with a command-line flag.
     if (field.cached()) {
       return true;
@@ -110,10 +145,17 @@ public class TableDescriptorGenerator {
 
     typeSpec.addMethod(generateCreateContainerForInvalidStatusMethod());
     typeSpec.addMethod(generateCreateContainerForHeaderAndEntitiesMethod());
+    typeSpec.addMethod(generateCreateContainerForHeaderAndEntitiesWithIdDictionaryMethod());
     typeSpec.addMethod(generateCreateEntityBuilderMethod());
     typeSpec.addMethod(generateGetEntityClassMethod());
     typeSpec.addMethod(generateGetColumnsMethod());
     typeSpec.addMethod(generateGetFieldLoadersMethod());
+    if (RowLoaderGenerator.isSupported(fileDescriptor)) {
+      typeSpec.addMethod(generateGetRowLoaderMethod());
+    }
+    if (fileDescriptor.columnar()) {
+      typeSpec.addMethod(generateCreateColumnarEntityListMethod());
+    }
 
     typeSpec.addMethod(generateGtfsFilenameMethod());
     typeSpec.addMethod(generateIsRecommendedMethod());
@@ -146,6 +188,27 @@ public class TableDescriptorGenerator {
         .build();
   }
 
+  private MethodSpec generateCreateContainerForHeaderAndEntitiesWithIdDictionaryMethod() {
+    return MethodSpec.methodBuilder("createContainerForHeaderAndEntities")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(CsvHeader.class, "header")
+        .addParameter(
+            ParameterizedTypeName.get(
+                ClassName.get(List.class), classNames.entityImplementationTypeName()),
+            "entities")
+        .addParameter(
+            ParameterSpec.builder(IdDictionary.class, "idDictionary")
+                .addAnnotation(Nullable.class)
+                .build())
+        .addParameter(NoticeContainer.class, "noticeContainer")
+        .returns(GtfsTableContainer.class)
+        .addStatement(
+            "return $T.forHeaderAndEntities(this, header, entities, idDictionary, noticeContainer)",
+            classNames.tableContainerTypeName())
+        .build();
+  }
+
   private MethodSpec generateCreateContainerForInvalidStatusMethod() {
     return MethodSpec.methodBuilder("createContainerForInvalidStatus")
         .addAnnotation(Override.class)
@@ -197,14 +260,16 @@ public class TableDescriptorGenerator {
                       + ".setHeaderRequired($L)\n"
                       + ".setFieldLevel($T.$L)\n"
                       + ".setIsMixedCase($L)\n"
-                      + ".setIsCached($L)\n",
+                      + ".setIsCached($L)\n"
+                      + ".setIsSharedId($L)\n",
                   gtfsEntityType,
                   fieldNameField(field.name()),
                   field.isHeaderRequired(),
                   FieldLevelEnum.class,
                   getFieldLevel(field),
                   field.mixedCase(),
-                  cachingEnabled(field));
+                  cachingEnabled(field),
+                  field.isSharedId());
       field
           .numberBounds()
           .ifPresent(
@@ -235,10 +300,7 @@ public class TableDescriptorGenerator {
                 ImmutableMap.class);
     ClassName gtfsEntityType = classNames.entityImplementationTypeName();
     for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
-      TypeName boxedType =
-          field.type() == FieldTypeEnum.ENUM
-              ? ClassName.get(Integer.class)
-              : ClassName.get(field.javaType()).box();
+      TypeName boxedType = boxedFieldType(field);
       TypeSpec.Builder loaderClass =
           TypeSpec.anonymousClassBuilder("")
               .addSuperinterface(
@@ -256,26 +318,8 @@ public class TableDescriptorGenerator {
               .addParameter(
                   ParameterizedTypeName.get(ClassName.get(FieldCache.class), boxedType),
                   "fieldCache")
-              .addParameter(gtfsEntityType.nestedClass("Builder"), "builder");
-
-      CodeBlock fieldValue =
-          field.type() == FieldTypeEnum.ENUM
-              ? CodeBlock.of(
-                  "rowParser.asEnum(columnIndex, columnDescriptor, $T::forNumber,"
-                      + " $T.UNRECOGNIZED)",
-                  ClassName.get(field.javaType()),
-                  ClassName.get(field.javaType()))
-              : CodeBlock.of(
-                  "rowParser.$L(columnIndex, columnDescriptor$L)",
-                  gtfsTypeToParserMethod(field.type()),
-                  field.numberBounds().isPresent()
-                      ? ", RowParser.NumberBounds." + field.numberBounds().get()
-                      : "");
-
-      loadMethod.addStatement(
-          "builder.$L(\naddToCacheIfPresent(\n$L, fieldCache))",
-          FieldNameConverter.setterMethodName(field.name()),
-          fieldValue);
+              .addParameter(gtfsEntityType.nestedClass("Builder"), "builder")
+              .addCode(generateFieldLoadCode(field));
       loaderClass.addMethod(loadMethod.build());
 
       method.addStatement(
@@ -288,6 +332,141 @@ public class TableDescriptorGenerator {
     return method.build();
   }
 
+  private MethodSpec generateGetRowLoaderMethod() {
+    return MethodSpec.methodBuilder("getRowLoader")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(ParameterizedTypeName.get(Optional.class, GtfsRowLoader.class))
+        .addStatement("return Optional.of(new $T())", classNames.rowLoaderTypeName())
+        .build();
+  }
+
+  private MethodSpec generateCreateColumnarEntityListMethod() {
+    return MethodSpec.methodBuilder("createColumnarEntityList")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(
+            ParameterizedTypeName.get(
+                ClassName.get(Optional.class),
+                ParameterizedTypeName.get(
+                    ClassName.get(ColumnarEntityList.class),
+                    classNames.entityImplementationTypeName())))
+        .addParameter(ColumnStorage.class, "storage")
+        .addStatement("return Optional.of(new $T(storage))", classNames.columnsTypeName())
+        .build();
+  }
+
+  /** Returns the type of values that are passed through a {@code FieldCache} for a field. */
+  static TypeName boxedFieldType(GtfsFieldDescriptor field) {
+    return field.type() == FieldTypeEnum.ENUM
+        ? ClassName.get(Integer.class)
+        : ClassName.get(field.javaType()).box();
+  }
+
+  /**
+   * Generates code that parses a field and stores it in the entity builder.
+   *
+   * <p>The code expects local variables {@code rowParser}, {@code columnIndex}, {@code
+   * columnDescriptor}, {@code fieldCache} and {@code builder} to be defined.
+   */
+  static CodeBlock generateFieldLoadCode(GtfsFieldDescriptor field) {
+    CodeBlock.Builder code = CodeBlock.builder();
+    String numberBoundsArgument =
+        field.numberBounds().isPresent()
+            ? ", RowParser.NumberBounds." + field.numberBounds().get()
+            : "";
+    if (field.isSharedId()) {
+      // The dictionary returns both the canonical instance and the code with a single lookup.
+      return code
+          .addStatement(
+              "String value = rowParser.$L(columnIndex, columnDescriptor)",
+              gtfsTypeToParserMethod(field.type()))
+          .addStatement("int code = encodeIdIfPresent(value, fieldCache)")
+          .addStatement(
+              "builder.$L(addIdToCacheIfPresent(value, code, fieldCache))",
+              FieldNameConverter.setterMethodName(field.name()))
+          .addStatement(
+              "builder.$L(code)",
+              FieldNameConverter.setterMethodName(
+                  FieldNameConverter.idCodeMethodName(field.name())))
+          .build();
+    }
+    Optional<String> primitiveParserMethod = primitiveParserMethod(field);
+    if (primitiveParserMethod.isPresent()) {
+      addPrimitiveLoadStatements(code, field, primitiveParserMethod.get(), numberBoundsArgument);
+      return code.build();
+    }
+    CodeBlock fieldValue =
+        field.type() == FieldTypeEnum.ENUM
+            ? CodeBlock.of(
+                "rowParser.asEnum(columnIndex, columnDescriptor, $T::forNumber,"
+                    + " $T.UNRECOGNIZED)",
+                ClassName.get(field.javaType()),
+                ClassName.get(field.javaType()))
+            : CodeBlock.of(
+                "rowParser.$L(columnIndex, columnDescriptor$L)",
+                gtfsTypeToParserMethod(field.type()),
+                numberBoundsArgument);
+    code.addStatement(
+        "builder.$L(\naddToCacheIfPresent(\n$L, fieldCache))",
+        FieldNameConverter.setterMethodName(field.name()),
+        fieldValue);
+    return code.build();
+  }
+
+  /**
+   * Adds statements that parse a field with a primitive {@code RowParser} method, so that values
+   * are not boxed on the way to the builder.
+   */
+  private static void addPrimitiveLoadStatements(
+      CodeBlock.Builder code,
+      GtfsFieldDescriptor field,
+      String parserMethod,
+      String numberBoundsArgument) {
+    String setter = FieldNameConverter.setterMethodName(field.name());
+    switch (field.type()) {
+      case TIME:
+        code
+            .addStatement("int value = rowParser.$L(columnIndex, columnDescriptor)", parserMethod)
+            .addStatement(
+                "builder.$L(\naddToCacheIfPresent(\nrowParser.hasParsedValue() ?"
+                    + " $T.fromSecondsSinceMidnight(value) : null,\nfieldCache))",
+                setter,
+                GtfsTime.class);
+        return;
+      case DATE:
+        code
+            .addStatement("int value = rowParser.$L(columnIndex, columnDescriptor)", parserMethod)
+            .addStatement(
+                "builder.$L(\naddToCacheIfPresent(\nrowParser.hasParsedValue() ?"
+                    + " $T.fromEpochDay(value) : null,\nfieldCache))",
+                setter,
+                GtfsDate.class);
+        return;
+      case ENUM:
+        code.addStatement(
+            "int value = rowParser.$L(columnIndex, columnDescriptor, $T::forNumber,"
+                + " $T.UNRECOGNIZED)",
+            parserMethod,
+            ClassName.get(field.javaType()),
+            ClassName.get(field.javaType()));
+        break;
+      default:
+        code.addStatement(
+            "$T value = rowParser.$L(columnIndex, columnDescriptor$L)",
+            TypeName.get(field.javaType()),
+            parserMethod,
+            numberBoundsArgument);
+        break;
+    }
+    code
+        .beginControlFlow("if (rowParser.hasParsedValue())")
+        .addStatement("builder.$L(value)", setter)
+        .nextControlFlow("else")
+        .addStatement("builder.$L()", FieldNameConverter.clearMethodName(field.name()))
+        .endControlFlow();
+  }
+
   static FieldLevelEnum getFieldLevel(GtfsFieldDescriptor field) {
     return field.valueRequired() ? REQUIRED : field.recommended() ? RECOMMENDED : OPTIONAL;
   }
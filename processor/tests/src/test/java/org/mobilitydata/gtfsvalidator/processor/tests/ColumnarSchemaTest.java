@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.processor.tests;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.table.ByteGtfs;
+import org.mobilitydata.gtfsvalidator.table.ColumnStorage;
+import org.mobilitydata.gtfsvalidator.table.Columnar;
+import org.mobilitydata.gtfsvalidator.table.ColumnarColumns;
+import org.mobilitydata.gtfsvalidator.table.PrimitiveColumn;
+import org.mobilitydata.gtfsvalidator.type.GtfsDate;
+import org.mobilitydata.gtfsvalidator.type.GtfsTime;
+
+@RunWith(JUnit4.class)
+public class ColumnarSchemaTest {
+  private static Columnar createEntity(int csvRowNumber, String id) {
+    return new Columnar.Builder()
+        .setCsvRowNumber(csvRowNumber)
+        .setSomeId(id)
+        .setSomeText("text " + id)
+        .setSomeTime(GtfsTime.fromSecondsSinceMidnight(csvRowNumber * 60))
+        .setSomeDate(GtfsDate.fromEpochDay(19000 + csvRowNumber))
+        .setSomeInt(csvRowNumber * 2)
+        .setSomeDouble(csvRowNumber / 4.0)
+        .setByteEnum(ByteGtfs.MIN_BYTE)
+        .build();
+  }
+
+  @Test
+  public void viewsReturnAddedValues() {
+    ColumnarColumns columns = new ColumnarColumns(ColumnStorage.HEAP);
+    for (int i = 0; i < 100; ++i) {
+      columns.add(createEntity(i + 2, "id" + (i % 7)));
+    }
+    columns.trimToSize();
+
+    assertThat(columns).hasSize(100);
+    Columnar row = columns.get(42);
+    assertThat(row.csvRowNumber()).isEqualTo(44);
+    assertThat(row.someId()).isEqualTo("id0");
+    assertThat(row.someText()).isEqualTo("text id0");
+    assertThat(row.someTime()).isEqualTo(GtfsTime.fromSecondsSinceMidnight(44 * 60));
+    assertThat(row.someDate()).isEqualTo(GtfsDate.fromEpochDay(19044));
+    assertThat(row.someInt()).isEqualTo(88);
+    assertThat(row.someDouble()).isEqualTo(11.0);
+    assertThat(row.byteEnum()).isEqualTo(ByteGtfs.MIN_BYTE);
+    assertThat(row.hasSomeId()).isTrue();
+    assertThat(row.hasByteEnum()).isTrue();
+  }
+
+  @Test
+  public void missingValues() {
+    ColumnarColumns columns = new ColumnarColumns(ColumnStorage.HEAP);
+    columns.add(new Columnar.Builder().setCsvRowNumber(2).setByteEnum(10).build());
+
+    Columnar row = columns.get(0);
+    assertThat(row.hasSomeId()).isFalse();
+    assertThat(row.someId()).isEqualTo(Columnar.DEFAULT_SOME_ID);
+    assertThat(row.hasSomeTime()).isFalse();
+    assertThat(row.someTime()).isEqualTo(Columnar.DEFAULT_SOME_TIME);
+    assertThat(row.hasSomeDouble()).isFalse();
+    // 10 is not a valid constant for ByteGtfs.
+    assertThat(row.byteEnum()).isEqualTo(ByteGtfs.UNRECOGNIZED);
+    assertThat(row.byteEnumValue()).isEqualTo(10);
+  }
+
+  @Test
+  public void viewsOfSameRowAreEqual() {
+    ColumnarColumns columns = new ColumnarColumns(ColumnStorage.HEAP);
+    columns.add(createEntity(2, "a"));
+    columns.add(createEntity(3, "a"));
+
+    assertThat(columns.get(0)).isEqualTo(columns.get(0));
+    assertThat(columns.get(0).hashCode()).isEqualTo(columns.get(0).hashCode());
+    assertThat(columns.get(0)).isNotEqualTo(columns.get(1));
+    assertThat(columns.indexOf(columns.get(1))).isEqualTo(1);
+  }
+
+  @Test
+  public void offHeap_spansSeveralPages() {
+    ColumnarColumns columns = new ColumnarColumns(ColumnStorage.OFF_HEAP);
+    int rowCount = PrimitiveColumn.PAGE_ROWS + 100;
+    for (int i = 0; i < rowCount; ++i) {
+      columns.add(createEntity(i + 2, "id" + (i % 7)));
+    }
+    long bytesBeforeTrim = columns.estimateMemoryBytes();
+    columns.trimToSize();
+
+    assertThat(columns.storage()).isEqualTo(ColumnStorage.OFF_HEAP);
+    assertThat(columns).hasSize(rowCount);
+    assertThat(columns.estimateMemoryBytes()).isLessThan(bytesBeforeTrim);
+    Columnar row = columns.get(PrimitiveColumn.PAGE_ROWS + 10);
+    assertThat(row.csvRowNumber()).isEqualTo(PrimitiveColumn.PAGE_ROWS + 12);
+    assertThat(row.someId()).isEqualTo("id" + ((PrimitiveColumn.PAGE_ROWS + 10) % 7));
+    assertThat(row.someInt()).isEqualTo((PrimitiveColumn.PAGE_ROWS + 12) * 2);
+    assertThat(row.byteEnum()).isEqualTo(ByteGtfs.MIN_BYTE);
+    assertThat(columns.get(rowCount - 1).csvRowNumber()).isEqualTo(rowCount + 1);
+  }
+}
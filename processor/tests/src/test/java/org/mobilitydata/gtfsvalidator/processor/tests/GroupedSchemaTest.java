@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.processor.tests;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.table.ColumnStorage;
+import org.mobilitydata.gtfsvalidator.table.Grouped;
+import org.mobilitydata.gtfsvalidator.table.GroupedColumns;
+import org.mobilitydata.gtfsvalidator.table.GroupedTableContainer;
+import org.mobilitydata.gtfsvalidator.table.PrimitiveColumn;
+
+@RunWith(JUnit4.class)
+public class GroupedSchemaTest {
+  private static Grouped createEntity(int csvRowNumber, String groupId, int sequence) {
+    return new Grouped.Builder()
+        .setCsvRowNumber(csvRowNumber)
+        .setGroupId(groupId)
+        .setSequence(sequence)
+        .setOtherId("other" + (csvRowNumber % 2))
+        .setLanguage(csvRowNumber % 2 == 0 ? Locale.ENGLISH : Locale.FRENCH)
+        .build();
+  }
+
+  private static GroupedColumns createColumns(Grouped... entities) {
+    GroupedColumns columns = new GroupedColumns(ColumnStorage.HEAP);
+    for (Grouped entity : entities) {
+      columns.add(entity);
+    }
+    columns.trimToSize();
+    return columns;
+  }
+
+  @Test
+  public void groupRows_sortsByGroupAndSequence() {
+    GroupedColumns columns =
+        createColumns(
+            createEntity(2, "b", 2),
+            createEntity(3, "a", 3),
+            createEntity(4, "b", 1),
+            createEntity(5, "a", 1));
+
+    columns.groupRows();
+
+    assertThat(columns.isGrouped()).isTrue();
+    // The list keeps the order of the file, only the grouping ID returns rows in grouped order.
+    assertThat(rowNumbers(columns)).containsExactly(2, 3, 4, 5).inOrder();
+    assertThat(rowNumbers(columns.inGroupedOrder())).containsExactly(4, 2, 5, 3).inOrder();
+    assertThat(rowNumbers(columns.byGroupId("a"))).containsExactly(5, 3).inOrder();
+    assertThat(rowNumbers(columns.byGroupId("b"))).containsExactly(4, 2).inOrder();
+    assertThat(columns.byGroupId("c")).isEmpty();
+    assertThat(rowNumbers(columns.byOtherId("other0"))).containsExactly(2, 4).inOrder();
+    assertThat(columns.byGroupIdMap().keySet()).containsExactly("b", "a");
+    assertThat(columns.byGroupIdMap().size()).isEqualTo(4);
+    // Columns of references follow the rows.
+    assertThat(columns.get(0).language()).isEqualTo(Locale.ENGLISH);
+    assertThat(columns.get(1).language()).isEqualTo(Locale.FRENCH);
+    assertThat(columns.inGroupedOrder().get(2).language()).isEqualTo(Locale.FRENCH);
+  }
+
+  @Test
+  public void groupRows_presortedRowsKeepTheirPositions() {
+    GroupedColumns columns =
+        createColumns(
+            createEntity(2, "b", 1),
+            createEntity(3, "b", 2),
+            createEntity(4, "a", 1),
+            createEntity(5, "a", 1));
+
+    columns.groupRows();
+
+    assertThat(columns.isGrouped()).isTrue();
+    assertThat(rowNumbers(columns)).containsExactly(2, 3, 4, 5).inOrder();
+    assertThat(rowNumbers(columns.byGroupId("a"))).containsExactly(4, 5).inOrder();
+    assertThat(rowNumbers(columns.byOtherId("other0"))).containsExactly(2, 4).inOrder();
+    assertThat(columns.get(0).language()).isEqualTo(Locale.ENGLISH);
+    assertThat(columns.get(1).language()).isEqualTo(Locale.FRENCH);
+  }
+
+  @Test
+  public void tableContainer_usesGroupedRows() {
+    GroupedColumns columns =
+        createColumns(
+            createEntity(2, "a", 2),
+            createEntity(3, "b", 1),
+            createEntity(4, "a", 1),
+            createEntity(5, "a", 2));
+    columns.groupRows();
+    NoticeContainer noticeContainer = new NoticeContainer();
+
+    GroupedTableContainer container = GroupedTableContainer.forEntities(columns, noticeContainer);
+
+    assertThat(rowNumbers(container.byGroupId("a"))).containsExactly(4, 2, 5).inOrder();
+    assertThat(rowNumbers(container.byGroupIdMap().get("b"))).containsExactly(3);
+    assertThat(rowNumbers(container.byOtherId("other1"))).containsExactly(3, 5);
+    assertThat(container.byTranslationKey("a", "1").get().csvRowNumber()).isEqualTo(4);
+    assertThat(container.byTranslationKey("b", "2")).isEmpty();
+    assertThat(noticeContainer.getValidationNotices()).hasSize(1);
+    assertThat(noticeContainer.getValidationNotices().get(0).getCode()).isEqualTo("duplicate_key");
+  }
+
+  @Test
+  public void spilledRows_stayReadableAfterFileIsClosed() {
+    GroupedColumns columns = new GroupedColumns(ColumnStorage.HEAP);
+    columns.setSpillThresholdRows(1);
+    int rowCount = PrimitiveColumn.PAGE_ROWS + 104;
+    for (int i = 0; i < rowCount; ++i) {
+      columns.add(createEntity(i + 2, "group" + (i % 10), rowCount - i));
+    }
+    columns.trimToSize();
+
+    columns.groupRows();
+    columns.closeSpillFile();
+
+    assertThat(columns.storage()).isEqualTo(ColumnStorage.DISK);
+    assertThat(columns).hasSize(rowCount);
+    for (int i = 0; i < rowCount; ++i) {
+      assertThat(columns.get(i).csvRowNumber()).isEqualTo(i + 2);
+    }
+    List<Grouped> group = columns.byGroupId("group3");
+    assertThat(group).hasSize(rowCount / 10);
+    assertThat(group.get(0).sequence()).isLessThan(group.get(1).sequence());
+    assertThat(group.get(0).csvRowNumber()).isEqualTo(rowCount - 5);
+  }
+
+  private static List<Integer> rowNumbers(List<Grouped> entities) {
+    return entities.stream().map(Grouped::csvRowNumber).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 MobilityData LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.processor.tests;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.input.CountryCode;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.parsing.CsvFile;
+import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
+import org.mobilitydata.gtfsvalidator.parsing.CsvRow;
+import org.mobilitydata.gtfsvalidator.parsing.FieldCache;
+import org.mobilitydata.gtfsvalidator.parsing.RowParser;
+import org.mobilitydata.gtfsvalidator.table.GtfsColumnDescriptor;
+import org.mobilitydata.gtfsvalidator.table.GtfsEntity;
+import org.mobilitydata.gtfsvalidator.table.GtfsEntityBuilder;
+import org.mobilitydata.gtfsvalidator.table.GtfsFieldLoader;
+import org.mobilitydata.gtfsvalidator.table.GtfsTableDescriptor;
+import org.mobilitydata.gtfsvalidator.table.Unrolled;
+import org.mobilitydata.gtfsvalidator.table.UnrolledRowLoader;
+import org.mobilitydata.gtfsvalidator.table.UnrolledTableDescriptor;
+import org.mobilitydata.gtfsvalidator.table.Wide;
+import org.mobilitydata.gtfsvalidator.table.WideTableDescriptor;
+import org.mobilitydata.gtfsvalidator.validator.DefaultFieldValidator;
+
+@RunWith(JUnit4.class)
+public class RowLoaderSchemaTest {
+  private static final String UNROLLED_CONTENT =
+      "some_id,some_text,some_int,some_double,some_time,some_date,byte_enum\n"
+          + "a,\" padded \",1,1.5,08:00:00,20240101,1\n"
+          + "b,text,-1,abc,25:61:00,2024-01-01,5\n"
+          + "c,,,,,,\n"
+          + ",text,7,-2.5,24:30:00,20241231,-127\n";
+
+  @Test
+  public void unrolledTable_hasRowLoader() {
+    assertThat(new UnrolledTableDescriptor().getRowLoader().get())
+        .isInstanceOf(UnrolledRowLoader.class);
+  }
+
+  @Test
+  public void rowLoader_sameAsFieldLoaders() {
+    UnrolledTableDescriptor descriptor = new UnrolledTableDescriptor();
+    NoticeContainer fieldLoaderNotices = new NoticeContainer();
+    NoticeContainer rowLoaderNotices = new NoticeContainer();
+
+    List<GtfsEntity> fieldLoaded =
+        loadRows(descriptor, UNROLLED_CONTENT, false, fieldLoaderNotices);
+    List<GtfsEntity> rowLoaded = loadRows(descriptor, UNROLLED_CONTENT, true, rowLoaderNotices);
+
+    assertThat(describeUnrolled(rowLoaded))
+        .containsExactlyElementsIn(describeUnrolled(fieldLoaded))
+        .inOrder();
+    assertThat(describeUnrolled(rowLoaded).get(0))
+        .isEqualTo("2|a|padded|1|1.5|08:00:00|20240101|ONE");
+    assertThat(rowLoaderNotices.getValidationNotices()).isNotEmpty();
+    assertThat(rowLoaderNotices.getValidationNotices())
+        .containsExactlyElementsIn(fieldLoaderNotices.getValidationNotices())
+        .inOrder();
+  }
+
+  @Test
+  public void wideTable_loadedByFieldLoaders() {
+    WideTableDescriptor descriptor = new WideTableDescriptor();
+    StringBuilder content = new StringBuilder();
+    for (int i = 1; i <= 65; ++i) {
+      content.append(i == 1 ? "" : ",").append("field").append(i);
+    }
+    content.append('\n');
+    for (int i = 1; i <= 65; ++i) {
+      content.append(i == 1 ? "" : ",").append(i * 10);
+    }
+    content.append('\n');
+
+    assertThat(descriptor.getColumns()).hasSize(65);
+    assertThat(descriptor.getRowLoader()).isEmpty();
+    List<GtfsEntity> entities =
+        loadRows(descriptor, content.toString(), false, new NoticeContainer());
+    assertThat(entities).hasSize(1);
+    Wide wide = (Wide) entities.get(0);
+    assertThat(wide.field1()).isEqualTo(10);
+    assertThat(wide.field64()).isEqualTo(640);
+    assertThat(wide.field65()).isEqualTo(650);
+  }
+
+  /**
+   * Loads rows in the same way as {@code CsvFileLoader}, either with the generated row loader or
+   * with a field loader per column.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static List<GtfsEntity> loadRows(
+      GtfsTableDescriptor<?> descriptor,
+      String content,
+      boolean useRowLoader,
+      NoticeContainer noticeContainer) {
+    CsvFile csvFile =
+        new CsvFile(
+            new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+            descriptor.gtfsFilename());
+    CsvHeader header = csvFile.getHeader();
+    ImmutableList<GtfsColumnDescriptor> columns = descriptor.getColumns();
+    int[] columnIndices = new int[columns.size()];
+    GtfsFieldLoader[] fieldLoaders = new GtfsFieldLoader[columns.size()];
+    for (int i = 0; i < columns.size(); ++i) {
+      String columnName = columns.get(i).columnName();
+      columnIndices[i] = header.getColumnIndex(columnName);
+      fieldLoaders[i] = descriptor.getFieldLoaders().get(columnName);
+    }
+    GtfsColumnDescriptor[] columnDescriptors = columns.toArray(new GtfsColumnDescriptor[0]);
+    FieldCache[] fieldCaches = new FieldCache[columns.size()];
+    RowParser rowParser =
+        new RowParser(
+            descriptor.gtfsFilename(),
+            header,
+            new DefaultFieldValidator(CountryCode.forStringOrUnknown(CountryCode.ZZ)));
+    GtfsEntityBuilder builder = descriptor.createEntityBuilder();
+    List<GtfsEntity> entities = new ArrayList<>();
+    for (CsvRow row : csvFile) {
+      rowParser.setRow(row);
+      builder.clear();
+      builder.setCsvRowNumber(rowParser.getRowNumber());
+      if (useRowLoader) {
+        descriptor
+            .getRowLoader()
+            .get()
+            .load(rowParser, columnIndices, columnDescriptors, fieldCaches, builder);
+      } else {
+        for (int i = 0; i < fieldLoaders.length; ++i) {
+          fieldLoaders[i].load(
+              rowParser, columnIndices[i], columnDescriptors[i], fieldCaches[i], builder);
+        }
+      }
+      rowParser.flushRowNotices(noticeContainer);
+      entities.add((GtfsEntity) builder.build());
+    }
+    return entities;
+  }
+
+  private static List<String> describeUnrolled(List<GtfsEntity> entities) {
+    return entities.stream()
+        .map(
+            entity -> {
+              Unrolled unrolled = (Unrolled) entity;
+              return String.join(
+                  "|",
+                  String.valueOf(unrolled.csvRowNumber()),
+                  unrolled.hasSomeId() ? unrolled.someId() : "-",
+                  unrolled.hasSomeText() ? unrolled.someText() : "-",
+                  unrolled.hasSomeInt() ? String.valueOf(unrolled.someInt()) : "-",
+                  unrolled.hasSomeDouble() ? String.valueOf(unrolled.someDouble()) : "-",
+                  unrolled.hasSomeTime() ? unrolled.someTime().toHHMMSS() : "-",
+                  unrolled.hasSomeDate() ? unrolled.someDate().toYYYYMMDD() : "-",
+                  unrolled.hasByteEnum() ? unrolled.byteEnum().toString() : "-");
+            })
+        .collect(Collectors.toList());
+  }
+}